@@ -0,0 +1,203 @@
+package com.desafio.benchmarks;
+
+import com.desafio.tarefa.client.ClienteHttp2;
+import com.desafio.tarefa.client.PoolConexoesHttp;
+import com.desafio.tarefa.client.UsuarioClient;
+import com.desafio.tarefa.client.UsuarioClientGrpc;
+import com.desafio.tarefa.client.grpc.ExistenciaUsuario;
+import com.desafio.tarefa.client.grpc.UsuarioId;
+import com.desafio.tarefa.client.grpc.UsuariosInternoGrpc;
+import com.desafio.usuario.UsaurioServiceApplication;
+import com.desafio.usuario.grpc.ServidorGrpc;
+import com.desafio.usuario.model.Usuario;
+import com.desafio.usuario.repository.UsuarioRepository;
+import feign.Client;
+import feign.Feign;
+import feign.Request;
+import feign.hc5.ApacheHttp5Client;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.stub.StreamObserver;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.TimeValue;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Chamada do serviço de tarefas ao serviço de usuários, por HTTP (Feign, como o {@code usuarioClientFeign}) e por
+ * gRPC ({@link UsuarioClientGrpc}), contra o usuario-service real em H2 na interface de loopback. Mede só o salto
+ * entre os serviços, sem cache, agrupador nem resiliência. Com {@code -t N}, mede a vazão com N chamadores.
+ * <p>
+ * No HTTP, compara os transportes do Feign ({@code usuario.service.http.transporte}): {@code http} usa o
+ * HttpURLConnection do JDK, {@code http-pool} o pool do Apache HttpClient 5 e {@code h2c} o HTTP/2 sem TLS.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChamadaUsuarioBenchmark {
+
+    private static final int QUANTIDADE_USUARIOS = 1000;
+    private static final int TAMANHO_LOTE = 100;
+
+    @Param({"http", "http-pool", "h2c", "grpc"})
+    public String protocolo;
+
+    private ConfigurableApplicationContext contexto;
+    private UsuarioClient usuarioClient;
+    private UsuariosInternoGrpc.UsuariosInternoStub stubAssincrono;
+    private ManagedChannel canal;
+    private AutoCloseable transporte;
+    private List<Long> lote;
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(UsaurioServiceApplication.class)
+                .run("--server.port=0",
+                        "--server.http2.enabled=true",
+                        "--grpc.servidor.porta=0",
+                        "--spring.datasource.url=jdbc:h2:mem:usuarios;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--tarefa.service.url=http://localhost:0");
+        List<Usuario> usuarios = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_USUARIOS; i++) {
+            Usuario usuario = DadosBenchmark.usuario();
+            usuario.setId(null);
+            usuario.setEmail("usuario" + i + "@exemplo.com");
+            usuarios.add(usuario);
+        }
+        contexto.getBean(UsuarioRepository.class).saveAll(usuarios);
+        // Metade dos IDs do lote existe
+        lote = LongStream.rangeClosed(QUANTIDADE_USUARIOS - TAMANHO_LOTE / 2 + 1, QUANTIDADE_USUARIOS + TAMANHO_LOTE / 2)
+                .boxed().toList();
+
+        int portaHttp = ((ServletWebServerApplicationContext) contexto).getWebServer().getPort();
+        int portaGrpc = contexto.getBean(ServidorGrpc.class).getPorta();
+        canal = ManagedChannelBuilder.forAddress("localhost", portaGrpc).usePlaintext().build();
+        stubAssincrono = UsuariosInternoGrpc.newStub(canal);
+        usuarioClient = switch (protocolo) {
+            case "http" -> feign("http://localhost:" + portaHttp, new Client.Default(null, null));
+            case "http-pool" -> feign("http://localhost:" + portaHttp, new ApacheHttp5Client(poolConexoes()));
+            case "h2c" -> feign("http://localhost:" + portaHttp, clienteHttp2());
+            case "grpc" -> new UsuarioClientGrpc(canal, Duration.ofSeconds(2));
+            default -> throw new IllegalArgumentException("Protocolo desconhecido: " + protocolo);
+        };
+    }
+
+    @TearDown
+    public void encerrar() throws Exception {
+        if (transporte != null) {
+            transporte.close();
+        }
+        canal.shutdownNow();
+        contexto.close();
+    }
+
+    @Benchmark
+    public boolean usuarioExiste() {
+        return usuarioClient.usuarioExiste(ThreadLocalRandom.current().nextLong(1, QUANTIDADE_USUARIOS + 1));
+    }
+
+    @Benchmark
+    public List<Long> usuariosExistentes() {
+        return usuarioClient.usuariosExistentes(lote);
+    }
+
+    // 100 verificacoes avulsas: no HTTP, uma requisicao por ID reaproveitando a conexao; no gRPC, um unico fluxo
+    // (VerificarUsuarios) com uma mensagem por ID
+    @Benchmark
+    public int verificacoesAvulsas() throws Exception {
+        if (!"grpc".equals(protocolo)) {
+            int existentes = 0;
+            for (Long id : lote) {
+                existentes += usuarioClient.usuarioExiste(id) ? 1 : 0;
+            }
+            return existentes;
+        }
+        CompletableFuture<Integer> fim = new CompletableFuture<>();
+        StreamObserver<UsuarioId> envio = stubAssincrono.verificarUsuarios(new StreamObserver<>() {
+            private int existentes;
+
+            @Override
+            public void onNext(ExistenciaUsuario resposta) {
+                existentes += resposta.getExiste() ? 1 : 0;
+            }
+
+            @Override
+            public void onError(Throwable erro) {
+                fim.completeExceptionally(erro);
+            }
+
+            @Override
+            public void onCompleted() {
+                fim.complete(existentes);
+            }
+        });
+        for (Long id : lote) {
+            envio.onNext(UsuarioId.newBuilder().setId(id).build());
+        }
+        envio.onCompleted();
+        return fim.get(5, TimeUnit.SECONDS);
+    }
+
+    // Mesmos limites do ClienteHttpConfig com as configuracoes do application.properties
+    private CloseableHttpClient poolConexoes() {
+        PoolConexoesHttp pool = new PoolConexoesHttp();
+        pool.setMaxTotal(50);
+        pool.setDefaultMaxPerRoute(30);
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(pool)
+                .evictIdleConnections(TimeValue.ofSeconds(10))
+                .disableCookieManagement()
+                .build();
+        transporte = httpClient;
+        return httpClient;
+    }
+
+    private ClienteHttp2 clienteHttp2() {
+        ClienteHttp2 cliente = new ClienteHttp2(HttpAsyncClients.customHttp2().disableCookieManagement().build());
+        cliente.iniciar();
+        transporte = cliente;
+        return cliente;
+    }
+
+    // Mesmo contrato e codificadores que o Spring Cloud OpenFeign monta para o usuarioClientFeign
+    private static UsuarioClient feign(String url, Client client) {
+        ObjectFactory<HttpMessageConverters> conversores =
+                () -> new HttpMessageConverters(new MappingJackson2HttpMessageConverter());
+        return Feign.builder()
+                .client(client)
+                .contract(new SpringMvcContract())
+                .encoder(new SpringEncoder(conversores))
+                .decoder(new ResponseEntityDecoder(new SpringDecoder(conversores)))
+                .options(new Request.Options(1, TimeUnit.SECONDS, 2, TimeUnit.SECONDS, true))
+                .target(UsuarioClient.class, url);
+    }
+}
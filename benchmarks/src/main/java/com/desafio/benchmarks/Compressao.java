@@ -0,0 +1,59 @@
+package com.desafio.benchmarks;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.aayushatharva.brotli4j.decoder.DecoderJNI;
+import com.aayushatharva.brotli4j.decoder.DirectDecompress;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Compressao e descompressao com os mesmos parametros do filtro de compressao dos servicos (gzip padrao, brotli nivel 4)
+final class Compressao {
+
+    private static final Encoder.Parameters BROTLI = new Encoder.Parameters().setQuality(4);
+
+    static {
+        Brotli4jLoader.ensureAvailability();
+    }
+
+    private Compressao() {
+    }
+
+    static byte[] comprimir(byte[] dados, String compressao) throws IOException {
+        return switch (compressao) {
+            case "nenhuma" -> dados;
+            case "gzip" -> {
+                ByteArrayOutputStream saida = new ByteArrayOutputStream(dados.length / 4);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+                    gzip.write(dados);
+                }
+                yield saida.toByteArray();
+            }
+            case "br" -> Encoder.compress(dados, BROTLI);
+            default -> throw new IllegalArgumentException("Compressão desconhecida: " + compressao);
+        };
+    }
+
+    // Codificacao do cabecalho Content-Encoding; null quando a resposta nao foi comprimida
+    static byte[] descomprimir(byte[] dados, String codificacao) throws IOException {
+        if (codificacao == null) {
+            return dados;
+        }
+        return switch (codificacao) {
+            case "gzip" -> new GZIPInputStream(new ByteArrayInputStream(dados)).readAllBytes();
+            case "br" -> {
+                DirectDecompress resultado = Decoder.decompress(dados);
+                if (resultado.getResultStatus() != DecoderJNI.Status.DONE) {
+                    throw new IOException("Falha ao descomprimir brotli: " + resultado.getResultStatus());
+                }
+                yield resultado.getDecompressedData();
+            }
+            default -> throw new IllegalArgumentException("Compressão desconhecida: " + codificacao);
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package com.desafio.benchmarks;
+
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.model.Tarefa;
+import com.desafio.tarefa.service.TarefaService;
+import com.desafio.usuario.dto.UsuarioDTO;
+import com.desafio.usuario.model.Usuario;
+import com.desafio.usuario.service.UsuarioService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Conversao entidade <-> DTO usada em todas as respostas dos dois servicos
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversaoDtoBenchmark {
+
+    private TarefaService tarefaService;
+    private UsuarioService usuarioService;
+    private Tarefa tarefa;
+    private TarefaDTO tarefaDTO;
+    private Usuario usuario;
+    private UsuarioDTO usuarioDTO;
+
+    @Setup
+    public void preparar() {
+        // Os conversores nao usam repositorio, cliente nem publicador de eventos
+        tarefaService = new TarefaService(null, null, null, null);
+        usuarioService = new UsuarioService(null, null, null);
+        tarefa = DadosBenchmark.tarefas(1).get(0);
+        tarefaDTO = tarefaService.converterParaDTO(tarefa);
+        usuario = DadosBenchmark.usuario();
+        usuarioDTO = usuarioService.converterParaDTO(usuario);
+    }
+
+    @Benchmark
+    public TarefaDTO tarefaParaDTO() {
+        return tarefaService.converterParaDTO(tarefa);
+    }
+
+    @Benchmark
+    public Tarefa dtoParaTarefa() {
+        return tarefaService.converterParaEntidade(tarefaDTO);
+    }
+
+    @Benchmark
+    public UsuarioDTO usuarioParaDTO() {
+        return usuarioService.converterParaDTO(usuario);
+    }
+
+    @Benchmark
+    public Usuario dtoParaUsuario() {
+        return usuarioService.converterParaEntidade(usuarioDTO);
+    }
+}
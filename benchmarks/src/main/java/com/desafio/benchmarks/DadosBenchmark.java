@@ -0,0 +1,59 @@
+package com.desafio.benchmarks;
+
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.model.StatusTarefa;
+import com.desafio.tarefa.model.Tarefa;
+import com.desafio.usuario.model.Usuario;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Massa de dados deterministica compartilhada pelos benchmarks
+final class DadosBenchmark {
+
+    static final int USUARIOS = 100;
+
+    private static final StatusTarefa[] STATUS = StatusTarefa.values();
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    private DadosBenchmark() {
+    }
+
+    static List<Tarefa> tarefas(int quantidade) {
+        Random aleatorio = new Random(42);
+        List<Tarefa> tarefas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Tarefa tarefa = new Tarefa();
+            tarefa.setId((long) i + 1);
+            tarefa.setTitulo("Tarefa " + i);
+            tarefa.setDescricao("Descrição da tarefa " + i + " com algum texto livre para ocupar espaço na resposta");
+            tarefa.setStatus(STATUS[aleatorio.nextInt(STATUS.length)]);
+            tarefa.setDataCriacao(INICIO.plusMinutes(i));
+            tarefa.setDataLimite(i % 5 == 0 ? null : LocalDate.of(2024, 6, 1).plusDays(aleatorio.nextInt(180)));
+            tarefa.setUsuarioId((long) aleatorio.nextInt(USUARIOS) + 1);
+            tarefas.add(tarefa);
+        }
+        return tarefas;
+    }
+
+    static List<TarefaDTO> tarefasDTO(int quantidade) {
+        List<TarefaDTO> dtos = new ArrayList<>(quantidade);
+        for (Tarefa tarefa : tarefas(quantidade)) {
+            dtos.add(new TarefaDTO(tarefa.getId(), tarefa.getTitulo(), tarefa.getDescricao(), tarefa.getStatus(),
+                    tarefa.getDataCriacao(), tarefa.getDataLimite(), tarefa.getUsuarioId(), tarefa.getVersao()));
+        }
+        return dtos;
+    }
+
+    static Usuario usuario() {
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setNome("Usuário de Teste");
+        usuario.setEmail("usuario@exemplo.com");
+        usuario.setDataCriacao(INICIO);
+        return usuario;
+    }
+}
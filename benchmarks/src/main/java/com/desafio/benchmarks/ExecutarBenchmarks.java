@@ -0,0 +1,28 @@
+package com.desafio.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada do benchmarks.jar. Aceita os mesmos argumentos do JMH
+ * (ex.: {@code -f 1 -wi 3 -i 5 Serializacao}) e sempre liga o profiler de alocação ({@code -prof gc}).
+ */
+public class ExecutarBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linhaDeComando = new CommandLineOptions(args);
+        if (linhaDeComando.shouldHelp() || linhaDeComando.shouldList() || linhaDeComando.shouldListProfilers()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        OptionsBuilder opcoes = new OptionsBuilder();
+        opcoes.parent(linhaDeComando);
+        if (linhaDeComando.getProfilers().stream().noneMatch(p -> p.getKlass().equals(GCProfiler.class.getName()))) {
+            opcoes.addProfiler(GCProfiler.class);
+        }
+        new Runner(opcoes.build()).run();
+    }
+}
@@ -0,0 +1,84 @@
+package com.desafio.benchmarks;
+
+import com.desafio.tarefa.dto.PaginaDTO;
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.formato.ProtobufTarefaHttpMessageConverter;
+import com.desafio.tarefa.formato.proto.PaginaTarefas;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de CPU para montar o corpo de uma página com 10000 tarefas em cada formato de resposta, com e sem compressão
+ * (o que o serviço faz a cada requisição), e para o cliente descomprimir e ler esse corpo. Os tamanhos dos corpos
+ * são impressos na preparação de cada combinação.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatosRespostaBenchmark {
+
+    static final int QUANTIDADE_TAREFAS = 10_000;
+
+    static final TypeReference<PaginaDTO<TarefaDTO>> PAGINA_TAREFAS = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile", "cbor", "protobuf"})
+    public String formato;
+
+    @Param({"nenhuma", "gzip", "br"})
+    public String compressao;
+
+    private PaginaDTO<TarefaDTO> pagina;
+    // Nulo no protobuf
+    private ObjectMapper objectMapper;
+    private byte[] corpo;
+
+    @Setup
+    public void preparar() throws IOException {
+        pagina = new PaginaDTO<>(DadosBenchmark.tarefasDTO(QUANTIDADE_TAREFAS), QUANTIDADE_TAREFAS, false, null);
+        objectMapper = objectMapper(formato);
+        corpo = serializar();
+        System.out.printf("%n%s/%s: %d bytes%n", formato, compressao, corpo.length);
+    }
+
+    @Benchmark
+    public byte[] serializar() throws IOException {
+        byte[] codificado = objectMapper == null
+                ? ProtobufTarefaHttpMessageConverter.paraMensagem(pagina).toByteArray()
+                : objectMapper.writeValueAsBytes(pagina);
+        return Compressao.comprimir(codificado, compressao);
+    }
+
+    @Benchmark
+    public Object desserializar() throws IOException {
+        return ler(Compressao.descomprimir(corpo, "nenhuma".equals(compressao) ? null : compressao), objectMapper);
+    }
+
+    static Object ler(byte[] corpo, ObjectMapper objectMapper) throws IOException {
+        return objectMapper == null ? PaginaTarefas.parseFrom(corpo) : objectMapper.readValue(corpo, PAGINA_TAREFAS);
+    }
+
+    // Mesma configuracao de datas do ObjectMapper do Spring Boot usado pelos servicos
+    static ObjectMapper objectMapper(String formato) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return switch (formato) {
+            case "json" -> builder.build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "protobuf" -> null;
+            default -> throw new IllegalArgumentException("Formato desconhecido: " + formato);
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package com.desafio.benchmarks;
+
+import com.desafio.tarefa.TarefaServiceApplication;
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.model.CampoTarefa;
+import com.desafio.tarefa.model.OrdenacaoTarefa;
+import com.desafio.tarefa.model.StatusTarefa;
+import com.desafio.tarefa.model.Tarefa;
+import com.desafio.tarefa.repository.TarefaRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas filtradas do TarefaRepository contra um H2 em memória com os índices das migrações.
+ * Compara a listagem projetada (apenas colunas pedidas) com a carga de entidades completas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositorioTarefaBenchmark {
+
+    private static final int QUANTIDADE_TAREFAS = 20_000;
+    private static final int TAMANHO_PAGINA = 21;
+    private static final Set<CampoTarefa> TODOS_OS_CAMPOS = EnumSet.allOf(CampoTarefa.class);
+
+    private ConfigurableApplicationContext contexto;
+    private TarefaRepository tarefaRepository;
+    private TransactionTemplate transacao;
+
+    @Setup
+    public void preparar() {
+        // Os jars dos dois servicos trazem migracoes com a mesma versao, entao o esquema sai do Hibernate
+        // e os indices sao aplicados a partir do script de migracao do servico de tarefas
+        contexto = new SpringApplicationBuilder(TarefaServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--usuario.service.url=http://localhost:0");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/comum/V2__criar_indices_tarefas.sql"))
+                .execute(contexto.getBean(DataSource.class));
+
+        tarefaRepository = contexto.getBean(TarefaRepository.class);
+        transacao = new TransactionTemplate(contexto.getBean(org.springframework.transaction.PlatformTransactionManager.class));
+        transacao.setReadOnly(true);
+
+        List<Tarefa> tarefas = DadosBenchmark.tarefas(QUANTIDADE_TAREFAS);
+        tarefas.forEach(tarefa -> tarefa.setId(null));
+        tarefaRepository.saveAll(tarefas);
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<TarefaDTO> paginaResumidaPorStatus() {
+        return transacao.execute(status -> tarefaRepository.buscarPagina(null, StatusTarefa.PENDENTE, CampoTarefa.RESUMO,
+                OrdenacaoTarefa.DATA_LIMITE, Sort.Direction.ASC, null, TAMANHO_PAGINA));
+    }
+
+    @Benchmark
+    public List<TarefaDTO> paginaCompletaPorStatus() {
+        return transacao.execute(status -> tarefaRepository.buscarPagina(null, StatusTarefa.PENDENTE, TODOS_OS_CAMPOS,
+                OrdenacaoTarefa.DATA_LIMITE, Sort.Direction.ASC, null, TAMANHO_PAGINA));
+    }
+
+    @Benchmark
+    public List<TarefaDTO> paginaResumidaPorUsuarioEStatus() {
+        return transacao.execute(status -> tarefaRepository.buscarPagina(7L, StatusTarefa.EM_ANDAMENTO, CampoTarefa.RESUMO,
+                OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC, null, TAMANHO_PAGINA));
+    }
+
+    // Entidades gerenciadas de todas as tarefas do usuario com o status (cerca de 65 linhas)
+    @Benchmark
+    public List<Tarefa> entidadesPorUsuarioEStatus() {
+        return transacao.execute(status -> tarefaRepository.findByUsuarioIdAndStatus(7L, StatusTarefa.EM_ANDAMENTO));
+    }
+}
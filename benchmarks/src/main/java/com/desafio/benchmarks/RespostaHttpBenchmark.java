@@ -0,0 +1,119 @@
+package com.desafio.benchmarks;
+
+import com.desafio.tarefa.config.FormatosRespostaConfig;
+import com.desafio.tarefa.dto.PaginaDTO;
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência de ponta a ponta de uma página com 10000 tarefas em cada formato e compressão: conversores e filtro de
+ * compressão do tarefa-service ({@link FormatosRespostaConfig}) num Tomcat local, transferência pela interface de
+ * loopback e descompressão e leitura no cliente. Sem banco: o controller devolve sempre a mesma página.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RespostaHttpBenchmark {
+
+    private static final Map<String, String> TIPOS = Map.of(
+            "json", "application/json",
+            "smile", "application/x-jackson-smile",
+            "cbor", "application/cbor",
+            "protobuf", "application/x-protobuf");
+
+    @Param({"json", "smile", "cbor", "protobuf"})
+    public String formato;
+
+    @Param({"nenhuma", "gzip", "br"})
+    public String compressao;
+
+    private ConfigurableApplicationContext contexto;
+    private HttpClient cliente;
+    private HttpRequest requisicao;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(ServidorTarefas.class)
+                .run("--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        int porta = ((ServletWebServerApplicationContext) contexto).getWebServer().getPort();
+
+        cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/tarefas"))
+                .header("Accept", TIPOS.get(formato))
+                .header("Accept-Encoding", "nenhuma".equals(compressao) ? "identity" : compressao)
+                .build();
+        objectMapper = FormatosRespostaBenchmark.objectMapper(formato);
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Object requisitar() throws IOException, InterruptedException {
+        HttpResponse<byte[]> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofByteArray());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("Resposta inesperada: " + resposta.statusCode());
+        }
+        byte[] corpo = Compressao.descomprimir(resposta.body(), resposta.headers().firstValue("Content-Encoding").orElse(null));
+        return FormatosRespostaBenchmark.ler(corpo, objectMapper);
+    }
+
+    // Apenas a camada web do servico, sem banco nem clientes HTTP
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({PropertyPlaceholderAutoConfiguration.class, JacksonAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class, ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class, WebMvcAutoConfiguration.class})
+    @Import(FormatosRespostaConfig.class)
+    static class ServidorTarefas {
+
+        @Bean
+        ControllerTarefas controllerTarefas() {
+            return new ControllerTarefas();
+        }
+    }
+
+    @RestController
+    static class ControllerTarefas {
+
+        private final PaginaDTO<TarefaDTO> pagina = new PaginaDTO<>(
+                DadosBenchmark.tarefasDTO(FormatosRespostaBenchmark.QUANTIDADE_TAREFAS),
+                FormatosRespostaBenchmark.QUANTIDADE_TAREFAS, false, null);
+
+        @GetMapping("/tarefas")
+        public PaginaDTO<TarefaDTO> listar() {
+            return pagina;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.desafio.benchmarks;
+
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serializacao e desserializacao de listas grandes de tarefas, com o ObjectMapper padrao do Spring
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacaoJsonBenchmark {
+
+    private static final TypeReference<List<TarefaDTO>> LISTA_TAREFAS = new TypeReference<>() {
+    };
+
+    @Param({"100", "10000"})
+    public int quantidade;
+
+    private ObjectMapper objectMapper;
+    private List<TarefaDTO> tarefas;
+    private byte[] json;
+
+    @Setup
+    public void preparar() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        tarefas = DadosBenchmark.tarefasDTO(quantidade);
+        json = objectMapper.writeValueAsBytes(tarefas);
+    }
+
+    @Benchmark
+    public byte[] serializar() throws IOException {
+        return objectMapper.writeValueAsBytes(tarefas);
+    }
+
+    @Benchmark
+    public List<TarefaDTO> desserializar() throws IOException {
+        return objectMapper.readValue(json, LISTA_TAREFAS);
+    }
+}
@@ -0,0 +1,59 @@
+package com.desafio.benchmarks;
+
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.usuario.dto.UsuarioDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Custo do @Valid aplicado aos corpos das requisicoes
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidacaoBenchmark {
+
+    private ValidatorFactory fabrica;
+    private Validator validator;
+    private TarefaDTO tarefaValida;
+    private TarefaDTO tarefaInvalida;
+    private UsuarioDTO usuarioValido;
+
+    @Setup
+    public void preparar() {
+        fabrica = Validation.buildDefaultValidatorFactory();
+        validator = fabrica.getValidator();
+        tarefaValida = DadosBenchmark.tarefasDTO(1).get(0);
+        tarefaInvalida = new TarefaDTO();
+        tarefaInvalida.setTitulo(" ");
+        usuarioValido = new UsuarioDTO(1L, "Usuário de Teste", "usuario@exemplo.com", null, null);
+    }
+
+    @TearDown
+    public void encerrar() {
+        fabrica.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TarefaDTO>> tarefaValida() {
+        return validator.validate(tarefaValida);
+    }
+
+    // Caminho com violacoes: inclui a interpolacao das mensagens de erro
+    @Benchmark
+    public Set<ConstraintViolation<TarefaDTO>> tarefaInvalida() {
+        return validator.validate(tarefaInvalida);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UsuarioDTO>> usuarioValido() {
+        return validator.validate(usuarioValido);
+    }
+}
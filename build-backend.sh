@@ -1,12 +1,28 @@
 #!/bin/bash
 
+# JAVA_VERSION=21 ./build-backend.sh compila com o perfil java21 (threads virtuais)
+PERFIL=""
+if [ "$JAVA_VERSION" = "21" ]; then
+    PERFIL="-Pjava21"
+fi
+
+echo "Instalando o código compartilhado (comum)..."
+cd comum
+./mvnw clean install -DskipTests $PERFIL
+cd ..
+
 echo "Compilando Serviço de Usuários..."
 cd usuario-service
-./mvnw clean package -DskipTests
+./mvnw clean package -DskipTests $PERFIL
 cd ..
 
 echo "Compilando Serviço de Tarefas..."
 cd tarefa-service
+./mvnw clean package -DskipTests $PERFIL
+cd ..
+
+echo "Compilando Serviço de Tarefas (reativo)..."
+cd tarefa-service-reativo
 ./mvnw clean package -DskipTests
 cd ..
 
@@ -0,0 +1,81 @@
+package com.desafio.comum.banco;
+
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Leitura das próprias gravações: durante {@code janela} depois de uma transação de escrita confirmada, as
+ * transações somente leitura do mesmo cliente continuam no banco principal, em vez de ler uma réplica que talvez
+ * ainda não tenha recebido a gravação. Os demais clientes continuam lendo das réplicas. A janela deve cobrir o atraso
+ * normal de replicação.
+ * <p>
+ * O cliente é a requisição em andamento, aberta pelo {@link LeituraAposGravacaoFilter} com o instante da última
+ * gravação que o próprio cliente informou (cookie devolvido pela instância que gravou). Fora de uma requisição, como
+ * nas tarefas agendadas, o cliente é a própria thread. O instante é o do relógio do servidor, então os relógios das
+ * instâncias devem estar sincronizados.
+ * <p>
+ * Registrado no gerenciador de transações (o Spring Boot liga os {@link TransactionExecutionListener} do contexto).
+ */
+public class JanelaLeituraAposGravacao implements TransactionExecutionListener {
+
+    private final Duration janela;
+    private final Clock relogio;
+    private final ThreadLocal<Cliente> clienteAtual = ThreadLocal.withInitial(Cliente::new);
+
+    public JanelaLeituraAposGravacao(Duration janela) {
+        this(janela, Clock.systemUTC());
+    }
+
+    JanelaLeituraAposGravacao(Duration janela, Clock relogio) {
+        this.janela = janela;
+        this.relogio = relogio;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transacao, Throwable falha) {
+        if (falha == null && !transacao.isReadOnly()) {
+            registrarGravacao();
+        }
+    }
+
+    public void registrarGravacao() {
+        clienteAtual.get().ultimaGravacao = relogio.millis();
+    }
+
+    public boolean permiteReplica() {
+        Long ultimaGravacao = clienteAtual.get().ultimaGravacao;
+        return ultimaGravacao == null || relogio.millis() - ultimaGravacao >= janela.toMillis();
+    }
+
+    /**
+     * Passa a atender, nesta thread, o cliente que gravou pela última vez em {@code ultimaGravacao} (epoch em
+     * milissegundos, ou {@code null} se não informou). Um instante no futuro conta como agora.
+     */
+    Cliente abrir(Long ultimaGravacao) {
+        Cliente cliente = new Cliente();
+        cliente.ultimaGravacao = ultimaGravacao != null ? Math.min(ultimaGravacao, relogio.millis()) : null;
+        clienteAtual.set(cliente);
+        return cliente;
+    }
+
+    void encerrar() {
+        clienteAtual.remove();
+    }
+
+    Duration janela() {
+        return janela;
+    }
+
+    // Ultima gravacao conhecida do cliente atendido pela thread
+    static final class Cliente {
+
+        private Long ultimaGravacao;
+
+        Long ultimaGravacao() {
+            return ultimaGravacao;
+        }
+    }
+}
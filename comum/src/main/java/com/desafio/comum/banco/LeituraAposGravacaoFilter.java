@@ -0,0 +1,133 @@
+package com.desafio.comum.banco;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Abre na {@link JanelaLeituraAposGravacao} o cliente da requisição, com o instante da última gravação que ele
+ * informou no cookie {@value #COOKIE}, e devolve o cookie atualizado quando a requisição grava. Assim a leitura
+ * seguinte do mesmo cliente vai ao banco principal, mesmo que chegue a outra instância.
+ * <p>
+ * O cookie é enviado antes do corpo da resposta (ou no fim, em respostas sem corpo), com validade igual à janela.
+ * Uma gravação confirmada depois que a resposta começou a ser escrita não entra no cookie.
+ */
+public class LeituraAposGravacaoFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "ultima-gravacao";
+
+    private final JanelaLeituraAposGravacao janela;
+
+    public LeituraAposGravacaoFilter(JanelaLeituraAposGravacao janela) {
+        this.janela = janela;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        JanelaLeituraAposGravacao.Cliente cliente = janela.abrir(ultimaGravacao(WebUtils.getCookie(request, COOKIE)));
+        RespostaComUltimaGravacao resposta = new RespostaComUltimaGravacao(response, cliente, janela.janela());
+        try {
+            chain.doFilter(request, resposta);
+            resposta.enviarCookie();
+        } finally {
+            janela.encerrar();
+        }
+    }
+
+    // Cookie ausente ou invalido: o cliente nao gravou nada recentemente
+    private static Long ultimaGravacao(Cookie cookie) {
+        if (cookie == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(cookie.getValue());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Acrescenta o cookie antes que a resposta seja confirmada: no primeiro acesso ao corpo, no erro ou no
+    // redirecionamento, o que vier primeiro
+    private static final class RespostaComUltimaGravacao extends HttpServletResponseWrapper {
+
+        private final JanelaLeituraAposGravacao.Cliente cliente;
+        private final Long recebida;
+        private final Duration validade;
+        private boolean enviado;
+
+        private RespostaComUltimaGravacao(HttpServletResponse response, JanelaLeituraAposGravacao.Cliente cliente,
+                                          Duration validade) {
+            super(response);
+            this.cliente = cliente;
+            this.recebida = cliente.ultimaGravacao();
+            this.validade = validade;
+        }
+
+        private void enviarCookie() {
+            Long ultimaGravacao = cliente.ultimaGravacao();
+            if (enviado || ultimaGravacao == null || Objects.equals(ultimaGravacao, recebida) || isCommitted()) {
+                return;
+            }
+            enviado = true;
+            // Max-Age eh em segundos: arredonda para cima para nao encurtar a janela
+            long segundos = Math.max((validade.toMillis() + 999) / 1000, 1);
+            addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, ultimaGravacao.toString())
+                    .path("/")
+                    .maxAge(segundos)
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build()
+                    .toString());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            enviarCookie();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            enviarCookie();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            enviarCookie();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            enviarCookie();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            enviarCookie();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            enviarCookie();
+            super.sendRedirect(location);
+        }
+    }
+}
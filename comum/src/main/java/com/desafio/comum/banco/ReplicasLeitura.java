@@ -0,0 +1,167 @@
+package com.desafio.comum.banco;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Conexões das transações somente leitura, distribuídas entre as réplicas do banco (em rodízio ou para a réplica
+ * com menos conexões em uso). Usado como {@code readOnlyDataSource} de um {@code LazyConnectionDataSourceProxy},
+ * que só pede a conexão no primeiro comando SQL, quando já se sabe se a transação é somente leitura.
+ * <p>
+ * Cada réplica é verificada periodicamente ({@link Connection#isValid}); uma réplica que falha na verificação ou
+ * ao entregar uma conexão sai do rodízio até passar na verificação seguinte. Sem réplica disponível, ou dentro da
+ * {@link JanelaLeituraAposGravacao janela de leitura após gravação}, a conexão vem do banco principal.
+ */
+public class ReplicasLeitura extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicasLeitura.class);
+
+    public enum Selecao { RODIZIO, MENOS_CONEXOES }
+
+    private final DataSource primario;
+    private final List<Replica> replicas;
+    private final Selecao selecao;
+    private final JanelaLeituraAposGravacao janela;
+    private final int timeoutVerificacaoSegundos;
+    private final AtomicInteger proxima = new AtomicInteger();
+    private final ScheduledExecutorService agendador;
+    private final LongAdder leiturasReplica = new LongAdder();
+    private final LongAdder leiturasPrimario = new LongAdder();
+
+    public ReplicasLeitura(DataSource primario, List<HikariDataSource> replicas, Selecao selecao,
+                           JanelaLeituraAposGravacao janela, Duration timeoutVerificacao) {
+        this.primario = primario;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.selecao = selecao;
+        this.janela = janela;
+        this.timeoutVerificacaoSegundos = (int) Math.max(timeoutVerificacao.toSeconds(), 1);
+        this.agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "verificacao-replicas");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void iniciar(Duration intervalo) {
+        agendador.scheduleWithFixedDelay(this::verificar, 0, intervalo.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Uma verificacao de todas as replicas (chamada pelo agendador, ou diretamente nos testes)
+    public void verificar() {
+        for (Replica replica : replicas) {
+            boolean valida;
+            try (Connection conexao = replica.dataSource.getConnection()) {
+                valida = conexao.isValid(timeoutVerificacaoSegundos);
+            } catch (SQLException e) {
+                valida = false;
+            }
+            if (valida != replica.disponivel) {
+                log.info("Réplica {} {}", replica.nome(), valida ? "disponível" : "indisponível");
+            }
+            replica.disponivel = valida;
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (janela.permiteReplica()) {
+            for (Replica replica : candidatas()) {
+                try {
+                    Connection conexao = replica.dataSource.getConnection();
+                    leiturasReplica.increment();
+                    return conexao;
+                } catch (SQLException e) {
+                    replica.disponivel = false;
+                    log.warn("Réplica {} indisponível, tentando a próxima: {}", replica.nome(), e.getMessage());
+                }
+            }
+        }
+        leiturasPrimario.increment();
+        return primario.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("As réplicas usam as credenciais configuradas nos pools");
+    }
+
+    // Replicas disponiveis na ordem em que serao tentadas
+    private List<Replica> candidatas() {
+        List<Replica> disponiveis = new ArrayList<>(replicas.size());
+        int inicio = selecao == Selecao.RODIZIO ? Math.floorMod(proxima.getAndIncrement(), Math.max(replicas.size(), 1)) : 0;
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((inicio + i) % replicas.size());
+            if (replica.disponivel) {
+                disponiveis.add(replica);
+            }
+        }
+        if (selecao == Selecao.MENOS_CONEXOES) {
+            disponiveis.sort(Comparator.comparingInt(Replica::conexoesEmUso));
+        }
+        return disponiveis;
+    }
+
+    public long disponiveis() {
+        return replicas.stream().filter(replica -> replica.disponivel).count();
+    }
+
+    // Replicas disponiveis e leituras atendidas por replica ou pelo banco principal, publicadas no registro de metricas
+    public void registrarMetricas(MeterRegistry registry) {
+        Gauge.builder("banco.replicas.disponiveis", this, ReplicasLeitura::disponiveis)
+                .description("Réplicas de leitura disponíveis")
+                .register(registry);
+        FunctionCounter.builder("banco.leituras", leiturasReplica, LongAdder::sum)
+                .tag("destino", "replica")
+                .description("Transações somente leitura atendidas por uma réplica ou pelo banco principal")
+                .register(registry);
+        FunctionCounter.builder("banco.leituras", leiturasPrimario, LongAdder::sum)
+                .tag("destino", "primario")
+                .description("Transações somente leitura atendidas por uma réplica ou pelo banco principal")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        agendador.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean disponivel = true;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private String nome() {
+            return dataSource.getPoolName();
+        }
+
+        // Antes da primeira conexao o pool ainda nao existe
+        private int conexoesEmUso() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+    }
+}
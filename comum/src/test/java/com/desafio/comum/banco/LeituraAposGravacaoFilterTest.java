@@ -0,0 +1,76 @@
+package com.desafio.comum.banco;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LeituraAposGravacaoFilterTest {
+
+    private static final long AGORA = 1_700_000_000_000L;
+
+    private final JanelaLeituraAposGravacao janela = new JanelaLeituraAposGravacao(Duration.ofMillis(1500),
+            Clock.fixed(Instant.ofEpochMilli(AGORA), ZoneOffset.UTC));
+    private final LeituraAposGravacaoFilter filter = new LeituraAposGravacaoFilter(janela);
+
+    @Test
+    void deveDevolverOCookieAntesDoCorpoQuandoARequisicaoGrava() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/itens"), response, (req, resp) -> {
+            janela.registrarGravacao();
+            resp.getWriter().write("{}");
+            resp.flushBuffer();
+            // Depois da resposta confirmada nao ha mais como enviar o cookie
+            janela.registrarGravacao();
+        });
+
+        assertThat(response.getHeaders(HttpHeaders.SET_COOKIE)).singleElement().asString()
+                .startsWith(LeituraAposGravacaoFilter.COOKIE + "=" + AGORA)
+                .contains("Max-Age=2", "HttpOnly", "SameSite=Lax");
+        // A thread da requisicao volta a ser um cliente sem gravacoes
+        assertThat(janela.permiteReplica()).isTrue();
+    }
+
+    @Test
+    void deveLerDoPrincipalQuandoOClienteGravouDentroDaJanela() throws Exception {
+        assertThat(permiteReplicaNaRequisicao(new Cookie(LeituraAposGravacaoFilter.COOKIE, String.valueOf(AGORA - 1000))))
+                .isFalse();
+        assertThat(permiteReplicaNaRequisicao(new Cookie(LeituraAposGravacaoFilter.COOKIE, String.valueOf(AGORA - 1500))))
+                .isTrue();
+        assertThat(permiteReplicaNaRequisicao(new Cookie(LeituraAposGravacaoFilter.COOKIE, "invalido"))).isTrue();
+        assertThat(permiteReplicaNaRequisicao()).isTrue();
+    }
+
+    @Test
+    void naoDeveDevolverCookieEmRequisicaoSemGravacao() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/itens");
+        request.setCookies(new Cookie(LeituraAposGravacaoFilter.COOKIE, String.valueOf(AGORA - 1000)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getHeaders(HttpHeaders.SET_COOKIE)).isEmpty();
+    }
+
+    private boolean permiteReplicaNaRequisicao(Cookie... cookies) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/itens");
+        if (cookies.length > 0) {
+            request.setCookies(cookies);
+        }
+        AtomicBoolean permite = new AtomicBoolean();
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, resp) -> permite.set(janela.permiteReplica()));
+        return permite.get();
+    }
+}
@@ -0,0 +1,155 @@
+package com.desafio.comum.banco;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Dois ou mais bancos H2 em memoria, cada um com uma linha que diz qual banco respondeu
+public class ReplicasLeituraTest {
+
+    private final List<AutoCloseable> recursos = new ArrayList<>();
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate escrita;
+    private TransactionTemplate leitura;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (AutoCloseable recurso : recursos) {
+            recurso.close();
+        }
+    }
+
+    @Test
+    void deveLerDaReplicaEGravarNoPrincipal() {
+        ReplicasLeitura replicas = montar(ReplicasLeitura.Selecao.RODIZIO, Duration.ZERO, banco("replica"));
+
+        assertThat(ler()).isEqualTo("replica");
+        escrita.executeWithoutResult(status -> jdbcTemplate.update("insert into gravacoes values (1)"));
+        String gravacao = escrita.execute(status -> jdbcTemplate.queryForObject("select nome from origem", String.class));
+        assertThat(gravacao).isEqualTo("principal");
+        assertThat(ler()).isEqualTo("replica");
+        assertThat(replicas.disponiveis()).isEqualTo(1);
+    }
+
+    @Test
+    void deveLerDoPrincipalDentroDaJanelaAposGravacao() {
+        montar(ReplicasLeitura.Selecao.RODIZIO, Duration.ofMinutes(1), banco("replica"));
+
+        assertThat(ler()).isEqualTo("replica");
+        escrita.executeWithoutResult(status -> jdbcTemplate.update("insert into gravacoes values (1)"));
+
+        assertThat(ler()).isEqualTo("principal");
+    }
+
+    @Test
+    void deveManterOsOutrosClientesNaReplicaDentroDaJanela() throws Exception {
+        montar(ReplicasLeitura.Selecao.RODIZIO, Duration.ofMinutes(1), banco("replica"));
+
+        escrita.executeWithoutResult(status -> jdbcTemplate.update("insert into gravacoes values (1)"));
+
+        // Fora de uma requisicao, o cliente eh a thread: outra thread nao gravou nada
+        assertThat(CompletableFuture.supplyAsync(this::ler).get()).isEqualTo("replica");
+        assertThat(ler()).isEqualTo("principal");
+    }
+
+    @Test
+    void deveAlternarEntreAsReplicasEmRodizio() {
+        montar(ReplicasLeitura.Selecao.RODIZIO, Duration.ZERO, banco("replica-1"), banco("replica-2"));
+
+        assertThat(List.of(ler(), ler(), ler(), ler())).containsExactly("replica-1", "replica-2", "replica-1", "replica-2");
+    }
+
+    @Test
+    void deveEscolherAReplicaComMenosConexoesEmUso() throws Exception {
+        HikariDataSource ocupada = banco("replica-1");
+        montar(ReplicasLeitura.Selecao.MENOS_CONEXOES, Duration.ZERO, ocupada, banco("replica-2"));
+
+        try (Connection emUso = ocupada.getConnection()) {
+            assertThat(ler()).isEqualTo("replica-2");
+        }
+    }
+
+    @Test
+    void deveUsarOPrincipalQuandoAReplicaFalhaEVoltarAposAVerificacao() {
+        // Banco que ainda nao existe: a conexao falha ate ele ser criado
+        String nome = UUID.randomUUID().toString();
+        HikariDataSource replica = pool("jdbc:h2:mem:" + nome + ";IFEXISTS=TRUE");
+        replica.setConnectionTimeout(250);
+        ReplicasLeitura replicas = montar(ReplicasLeitura.Selecao.RODIZIO, Duration.ZERO, replica);
+
+        assertThat(ler()).isEqualTo("principal");
+        assertThat(replicas.disponiveis()).isZero();
+        // Fora do rodizio, a replica nao eh tentada de novo ate a proxima verificacao
+        assertThat(ler()).isEqualTo("principal");
+
+        HikariDataSource criada = criar("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1", "replica");
+        // Depois de uma falha o Hikari espera um pouco antes de tentar conectar de novo; a primeira verificacao
+        // pode vencer antes dessa espera
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        do {
+            replicas.verificar();
+        } while (replicas.disponiveis() == 0 && System.nanoTime() < limite);
+
+        assertThat(replicas.disponiveis()).isEqualTo(1);
+        assertThat(ler()).isEqualTo("replica");
+        criada.close();
+    }
+
+    private ReplicasLeitura montar(ReplicasLeitura.Selecao selecao, Duration janelaAposGravacao, HikariDataSource... replicas) {
+        HikariDataSource principal = banco("principal");
+        JanelaLeituraAposGravacao janela = new JanelaLeituraAposGravacao(janelaAposGravacao);
+        ReplicasLeitura replicasLeitura = new ReplicasLeitura(principal, List.of(replicas), selecao, janela,
+                Duration.ofSeconds(1));
+        recursos.add(replicasLeitura);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(principal);
+        dataSource.setReadOnlyDataSource(replicasLeitura);
+        DataSourceTransactionManager transacoes = new DataSourceTransactionManager(dataSource);
+        transacoes.addListener(janela);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        escrita = new TransactionTemplate(transacoes);
+        leitura = new TransactionTemplate(transacoes);
+        leitura.setReadOnly(true);
+        return replicasLeitura;
+    }
+
+    private String ler() {
+        return leitura.execute(status -> jdbcTemplate.queryForObject("select nome from origem", String.class));
+    }
+
+    private HikariDataSource banco(String nome) {
+        return criar("jdbc:h2:mem:" + nome + "-" + UUID.randomUUID(), nome);
+    }
+
+    private HikariDataSource criar(String url, String nome) {
+        HikariDataSource dataSource = pool(url);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table origem (nome varchar(20))");
+        jdbc.execute("create table gravacoes (id int)");
+        jdbc.update("insert into origem values (?)", nome);
+        return dataSource;
+    }
+
+    private HikariDataSource pool(String url) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(2);
+        dataSource.setInitializationFailTimeout(-1);
+        recursos.add(dataSource);
+        return dataSource;
+    }
+}
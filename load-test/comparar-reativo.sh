@@ -0,0 +1,96 @@
+#!/bin/bash
+# Compara o tarefa-service (Spring MVC + JPA) com o tarefa-service-reativo (WebFlux + R2DBC) no cenario "criar"
+# com 100, 1000 e 5000 conexoes simultaneas. Cada servico roda no seu proprio processo, com H2 em memoria,
+# apontando para o stub do servico de usuarios iniciado pelo gerador (100 ms de latencia).
+# O cache de usuarios fica ligado nos dois: sem ele o MVC agrupa as verificacoes em /existem e o reativo nao,
+# e a comparacao passaria a medir o numero de chamadas ao stub em vez do modelo de execucao.
+# A espera maxima pelo stub fica em 10 s nos dois (tempo de leitura do Feign e usuario.service.timeout), e a
+# espera por uma conexao do pool do reativo sobe para os 30 s do Hikari. No MVC, o bulkhead e o limite adaptativo
+# das chamadas ao servico de usuarios sobem para o numero de conexoes, para que a medicao nao receba 503, e a copia
+# local de IDs de usuarios fica desligada, porque o reativo nao tem.
+# Durante a medicao o script le /proc/<pid>/status do servico: pico de memoria residente (VmHWM) e de threads.
+# Pre-requisitos: mvn install no tarefa-service, mvn package no tarefa-service-reativo e mvn package aqui.
+# Uso: ./comparar-reativo.sh [conexoes...]   (padrao: 100 1000 5000)
+
+set -e
+cd "$(dirname "$0")"
+
+CONEXOES=${*:-100 1000 5000}
+PORTA_SERVICO=18080
+PORTA_STUB=18081
+MIGRACOES=../tarefa-service/src/main/resources/db/migration/comum
+NUCLEOS=$(nproc)
+RESUMO=target/reativo-resumo.txt
+
+# Sobe o jar executavel com os drivers H2 de target/drivers no classpath (o PropertiesLauncher le o loader.path)
+iniciar() {
+    local jar=$1
+    shift
+    java -Xmx1g -Dloader.path=target/drivers -cp "$jar" org.springframework.boot.loader.launch.PropertiesLauncher \
+        --server.port=$PORTA_SERVICO --usuario.service.url=http://localhost:$PORTA_STUB \
+        --spring.main.banner-mode=off --logging.level.root=WARN "$@" \
+        > "target/servico-$modo-$conexoes.log" 2>&1 &
+    PID=$!
+    for _ in $(seq 120); do
+        curl -sf "http://localhost:$PORTA_SERVICO/actuator/health" > /dev/null && return 0
+        sleep 1
+    done
+    echo "Serviço não respondeu; veja target/servico-$modo-$conexoes.log"
+    kill $PID
+    exit 1
+}
+
+# Maior numero de threads do processo enquanto ele existir
+amostrar_threads() {
+    local pico=0 atual
+    while atual=$(awk '/^Threads:/ {print $2}' "/proc/$1/status" 2>/dev/null) && [ -n "$atual" ]; do
+        [ "$atual" -gt "$pico" ] && pico=$atual
+        echo "$pico" > "target/threads-$1"
+        sleep 0.5
+    done
+}
+
+printf "%-8s %8s %9s %14s %9s %9s %7s %9s %12s\n" modo conexoes "req/s" "req/s/núcleo" "p50 ms" "p99 ms" erros threads "pico RSS MB" | tee $RESUMO
+for modo in mvc reativo; do
+    for conexoes in $CONEXOES; do
+        if [ "$modo" = "mvc" ]; then
+            iniciar ../tarefa-service/target/tarefa-service-0.0.1-SNAPSHOT-exec.jar \
+                "--spring.datasource.url=jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1" \
+                --spring.datasource.username=sa --spring.datasource.password= --spring.jpa.show-sql=false \
+                --server.tomcat.max-connections=20000 --server.tomcat.accept-count=1000 \
+                --spring.cloud.openfeign.client.config.usuario-service.read-timeout=10000 \
+                --usuario.resiliencia.bulkhead.maximo-chamadas="$conexoes" --usuario.resiliencia.limite.inicial="$conexoes" \
+                --usuario.replica.habilitada=false
+        else
+            iniciar ../tarefa-service-reativo/target/tarefa-service-reativo-0.0.1-SNAPSHOT-exec.jar \
+                "--spring.r2dbc.url=r2dbc:h2:mem:///carga;MODE=PostgreSQL;DB_CLOSE_DELAY=-1" \
+                --spring.r2dbc.username=sa --spring.r2dbc.password= --spring.sql.init.mode=always \
+                --usuario.service.timeout=10s --spring.r2dbc.pool.max-acquire-time=30s \
+                --spring.sql.init.schema-locations=file:$MIGRACOES/V1__criar_tabela_tarefas.sql,file:$MIGRACOES/V2__criar_indices_tarefas.sql,file:$MIGRACOES/V6__adicionar_versao_tarefas.sql
+        fi
+        amostrar_threads $PID &
+        AMOSTRADOR=$!
+
+        relatorio="target/reativo-$modo-$conexoes.json"
+        java -Xmx1g -jar target/load-test.jar --alvo=http://localhost:$PORTA_SERVICO --stub.porta=$PORTA_STUB \
+            --cenarios=criar --conexoes="$conexoes" --duracao=30 --aquecimento=10 \
+            --stub.latencia=100 --stub.variacao=0 --relatorio="$relatorio" > /dev/null
+
+        rss=$(awk '/^VmHWM:/ {printf "%.0f", $2 / 1024}' "/proc/$PID/status")
+        kill $PID
+        wait $PID 2> /dev/null || true
+        wait $AMOSTRADOR 2> /dev/null || true
+        threads=$(cat "target/threads-$PID")
+        rm -f "target/threads-$PID"
+
+        python3 - "$relatorio" "$modo" "$conexoes" "$NUCLEOS" "$threads" "$rss" << 'EOF' | tee -a $RESUMO
+import json, sys
+arquivo, modo, conexoes, nucleos, threads, rss = sys.argv[1:]
+criar = json.load(open(arquivo))["cenarios"]["criar"]
+taxa = criar["taxaObtida"]
+print("%-8s %8s %9.1f %14.1f %9.0f %9.0f %7d %9s %12s" % (modo, conexoes, taxa, taxa / int(nucleos),
+      criar["latenciaMs"]["p50"], criar["latenciaMs"]["p99"], criar["erros"], threads, rss))
+EOF
+    done
+done
+echo "Resumo em $RESUMO; relatórios em target/reativo-<modo>-<conexoes>.json"
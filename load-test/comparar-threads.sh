@@ -0,0 +1,33 @@
+#!/bin/bash
+# Compara threads de plataforma e threads virtuais no cenario "criar" com 1k, 5k e 10k conexoes simultaneas.
+# O cache de usuarios fica desligado e o stub responde em 100 ms, para que cada requisicao fique bloqueada
+# na chamada ao servico de usuarios como acontece quando ele esta lento. O bulkhead e o limite adaptativo dessas
+# chamadas sobem para o numero de conexoes: o que se mede aqui sao as threads, nao a protecao contra sobrecarga.
+# Threads virtuais exigem Java 21 (java -version); em Java 17 apenas o modo plataforma e executado.
+# Uso: ./comparar-threads.sh [conexoes...]   (padrao: 1000 5000 10000)
+
+set -e
+cd "$(dirname "$0")"
+
+CONEXOES=${*:-1000 5000 10000}
+MODOS="plataforma"
+if java -version 2>&1 | grep -qE 'version "(2[1-9]|[3-9][0-9])'; then
+    MODOS="plataforma virtual"
+else
+    echo "Java 21 não encontrado: executando apenas o modo plataforma"
+fi
+
+for modo in $MODOS; do
+    virtual=false
+    [ "$modo" = "virtual" ] && virtual=true
+    for conexoes in $CONEXOES; do
+        echo "== $modo / $conexoes conexões"
+        java -Xmx1g -jar target/load-test.jar \
+            --cenarios=criar --conexoes="$conexoes" --duracao=30 --aquecimento=10 \
+            --stub.latencia=100 --stub.variacao=0 --usuario.cache.tamanho-maximo=0 \
+            --spring.threads.virtual.enabled="$virtual" \
+            --usuario.resiliencia.bulkhead.maximo-chamadas="$conexoes" --usuario.resiliencia.limite.inicial="$conexoes" \
+            --server.tomcat.max-connections=20000 --server.tomcat.accept-count=1000 \
+            --relatorio="target/threads-$modo-$conexoes.json" | grep -A2 '^cenario'
+    done
+done
@@ -0,0 +1,39 @@
+package com.desafio.carga;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Requisicoes geradas por cada cenario do teste de carga
+final class Cenario {
+
+    static final List<String> NOMES = List.of("criar", "filtrar");
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] STATUS = {"PENDENTE", "EM_ANDAMENTO", "CONCLUIDO"};
+
+    private Cenario() {
+    }
+
+    static HttpRequest requisicao(String cenario, String urlBase, int usuarios, long sequencia) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        long usuarioId = aleatorio.nextLong(1, usuarios + 1L);
+        return switch (cenario) {
+            case "criar" -> HttpRequest.newBuilder(URI.create(urlBase + "/api/tarefas"))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("""
+                            {"titulo":"Carga %d","descricao":"Tarefa criada pelo teste de carga","status":"PENDENTE","usuarioId":%d}"""
+                            .formatted(sequencia, usuarioId)))
+                    .build();
+            case "filtrar" -> HttpRequest.newBuilder(URI.create(urlBase + "/api/tarefas/filtrar?usuarioId=" + usuarioId
+                            + "&status=" + STATUS[aleatorio.nextInt(STATUS.length)]))
+                    .timeout(TIMEOUT)
+                    .GET()
+                    .build();
+            default -> throw new IllegalArgumentException("Cenário desconhecido: " + cenario);
+        };
+    }
+}
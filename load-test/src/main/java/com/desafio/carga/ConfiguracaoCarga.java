@@ -0,0 +1,82 @@
+package com.desafio.carga;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parâmetros do teste de carga lidos da linha de comando no formato {@code --chave=valor}.
+ * Argumentos desconhecidos são repassados ao Spring (ex.: {@code --spring.datasource.url=...}).
+ */
+public record ConfiguracaoCarga(
+        List<String> cenarios,
+        int taxaPorSegundo,
+        int conexoes,
+        Duration duracao,
+        Duration aquecimento,
+        int usuarios,
+        Duration latenciaStub,
+        Duration variacaoLatenciaStub,
+        double taxaErroStub,
+        int portaStub,
+        String alvo,
+        Path relatorio,
+        Path relatorioBase) {
+
+    static ConfiguracaoCarga deArgumentos(String[] args) {
+        Map<String, String> valores = new LinkedHashMap<>();
+        for (String argumento : args) {
+            if (argumento.startsWith("--") && argumento.contains("=")) {
+                int separador = argumento.indexOf('=');
+                valores.put(argumento.substring(2, separador), argumento.substring(separador + 1));
+            }
+        }
+
+        ConfiguracaoCarga configuracao = new ConfiguracaoCarga(
+                Arrays.asList(valores.getOrDefault("cenarios", "criar,filtrar").split(",")),
+                Integer.parseInt(valores.getOrDefault("taxa", "100")),
+                Integer.parseInt(valores.getOrDefault("conexoes", "0")),
+                Duration.ofSeconds(Long.parseLong(valores.getOrDefault("duracao", "30"))),
+                Duration.ofSeconds(Long.parseLong(valores.getOrDefault("aquecimento", "10"))),
+                Integer.parseInt(valores.getOrDefault("usuarios", "100")),
+                Duration.ofMillis(Long.parseLong(valores.getOrDefault("stub.latencia", "20"))),
+                Duration.ofMillis(Long.parseLong(valores.getOrDefault("stub.variacao", "10"))),
+                Double.parseDouble(valores.getOrDefault("stub.taxa-erro", "0")),
+                Integer.parseInt(valores.getOrDefault("stub.porta", "0")),
+                valores.get("alvo"),
+                Path.of(valores.getOrDefault("relatorio", "target/relatorio-carga.json")),
+                valores.containsKey("comparar") ? Path.of(valores.get("comparar")) : null);
+        configuracao.validar();
+        return configuracao;
+    }
+
+    // Com conexoes informado a carga usa o modelo fechado (concorrencia fixa) em vez da taxa constante
+    boolean modeloFechado() {
+        return conexoes > 0;
+    }
+
+    // Com alvo informado a carga vai para um servico ja em execucao (outro processo) em vez de subir o tarefa-service aqui
+    boolean servicoExterno() {
+        return alvo != null;
+    }
+
+    private void validar() {
+        for (String cenario : cenarios) {
+            if (!Cenario.NOMES.contains(cenario)) {
+                throw new IllegalArgumentException("Cenário desconhecido: " + cenario + ". Valores aceitos: " + Cenario.NOMES);
+            }
+        }
+        if (taxaPorSegundo <= 0 || usuarios <= 0 || conexoes < 0) {
+            throw new IllegalArgumentException("taxa e usuarios devem ser maiores que zero e conexoes não pode ser negativo");
+        }
+        if (portaStub < 0 || portaStub > 65535) {
+            throw new IllegalArgumentException("stub.porta deve estar entre 0 e 65535");
+        }
+        if (taxaErroStub < 0 || taxaErroStub > 1) {
+            throw new IllegalArgumentException("stub.taxa-erro deve estar entre 0 e 1");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.desafio.carga;
+
+import com.desafio.tarefa.TarefaServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sobe o tarefa-service (H2 em memória por padrão) apontando para o {@link StubUsuarioService},
+ * executa os cenários em taxa constante (ou com concorrência fixa, com {@code --conexoes}) e grava o relatório JSON.
+ * Com {@code --alvo=<url>} o serviço não é iniciado aqui: a carga vai para a URL informada, que deve usar o stub
+ * (ver {@code --stub.porta}) como serviço de usuários.
+ */
+public class ExecutarTesteCarga {
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracaoCarga configuracao = ConfiguracaoCarga.deArgumentos(args);
+
+        try (StubUsuarioService stub = new StubUsuarioService(configuracao.usuarios(), configuracao.latenciaStub(),
+                configuracao.variacaoLatenciaStub(), configuracao.taxaErroStub(), configuracao.portaStub());
+             ConfigurableApplicationContext contexto = configuracao.servicoExterno() ? null : iniciarServico(stub.getUrl(), args);
+             GeradorCarga gerador = new GeradorCarga()) {
+
+            String urlBase = contexto == null
+                    ? configuracao.alvo()
+                    : "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+            System.out.println("Serviço de usuários (stub) em " + stub.getUrl() + ", carga em " + urlBase);
+            List<ResultadoCenario> resultados = new ArrayList<>();
+            for (String cenario : configuracao.cenarios()) {
+                System.out.printf("Cenário %s: aquecimento de %ds e medição de %ds com %s%n", cenario,
+                        configuracao.aquecimento().toSeconds(), configuracao.duracao().toSeconds(),
+                        configuracao.modeloFechado() ? configuracao.conexoes() + " conexões" : configuracao.taxaPorSegundo() + " req/s");
+                if (!configuracao.aquecimento().isZero()) {
+                    executar(gerador, cenario, urlBase, configuracao, configuracao.aquecimento());
+                }
+                resultados.add(executar(gerador, cenario, urlBase, configuracao, configuracao.duracao()));
+            }
+
+            RelatorioCarga relatorio = contexto == null
+                    ? new RelatorioCarga(configuracao, "externo", false, stub, resultados)
+                    : new RelatorioCarga(configuracao,
+                            contexto.getEnvironment().getProperty("spring.datasource.url"),
+                            contexto.getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                                    && Runtime.version().feature() >= 21,
+                            stub, resultados);
+            relatorio.escrever(configuracao.relatorio());
+            relatorio.imprimirResumo(System.out);
+            System.out.println("Relatório gravado em " + configuracao.relatorio().toAbsolutePath());
+            if (configuracao.relatorioBase() != null) {
+                relatorio.compararCom(configuracao.relatorioBase(), System.out);
+            }
+        }
+    }
+
+    private static ResultadoCenario executar(GeradorCarga gerador, String cenario, String urlBase, ConfiguracaoCarga configuracao,
+                                             Duration duracao) throws InterruptedException {
+        if (configuracao.modeloFechado()) {
+            return gerador.executarFechado(cenario, urlBase, configuracao.usuarios(), configuracao.conexoes(), duracao);
+        }
+        return gerador.executar(cenario, urlBase, configuracao.usuarios(), configuracao.taxaPorSegundo(), duracao);
+    }
+
+    private static ConfigurableApplicationContext iniciarServico(String urlStub, String[] args) {
+        Map<String, String> padroes = new LinkedHashMap<>();
+        padroes.put("server.port", "0");
+        padroes.put("spring.datasource.url", "jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1");
+        padroes.put("spring.datasource.username", "sa");
+        padroes.put("spring.datasource.password", "");
+        padroes.put("spring.jpa.show-sql", "false");
+        padroes.put("spring.main.banner-mode", "off");
+        padroes.put("logging.level.root", "WARN");
+        // Sem a copia local de IDs toda verificacao passa pelo stub, que eh o que os cenarios medem
+        padroes.put("usuario.replica.habilitada", "false");
+        // O banco eh em memoria, entao o indice de busca tambem: em disco ele sobraria entre execucoes
+        padroes.put("tarefa.busca.diretorio", "");
+
+        // Argumentos repetidos viram lista no Spring, entao o padrao so entra quando nao foi informado
+        List<String> argumentos = new ArrayList<>(Arrays.asList(args));
+        padroes.forEach((chave, valor) -> {
+            if (argumentos.stream().noneMatch(argumento -> argumento.startsWith("--" + chave + "="))) {
+                argumentos.add("--" + chave + "=" + valor);
+            }
+        });
+        argumentos.add("--usuario.service.url=" + urlStub);
+
+        return new SpringApplicationBuilder(TarefaServiceApplication.class).run(argumentos.toArray(String[]::new));
+    }
+}
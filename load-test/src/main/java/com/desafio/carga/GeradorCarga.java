@@ -0,0 +1,156 @@
+package com.desafio.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gera a carga dos cenários em dois modelos:
+ * <ul>
+ *     <li>aberto: as requisições saem em intervalos fixos, sem esperar as respostas anteriores. Se o serviço atrasa,
+ *     as requisições se acumulam em vez de a taxa cair, como aconteceria com clientes reais;</li>
+ *     <li>fechado: um número fixo de conexões, cada uma enviando a próxima requisição assim que recebe a resposta.
+ *     Mede a vazão máxima com aquela concorrência.</li>
+ * </ul>
+ */
+public class GeradorCarga implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(tarefa -> {
+        Thread thread = new Thread(tarefa, "gerador-carga");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(executor)
+            .build();
+
+    public ResultadoCenario executar(String cenario, String urlBase, int usuarios, int taxaPorSegundo, Duration duracao) {
+        long intervaloNanos = TimeUnit.SECONDS.toNanos(1) / taxaPorSegundo;
+        long total = taxaPorSegundo * duracao.toSeconds();
+        Medicao medicao = new Medicao();
+        AtomicLong maiorAtrasoEnvio = new AtomicLong();
+        List<CompletableFuture<?>> pendentes = new ArrayList<>((int) total);
+
+        long inicio = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long agendado = inicio + i * intervaloNanos;
+            long espera;
+            while ((espera = agendado - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            long enviado = System.nanoTime();
+            maiorAtrasoEnvio.accumulateAndGet(enviado - agendado, Math::max);
+
+            pendentes.add(cliente.sendAsync(Cenario.requisicao(cenario, urlBase, usuarios, i), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((resposta, erro) -> medicao.registrar(resposta, erro, agendado, enviado)));
+        }
+        double duracaoSegundos = (System.nanoTime() - inicio) / 1e9;
+        CompletableFuture.allOf(pendentes.toArray(CompletableFuture[]::new)).exceptionally(erro -> null).join();
+
+        return medicao.resultado(cenario, taxaPorSegundo, 0, duracaoSegundos, maiorAtrasoEnvio.get());
+    }
+
+    public ResultadoCenario executarFechado(String cenario, String urlBase, int usuarios, int conexoes, Duration duracao)
+            throws InterruptedException {
+        Medicao medicao = new Medicao();
+        AtomicLong sequencia = new AtomicLong();
+        CountDownLatch encerradas = new CountDownLatch(conexoes);
+        long inicio = System.nanoTime();
+        long fim = inicio + duracao.toNanos();
+
+        for (int i = 0; i < conexoes; i++) {
+            enviarEmCiclo(cenario, urlBase, usuarios, fim, sequencia, medicao, encerradas);
+        }
+        encerradas.await();
+        double duracaoSegundos = (System.nanoTime() - inicio) / 1e9;
+
+        return medicao.resultado(cenario, 0, conexoes, duracaoSegundos, 0);
+    }
+
+    // A proxima requisicao da conexao so sai quando a anterior termina
+    private void enviarEmCiclo(String cenario, String urlBase, int usuarios, long fim, AtomicLong sequencia,
+                               Medicao medicao, CountDownLatch encerradas) {
+        if (System.nanoTime() >= fim) {
+            encerradas.countDown();
+            return;
+        }
+        long enviado = System.nanoTime();
+        cliente.sendAsync(Cenario.requisicao(cenario, urlBase, usuarios, sequencia.getAndIncrement()), HttpResponse.BodyHandlers.discarding())
+                .whenCompleteAsync((resposta, erro) -> {
+                    medicao.registrar(resposta, erro, enviado, enviado);
+                    enviarEmCiclo(cenario, urlBase, usuarios, fim, sequencia, medicao, encerradas);
+                }, executor);
+    }
+
+    private static Throwable causa(Throwable erro) {
+        return erro.getCause() != null ? erro.getCause() : erro;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    // Histogramas, contagem de respostas e picos de threads/heap da JVM durante um cenario
+    private static class Medicao {
+
+        private final Histogram latencia = new ConcurrentHistogram(3);
+        private final Histogram latenciaServico = new ConcurrentHistogram(3);
+        private final Map<String, LongAdder> respostas = new ConcurrentHashMap<>();
+        private final LongAdder requisicoes = new LongAdder();
+        private final LongAdder sucessos = new LongAdder();
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final List<MemoryPoolMXBean> areasHeap = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(area -> area.getType() == MemoryType.HEAP)
+                .toList();
+
+        Medicao() {
+            threads.resetPeakThreadCount();
+            areasHeap.forEach(MemoryPoolMXBean::resetPeakUsage);
+        }
+
+        void registrar(HttpResponse<?> resposta, Throwable erro, long inicioLatencia, long enviado) {
+            long fim = System.nanoTime();
+            latencia.recordValue(TimeUnit.NANOSECONDS.toMicros(fim - inicioLatencia));
+            latenciaServico.recordValue(TimeUnit.NANOSECONDS.toMicros(fim - enviado));
+            String chave = erro != null ? "falha:" + causa(erro).getClass().getSimpleName()
+                    : Integer.toString(resposta.statusCode());
+            respostas.computeIfAbsent(chave, k -> new LongAdder()).increment();
+            requisicoes.increment();
+            if (erro == null && resposta.statusCode() < 400) {
+                sucessos.increment();
+            }
+        }
+
+        ResultadoCenario resultado(String cenario, int taxaAlvo, int conexoes, double duracaoSegundos, long maiorAtrasoEnvioNanos) {
+            Map<String, Long> contagem = new ConcurrentHashMap<>();
+            respostas.forEach((chave, valor) -> contagem.put(chave, valor.sum()));
+            // Soma dos picos de cada area do heap: aproximacao (por cima) do pico total
+            long picoHeap = areasHeap.stream().mapToLong(area -> area.getPeakUsage().getUsed()).sum();
+            return new ResultadoCenario(cenario, taxaAlvo, conexoes, duracaoSegundos, requisicoes.sum(), sucessos.sum(),
+                    contagem, latencia, latenciaServico, TimeUnit.NANOSECONDS.toMicros(maiorAtrasoEnvioNanos),
+                    threads.getPeakThreadCount(), picoHeap);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.desafio.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relatório JSON do teste de carga. As chaves têm ordem fixa para que relatórios de builds diferentes
+ * possam ser comparados com diff ou com a opção {@code --comparar}.
+ */
+public class RelatorioCarga {
+
+    static final List<String> PERCENTIS = List.of("p50", "p90", "p99", "p999", "max");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, Object> conteudo = new LinkedHashMap<>();
+
+    public RelatorioCarga(ConfiguracaoCarga configuracao, String banco, boolean threadsVirtuais, StubUsuarioService stub,
+                          List<ResultadoCenario> resultados) {
+        Map<String, Object> ambiente = new LinkedHashMap<>();
+        ambiente.put("java", System.getProperty("java.version"));
+        ambiente.put("processadores", Runtime.getRuntime().availableProcessors());
+        ambiente.put("banco", banco);
+        if (configuracao.servicoExterno()) {
+            ambiente.put("alvo", configuracao.alvo());
+        }
+        ambiente.put("threadsVirtuais", threadsVirtuais);
+
+        Map<String, Object> carga = new LinkedHashMap<>();
+        carga.put("modelo", configuracao.modeloFechado() ? "fechado" : "aberto");
+        if (configuracao.modeloFechado()) {
+            carga.put("conexoes", configuracao.conexoes());
+        } else {
+            carga.put("taxaPorSegundo", configuracao.taxaPorSegundo());
+        }
+        carga.put("duracaoSegundos", configuracao.duracao().toSeconds());
+        carga.put("aquecimentoSegundos", configuracao.aquecimento().toSeconds());
+        carga.put("usuarios", configuracao.usuarios());
+
+        Map<String, Object> dadosStub = new LinkedHashMap<>();
+        dadosStub.put("latenciaMs", configuracao.latenciaStub().toMillis());
+        dadosStub.put("variacaoMs", configuracao.variacaoLatenciaStub().toMillis());
+        dadosStub.put("taxaErro", configuracao.taxaErroStub());
+        dadosStub.put("requisicoes", stub.getRequisicoes());
+        dadosStub.put("errosInjetados", stub.getErrosInjetados());
+
+        Map<String, Object> cenarios = new LinkedHashMap<>();
+        for (ResultadoCenario resultado : resultados) {
+            cenarios.put(resultado.nome(), cenario(resultado));
+        }
+
+        conteudo.put("geradoEm", Instant.now().toString());
+        conteudo.put("ambiente", ambiente);
+        conteudo.put("carga", carga);
+        conteudo.put("stubUsuarioService", dadosStub);
+        conteudo.put("cenarios", cenarios);
+    }
+
+    private static Map<String, Object> cenario(ResultadoCenario resultado) {
+        Map<String, Object> dados = new LinkedHashMap<>();
+        dados.put("requisicoes", resultado.requisicoes());
+        dados.put("sucessos", resultado.sucessos());
+        dados.put("erros", resultado.erros());
+        dados.put("respostas", resultado.respostas());
+        if (resultado.conexoes() > 0) {
+            dados.put("conexoes", resultado.conexoes());
+        } else {
+            dados.put("taxaAlvo", resultado.taxaAlvo());
+        }
+        dados.put("taxaObtida", arredondar(resultado.taxaObtida()));
+        dados.put("maiorAtrasoEnvioMs", arredondar(resultado.maiorAtrasoEnvioMicros() / 1000.0));
+        dados.put("latenciaMs", percentis(resultado.latencia()));
+        dados.put("latenciaServicoMs", percentis(resultado.latenciaServico()));
+
+        // Gerador e servico rodam no mesmo processo (com --alvo, apenas o gerador e o stub);
+        // threads virtuais nao entram na contagem de threads
+        Map<String, Object> jvm = new LinkedHashMap<>();
+        jvm.put("picoThreadsPlataforma", resultado.picoThreadsPlataforma());
+        jvm.put("picoHeapMb", arredondar(resultado.picoHeapBytes() / (1024.0 * 1024.0)));
+        dados.put("jvm", jvm);
+        return dados;
+    }
+
+    private static Map<String, Object> percentis(Histogram histograma) {
+        Map<String, Object> valores = new LinkedHashMap<>();
+        valores.put("p50", emMillis(histograma.getValueAtPercentile(50)));
+        valores.put("p90", emMillis(histograma.getValueAtPercentile(90)));
+        valores.put("p99", emMillis(histograma.getValueAtPercentile(99)));
+        valores.put("p999", emMillis(histograma.getValueAtPercentile(99.9)));
+        valores.put("max", emMillis(histograma.getMaxValue()));
+        valores.put("media", arredondar(histograma.getMean() / 1000.0));
+        return valores;
+    }
+
+    private static double emMillis(long micros) {
+        return arredondar(micros / 1000.0);
+    }
+
+    private static double arredondar(double valor) {
+        return Math.round(valor * 1000) / 1000.0;
+    }
+
+    public void escrever(Path arquivo) throws IOException {
+        if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+        OBJECT_MAPPER.writeValue(arquivo.toFile(), conteudo);
+    }
+
+    public void imprimirResumo(PrintStream saida) {
+        JsonNode cenarios = OBJECT_MAPPER.valueToTree(conteudo).get("cenarios");
+        saida.printf("%-8s %9s %7s %9s %9s %9s %9s %9s %8s %8s%n", "cenario", "req/s", "erros", "p50 ms", "p90 ms", "p99 ms",
+                "p999 ms", "max ms", "threads", "heap MB");
+        for (Iterator<Map.Entry<String, JsonNode>> it = cenarios.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> cenario = it.next();
+            JsonNode latencia = cenario.getValue().get("latenciaMs");
+            JsonNode jvm = cenario.getValue().get("jvm");
+            saida.printf("%-8s %9.1f %7d %9.3f %9.3f %9.3f %9.3f %9.3f %8d %8.1f%n", cenario.getKey(),
+                    cenario.getValue().get("taxaObtida").asDouble(), cenario.getValue().get("erros").asLong(),
+                    latencia.get("p50").asDouble(), latencia.get("p90").asDouble(), latencia.get("p99").asDouble(),
+                    latencia.get("p999").asDouble(), latencia.get("max").asDouble(),
+                    jvm.get("picoThreadsPlataforma").asInt(), jvm.get("picoHeapMb").asDouble());
+        }
+    }
+
+    // Imprime a variacao percentual dos percentis corrigidos em relacao a um relatorio anterior
+    public void compararCom(Path relatorioBase, PrintStream saida) throws IOException {
+        JsonNode base = OBJECT_MAPPER.readTree(relatorioBase.toFile()).get("cenarios");
+        JsonNode atual = OBJECT_MAPPER.valueToTree(conteudo).get("cenarios");
+        saida.println("Comparação com " + relatorioBase + " (latência corrigida, ms):");
+        for (Iterator<Map.Entry<String, JsonNode>> it = atual.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> cenario = it.next();
+            JsonNode anterior = base.path(cenario.getKey()).path("latenciaMs");
+            if (anterior.isMissingNode()) {
+                continue;
+            }
+            StringBuilder linha = new StringBuilder(String.format("%-8s", cenario.getKey()));
+            for (String percentil : PERCENTIS) {
+                double antes = anterior.get(percentil).asDouble();
+                double depois = cenario.getValue().get("latenciaMs").get(percentil).asDouble();
+                linha.append(String.format(" %s %.3f -> %.3f (%+.1f%%)", percentil, antes, depois,
+                        antes == 0 ? 0 : (depois - antes) * 100 / antes));
+            }
+            saida.println(linha);
+        }
+    }
+}
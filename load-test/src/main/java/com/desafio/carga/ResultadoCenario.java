@@ -0,0 +1,38 @@
+package com.desafio.carga;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Resultado de um cenário. No modelo aberto, {@code latencia} é medida a partir do instante em que a requisição
+ * deveria ter sido enviada (corrige a omissão coordenada) e {@code latenciaServico} a partir do envio efetivo;
+ * no modelo fechado ({@code conexoes > 0}) as duas coincidem.
+ */
+public record ResultadoCenario(
+        String nome,
+        int taxaAlvo,
+        int conexoes,
+        double duracaoSegundos,
+        long requisicoes,
+        long sucessos,
+        Map<String, Long> respostas,
+        Histogram latencia,
+        Histogram latenciaServico,
+        long maiorAtrasoEnvioMicros,
+        int picoThreadsPlataforma,
+        long picoHeapBytes) {
+
+    public ResultadoCenario {
+        respostas = new TreeMap<>(respostas);
+    }
+
+    public long erros() {
+        return requisicoes - sucessos;
+    }
+
+    public double taxaObtida() {
+        return requisicoes / duracaoSegundos;
+    }
+}
@@ -0,0 +1,152 @@
+package com.desafio.carga;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/**
+ * Substituto do usuario-service para o teste de carga. Atende apenas os endpoints usados pelo UsuarioClient,
+ * considera existentes os usuários de 1 até {@code usuarios} e injeta latência e erros HTTP 500 configuráveis.
+ * Também atende os endpoints da cópia local de IDs (sem latência nem erros: a sincronização roda em segundo plano).
+ */
+public class StubUsuarioService implements AutoCloseable {
+
+    private static final TypeReference<List<Long>> LISTA_IDS = new TypeReference<>() {
+    };
+
+    private final int usuarios;
+    private final Duration latencia;
+    private final Duration variacao;
+    private final double taxaErro;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong requisicoes = new AtomicLong();
+    private final AtomicLong errosInjetados = new AtomicLong();
+    private final ExecutorService executor;
+    private final HttpServer servidor;
+
+    public StubUsuarioService(int usuarios, Duration latencia, Duration variacao, double taxaErro) throws IOException {
+        this(usuarios, latencia, variacao, taxaErro, 0);
+    }
+
+    // Porta 0 escolhe uma porta livre; uma porta fixa permite apontar para o stub um servico iniciado em outro processo
+    public StubUsuarioService(int usuarios, Duration latencia, Duration variacao, double taxaErro, int porta) throws IOException {
+        this.usuarios = usuarios;
+        this.latencia = latencia;
+        this.variacao = variacao;
+        this.taxaErro = taxaErro;
+        // Cada requisicao dorme pela latencia simulada, entao o pool nao pode limitar a concorrencia
+        this.executor = Executors.newCachedThreadPool(tarefa -> {
+            Thread thread = new Thread(tarefa, "stub-usuario");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.servidor = HttpServer.create(new InetSocketAddress("localhost", porta), 0);
+        this.servidor.createContext("/api/usuarios/existe/", this::usuarioExiste);
+        this.servidor.createContext("/api/usuarios/existem", this::usuariosExistentes);
+        this.servidor.createContext("/api/usuarios/ids", this::snapshotIds);
+        this.servidor.createContext("/api/usuarios/alteracoes", this::alteracoes);
+        this.servidor.setExecutor(executor);
+        this.servidor.start();
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + servidor.getAddress().getPort();
+    }
+
+    public long getRequisicoes() {
+        return requisicoes.get();
+    }
+
+    public long getErrosInjetados() {
+        return errosInjetados.get();
+    }
+
+    private void usuarioExiste(HttpExchange troca) throws IOException {
+        if (!simularChamada(troca)) {
+            return;
+        }
+        String caminho = troca.getRequestURI().getPath();
+        long id = Long.parseLong(caminho.substring(caminho.lastIndexOf('/') + 1));
+        responder(troca, 200, Boolean.toString(existe(id)));
+    }
+
+    private void usuariosExistentes(HttpExchange troca) throws IOException {
+        if (!simularChamada(troca)) {
+            return;
+        }
+        List<Long> ids;
+        try (InputStream corpo = troca.getRequestBody()) {
+            ids = objectMapper.readValue(corpo, LISTA_IDS);
+        }
+        responder(troca, 200, objectMapper.writeValueAsString(ids.stream().filter(this::existe).toList()));
+    }
+
+    // Os usuarios do stub nunca mudam: versao 0 e nenhuma alteracao
+    private void snapshotIds(HttpExchange troca) throws IOException {
+        List<Long> ids = LongStream.rangeClosed(1, usuarios).boxed().toList();
+        responder(troca, 200, objectMapper.writeValueAsString(Map.of("versao", 0, "ids", ids)));
+    }
+
+    private void alteracoes(HttpExchange troca) throws IOException {
+        responder(troca, 200, "{\"versao\":0,\"criados\":[],\"excluidos\":[],\"temMais\":false}");
+    }
+
+    // Aplica a latencia e decide se a chamada falha; retorna false quando o erro ja foi respondido
+    private boolean simularChamada(HttpExchange troca) throws IOException {
+        requisicoes.incrementAndGet();
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        long atrasoMillis = latencia.toMillis();
+        if (!variacao.isZero()) {
+            atrasoMillis += aleatorio.nextLong(-variacao.toMillis(), variacao.toMillis() + 1);
+        }
+        if (atrasoMillis > 0) {
+            try {
+                Thread.sleep(atrasoMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (aleatorio.nextDouble() < taxaErro) {
+            errosInjetados.incrementAndGet();
+            responder(troca, 500, "{\"erro\":\"Falha injetada pelo stub\"}");
+            return false;
+        }
+        return true;
+    }
+
+    private boolean existe(long id) {
+        return id >= 1 && id <= usuarios;
+    }
+
+    private void responder(HttpExchange troca, int status, String corpo) throws IOException {
+        byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().set("Content-Type", "application/json");
+        troca.sendResponseHeaders(status, bytes.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        servidor.stop(0);
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
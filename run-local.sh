@@ -1,5 +1,8 @@
 #!/bin/bash
 
+echo "Instalando o código compartilhado (comum)..."
+(cd comum && ./mvnw install -DskipTests -q)
+
 echo "Iniciando serviço de Usuários..."
 cd usuario-service
 ./mvnw spring-boot:run &
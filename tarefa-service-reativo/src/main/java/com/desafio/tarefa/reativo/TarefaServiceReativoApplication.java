@@ -0,0 +1,12 @@
+package com.desafio.tarefa.reativo;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class TarefaServiceReativoApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(TarefaServiceReativoApplication.class, args);
+	}
+}
@@ -0,0 +1,96 @@
+package com.desafio.tarefa.reativo.client;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Verificação de existência de usuários no usuario-service com {@link WebClient}, sem bloquear threads.
+ * <p>
+ * Os resultados ficam em um cache assíncrono, com tempos de expiração diferentes para usuários existentes e
+ * inexistentes (como o UsuarioClientComCache do tarefa-service); verificações simultâneas do mesmo ID que não
+ * está no cache compartilham uma única chamada.
+ */
+public class UsuarioClientReativo {
+
+    private final WebClient webClient;
+    private final Duration timeout;
+    private final AsyncCache<Long, Boolean> cache;
+
+    public UsuarioClientReativo(WebClient webClient, Duration timeout, long tamanhoMaximo,
+                                Duration ttlPositivo, Duration ttlNegativo) {
+        this.webClient = webClient;
+        this.timeout = timeout;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new ExpiracaoPorResultado(ttlPositivo, ttlNegativo))
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Mono<Boolean> usuarioExiste(Long id) {
+        if (id == null) {
+            return Mono.just(false);
+        }
+        return Mono.defer(() -> {
+            // O futuro fica no cache enquanto a chamada esta em andamento. Ele e compartilhado, entao quem cancela
+            // (ex.: cliente desconectou) nao pode cancela-lo para os demais
+            CompletableFuture<Boolean> futuro = cache.get(id, (chave, executor) -> consultar(chave).toFuture());
+            return Mono.fromFuture(futuro, true)
+                    // O Caffeine tambem descarta futuros com falha, mas so depois de avisar quem esperava;
+                    // removendo aqui, a proxima verificacao ja consulta o servico de novo
+                    .doOnError(e -> cache.asMap().remove(id, futuro));
+        });
+    }
+
+    // Chamado quando o serviço de usuários avisa que o usuário foi removido
+    public void invalidar(Long id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    // Publica acertos, falhas, carregamentos e remocoes do cache no registro de metricas
+    public void registrarMetricas(MeterRegistry registry, String nome) {
+        CaffeineCacheMetrics.monitor(registry, cache, nome);
+    }
+
+    private Mono<Boolean> consultar(Long id) {
+        return webClient.get()
+                .uri("/api/usuarios/existe/{id}", id)
+                .retrieve()
+                .bodyToMono(Boolean.class)
+                .timeout(timeout);
+    }
+
+    private static class ExpiracaoPorResultado implements Expiry<Long, Boolean> {
+
+        private final long ttlPositivoNanos;
+        private final long ttlNegativoNanos;
+
+        ExpiracaoPorResultado(Duration ttlPositivo, Duration ttlNegativo) {
+            this.ttlPositivoNanos = ttlPositivo.toNanos();
+            this.ttlNegativoNanos = ttlNegativo.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Long id, Boolean existe, long tempoAtual) {
+            return existe ? ttlPositivoNanos : ttlNegativoNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long id, Boolean existe, long tempoAtual, long duracaoAtual) {
+            return expireAfterCreate(id, existe, tempoAtual);
+        }
+
+        @Override
+        public long expireAfterRead(Long id, Boolean existe, long tempoAtual, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.desafio.tarefa.reativo.config;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.info.Info;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SwaggerConfig {
+
+    @Bean
+    public OpenAPI customOpenAPI() {
+        return new OpenAPI()
+                .info(new Info()
+                        .title("API de Gerenciamento de Tarefas")
+                        .version("1.0")
+                        .description("API REST reativa (WebFlux + R2DBC) para o microserviço de gerenciamento de tarefas"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.desafio.tarefa.reativo.config;
+
+import com.desafio.tarefa.reativo.client.UsuarioClientReativo;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+@Configuration
+public class UsuarioClientConfig {
+
+    // O WebClient.Builder do Spring ja vem com as metricas http.client.requests e o codec JSON configurado
+    @Bean
+    public UsuarioClientReativo usuarioClientReativo(
+            WebClient.Builder webClientBuilder,
+            @Value("${usuario.service.url}") String url,
+            @Value("${usuario.service.timeout:2s}") Duration timeout,
+            @Value("${usuario.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+            @Value("${usuario.cache.ttl-positivo:10m}") Duration ttlPositivo,
+            @Value("${usuario.cache.ttl-negativo:5s}") Duration ttlNegativo,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        UsuarioClientReativo usuarioClient = new UsuarioClientReativo(
+                webClientBuilder.baseUrl(url).build(), timeout, tamanhoMaximo, ttlPositivo, ttlNegativo);
+        meterRegistry.ifAvailable(registry -> usuarioClient.registrarMetricas(registry, "usuarios.existencia"));
+        return usuarioClient;
+    }
+}
@@ -0,0 +1,29 @@
+package com.desafio.tarefa.reativo.controller;
+
+import com.desafio.tarefa.reativo.service.EventoUsuarioService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/tarefas/eventos")
+@Tag(name = "Eventos", description = "Avisos enviados internamente pelo serviço de usuários")
+public class EventoUsuarioController {
+
+    private final EventoUsuarioService eventoUsuarioService;
+
+    @Autowired
+    public EventoUsuarioController(EventoUsuarioService eventoUsuarioService) {
+        this.eventoUsuarioService = eventoUsuarioService;
+    }
+
+    // Invalidar o cache nao faz I/O, entao a resposta pode ser montada direto
+    @PostMapping("/usuario-excluido/{usuarioId}")
+    @Operation(summary = "Notificar exclusão de usuário", description = "Endpoint utilizado internamente pelo serviço de usuários")
+    public ResponseEntity<Void> usuarioExcluido(@PathVariable Long usuarioId) {
+        eventoUsuarioService.usuarioExcluido(usuarioId);
+        return ResponseEntity.noContent().build();
+    }
+}
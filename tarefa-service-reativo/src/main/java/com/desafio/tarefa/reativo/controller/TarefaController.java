@@ -0,0 +1,125 @@
+package com.desafio.tarefa.reativo.controller;
+
+import com.desafio.tarefa.reativo.dto.PaginaDTO;
+import com.desafio.tarefa.reativo.dto.ParametrosPaginacao;
+import com.desafio.tarefa.reativo.dto.TarefaDTO;
+import com.desafio.tarefa.reativo.model.CampoTarefa;
+import com.desafio.tarefa.reativo.model.FormatoExportacao;
+import com.desafio.tarefa.reativo.model.StatusTarefa;
+import com.desafio.tarefa.reativo.service.ExportacaoTarefaService;
+import com.desafio.tarefa.reativo.service.TarefaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/tarefas")
+@Tag(name = "Tarefas", description = "API reativa para gerenciamento de tarefas")
+@CrossOrigin(origins = "*")
+public class TarefaController {
+
+    private static final String DESCRICAO_CAMPOS = "Campos a retornar, separados por vírgula "
+            + "(id, titulo, descricao, status, dataCriacao, dataLimite, usuarioId). "
+            + "Padrão: id, titulo, status, dataLimite e usuarioId. O ID e o campo de ordenação sempre são retornados";
+
+    private final TarefaService tarefaService;
+    private final ExportacaoTarefaService exportacaoTarefaService;
+
+    @Autowired
+    public TarefaController(TarefaService tarefaService, ExportacaoTarefaService exportacaoTarefaService) {
+        this.tarefaService = tarefaService;
+        this.exportacaoTarefaService = exportacaoTarefaService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Listar todas as tarefas", description = "Paginação por cursor: envie o proximoCursor da resposta no parâmetro cursor")
+    public Mono<ResponseEntity<PaginaDTO<TarefaDTO>>> listarTodas(
+            @Valid @ParameterObject ParametrosPaginacao paginacao,
+            @Parameter(description = DESCRICAO_CAMPOS) @RequestParam(required = false) String fields) {
+        return Mono.fromCallable(() -> CampoTarefa.deLista(fields))
+                .flatMap(campos -> tarefaService.listarTodas(paginacao, campos))
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Buscar tarefa por ID")
+    public Mono<ResponseEntity<TarefaDTO>> buscarPorId(@PathVariable Long id) {
+        return tarefaService.buscarPorId(id).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/filtrar")
+    @Operation(summary = "Filtrar tarefas por usuário e/ou status")
+    public Mono<ResponseEntity<PaginaDTO<TarefaDTO>>> filtrarTarefas(
+            @RequestParam(required = false) Long usuarioId,
+            @RequestParam(required = false) StatusTarefa status,
+            @Valid @ParameterObject ParametrosPaginacao paginacao,
+            @Parameter(description = DESCRICAO_CAMPOS) @RequestParam(required = false) String fields) {
+
+        return Mono.fromCallable(() -> CampoTarefa.deLista(fields))
+                .flatMap(campos -> filtrar(usuarioId, status, paginacao, campos))
+                .map(ResponseEntity::ok);
+    }
+
+    private Mono<PaginaDTO<TarefaDTO>> filtrar(Long usuarioId, StatusTarefa status, ParametrosPaginacao paginacao,
+                                               Set<CampoTarefa> campos) {
+        if (usuarioId != null && status != null) {
+            return tarefaService.filtrarPorUsuarioEStatus(usuarioId, status, paginacao, campos);
+        } else if (usuarioId != null) {
+            return tarefaService.filtrarPorUsuario(usuarioId, paginacao, campos);
+        } else if (status != null) {
+            return tarefaService.filtrarPorStatus(status, paginacao, campos);
+        }
+        return tarefaService.listarTodas(paginacao, campos);
+    }
+
+    @GetMapping("/exportar")
+    @Operation(summary = "Exportar tarefas", description = "Exporta as tarefas filtradas por usuário e/ou status em streaming, nos formatos ndjson ou csv")
+    public ResponseEntity<Flux<String>> exportar(
+            @RequestParam(required = false) Long usuarioId,
+            @RequestParam(required = false) StatusTarefa status,
+            @RequestParam(defaultValue = "ndjson") String formato) {
+
+        FormatoExportacao formatoExportacao = FormatoExportacao.deValor(formato);
+        Flux<String> corpo = exportacaoTarefaService.exportar(usuarioId, status, formatoExportacao);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formatoExportacao.getTipoConteudo()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tarefas." + formatoExportacao.getExtensao() + "\"")
+                .body(corpo);
+    }
+
+    @PostMapping
+    @Operation(summary = "Criar nova tarefa")
+    public Mono<ResponseEntity<TarefaDTO>> criar(@Valid @RequestBody TarefaDTO tarefaDTO) {
+        return tarefaService.criar(tarefaDTO).map(novaTarefa -> new ResponseEntity<>(novaTarefa, HttpStatus.CREATED));
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Atualizar tarefa existente")
+    public Mono<ResponseEntity<TarefaDTO>> atualizar(@PathVariable Long id, @Valid @RequestBody TarefaDTO tarefaDTO) {
+        return tarefaService.atualizar(id, tarefaDTO).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Excluir tarefa")
+    public Mono<ResponseEntity<Void>> excluir(@PathVariable Long id) {
+        return tarefaService.excluir(id).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @GetMapping("/verificar-usuario/{usuarioId}")
+    @Operation(summary = "Verificar se usuário possui tarefas", description = "Endpoint utilizado internamente pelo serviço de usuários")
+    public Mono<ResponseEntity<Boolean>> verificarTarefasDoUsuario(@PathVariable Long usuarioId) {
+        return tarefaService.temTarefasDoUsuario(usuarioId).map(ResponseEntity::ok);
+    }
+}
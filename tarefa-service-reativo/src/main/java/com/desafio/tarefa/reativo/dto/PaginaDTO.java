@@ -0,0 +1,22 @@
+package com.desafio.tarefa.reativo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> {
+
+    private List<T> conteudo;
+
+    private int tamanho;
+
+    private boolean temProxima;
+
+    // Token opaco a ser enviado no parametro "cursor" para buscar a proxima pagina
+    private String proximoCursor;
+}
@@ -0,0 +1,31 @@
+package com.desafio.tarefa.reativo.dto;
+
+import com.desafio.tarefa.reativo.model.OrdenacaoTarefa;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParametrosPaginacao {
+
+    public static final int TAMANHO_PADRAO = 20;
+    public static final int TAMANHO_MAXIMO = 100;
+
+    private String cursor;
+
+    @Min(value = 1, message = "O tamanho da página deve ser no mínimo 1")
+    @Max(value = TAMANHO_MAXIMO, message = "O tamanho da página deve ser no máximo " + TAMANHO_MAXIMO)
+    private int tamanho = TAMANHO_PADRAO;
+
+    @NotNull(message = "A ordenação é obrigatória")
+    private OrdenacaoTarefa ordenacao = OrdenacaoTarefa.DATA_CRIACAO;
+
+    @NotNull(message = "A direção é obrigatória")
+    private Sort.Direction direcao = Sort.Direction.ASC;
+}
@@ -0,0 +1,37 @@
+package com.desafio.tarefa.reativo.dto;
+
+import com.desafio.tarefa.reativo.model.StatusTarefa;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Campos nulos ficam fora do JSON, assim as listagens com "fields" retornam apenas o que foi pedido
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TarefaDTO {
+
+    private Long id;
+
+    @NotBlank(message = "O título é obrigatório")
+    private String titulo;
+
+    private String descricao;
+
+    @NotNull(message = "O status é obrigatório")
+    private StatusTarefa status;
+
+    private LocalDateTime dataCriacao;
+
+    private LocalDate dataLimite;
+
+    @NotNull(message = "O usuário responsável é obrigatório")
+    private Long usuarioId;
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.desafio.tarefa.reativo.exception;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(TarefaNaoEncontradaException.class)
+    public ResponseEntity<ErroResponse> handleTarefaNaoEncontradaException(TarefaNaoEncontradaException ex) {
+        ErroResponse erro = new ErroResponse(
+                HttpStatus.NOT_FOUND.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(UsuarioNaoExisteException.class)
+    public ResponseEntity<ErroResponse> handleUsuarioNaoExisteException(UsuarioNaoExisteException ex) {
+        ErroResponse erro = new ErroResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.BAD_REQUEST);
+    }
+
+    // Usuario inexistente eh erro de quem chamou (400); servico de usuarios fora do ar eh indisponibilidade (503)
+    @ExceptionHandler(ServicoUsuarioIndisponivelException.class)
+    public ResponseEntity<ErroResponse> handleServicoUsuarioIndisponivelException(ServicoUsuarioIndisponivelException ex) {
+        ErroResponse erro = new ErroResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(StatusInvalidoException.class)
+    public ResponseEntity<ErroResponse> handleStatusInvalidoException(StatusInvalidoException ex) {
+        ErroResponse erro = new ErroResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(CursorInvalidoException.class)
+    public ResponseEntity<ErroResponse> handleCursorInvalidoException(CursorInvalidoException ex) {
+        ErroResponse erro = new ErroResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(FormatoInvalidoException.class)
+    public ResponseEntity<ErroResponse> handleFormatoInvalidoException(FormatoInvalidoException ex) {
+        ErroResponse erro = new ErroResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(CampoInvalidoException.class)
+    public ResponseEntity<ErroResponse> handleCampoInvalidoException(CampoInvalidoException ex) {
+        ErroResponse erro = new ErroResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.BAD_REQUEST);
+    }
+
+    // No WebFlux os erros de validacao do corpo e dos parametros de pagina chegam como WebExchangeBindException
+    // A tarefa foi alterada por outra requisicao entre a leitura e o UPDATE (versao diferente da lida)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErroResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        ErroResponse erro = new ErroResponse(
+                HttpStatus.CONFLICT.value(),
+                "A tarefa foi alterada por outra requisição",
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, String>> handleValidationExceptions(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach((error) -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = error.getDefaultMessage();
+            errors.put(fieldName, errorMessage);
+        });
+        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    }
+
+    // Classe interna para representar a resposta de erro
+    public static class ErroResponse {
+        private int status;
+        private String mensagem;
+        private LocalDateTime timestamp;
+
+        public ErroResponse(int status, String mensagem, LocalDateTime timestamp) {
+            this.status = status;
+            this.mensagem = mensagem;
+            this.timestamp = timestamp;
+        }
+
+        // Getters
+        public int getStatus() {
+            return status;
+        }
+
+        public String getMensagem() {
+            return mensagem;
+        }
+
+        public LocalDateTime getTimestamp() {
+            return timestamp;
+        }
+    }
+}
\ No newline at end of file
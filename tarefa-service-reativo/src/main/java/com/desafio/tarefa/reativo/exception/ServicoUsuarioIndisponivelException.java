@@ -0,0 +1,12 @@
+package com.desafio.tarefa.reativo.exception;
+
+// O serviço de usuários não respondeu (falha ou tempo esgotado)
+public class ServicoUsuarioIndisponivelException extends RuntimeException {
+    public ServicoUsuarioIndisponivelException(String mensagem) {
+        super(mensagem);
+    }
+
+    public ServicoUsuarioIndisponivelException(String mensagem, Throwable causa) {
+        super(mensagem, causa);
+    }
+}
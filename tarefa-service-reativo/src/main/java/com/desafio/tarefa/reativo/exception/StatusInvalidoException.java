@@ -0,0 +1,7 @@
+package com.desafio.tarefa.reativo.exception;
+
+public class StatusInvalidoException extends RuntimeException {
+    public StatusInvalidoException(String mensagem) {
+        super(mensagem);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.desafio.tarefa.reativo.exception;
+
+public class TarefaNaoEncontradaException extends RuntimeException {
+    public TarefaNaoEncontradaException(String mensagem) {
+        super(mensagem);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.desafio.tarefa.reativo.exception;
+
+public class UsuarioNaoExisteException extends RuntimeException {
+    public UsuarioNaoExisteException(String mensagem) {
+        super(mensagem);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.desafio.tarefa.reativo.model;
+
+import com.desafio.tarefa.reativo.exception.CampoInvalidoException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Campos de Tarefa que podem ser pedidos nas listagens pelo parametro "fields"
+public enum CampoTarefa {
+    ID("id", "id"),
+    TITULO("titulo", "titulo"),
+    DESCRICAO("descricao", "descricao"),
+    STATUS("status", "status"),
+    DATA_CRIACAO("dataCriacao", "data_criacao"),
+    DATA_LIMITE("dataLimite", "data_limite"),
+    USUARIO_ID("usuarioId", "usuario_id");
+
+    // Campos retornados nas listagens quando o cliente nao informa "fields"
+    public static final Set<CampoTarefa> RESUMO =
+            Collections.unmodifiableSet(EnumSet.of(ID, TITULO, STATUS, DATA_LIMITE, USUARIO_ID));
+
+    private final String atributo;
+
+    // Coluna da tabela tarefas, usada nas consultas SQL montadas pelo repositorio
+    private final String coluna;
+
+    CampoTarefa(String atributo, String coluna) {
+        this.atributo = atributo;
+        this.coluna = coluna;
+    }
+
+    // Converte "titulo,status" no conjunto de campos; o ID eh sempre incluido
+    public static Set<CampoTarefa> deLista(String campos) {
+        if (campos == null || campos.isBlank()) {
+            return RESUMO;
+        }
+
+        Set<CampoTarefa> resultado = EnumSet.of(ID);
+        for (String nome : campos.split(",")) {
+            String nomeLimpo = nome.trim();
+            if (!nomeLimpo.isEmpty()) {
+                resultado.add(deAtributo(nomeLimpo));
+            }
+        }
+        return resultado;
+    }
+
+    private static CampoTarefa deAtributo(String nome) {
+        for (CampoTarefa campo : values()) {
+            if (campo.atributo.equalsIgnoreCase(nome)) {
+                return campo;
+            }
+        }
+        String aceitos = Arrays.stream(values()).map(CampoTarefa::getAtributo).collect(Collectors.joining(", "));
+        throw new CampoInvalidoException("Campo inválido: " + nome + ". Valores aceitos: " + aceitos);
+    }
+
+    public String getAtributo() {
+        return atributo;
+    }
+
+    public String getColuna() {
+        return coluna;
+    }
+}
@@ -0,0 +1,7 @@
+package com.desafio.tarefa.reativo.model;
+
+public enum StatusTarefa {
+    PENDENTE,
+    EM_ANDAMENTO,
+    CONCLUIDO
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.desafio.tarefa.reativo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Mesma tabela do tarefa-service; o esquema continua sendo versionado pelas migracoes Flyway de la
+@Table("tarefas")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Tarefa {
+
+    // Gerado pelo AlocadorIdTarefa a partir de tarefas_seq, com a mesma reserva de 50 IDs usada pelo Hibernate
+    @Id
+    private Long id;
+
+    private String titulo;
+
+    private String descricao;
+
+    private StatusTarefa status;
+
+    @Column("data_criacao")
+    private LocalDateTime dataCriacao;
+
+    @Column("data_limite")
+    private LocalDate dataLimite;
+
+    @Column("usuario_id")
+    private Long usuarioId;
+
+    // Mesma versao usada pelo tarefa-service no ETag e na trava otimista: cada UPDATE daqui tambem a incrementa
+    @Version
+    private Long versao;
+}
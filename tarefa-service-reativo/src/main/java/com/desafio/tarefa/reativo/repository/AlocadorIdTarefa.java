@@ -0,0 +1,56 @@
+package com.desafio.tarefa.reativo.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Gera IDs de tarefa a partir da sequência {@code tarefas_seq}, compatível com o tarefa-service (JPA), que pode
+ * estar gravando no mesmo banco. Lá o Hibernate reserva 50 IDs por chamada (allocationSize = 50, otimizador
+ * "pooled"): o valor lido da sequência é o último ID do bloco. Aqui a reserva é a mesma, então os dois serviços
+ * nunca geram o mesmo ID.
+ */
+@Component
+public class AlocadorIdTarefa {
+
+    static final int TAMANHO_BLOCO = 50;
+
+    private final DatabaseClient databaseClient;
+
+    // Proximo ID livre e ultimo ID do bloco reservado; protegidos pelo lock do objeto (trechos curtos, sem I/O)
+    private long proximo = 1;
+    private long ultimo = 0;
+
+    public AlocadorIdTarefa(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Long> proximoId() {
+        return Mono.defer(() -> {
+            Long id = retirarDoBloco();
+            return id != null ? Mono.just(id) : reservarBloco();
+        });
+    }
+
+    private synchronized Long retirarDoBloco() {
+        return proximo <= ultimo ? proximo++ : null;
+    }
+
+    // Varias reservas simultaneas sao possiveis: quem reservou fica com o primeiro ID e o restante do bloco so
+    // substitui o bloco atual se ele ja tiver acabado (caso contrario os IDs sao descartados, como no Hibernate)
+    private Mono<Long> reservarBloco() {
+        return databaseClient.sql("select nextval('tarefas_seq')")
+                .map(linha -> linha.get(0, Long.class))
+                .one()
+                .map(this::usarBloco);
+    }
+
+    private synchronized long usarBloco(long fimDoBloco) {
+        long inicio = Math.max(1, fimDoBloco - TAMANHO_BLOCO + 1);
+        if (proximo > ultimo) {
+            proximo = inicio + 1;
+            ultimo = fimDoBloco;
+        }
+        return inicio;
+    }
+}
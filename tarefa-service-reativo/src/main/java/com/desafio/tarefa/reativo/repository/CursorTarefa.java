@@ -0,0 +1,91 @@
+package com.desafio.tarefa.reativo.repository;
+
+import com.desafio.tarefa.reativo.dto.TarefaDTO;
+import com.desafio.tarefa.reativo.exception.CursorInvalidoException;
+import com.desafio.tarefa.reativo.model.OrdenacaoTarefa;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Posição de keyset na listagem de tarefas: valor da coluna de ordenação e ID da última tarefa lida.
+ * Trafega para o cliente como um token opaco em Base64.
+ */
+public final class CursorTarefa {
+
+    private static final String SEPARADOR = "|";
+
+    private final OrdenacaoTarefa ordenacao;
+    private final Sort.Direction direcao;
+    private final Object valor;
+    private final Long id;
+
+    public CursorTarefa(OrdenacaoTarefa ordenacao, Sort.Direction direcao, Object valor, Long id) {
+        this.ordenacao = ordenacao;
+        this.direcao = direcao;
+        this.valor = valor;
+        this.id = id;
+    }
+
+    public static CursorTarefa apos(TarefaDTO tarefa, OrdenacaoTarefa ordenacao, Sort.Direction direcao) {
+        Object valor = ordenacao == OrdenacaoTarefa.DATA_LIMITE ? tarefa.getDataLimite() : tarefa.getDataCriacao();
+        return new CursorTarefa(ordenacao, direcao, valor, tarefa.getId());
+    }
+
+    public String codificar() {
+        String conteudo = ordenacao.name() + SEPARADOR + direcao.name() + SEPARADOR
+                + (valor == null ? "" : valor.toString()) + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // O cursor so eh valido para a mesma ordenacao e direcao em que foi gerado
+    public static CursorTarefa decodificar(String token, OrdenacaoTarefa ordenacao, Sort.Direction direcao) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] partes = conteudo.split("\\|", -1);
+            if (partes.length != 4
+                    || OrdenacaoTarefa.valueOf(partes[0]) != ordenacao
+                    || Sort.Direction.valueOf(partes[1]) != direcao) {
+                throw new CursorInvalidoException("Cursor inválido para a ordenação informada");
+            }
+
+            Object valor = null;
+            if (!partes[2].isEmpty()) {
+                valor = ordenacao == OrdenacaoTarefa.DATA_LIMITE
+                        ? LocalDate.parse(partes[2])
+                        : LocalDateTime.parse(partes[2]);
+            } else if (ordenacao == OrdenacaoTarefa.DATA_CRIACAO) {
+                throw new CursorInvalidoException("Cursor inválido para a ordenação informada");
+            }
+
+            return new CursorTarefa(ordenacao, direcao, valor, Long.valueOf(partes[3]));
+        } catch (CursorInvalidoException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new CursorInvalidoException("Cursor inválido: " + token);
+        }
+    }
+
+    public OrdenacaoTarefa getOrdenacao() {
+        return ordenacao;
+    }
+
+    public Sort.Direction getDirecao() {
+        return direcao;
+    }
+
+    public Object getValor() {
+        return valor;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
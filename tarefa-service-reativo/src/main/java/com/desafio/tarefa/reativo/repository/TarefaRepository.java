@@ -0,0 +1,23 @@
+package com.desafio.tarefa.reativo.repository;
+
+import com.desafio.tarefa.reativo.model.StatusTarefa;
+import com.desafio.tarefa.reativo.model.Tarefa;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Mesmas consultas do TarefaRepository (JPA) do tarefa-service, devolvendo Flux/Mono
+@Repository
+public interface TarefaRepository extends R2dbcRepository<Tarefa, Long>, TarefaRepositoryCustom {
+
+    Flux<Tarefa> findByUsuarioId(Long usuarioId);
+
+    Flux<Tarefa> findByStatus(StatusTarefa status);
+
+    Flux<Tarefa> findByUsuarioIdAndStatus(Long usuarioId, StatusTarefa status);
+
+    Mono<Long> countByUsuarioId(Long usuarioId);
+
+    Mono<Boolean> existsByUsuarioId(Long usuarioId);
+}
@@ -0,0 +1,26 @@
+package com.desafio.tarefa.reativo.repository;
+
+import com.desafio.tarefa.reativo.dto.TarefaDTO;
+import com.desafio.tarefa.reativo.model.CampoTarefa;
+import com.desafio.tarefa.reativo.model.OrdenacaoTarefa;
+import com.desafio.tarefa.reativo.model.StatusTarefa;
+import com.desafio.tarefa.reativo.model.Tarefa;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+public interface TarefaRepositoryCustom {
+
+    // Busca paginada por keyset: usuarioId e status sao filtros opcionais, cursor nulo indica a primeira pagina.
+    // Seleciona apenas as colunas dos campos pedidos (mais o ID e o campo de ordenacao)
+    Flux<TarefaDTO> buscarPagina(Long usuarioId, StatusTarefa status, Set<CampoTarefa> campos,
+                                 OrdenacaoTarefa ordenacao, Sort.Direction direcao, CursorTarefa cursor, int limite);
+
+    // Leitura em streaming para exportacao: as linhas sao lidas do banco conforme o cliente consome
+    Flux<Tarefa> streamPorFiltro(Long usuarioId, StatusTarefa status);
+
+    // INSERT com o ID ja definido (o save do repositorio trataria a tarefa como existente e faria UPDATE)
+    Mono<Tarefa> inserir(Tarefa tarefa);
+}
@@ -0,0 +1,164 @@
+package com.desafio.tarefa.reativo.repository;
+
+import com.desafio.tarefa.reativo.dto.TarefaDTO;
+import com.desafio.tarefa.reativo.model.CampoTarefa;
+import com.desafio.tarefa.reativo.model.OrdenacaoTarefa;
+import com.desafio.tarefa.reativo.model.StatusTarefa;
+import com.desafio.tarefa.reativo.model.Tarefa;
+import io.r2dbc.spi.Readable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class TarefaRepositoryImpl implements TarefaRepositoryCustom {
+
+    // Quantidade de linhas trazidas do banco por ida ao servidor durante o streaming
+    static final int TAMANHO_LOTE_STREAM = 500;
+
+    private final R2dbcEntityTemplate template;
+    private final DatabaseClient databaseClient;
+
+    public TarefaRepositoryImpl(R2dbcEntityTemplate template) {
+        this.template = template;
+        this.databaseClient = template.getDatabaseClient();
+    }
+
+    @Override
+    public Flux<TarefaDTO> buscarPagina(Long usuarioId, StatusTarefa status, Set<CampoTarefa> campos,
+                                        OrdenacaoTarefa ordenacao, Sort.Direction direcao, CursorTarefa cursor, int limite) {
+        List<String> condicoes = new ArrayList<>();
+        Map<String, Object> parametros = new LinkedHashMap<>();
+
+        if (usuarioId != null) {
+            condicoes.add("usuario_id = :usuarioId");
+            parametros.put("usuarioId", usuarioId);
+        }
+        if (status != null) {
+            condicoes.add("status = :status");
+            parametros.put("status", status.name());
+        }
+        if (cursor != null) {
+            parametros.put("cursorId", cursor.getId());
+            if (cursor.getValor() != null) {
+                parametros.put("cursorValor", cursor.getValor());
+            }
+        }
+
+        // O ID e o campo de ordenacao sao sempre lidos, pois formam o cursor da proxima pagina
+        Set<CampoTarefa> selecionados = EnumSet.of(CampoTarefa.ID, ordenacao.getCampo());
+        selecionados.addAll(campos);
+        String colunas = selecionados.stream().map(CampoTarefa::getColuna).collect(Collectors.joining(", "));
+
+        String coluna = ordenacao.getColuna();
+        // Nulos ficam no fim em ASC e no inicio em DESC, o mesmo comportamento padrao de indices no PostgreSQL
+        String ordem = direcao.isAscending()
+                ? " order by " + coluna + " asc nulls last, id asc"
+                : " order by " + coluna + " desc nulls first, id desc";
+
+        // Cada trecho eh uma busca no indice (coluna, id) a partir do cursor; o seguinte so eh consultado quando o
+        // anterior nao completa a pagina (concat so assina o proximo depois do anterior, e take cancela o resto)
+        List<Flux<TarefaDTO>> trechos = new ArrayList<>();
+        for (String trecho : trechosKeyset(ordenacao, direcao, cursor)) {
+            List<String> condicoesTrecho = new ArrayList<>(condicoes);
+            if (trecho != null) {
+                condicoesTrecho.add(trecho);
+            }
+            StringBuilder sql = new StringBuilder("select ").append(colunas).append(" from tarefas");
+            if (!condicoesTrecho.isEmpty()) {
+                sql.append(" where ").append(String.join(" and ", condicoesTrecho));
+            }
+            sql.append(ordem).append(" limit ").append(limite);
+
+            trechos.add(Flux.defer(() -> {
+                DatabaseClient.GenericExecuteSpec consulta = databaseClient.sql(sql.toString());
+                for (Map.Entry<String, Object> parametro : parametros.entrySet()) {
+                    if (sql.indexOf(":" + parametro.getKey()) >= 0) {
+                        consulta = consulta.bind(parametro.getKey(), parametro.getValue());
+                    }
+                }
+                return consulta.map(linha -> paraDTO(linha, selecionados)).all();
+            }));
+        }
+        return Flux.concat(trechos).take(limite);
+    }
+
+    private TarefaDTO paraDTO(Readable linha, Set<CampoTarefa> campos) {
+        TarefaDTO dto = new TarefaDTO();
+        for (CampoTarefa campo : campos) {
+            String coluna = campo.getColuna();
+            switch (campo) {
+                case ID -> dto.setId(linha.get(coluna, Long.class));
+                case TITULO -> dto.setTitulo(linha.get(coluna, String.class));
+                case DESCRICAO -> dto.setDescricao(linha.get(coluna, String.class));
+                case STATUS -> dto.setStatus(StatusTarefa.valueOf(linha.get(coluna, String.class)));
+                case DATA_CRIACAO -> dto.setDataCriacao(linha.get(coluna, LocalDateTime.class));
+                case DATA_LIMITE -> dto.setDataLimite(linha.get(coluna, LocalDate.class));
+                case USUARIO_ID -> dto.setUsuarioId(linha.get(coluna, Long.class));
+            }
+        }
+        return dto;
+    }
+
+    // Condicoes "depois do cursor" para (coluna, id), em ordem, uma consulta por trecho (null: sem condicao).
+    // A comparacao de linha (coluna, id) > (valor, id) vira uma busca no indice, o que o OR entre as alternativas
+    // impedia; os nulos de data_limite (no fim em ASC, no inicio em DESC) ficam num trecho proprio
+    private List<String> trechosKeyset(OrdenacaoTarefa ordenacao, Sort.Direction direcao, CursorTarefa cursor) {
+        if (cursor == null) {
+            return Collections.singletonList(null);
+        }
+        String coluna = ordenacao.getColuna();
+        String comparador = direcao.isAscending() ? ">" : "<";
+        boolean aceitaNulos = ordenacao == OrdenacaoTarefa.DATA_LIMITE;
+
+        if (cursor.getValor() == null) {
+            String aposNulos = coluna + " is null and id " + comparador + " :cursorId";
+            return direcao.isAscending() ? List.of(aposNulos) : List.of(aposNulos, coluna + " is not null");
+        }
+        String aposCursor = "(" + coluna + ", id) " + comparador + " (:cursorValor, :cursorId)";
+        return direcao.isAscending() && aceitaNulos ? List.of(aposCursor, coluna + " is null") : List.of(aposCursor);
+    }
+
+    @Override
+    public Flux<Tarefa> streamPorFiltro(Long usuarioId, StatusTarefa status) {
+        List<String> condicoes = new ArrayList<>();
+        if (usuarioId != null) {
+            condicoes.add("usuario_id = :usuarioId");
+        }
+        if (status != null) {
+            condicoes.add("status = :status");
+        }
+
+        String sql = "select * from tarefas"
+                + (condicoes.isEmpty() ? "" : " where " + String.join(" and ", condicoes))
+                + " order by id";
+        // Com fetch size o PostgreSQL usa um cursor e so envia o proximo bloco quando o anterior foi consumido
+        DatabaseClient.GenericExecuteSpec consulta = databaseClient.sql(sql)
+                .filter(instrucao -> instrucao.fetchSize(TAMANHO_LOTE_STREAM));
+        if (usuarioId != null) {
+            consulta = consulta.bind("usuarioId", usuarioId);
+        }
+        if (status != null) {
+            consulta = consulta.bind("status", status.name());
+        }
+
+        return consulta.map((linha, metadados) -> template.getConverter().read(Tarefa.class, linha, metadados)).all();
+    }
+
+    @Override
+    public Mono<Tarefa> inserir(Tarefa tarefa) {
+        return template.insert(tarefa);
+    }
+}
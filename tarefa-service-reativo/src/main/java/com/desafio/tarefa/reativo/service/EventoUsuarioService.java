@@ -0,0 +1,21 @@
+package com.desafio.tarefa.reativo.service;
+
+import com.desafio.tarefa.reativo.client.UsuarioClientReativo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+// Trata os avisos enviados pelo serviço de usuários
+@Service
+public class EventoUsuarioService {
+
+    private final UsuarioClientReativo usuarioClient;
+
+    @Autowired
+    public EventoUsuarioService(UsuarioClientReativo usuarioClient) {
+        this.usuarioClient = usuarioClient;
+    }
+
+    public void usuarioExcluido(Long usuarioId) {
+        usuarioClient.invalidar(usuarioId);
+    }
+}
@@ -0,0 +1,72 @@
+package com.desafio.tarefa.reativo.service;
+
+import com.desafio.tarefa.reativo.dto.TarefaDTO;
+import com.desafio.tarefa.reativo.model.FormatoExportacao;
+import com.desafio.tarefa.reativo.model.StatusTarefa;
+import com.desafio.tarefa.reativo.repository.TarefaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Exportação em streaming com contrapressão: as tarefas saem do banco no ritmo em que o cliente lê a resposta,
+ * então um cliente lento não faz o serviço acumular as linhas em memória.
+ */
+@Service
+public class ExportacaoTarefaService {
+
+    private static final String CABECALHO_CSV = "id,titulo,descricao,status,dataCriacao,dataLimite,usuarioId";
+
+    private final TarefaRepository tarefaRepository;
+    private final TarefaService tarefaService;
+    private final ObjectWriter escritorJson;
+
+    @Autowired
+    public ExportacaoTarefaService(TarefaRepository tarefaRepository, TarefaService tarefaService, ObjectMapper objectMapper) {
+        this.tarefaRepository = tarefaRepository;
+        this.tarefaService = tarefaService;
+        this.escritorJson = objectMapper.writer();
+    }
+
+    // Uma linha de texto por tarefa (mais o cabecalho no CSV), escrita na resposta conforme o cliente consome
+    public Flux<String> exportar(Long usuarioId, StatusTarefa status, FormatoExportacao formato) {
+        Flux<TarefaDTO> tarefas = tarefaRepository.streamPorFiltro(usuarioId, status).map(tarefaService::converterParaDTO);
+        if (formato == FormatoExportacao.CSV) {
+            return Flux.concat(Mono.just(CABECALHO_CSV + "\n"), tarefas.map(this::linhaCsv));
+        }
+        return tarefas.handle((tarefa, sink) -> {
+            try {
+                sink.next(escritorJson.writeValueAsString(tarefa) + "\n");
+            } catch (JsonProcessingException e) {
+                sink.error(e);
+            }
+        });
+    }
+
+    private String linhaCsv(TarefaDTO tarefa) {
+        return tarefa.getId()
+                + "," + campoCsv(tarefa.getTitulo())
+                + "," + campoCsv(tarefa.getDescricao())
+                + "," + campoCsv(tarefa.getStatus())
+                + "," + campoCsv(tarefa.getDataCriacao())
+                + "," + campoCsv(tarefa.getDataLimite())
+                + "," + campoCsv(tarefa.getUsuarioId())
+                + "\n";
+    }
+
+    // Aspas apenas quando necessario, seguindo a RFC 4180
+    private String campoCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,169 @@
+package com.desafio.tarefa.reativo.service;
+
+import com.desafio.tarefa.reativo.client.UsuarioClientReativo;
+import com.desafio.tarefa.reativo.dto.PaginaDTO;
+import com.desafio.tarefa.reativo.dto.ParametrosPaginacao;
+import com.desafio.tarefa.reativo.dto.TarefaDTO;
+import com.desafio.tarefa.reativo.exception.StatusInvalidoException;
+import com.desafio.tarefa.reativo.exception.TarefaNaoEncontradaException;
+import com.desafio.tarefa.reativo.exception.ServicoUsuarioIndisponivelException;
+import com.desafio.tarefa.reativo.exception.UsuarioNaoExisteException;
+import com.desafio.tarefa.reativo.model.CampoTarefa;
+import com.desafio.tarefa.reativo.model.OrdenacaoTarefa;
+import com.desafio.tarefa.reativo.model.StatusTarefa;
+import com.desafio.tarefa.reativo.model.Tarefa;
+import com.desafio.tarefa.reativo.repository.AlocadorIdTarefa;
+import com.desafio.tarefa.reativo.repository.CursorTarefa;
+import com.desafio.tarefa.reativo.repository.TarefaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Mesmas regras do TarefaService do tarefa-service, sem bloquear threads. As operações não usam transação:
+ * cada comando pega uma conexão do pool só durante a sua execução, então a verificação do usuário (chamada HTTP)
+ * nunca segura uma conexão do banco.
+ */
+@Service
+public class TarefaService {
+
+    private final TarefaRepository tarefaRepository;
+    private final AlocadorIdTarefa alocadorId;
+    private final UsuarioClientReativo usuarioClient;
+
+    @Autowired
+    public TarefaService(TarefaRepository tarefaRepository, AlocadorIdTarefa alocadorId, UsuarioClientReativo usuarioClient) {
+        this.tarefaRepository = tarefaRepository;
+        this.alocadorId = alocadorId;
+        this.usuarioClient = usuarioClient;
+    }
+
+    public TarefaDTO converterParaDTO(Tarefa tarefa) {
+        TarefaDTO dto = new TarefaDTO();
+        dto.setId(tarefa.getId());
+        dto.setTitulo(tarefa.getTitulo());
+        dto.setDescricao(tarefa.getDescricao());
+        dto.setStatus(tarefa.getStatus());
+        dto.setDataCriacao(tarefa.getDataCriacao());
+        dto.setDataLimite(tarefa.getDataLimite());
+        dto.setUsuarioId(tarefa.getUsuarioId());
+        return dto;
+    }
+
+    public Mono<PaginaDTO<TarefaDTO>> listarTodas(ParametrosPaginacao paginacao, Set<CampoTarefa> campos) {
+        return buscarPagina(null, null, paginacao, campos);
+    }
+
+    public Mono<TarefaDTO> buscarPorId(Long id) {
+        return buscarTarefa(id).map(this::converterParaDTO);
+    }
+
+    public Mono<PaginaDTO<TarefaDTO>> filtrarPorUsuario(Long usuarioId, ParametrosPaginacao paginacao, Set<CampoTarefa> campos) {
+        return verificarUsuarioExiste(usuarioId).then(buscarPagina(usuarioId, null, paginacao, campos));
+    }
+
+    public Mono<PaginaDTO<TarefaDTO>> filtrarPorStatus(StatusTarefa status, ParametrosPaginacao paginacao, Set<CampoTarefa> campos) {
+        return buscarPagina(null, status, paginacao, campos);
+    }
+
+    public Mono<PaginaDTO<TarefaDTO>> filtrarPorUsuarioEStatus(Long usuarioId, StatusTarefa status, ParametrosPaginacao paginacao,
+                                                                Set<CampoTarefa> campos) {
+        return verificarUsuarioExiste(usuarioId).then(buscarPagina(usuarioId, status, paginacao, campos));
+    }
+
+    public Mono<TarefaDTO> criar(TarefaDTO tarefaDTO) {
+        return verificarUsuarioExiste(tarefaDTO.getUsuarioId())
+                .then(alocadorId.proximoId())
+                .flatMap(id -> {
+                    Tarefa tarefa = new Tarefa(id, null, null, null, LocalDateTime.now(), null, null, null);
+                    aplicarAlteracoes(tarefa, tarefaDTO);
+                    return tarefaRepository.inserir(tarefa);
+                })
+                .map(this::converterParaDTO);
+    }
+
+    public Mono<TarefaDTO> atualizar(Long id, TarefaDTO tarefaDTO) {
+        return buscarTarefa(id)
+                .flatMap(tarefaExistente -> {
+                    // Verificar se tarefa pode ser editada com base no status
+                    if (tarefaExistente.getStatus() == StatusTarefa.CONCLUIDO) {
+                        return Mono.error(new StatusInvalidoException("Tarefas com status 'CONCLUIDO' não podem ser editadas"));
+                    }
+                    return verificarUsuarioExiste(tarefaDTO.getUsuarioId())
+                            .then(Mono.defer(() -> {
+                                aplicarAlteracoes(tarefaExistente, tarefaDTO);
+                                return tarefaRepository.save(tarefaExistente);
+                            }));
+                })
+                .map(this::converterParaDTO);
+    }
+
+    public Mono<Void> excluir(Long id) {
+        return tarefaRepository.existsById(id)
+                .flatMap(existe -> existe
+                        ? tarefaRepository.deleteById(id)
+                        : Mono.error(new TarefaNaoEncontradaException("Tarefa não encontrada com o ID: " + id)));
+    }
+
+    // Atualizar os campos da tarefa
+    public void aplicarAlteracoes(Tarefa tarefa, TarefaDTO tarefaDTO) {
+        tarefa.setTitulo(tarefaDTO.getTitulo());
+        tarefa.setDescricao(tarefaDTO.getDescricao());
+        tarefa.setStatus(tarefaDTO.getStatus());
+        tarefa.setDataLimite(tarefaDTO.getDataLimite());
+        tarefa.setUsuarioId(tarefaDTO.getUsuarioId());
+    }
+
+    // Verifica se há tarefas associadas a um usuário
+    public Mono<Boolean> temTarefasDoUsuario(Long usuarioId) {
+        return tarefaRepository.existsByUsuarioId(usuarioId);
+    }
+
+    // Métodos auxiliares
+    private Mono<Tarefa> buscarTarefa(Long id) {
+        return tarefaRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new TarefaNaoEncontradaException("Tarefa não encontrada com o ID: " + id)));
+    }
+
+    private Mono<PaginaDTO<TarefaDTO>> buscarPagina(Long usuarioId, StatusTarefa status, ParametrosPaginacao paginacao,
+                                                    Set<CampoTarefa> campos) {
+        return Mono.defer(() -> {
+            OrdenacaoTarefa ordenacao = paginacao.getOrdenacao();
+            Sort.Direction direcao = paginacao.getDirecao();
+            int tamanho = Math.min(Math.max(paginacao.getTamanho(), 1), ParametrosPaginacao.TAMANHO_MAXIMO);
+            CursorTarefa cursor = CursorTarefa.decodificar(paginacao.getCursor(), ordenacao, direcao);
+
+            // Busca um registro a mais apenas para saber se existe proxima pagina
+            return tarefaRepository.buscarPagina(usuarioId, status, campos, ordenacao, direcao, cursor, tamanho + 1)
+                    .collectList()
+                    .map(conteudo -> montarPagina(conteudo, tamanho, ordenacao, direcao));
+        });
+    }
+
+    private PaginaDTO<TarefaDTO> montarPagina(List<TarefaDTO> conteudo, int tamanho, OrdenacaoTarefa ordenacao,
+                                              Sort.Direction direcao) {
+        boolean temProxima = conteudo.size() > tamanho;
+        if (temProxima) {
+            conteudo = conteudo.subList(0, tamanho);
+        }
+
+        String proximoCursor = temProxima
+                ? CursorTarefa.apos(conteudo.get(conteudo.size() - 1), ordenacao, direcao).codificar()
+                : null;
+        return new PaginaDTO<>(conteudo, conteudo.size(), temProxima, proximoCursor);
+    }
+
+    private Mono<Void> verificarUsuarioExiste(Long usuarioId) {
+        return usuarioClient.usuarioExiste(usuarioId)
+                .onErrorMap(e -> new ServicoUsuarioIndisponivelException(
+                        "Erro ao comunicar com o serviço de usuários: " + e.getMessage(), e))
+                .flatMap(existe -> existe
+                        ? Mono.<Void>empty()
+                        : Mono.error(new UsuarioNaoExisteException("Usuário não encontrado com o ID: " + usuarioId)));
+    }
+}
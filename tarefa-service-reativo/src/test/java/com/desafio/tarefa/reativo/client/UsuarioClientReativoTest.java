@@ -0,0 +1,100 @@
+package com.desafio.tarefa.reativo.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UsuarioClientReativoTest {
+
+    private final AtomicInteger chamadas = new AtomicInteger();
+
+    @Test
+    void deveReutilizarResultadoEmCache() {
+        UsuarioClientReativo usuarioClient = criarCliente(Mono.just(resposta("true")), Duration.ofSeconds(2));
+
+        StepVerifier.create(usuarioClient.usuarioExiste(1L)).expectNext(true).verifyComplete();
+        StepVerifier.create(usuarioClient.usuarioExiste(1L)).expectNext(true).verifyComplete();
+
+        assertThat(chamadas).hasValue(1);
+    }
+
+    @Test
+    void deveCompartilharChamadaEmAndamentoParaOMesmoUsuario() {
+        Sinks.One<ClientResponse> respostaPendente = Sinks.one();
+        UsuarioClientReativo usuarioClient = criarCliente(respostaPendente.asMono(), Duration.ofSeconds(2));
+
+        Mono<Boolean> primeira = usuarioClient.usuarioExiste(1L).cache();
+        Mono<Boolean> segunda = usuarioClient.usuarioExiste(1L).cache();
+        primeira.subscribe();
+        segunda.subscribe();
+        respostaPendente.tryEmitValue(resposta("false"));
+
+        StepVerifier.create(primeira).expectNext(false).verifyComplete();
+        StepVerifier.create(segunda).expectNext(false).verifyComplete();
+        assertThat(chamadas).hasValue(1);
+    }
+
+    @Test
+    void cancelamentoDeUmaVerificacaoNaoAfetaAsDemais() {
+        Sinks.One<ClientResponse> respostaPendente = Sinks.one();
+        UsuarioClientReativo usuarioClient = criarCliente(respostaPendente.asMono(), Duration.ofSeconds(2));
+
+        usuarioClient.usuarioExiste(1L).subscribe().dispose();
+        Mono<Boolean> segunda = usuarioClient.usuarioExiste(1L).cache();
+        segunda.subscribe();
+        respostaPendente.tryEmitValue(resposta("true"));
+
+        StepVerifier.create(segunda).expectNext(true).verifyComplete();
+        assertThat(chamadas).hasValue(1);
+    }
+
+    @Test
+    void naoDeveGuardarFalhaNoCache() {
+        UsuarioClientReativo usuarioClient = criarCliente(Mono.never(), Duration.ofMillis(50));
+
+        StepVerifier.create(usuarioClient.usuarioExiste(1L)).expectError(TimeoutException.class).verify();
+        StepVerifier.create(usuarioClient.usuarioExiste(1L)).expectError(TimeoutException.class).verify();
+
+        assertThat(chamadas).hasValue(2);
+    }
+
+    @Test
+    void deveConsultarNovamenteAposInvalidar() {
+        UsuarioClientReativo usuarioClient = criarCliente(Mono.just(resposta("true")), Duration.ofSeconds(2));
+
+        StepVerifier.create(usuarioClient.usuarioExiste(1L)).expectNext(true).verifyComplete();
+        usuarioClient.invalidar(1L);
+        StepVerifier.create(usuarioClient.usuarioExiste(1L)).expectNext(true).verifyComplete();
+
+        assertThat(chamadas).hasValue(2);
+    }
+
+    private UsuarioClientReativo criarCliente(Mono<ClientResponse> resposta, Duration timeout) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(requisicao -> {
+                    chamadas.incrementAndGet();
+                    return resposta;
+                })
+                .build();
+        return new UsuarioClientReativo(webClient, timeout, 100, Duration.ofMinutes(10), Duration.ofSeconds(30));
+    }
+
+    private ClientResponse resposta(String corpo) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(corpo)
+                .build();
+    }
+}
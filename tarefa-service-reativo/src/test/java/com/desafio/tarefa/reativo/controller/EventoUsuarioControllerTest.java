@@ -0,0 +1,41 @@
+package com.desafio.tarefa.reativo.controller;
+
+import com.desafio.tarefa.reativo.exception.GlobalExceptionHandler;
+import com.desafio.tarefa.reativo.service.EventoUsuarioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EventoUsuarioControllerTest {
+
+    private WebTestClient webTestClient;
+
+    @Mock
+    private EventoUsuarioService eventoUsuarioService;
+
+    @InjectMocks
+    private EventoUsuarioController eventoUsuarioController;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToController(eventoUsuarioController)
+                .controllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void deveTratarExclusaoDeUsuario() {
+        webTestClient.post().uri("/api/tarefas/eventos/usuario-excluido/{usuarioId}", 10L)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verify(eventoUsuarioService, times(1)).usuarioExcluido(10L);
+    }
+}
@@ -0,0 +1,222 @@
+package com.desafio.tarefa.reativo.controller;
+
+import com.desafio.tarefa.reativo.dto.PaginaDTO;
+import com.desafio.tarefa.reativo.dto.ParametrosPaginacao;
+import com.desafio.tarefa.reativo.dto.TarefaDTO;
+import com.desafio.tarefa.reativo.exception.GlobalExceptionHandler;
+import com.desafio.tarefa.reativo.exception.ServicoUsuarioIndisponivelException;
+import com.desafio.tarefa.reativo.exception.TarefaNaoEncontradaException;
+import com.desafio.tarefa.reativo.exception.UsuarioNaoExisteException;
+import com.desafio.tarefa.reativo.model.CampoTarefa;
+import com.desafio.tarefa.reativo.model.FormatoExportacao;
+import com.desafio.tarefa.reativo.model.StatusTarefa;
+import com.desafio.tarefa.reativo.service.ExportacaoTarefaService;
+import com.desafio.tarefa.reativo.service.TarefaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TarefaControllerTest {
+
+    private WebTestClient webTestClient;
+
+    @Mock
+    private TarefaService tarefaService;
+
+    @Mock
+    private ExportacaoTarefaService exportacaoTarefaService;
+
+    @InjectMocks
+    private TarefaController tarefaController;
+
+    private TarefaDTO tarefaDTO;
+    private final Long TAREFA_ID = 1L;
+    private final Long USUARIO_ID = 10L;
+
+    @BeforeEach
+    void setUp() {
+        LocalValidatorFactoryBean validador = new LocalValidatorFactoryBean();
+        validador.afterPropertiesSet();
+        webTestClient = WebTestClient.bindToController(tarefaController)
+                .controllerAdvice(new GlobalExceptionHandler())
+                .validator(validador)
+                .build();
+
+        tarefaDTO = new TarefaDTO(TAREFA_ID, "Tarefa de Teste", "Descrição", StatusTarefa.PENDENTE,
+                null, LocalDate.of(2024, 5, 1), USUARIO_ID);
+    }
+
+    @Test
+    void deveListarTarefasPaginadas() {
+        when(tarefaService.listarTodas(any(ParametrosPaginacao.class), eq(CampoTarefa.RESUMO)))
+                .thenReturn(Mono.just(new PaginaDTO<>(List.of(tarefaDTO), 1, false, null)));
+
+        webTestClient.get().uri("/api/tarefas")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.conteudo[0].titulo").isEqualTo("Tarefa de Teste")
+                .jsonPath("$.tamanho").isEqualTo(1)
+                .jsonPath("$.temProxima").isEqualTo(false);
+    }
+
+    @Test
+    void deveFiltrarPorUsuarioEStatusComCamposPedidos() {
+        when(tarefaService.filtrarPorUsuarioEStatus(eq(USUARIO_ID), eq(StatusTarefa.PENDENTE), any(ParametrosPaginacao.class),
+                eq(EnumSet.of(CampoTarefa.ID, CampoTarefa.TITULO))))
+                .thenReturn(Mono.just(new PaginaDTO<>(List.of(), 0, false, null)));
+
+        webTestClient.get().uri("/api/tarefas/filtrar?usuarioId=10&status=PENDENTE&fields=titulo")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void deveRetornarBadRequestParaTamanhoDePaginaInvalido() {
+        webTestClient.get().uri("/api/tarefas?tamanho=1000")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.tamanho").exists();
+        verifyNoInteractions(tarefaService);
+    }
+
+    @Test
+    void deveRetornarBadRequestParaCampoInvalido() {
+        webTestClient.get().uri("/api/tarefas?fields=senha")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.mensagem").value(mensagem -> assertThat((String) mensagem).contains("senha"));
+    }
+
+    @Test
+    void deveRetornarNotFoundParaTarefaInexistente() {
+        when(tarefaService.buscarPorId(TAREFA_ID))
+                .thenReturn(Mono.error(new TarefaNaoEncontradaException("Tarefa não encontrada com o ID: " + TAREFA_ID)));
+
+        webTestClient.get().uri("/api/tarefas/{id}", TAREFA_ID)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404);
+    }
+
+    @Test
+    void deveCriarTarefa() {
+        when(tarefaService.criar(any(TarefaDTO.class))).thenReturn(Mono.just(tarefaDTO));
+
+        webTestClient.post().uri("/api/tarefas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(tarefaDTO)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(TAREFA_ID);
+    }
+
+    @Test
+    void deveRetornarBadRequestAoCriarTarefaSemTitulo() {
+        tarefaDTO.setTitulo("");
+
+        webTestClient.post().uri("/api/tarefas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(tarefaDTO)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.titulo").isEqualTo("O título é obrigatório");
+        verify(tarefaService, never()).criar(any());
+    }
+
+    @Test
+    void deveRetornarBadRequestQuandoUsuarioNaoExiste() {
+        when(tarefaService.criar(any(TarefaDTO.class)))
+                .thenReturn(Mono.error(new UsuarioNaoExisteException("Usuário não encontrado com o ID: " + USUARIO_ID)));
+
+        webTestClient.post().uri("/api/tarefas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(tarefaDTO)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void deveRetornarServiceUnavailableQuandoServicoDeUsuariosNaoResponde() {
+        when(tarefaService.criar(any(TarefaDTO.class)))
+                .thenReturn(Mono.error(new ServicoUsuarioIndisponivelException("Erro ao comunicar com o serviço de usuários")));
+
+        webTestClient.post().uri("/api/tarefas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(tarefaDTO)
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(503);
+    }
+
+    @Test
+    void deveExcluirTarefa() {
+        when(tarefaService.excluir(TAREFA_ID)).thenReturn(Mono.empty());
+
+        webTestClient.delete().uri("/api/tarefas/{id}", TAREFA_ID)
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    void deveExportarEmNdjsonUmaLinhaPorTarefa() {
+        when(exportacaoTarefaService.exportar(null, null, FormatoExportacao.NDJSON))
+                .thenReturn(Flux.just("{\"id\":1}\n", "{\"id\":2}\n"));
+
+        webTestClient.get().uri("/api/tarefas/exportar")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectHeader().valueEquals("Content-Disposition", "attachment; filename=\"tarefas.ndjson\"")
+                .returnResult(TarefaDTO.class)
+                .getResponseBody()
+                .map(TarefaDTO::getId)
+                .as(StepVerifier::create)
+                .expectNext(TAREFA_ID, 2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void deveExportarEmCsv() {
+        when(exportacaoTarefaService.exportar(USUARIO_ID, null, FormatoExportacao.CSV)).thenReturn(Flux.just("cabecalho\n", "linha\n"));
+
+        webTestClient.get().uri("/api/tarefas/exportar?usuarioId=10&formato=csv")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.parseMediaType("text/csv"))
+                .expectBody(String.class).isEqualTo("cabecalho\nlinha\n");
+    }
+
+    @Test
+    void deveRetornarBadRequestParaFormatoDeExportacaoInvalido() {
+        webTestClient.get().uri("/api/tarefas/exportar?formato=xml")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(exportacaoTarefaService);
+    }
+}
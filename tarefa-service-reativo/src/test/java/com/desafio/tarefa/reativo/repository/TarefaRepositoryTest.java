@@ -0,0 +1,178 @@
+package com.desafio.tarefa.reativo.repository;
+
+import com.desafio.tarefa.reativo.dto.TarefaDTO;
+import com.desafio.tarefa.reativo.model.CampoTarefa;
+import com.desafio.tarefa.reativo.model.OrdenacaoTarefa;
+import com.desafio.tarefa.reativo.model.StatusTarefa;
+import com.desafio.tarefa.reativo.model.Tarefa;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataR2dbcTest
+@Import(AlocadorIdTarefa.class)
+@ActiveProfiles("test")
+public class TarefaRepositoryTest {
+
+    @Autowired
+    private TarefaRepository tarefaRepository;
+
+    @Autowired
+    private AlocadorIdTarefa alocadorId;
+
+    @BeforeEach
+    void limpar() {
+        tarefaRepository.deleteAll().block();
+    }
+
+    @Test
+    public void testFindByUsuarioIdEStatus() {
+        inserir("Tarefa 1", StatusTarefa.PENDENTE, 1L, LocalDateTime.now(), null);
+        inserir("Tarefa 2", StatusTarefa.EM_ANDAMENTO, 1L, LocalDateTime.now(), null);
+        inserir("Tarefa 3", StatusTarefa.PENDENTE, 2L, LocalDateTime.now(), null);
+
+        StepVerifier.create(tarefaRepository.findByUsuarioId(1L).map(Tarefa::getTitulo).collectList())
+                .assertNext(titulos -> assertThat(titulos).containsExactlyInAnyOrder("Tarefa 1", "Tarefa 2"))
+                .verifyComplete();
+        StepVerifier.create(tarefaRepository.findByUsuarioIdAndStatus(1L, StatusTarefa.PENDENTE).map(Tarefa::getTitulo))
+                .expectNext("Tarefa 1")
+                .verifyComplete();
+        StepVerifier.create(tarefaRepository.countByUsuarioId(2L))
+                .expectNext(1L)
+                .verifyComplete();
+        StepVerifier.create(tarefaRepository.existsByUsuarioId(2L))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(tarefaRepository.existsByUsuarioId(3L))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    public void testInserirLeOsCamposDaEntidade() {
+        Tarefa salva = inserir("Relatório", StatusTarefa.PENDENTE, 5L, LocalDateTime.of(2024, 1, 10, 8, 0), LocalDate.of(2024, 2, 1));
+
+        StepVerifier.create(tarefaRepository.findById(salva.getId()))
+                .assertNext(tarefa -> {
+                    assertThat(tarefa.getTitulo()).isEqualTo("Relatório");
+                    assertThat(tarefa.getStatus()).isEqualTo(StatusTarefa.PENDENTE);
+                    assertThat(tarefa.getDataCriacao()).isEqualTo(LocalDateTime.of(2024, 1, 10, 8, 0));
+                    assertThat(tarefa.getDataLimite()).isEqualTo(LocalDate.of(2024, 2, 1));
+                    assertThat(tarefa.getUsuarioId()).isEqualTo(5L);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testAlocadorIdGeraIdsDistintosEmBlocos() {
+        List<Long> ids = Flux.range(0, AlocadorIdTarefa.TAMANHO_BLOCO + 10)
+                .flatMap(i -> alocadorId.proximoId())
+                .collectList()
+                .block();
+
+        assertThat(ids).doesNotHaveDuplicates().allMatch(id -> id > 0);
+    }
+
+    @Test
+    public void testBuscarPaginaPercorrePorCursorSemRepetirTarefas() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < 5; i++) {
+            // Duas tarefas com a mesma data: o desempate eh pelo ID
+            inserir("Tarefa " + i, StatusTarefa.PENDENTE, 1L, base.plusDays(i / 2), null);
+        }
+
+        List<TarefaDTO> primeira = tarefaRepository.buscarPagina(null, null, CampoTarefa.RESUMO,
+                OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC, null, 3).collectList().block();
+        CursorTarefa cursor = CursorTarefa.apos(primeira.get(2), OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC);
+        List<TarefaDTO> segunda = tarefaRepository.buscarPagina(null, null, CampoTarefa.RESUMO,
+                OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC, cursor, 3).collectList().block();
+
+        assertThat(primeira).extracting(TarefaDTO::getTitulo).containsExactly("Tarefa 0", "Tarefa 1", "Tarefa 2");
+        assertThat(segunda).extracting(TarefaDTO::getTitulo).containsExactly("Tarefa 3", "Tarefa 4");
+    }
+
+    @Test
+    public void testBuscarPaginaPorDataLimiteDescComNulos() {
+        inserir("Sem prazo", StatusTarefa.PENDENTE, 1L, LocalDateTime.now(), null);
+        inserir("Prazo antigo", StatusTarefa.PENDENTE, 1L, LocalDateTime.now(), LocalDate.of(2024, 1, 1));
+        inserir("Prazo novo", StatusTarefa.PENDENTE, 1L, LocalDateTime.now(), LocalDate.of(2024, 6, 1));
+
+        List<TarefaDTO> primeira = tarefaRepository.buscarPagina(null, null, CampoTarefa.RESUMO,
+                OrdenacaoTarefa.DATA_LIMITE, Sort.Direction.DESC, null, 1).collectList().block();
+        CursorTarefa cursor = CursorTarefa.apos(primeira.get(0), OrdenacaoTarefa.DATA_LIMITE, Sort.Direction.DESC);
+        List<TarefaDTO> restante = tarefaRepository.buscarPagina(null, null, CampoTarefa.RESUMO,
+                OrdenacaoTarefa.DATA_LIMITE, Sort.Direction.DESC, cursor, 10).collectList().block();
+
+        assertThat(primeira).extracting(TarefaDTO::getTitulo).containsExactly("Sem prazo");
+        assertThat(restante).extracting(TarefaDTO::getTitulo).containsExactly("Prazo novo", "Prazo antigo");
+    }
+
+    @Test
+    public void testBuscarPaginaSelecionaApenasOsCamposPedidos() {
+        inserir("Tarefa", StatusTarefa.CONCLUIDO, 3L, LocalDateTime.now(), null);
+
+        StepVerifier.create(tarefaRepository.buscarPagina(3L, StatusTarefa.CONCLUIDO, EnumSet.of(CampoTarefa.ID, CampoTarefa.TITULO),
+                        OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC, null, 10))
+                .assertNext(dto -> {
+                    assertThat(dto.getTitulo()).isEqualTo("Tarefa");
+                    // A data de criacao vem por ser o campo de ordenacao; os demais ficam nulos
+                    assertThat(dto.getDataCriacao()).isNotNull();
+                    assertThat(dto.getStatus()).isNull();
+                    assertThat(dto.getUsuarioId()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testStreamPorFiltroRespeitaADemandaDoAssinante() {
+        for (int i = 0; i < 5; i++) {
+            inserir("Tarefa " + i, i % 2 == 0 ? StatusTarefa.PENDENTE : StatusTarefa.CONCLUIDO, 1L, LocalDateTime.now(), null);
+        }
+
+        StepVerifier.create(tarefaRepository.streamPorFiltro(1L, StatusTarefa.PENDENTE).map(Tarefa::getTitulo), 1)
+                .expectNext("Tarefa 0")
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenRequest(2)
+                .expectNext("Tarefa 2", "Tarefa 4")
+                .verifyComplete();
+    }
+
+    @Test
+    public void testSaveIncrementaVersaoERecusaVersaoAntiga() {
+        Tarefa tarefa = inserir("Tarefa", StatusTarefa.PENDENTE, 1L, LocalDateTime.now(), null);
+        assertThat(tarefa.getVersao()).isZero();
+
+        Tarefa lida = tarefaRepository.findById(tarefa.getId()).block();
+        lida.setStatus(StatusTarefa.EM_ANDAMENTO);
+        StepVerifier.create(tarefaRepository.save(lida).map(Tarefa::getVersao))
+                .expectNext(1L)
+                .verifyComplete();
+
+        // A copia lida antes da alteracao ainda esta na versao 0
+        tarefa.setTitulo("Alterada");
+        StepVerifier.create(tarefaRepository.save(tarefa))
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+    }
+
+    private Tarefa inserir(String titulo, StatusTarefa status, Long usuarioId, LocalDateTime dataCriacao, LocalDate dataLimite) {
+        return alocadorId.proximoId()
+                .flatMap(id -> tarefaRepository.inserir(new Tarefa(id, titulo, null, status, dataCriacao, dataLimite, usuarioId, null)))
+                .block();
+    }
+}
@@ -0,0 +1,174 @@
+package com.desafio.tarefa.reativo.service;
+
+import com.desafio.tarefa.reativo.client.UsuarioClientReativo;
+import com.desafio.tarefa.reativo.dto.ParametrosPaginacao;
+import com.desafio.tarefa.reativo.dto.TarefaDTO;
+import com.desafio.tarefa.reativo.exception.CursorInvalidoException;
+import com.desafio.tarefa.reativo.exception.ServicoUsuarioIndisponivelException;
+import com.desafio.tarefa.reativo.exception.StatusInvalidoException;
+import com.desafio.tarefa.reativo.exception.TarefaNaoEncontradaException;
+import com.desafio.tarefa.reativo.exception.UsuarioNaoExisteException;
+import com.desafio.tarefa.reativo.model.CampoTarefa;
+import com.desafio.tarefa.reativo.model.OrdenacaoTarefa;
+import com.desafio.tarefa.reativo.model.StatusTarefa;
+import com.desafio.tarefa.reativo.model.Tarefa;
+import com.desafio.tarefa.reativo.repository.AlocadorIdTarefa;
+import com.desafio.tarefa.reativo.repository.TarefaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TarefaServiceTest {
+
+    @Mock
+    private TarefaRepository tarefaRepository;
+
+    @Mock
+    private AlocadorIdTarefa alocadorId;
+
+    @Mock
+    private UsuarioClientReativo usuarioClient;
+
+    @InjectMocks
+    private TarefaService tarefaService;
+
+    private Tarefa tarefa;
+    private TarefaDTO tarefaDTO;
+    private final Long TAREFA_ID = 1L;
+    private final Long USUARIO_ID = 10L;
+
+    @BeforeEach
+    void setUp() {
+        tarefa = new Tarefa(TAREFA_ID, "Tarefa de Teste", "Descrição", StatusTarefa.PENDENTE,
+                LocalDateTime.now(), LocalDate.now().plusDays(7), USUARIO_ID, 0L);
+        tarefaDTO = new TarefaDTO(null, "Tarefa de Teste", "Descrição", StatusTarefa.PENDENTE,
+                null, LocalDate.now().plusDays(7), USUARIO_ID);
+    }
+
+    @Test
+    void deveCriarTarefaComIdDoAlocadorQuandoUsuarioExiste() {
+        when(usuarioClient.usuarioExiste(USUARIO_ID)).thenReturn(Mono.just(true));
+        when(alocadorId.proximoId()).thenReturn(Mono.just(51L));
+        when(tarefaRepository.inserir(any(Tarefa.class))).thenAnswer(invocacao -> Mono.just(invocacao.getArgument(0)));
+
+        StepVerifier.create(tarefaService.criar(tarefaDTO))
+                .assertNext(criada -> {
+                    assertThat(criada.getId()).isEqualTo(51L);
+                    assertThat(criada.getTitulo()).isEqualTo("Tarefa de Teste");
+                    assertThat(criada.getDataCriacao()).isNotNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void naoDeveCriarTarefaQuandoUsuarioNaoExiste() {
+        when(usuarioClient.usuarioExiste(USUARIO_ID)).thenReturn(Mono.just(false));
+        when(alocadorId.proximoId()).thenReturn(Mono.just(51L));
+
+        StepVerifier.create(tarefaService.criar(tarefaDTO))
+                .expectError(UsuarioNaoExisteException.class)
+                .verify();
+        verify(tarefaRepository, never()).inserir(any());
+    }
+
+    @Test
+    void deveConverterFalhaNoServicoDeUsuariosEmServicoIndisponivel() {
+        when(usuarioClient.usuarioExiste(USUARIO_ID)).thenReturn(Mono.error(new TimeoutException("sem resposta")));
+
+        StepVerifier.create(tarefaService.filtrarPorUsuario(USUARIO_ID, new ParametrosPaginacao(), CampoTarefa.RESUMO))
+                .expectErrorSatisfies(erro -> assertThat(erro)
+                        .isInstanceOf(ServicoUsuarioIndisponivelException.class)
+                        .hasMessageContaining("sem resposta"))
+                .verify();
+        verifyNoInteractions(tarefaRepository);
+    }
+
+    @Test
+    void deveRetornarErroAoBuscarTarefaInexistente() {
+        when(tarefaRepository.findById(TAREFA_ID)).thenReturn(Mono.empty());
+
+        StepVerifier.create(tarefaService.buscarPorId(TAREFA_ID))
+                .expectError(TarefaNaoEncontradaException.class)
+                .verify();
+    }
+
+    @Test
+    void naoDeveAtualizarTarefaConcluida() {
+        tarefa.setStatus(StatusTarefa.CONCLUIDO);
+        when(tarefaRepository.findById(TAREFA_ID)).thenReturn(Mono.just(tarefa));
+
+        StepVerifier.create(tarefaService.atualizar(TAREFA_ID, tarefaDTO))
+                .expectError(StatusInvalidoException.class)
+                .verify();
+        verify(usuarioClient, never()).usuarioExiste(any());
+        verify(tarefaRepository, never()).save(any());
+    }
+
+    @Test
+    void deveAtualizarTarefa() {
+        tarefaDTO.setTitulo("Novo título");
+        when(tarefaRepository.findById(TAREFA_ID)).thenReturn(Mono.just(tarefa));
+        when(usuarioClient.usuarioExiste(USUARIO_ID)).thenReturn(Mono.just(true));
+        when(tarefaRepository.save(any(Tarefa.class))).thenAnswer(invocacao -> Mono.just(invocacao.getArgument(0)));
+
+        StepVerifier.create(tarefaService.atualizar(TAREFA_ID, tarefaDTO))
+                .assertNext(atualizada -> assertThat(atualizada.getTitulo()).isEqualTo("Novo título"))
+                .verifyComplete();
+    }
+
+    @Test
+    void deveRetornarErroAoExcluirTarefaInexistente() {
+        when(tarefaRepository.existsById(TAREFA_ID)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(tarefaService.excluir(TAREFA_ID))
+                .expectError(TarefaNaoEncontradaException.class)
+                .verify();
+        verify(tarefaRepository, never()).deleteById(any(Long.class));
+    }
+
+    @Test
+    void deveMontarPaginaComCursorQuandoHaMaisRegistros() {
+        TarefaDTO primeira = new TarefaDTO(1L, "A", null, StatusTarefa.PENDENTE, LocalDateTime.now(), null, USUARIO_ID);
+        TarefaDTO segunda = new TarefaDTO(2L, "B", null, StatusTarefa.PENDENTE, LocalDateTime.now(), null, USUARIO_ID);
+        ParametrosPaginacao paginacao = new ParametrosPaginacao(null, 1, OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC);
+        when(tarefaRepository.buscarPagina(isNull(), eq(StatusTarefa.PENDENTE), eq(CampoTarefa.RESUMO),
+                eq(OrdenacaoTarefa.DATA_CRIACAO), eq(Sort.Direction.ASC), isNull(), eq(2)))
+                .thenReturn(Flux.just(primeira, segunda));
+
+        StepVerifier.create(tarefaService.filtrarPorStatus(StatusTarefa.PENDENTE, paginacao, CampoTarefa.RESUMO))
+                .assertNext(pagina -> {
+                    assertThat(pagina.getConteudo()).containsExactly(primeira);
+                    assertThat(pagina.isTemProxima()).isTrue();
+                    assertThat(pagina.getProximoCursor()).isNotBlank();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void deveRetornarErroParaCursorInvalido() {
+        ParametrosPaginacao paginacao = new ParametrosPaginacao("invalido", 10, OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC);
+
+        StepVerifier.create(tarefaService.listarTodas(paginacao, CampoTarefa.RESUMO))
+                .expectError(CursorInvalidoException.class)
+                .verify();
+        verifyNoInteractions(tarefaRepository);
+    }
+}
@@ -0,0 +1,23 @@
+-- Esquema usado nos testes: copia das migracoes V1, V2 e V6 do tarefa-service
+CREATE TABLE IF NOT EXISTS tarefas (
+    id           BIGINT       NOT NULL,
+    titulo       VARCHAR(255) NOT NULL,
+    descricao    TEXT,
+    status       VARCHAR(255) NOT NULL,
+    data_criacao TIMESTAMP(6) NOT NULL,
+    data_limite  DATE,
+    usuario_id   BIGINT       NOT NULL,
+    versao       BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT pk_tarefas PRIMARY KEY (id),
+    CONSTRAINT ck_tarefas_status CHECK (status IN ('PENDENTE', 'EM_ANDAMENTO', 'CONCLUIDO'))
+);
+
+CREATE SEQUENCE IF NOT EXISTS tarefas_seq START WITH 1 INCREMENT BY 50;
+
+CREATE INDEX IF NOT EXISTS idx_tarefas_usuario_status_criacao ON tarefas (usuario_id, status, data_criacao, id);
+
+CREATE INDEX IF NOT EXISTS idx_tarefas_status_limite ON tarefas (status, data_limite, id);
+CREATE INDEX IF NOT EXISTS idx_tarefas_status_criacao ON tarefas (status, data_criacao, id);
+
+CREATE INDEX IF NOT EXISTS idx_tarefas_criacao ON tarefas (data_criacao, id);
+CREATE INDEX IF NOT EXISTS idx_tarefas_limite ON tarefas (data_limite, id);
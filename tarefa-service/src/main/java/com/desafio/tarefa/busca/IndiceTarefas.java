@@ -0,0 +1,421 @@
+package com.desafio.tarefa.busca;
+
+import com.desafio.tarefa.dto.ResultadoBuscaDTO;
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.dto.TarefaEncontradaDTO;
+import com.desafio.tarefa.model.StatusTarefa;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.br.BrazilianAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.KeywordField;
+import org.apache.lucene.document.LongField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido (Lucene) do título e da descrição das tarefas, com usuário e status para filtrar.
+ * O título, o status, a data limite e o usuário ficam guardados no próprio índice, então a busca
+ * responde sem consultar o banco.
+ * <p>
+ * As alterações ficam visíveis para a busca em até {@code atualizacao} (reabertura "quase em tempo real"
+ * do leitor sobre o mesmo {@link IndexWriter}) e vão para o disco a cada {@code intervaloCommit}. O que não
+ * chegou ao disco se perde se o processo cair; nesse caso o índice é reconstruído a partir do banco.
+ * <p>
+ * Cada documento guarda a versão da tarefa, e uma gravação mais antiga que a indexada é descartada: os eventos
+ * de gravação chegam depois do commit e podem chegar fora de ordem. A exclusão deixa uma marca com a maior versão
+ * possível, para que uma gravação atrasada não traga a tarefa de volta.
+ * <p>
+ * A reconstrução ({@link #reconstruir}) regrava as tarefas sobre o índice atual, que continua respondendo às
+ * buscas, e no fim remove os documentos que não vieram do banco nem foram gravados durante ela.
+ */
+public class IndiceTarefas implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceTarefas.class);
+
+    static final String ID = "id";
+    static final String TITULO = "titulo";
+    static final String DESCRICAO = "descricao";
+    static final String STATUS = "status";
+    static final String USUARIO_ID = "usuarioId";
+    static final String DATA_LIMITE = "dataLimite";
+    static final String GERACAO = "geracao";
+    static final String VERSAO = "versao";
+    static final String EXCLUIDA = "excluida";
+
+    // Versao de uma tarefa ainda nao gravada pelo Hibernate: so substitui documento sem versao
+    private static final long SEM_VERSAO = -1;
+    private static final long NAO_INDEXADA = Long.MIN_VALUE;
+    private static final long EXCLUSAO = Long.MAX_VALUE;
+    private static final Query MARCAS_EXCLUSAO = new TermQuery(new Term(EXCLUIDA, "S"));
+
+    // Uma ocorrencia no titulo vale o dobro de uma na descricao
+    private static final Map<String, Float> CAMPOS_TEXTO = Map.of(TITULO, 2f, DESCRICAO, 1f);
+
+    private final Directory diretorio;
+    private final Analyzer analisador = new BrazilianAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> reabertura;
+    private final ScheduledExecutorService agendador;
+    // Gravacoes e remocoes usam a trava de leitura; a troca de geracao no inicio e no fim da reconstrucao, a de escrita
+    private final ReadWriteLock travaGeracao = new ReentrantReadWriteLock();
+    private String geracao = UUID.randomUUID().toString();
+    // Ultima versao gravada de cada ID que a busca talvez ainda nao enxergue, com o numero de sequencia da gravacao.
+    // A gravacao de cada ID acontece dentro do compute deste mapa, entao duas gravacoes da mesma tarefa nunca se
+    // intercalam. A entrada sai quando o leitor reaberto ja inclui a gravacao e a versao pode ser lida do indice
+    private final Map<Long, VersaoGravada> versoesRecentes = new ConcurrentHashMap<>();
+    // IDs cuja linha lida na reconstrucao em andamento era mais antiga que a indexada (nulo fora dela): o documento
+    // indexado fica, mesmo sendo da geracao anterior
+    private Set<Long> mantidasNaReconstrucao;
+
+    private record VersaoGravada(long versao, long sequencia) {
+    }
+
+    public IndiceTarefas(Directory diretorio, Duration atualizacao, Duration intervaloCommit) {
+        this.diretorio = diretorio;
+        try {
+            this.writer = new IndexWriter(diretorio, new IndexWriterConfig(analisador)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o índice de busca de tarefas", e);
+        }
+        double segundos = atualizacao.toMillis() / 1000.0;
+        this.reabertura = new ControlledRealTimeReopenThread<>(writer, searcherManager, segundos, Math.min(segundos, 0.1));
+        reabertura.setName("indice-tarefas-reabertura");
+        reabertura.setDaemon(true);
+        reabertura.start();
+        this.agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "indice-tarefas-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleWithFixedDelay(this::confirmarComSeguranca, intervaloCommit.toMillis(),
+                intervaloCommit.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Inclui ou substitui a tarefa (pelo ID), se ela nao for mais antiga que a indexada
+    public void indexar(TarefaDTO tarefa) {
+        travaGeracao.readLock().lock();
+        try {
+            gravar(tarefa.getId(), versao(tarefa), documento(tarefa, geracao));
+        } finally {
+            travaGeracao.readLock().unlock();
+        }
+    }
+
+    // Troca o documento por uma marca de exclusao, que nenhuma versao substitui
+    public void remover(Long tarefaId) {
+        travaGeracao.readLock().lock();
+        try {
+            gravar(tarefaId, EXCLUSAO, marcaExclusao(tarefaId, geracao));
+        } finally {
+            travaGeracao.readLock().unlock();
+        }
+    }
+
+    /**
+     * Regrava as tarefas de {@code tarefas} e remove do índice as que não vieram dele. Como em {@link #indexar}, uma
+     * linha mais antiga que a versão indexada (alterada ou removida depois da leitura) é descartada e o documento
+     * indexado fica; por isso a consulta ao banco só deve rodar dentro de {@code tarefas}.
+     *
+     * @return quantidade de tarefas lidas de {@code tarefas}
+     */
+    public long reconstruir(Supplier<Stream<TarefaDTO>> tarefas) {
+        String novaGeracao = UUID.randomUUID().toString();
+        Set<Long> mantidas = ConcurrentHashMap.newKeySet();
+        travaGeracao.writeLock().lock();
+        try {
+            if (mantidasNaReconstrucao != null) {
+                throw new IllegalStateException("Já há uma reconstrução do índice de busca em andamento");
+            }
+            geracao = novaGeracao;
+            mantidasNaReconstrucao = mantidas;
+        } finally {
+            travaGeracao.writeLock().unlock();
+        }
+
+        boolean concluida = false;
+        try {
+            long lidas = 0;
+            try (Stream<TarefaDTO> stream = tarefas.get()) {
+                for (TarefaDTO tarefa : (Iterable<TarefaDTO>) stream::iterator) {
+                    regravar(tarefa, mantidas);
+                    lidas++;
+                }
+            }
+            removerGeracoesAnteriores(novaGeracao, mantidas);
+            concluida = true;
+            confirmar();
+            return lidas;
+        } finally {
+            if (!concluida) {
+                encerrarReconstrucao();
+            }
+        }
+    }
+
+    private void regravar(TarefaDTO tarefa, Set<Long> mantidas) {
+        travaGeracao.readLock().lock();
+        try {
+            if (!gravar(tarefa.getId(), versao(tarefa), documento(tarefa, geracao))) {
+                mantidas.add(tarefa.getId());
+            }
+        } finally {
+            travaGeracao.readLock().unlock();
+        }
+    }
+
+    private void removerGeracoesAnteriores(String geracaoAtual, Set<Long> mantidas) {
+        travaGeracao.writeLock().lock();
+        try {
+            BooleanQuery.Builder anteriores = new BooleanQuery.Builder()
+                    .add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+                    .add(new TermQuery(new Term(GERACAO, geracaoAtual)), BooleanClause.Occur.MUST_NOT);
+            if (!mantidas.isEmpty()) {
+                anteriores.add(new TermInSetQuery(ID, mantidas.stream().map(id -> new BytesRef(id.toString())).toList()),
+                        BooleanClause.Occur.MUST_NOT);
+            }
+            writer.deleteDocuments(anteriores.build());
+            mantidasNaReconstrucao = null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível remover do índice as tarefas excluídas", e);
+        } finally {
+            travaGeracao.writeLock().unlock();
+        }
+    }
+
+    // Reconstrucao interrompida: os documentos das duas geracoes ficam, e a proxima reconstrucao remove os antigos
+    private void encerrarReconstrucao() {
+        travaGeracao.writeLock().lock();
+        try {
+            mantidasNaReconstrucao = null;
+        } finally {
+            travaGeracao.writeLock().unlock();
+        }
+    }
+
+    // Substitui o documento do ID se a versao nao for menor que a indexada; a mesma versao eh regravada, o que leva o
+    // documento para a geracao atual. Retorna se gravou
+    private boolean gravar(Long tarefaId, long versao, Document documento) {
+        boolean[] gravou = {false};
+        versoesRecentes.compute(tarefaId, (id, gravada) -> {
+            long indexada = gravada != null ? gravada.versao() : versaoIndexada(id);
+            if (versao < indexada) {
+                return gravada;
+            }
+            try {
+                long sequencia = writer.updateDocument(new Term(ID, id.toString()), documento);
+                gravou[0] = true;
+                return new VersaoGravada(versao, sequencia);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Não foi possível indexar a tarefa " + id, e);
+            }
+        });
+        return gravou[0];
+    }
+
+    // Versao do documento do ID no leitor atual; so eh chamada quando a ultima gravacao do ID ja esta visivel nele
+    private long versaoIndexada(Long tarefaId) {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs encontrada = searcher.search(new TermQuery(new Term(ID, tarefaId.toString())), 1);
+                if (encontrada.scoreDocs.length == 0) {
+                    return NAO_INDEXADA;
+                }
+                IndexableField versao = searcher.storedFields()
+                        .document(encontrada.scoreDocs[0].doc, Set.of(VERSAO)).getField(VERSAO);
+                // Documento gravado antes de o indice guardar a versao
+                return versao != null ? versao.numericValue().longValue() : NAO_INDEXADA;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível consultar a tarefa " + tarefaId + " no índice", e);
+        }
+    }
+
+    private static long versao(TarefaDTO tarefa) {
+        return tarefa.getVersao() != null ? tarefa.getVersao() : SEM_VERSAO;
+    }
+
+    // Grava no disco e torna visivel tudo o que foi indexado ate aqui
+    public void confirmar() {
+        try {
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível gravar o índice de busca", e);
+        }
+    }
+
+    public ResultadoBuscaDTO buscar(String texto, Long usuarioId, StatusTarefa status, int pagina, int tamanho) {
+        Query consulta = montarConsulta(texto, usuarioId, status);
+        int inicio = pagina * tamanho;
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs encontradas = searcher.search(consulta, inicio + tamanho + 1);
+                ScoreDoc[] documentos = encontradas.scoreDocs;
+                StoredFields campos = searcher.storedFields();
+                List<TarefaEncontradaDTO> conteudo = new ArrayList<>();
+                for (int i = inicio; i < Math.min(documentos.length, inicio + tamanho); i++) {
+                    conteudo.add(paraDTO(campos.document(documentos[i].doc), documentos[i].score));
+                }
+                TotalHits total = encontradas.totalHits;
+                return new ResultadoBuscaDTO(conteudo, pagina, conteudo.size(), total.value,
+                        total.relation != TotalHits.Relation.EQUAL_TO, documentos.length > inicio + tamanho);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível consultar o índice de busca", e);
+        }
+    }
+
+    // Tarefas visiveis para a busca, sem as marcas de exclusao
+    public long documentos() {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return searcher.count(new BooleanQuery.Builder()
+                        .add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+                        .add(MARCAS_EXCLUSAO, BooleanClause.Occur.MUST_NOT)
+                        .build());
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível consultar o índice de busca", e);
+        }
+    }
+
+    // Texto no formato do SimpleQueryParser: palavras sao exigidas (AND), com "frase", prefixo*, -exclusao e a | b.
+    // Usuario e status sao filtros: nao alteram a relevancia
+    private Query montarConsulta(String texto, Long usuarioId, StatusTarefa status) {
+        SimpleQueryParser parser = new SimpleQueryParser(analisador, CAMPOS_TEXTO);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        BooleanQuery.Builder consulta = new BooleanQuery.Builder()
+                .add(parser.parse(texto), BooleanClause.Occur.MUST)
+                .add(MARCAS_EXCLUSAO, BooleanClause.Occur.MUST_NOT);
+        if (usuarioId != null) {
+            consulta.add(LongField.newExactQuery(USUARIO_ID, usuarioId), BooleanClause.Occur.FILTER);
+        }
+        if (status != null) {
+            consulta.add(KeywordField.newExactQuery(STATUS, status.name()), BooleanClause.Occur.FILTER);
+        }
+        return consulta.build();
+    }
+
+    private static Document documento(TarefaDTO tarefa, String geracao) {
+        Document documento = new Document();
+        documento.add(new StringField(ID, tarefa.getId().toString(), Field.Store.YES));
+        documento.add(new StringField(GERACAO, geracao, Field.Store.NO));
+        if (tarefa.getVersao() != null) {
+            documento.add(new LongField(VERSAO, tarefa.getVersao(), Field.Store.YES));
+        }
+        documento.add(new TextField(TITULO, tarefa.getTitulo(), Field.Store.YES));
+        if (tarefa.getDescricao() != null) {
+            documento.add(new TextField(DESCRICAO, tarefa.getDescricao(), Field.Store.NO));
+        }
+        documento.add(new KeywordField(STATUS, tarefa.getStatus().name(), Field.Store.YES));
+        documento.add(new LongField(USUARIO_ID, tarefa.getUsuarioId(), Field.Store.YES));
+        if (tarefa.getDataLimite() != null) {
+            documento.add(new StoredField(DATA_LIMITE, tarefa.getDataLimite().toString()));
+        }
+        return documento;
+    }
+
+    private static Document marcaExclusao(Long tarefaId, String geracao) {
+        Document documento = new Document();
+        documento.add(new StringField(ID, tarefaId.toString(), Field.Store.YES));
+        documento.add(new StringField(GERACAO, geracao, Field.Store.NO));
+        documento.add(new LongField(VERSAO, EXCLUSAO, Field.Store.YES));
+        documento.add(new StringField(EXCLUIDA, "S", Field.Store.NO));
+        return documento;
+    }
+
+    private static TarefaEncontradaDTO paraDTO(Document documento, float pontuacao) {
+        String dataLimite = documento.get(DATA_LIMITE);
+        return new TarefaEncontradaDTO(
+                Long.valueOf(documento.get(ID)),
+                documento.get(TITULO),
+                StatusTarefa.valueOf(documento.get(STATUS)),
+                dataLimite != null ? LocalDate.parse(dataLimite) : null,
+                documento.getField(USUARIO_ID).numericValue().longValue(),
+                pontuacao);
+    }
+
+    private void confirmarComSeguranca() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+            // O remove(chave, valor) do removeIf nao tira uma entrada trocada por uma gravacao mais nova
+            long visivel = reabertura.getSearchingGen();
+            versoesRecentes.entrySet().removeIf(entrada -> entrada.getValue().sequencia() <= visivel);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Não foi possível gravar o índice de busca de tarefas: {}", e.getMessage());
+        }
+    }
+
+    public void registrarMetricas(MeterRegistry registry) {
+        Gauge.builder("tarefas.busca.documentos", this, IndiceTarefas::documentos)
+                .description("Tarefas no índice de busca")
+                .register(registry);
+    }
+
+    @Override
+    public void close() throws IOException {
+        agendador.shutdownNow();
+        reabertura.close();
+        try (diretorio; writer; searcherManager) {
+            writer.commit();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.desafio.tarefa.client;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decorador de {@link UsuarioClient} que agrupa verificações de existência concorrentes.
+ * Os IDs pedidos dentro de uma janela curta (ou até atingir o tamanho máximo do lote) são
+ * resolvidos com uma única chamada ao endpoint em lote do serviço de usuários; pedidos
+ * repetidos para o mesmo ID dentro da janela compartilham o mesmo resultado.
+ */
+public class AgrupadorVerificacaoUsuario implements UsuarioClient, AutoCloseable {
+
+    private final UsuarioClient delegate;
+    private final long janelaNanos;
+    private final int tamanhoMaximoLote;
+    private final Executor executor;
+    private final ScheduledExecutorService agendador;
+
+    // ReentrantLock em vez de synchronized: com threads virtuais (Java 21), esperar por um monitor prende a thread portadora
+    private final ReentrantLock trava = new ReentrantLock();
+    private Map<Long, CompletableFuture<Boolean>> pendentes = new HashMap<>();
+    private boolean descargaAgendada;
+
+    public AgrupadorVerificacaoUsuario(UsuarioClient delegate, Duration janela, int tamanhoMaximoLote, Executor executor) {
+        if (tamanhoMaximoLote < 1) {
+            throw new IllegalArgumentException("O tamanho máximo do lote deve ser positivo");
+        }
+        this.delegate = delegate;
+        this.janelaNanos = janela.toNanos();
+        this.tamanhoMaximoLote = tamanhoMaximoLote;
+        this.executor = executor;
+        this.agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "agrupador-usuarios");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public boolean usuarioExiste(Long id) {
+        return aguardar(verificar(id));
+    }
+
+    // Versao sem bloqueio: o futuro completa quando o lote que contem o ID for resolvido
+    public CompletableFuture<Boolean> verificar(Long id) {
+        CompletableFuture<Boolean> resultado;
+        Map<Long, CompletableFuture<Boolean>> loteCompleto = null;
+        trava.lock();
+        try {
+            resultado = pendentes.computeIfAbsent(id, chave -> new CompletableFuture<>());
+            if (pendentes.size() >= tamanhoMaximoLote) {
+                loteCompleto = pendentes;
+                pendentes = new HashMap<>();
+            } else if (!descargaAgendada) {
+                descargaAgendada = true;
+                agendador.schedule(this::descarregarJanela, janelaNanos, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            trava.unlock();
+        }
+        if (loteCompleto != null) {
+            despachar(loteCompleto);
+        }
+        return resultado;
+    }
+
+    // O futuro do lote ja eh assincrono: nao ocupa uma thread do executor esperando por ele
+    @Override
+    public CompletableFuture<Boolean> usuarioExisteAssincrono(Long id, Executor executor) {
+        return verificar(id);
+    }
+
+    // Listas de IDs ja chegam agrupadas, entao seguem direto para o servico de usuarios
+    @Override
+    public List<Long> usuariosExistentes(Collection<Long> ids) {
+        return delegate.usuariosExistentes(ids);
+    }
+
+    @Override
+    public void close() {
+        agendador.shutdownNow();
+        Map<Long, CompletableFuture<Boolean>> restantes;
+        trava.lock();
+        try {
+            restantes = pendentes;
+            pendentes = new HashMap<>();
+        } finally {
+            trava.unlock();
+        }
+        restantes.values().forEach(f -> f.completeExceptionally(new IllegalStateException("Agrupador encerrado")));
+    }
+
+    private void descarregarJanela() {
+        Map<Long, CompletableFuture<Boolean>> lote;
+        trava.lock();
+        try {
+            descargaAgendada = false;
+            if (pendentes.isEmpty()) {
+                return;
+            }
+            lote = pendentes;
+            pendentes = new HashMap<>();
+        } finally {
+            trava.unlock();
+        }
+        despachar(lote);
+    }
+
+    // A chamada HTTP roda fora da thread do agendador para nao atrasar as proximas janelas
+    private void despachar(Map<Long, CompletableFuture<Boolean>> lote) {
+        try {
+            executor.execute(() -> resolver(lote));
+        } catch (RuntimeException e) {
+            lote.values().forEach(f -> f.completeExceptionally(e));
+        }
+    }
+
+    private void resolver(Map<Long, CompletableFuture<Boolean>> lote) {
+        try {
+            Set<Long> existentes = new HashSet<>(delegate.usuariosExistentes(lote.keySet()));
+            lote.forEach((id, resultado) -> resultado.complete(existentes.contains(id)));
+        } catch (RuntimeException e) {
+            lote.values().forEach(f -> f.completeExceptionally(e));
+        }
+    }
+
+    private static boolean aguardar(CompletableFuture<Boolean> resultado) {
+        try {
+            return resultado.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+}
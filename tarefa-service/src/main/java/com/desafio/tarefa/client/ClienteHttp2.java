@@ -0,0 +1,136 @@
+package com.desafio.tarefa.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.io.CloseMode;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cliente HTTP do Feign em HTTP/2 sem TLS (h2c, com conhecimento prévio: a conexão já começa em HTTP/2, sem o
+ * upgrade do HTTP/1.1), usado com {@code usuario.service.http.transporte=h2c}. As chamadas simultâneas ao mesmo
+ * destino são multiplexadas numa única conexão, então não há pool nem espera por conexão livre: o limite passa a ser o
+ * número de fluxos simultâneos que o servidor aceita.
+ * <p>
+ * Publica os fluxos em andamento ({@code http.cliente.h2.fluxos}); a duração de cada chamada continua no
+ * {@code http.client.requests} do Feign.
+ */
+public class ClienteHttp2 implements Client, AutoCloseable {
+
+    // Cabecalhos de conexao do HTTP/1.1 sao proibidos no HTTP/2; o tamanho do corpo eh definido pelo proprio cliente
+    private static final Set<String> CABECALHOS_IGNORADOS = Set.of("connection", "keep-alive", "transfer-encoding",
+            "upgrade", "host", "content-length");
+
+    private final CloseableHttpAsyncClient client;
+    private final AtomicInteger fluxos = new AtomicInteger();
+
+    public ClienteHttp2(CloseableHttpAsyncClient client) {
+        this.client = client;
+    }
+
+    public void iniciar() {
+        client.start();
+    }
+
+    public void registrarMetricas(MeterRegistry registry) {
+        Gauge.builder("http.cliente.h2.fluxos", fluxos, AtomicInteger::get)
+                .description("Chamadas HTTP/2 em andamento ao serviço de usuários")
+                .register(registry);
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        SimpleHttpRequest pedido = new SimpleHttpRequest(request.httpMethod().name(), URI.create(request.url()));
+        request.headers().forEach((nome, valores) -> {
+            if (!CABECALHOS_IGNORADOS.contains(nome.toLowerCase())) {
+                valores.forEach(valor -> pedido.addHeader(nome, valor));
+            }
+        });
+        if (request.body() != null) {
+            pedido.setBody(request.body(), tipoConteudo(request));
+        }
+        // O tempo para conectar fica na ConnectionConfig do cliente (ClienteHttpConfig): a conexao eh compartilhada
+        pedido.setConfig(RequestConfig.custom()
+                .setResponseTimeout(options.readTimeout(), options.readTimeoutUnit())
+                .setRedirectsEnabled(options.isFollowRedirects())
+                .build());
+
+        fluxos.incrementAndGet();
+        Future<SimpleHttpResponse> chamada = client.execute(pedido, null);
+        try {
+            // O prazo do cliente vale para a conexao e para cada leitura; este limita a chamada inteira
+            long prazo = options.connectTimeoutUnit().toMillis(options.connectTimeout())
+                    + options.readTimeoutUnit().toMillis(options.readTimeout());
+            return paraResposta(chamada.get(prazo, TimeUnit.MILLISECONDS), request);
+        } catch (TimeoutException e) {
+            chamada.cancel(true);
+            throw new SocketTimeoutException("Sem resposta do serviço de usuários em HTTP/2: " + request.url());
+        } catch (InterruptedException e) {
+            chamada.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Chamada HTTP/2 interrompida: " + request.url());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException falha) {
+                throw falha;
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            fluxos.decrementAndGet();
+        }
+    }
+
+    private static ContentType tipoConteudo(Request request) {
+        Collection<String> tipos = request.headers().entrySet().stream()
+                .filter(cabecalho -> HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(cabecalho.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+        if (tipos == null || tipos.isEmpty()) {
+            return ContentType.APPLICATION_OCTET_STREAM;
+        }
+        ContentType tipo = ContentType.parse(tipos.iterator().next());
+        return request.charset() != null && tipo.getCharset() == null ? tipo.withCharset(request.charset()) : tipo;
+    }
+
+    private static Response paraResposta(SimpleHttpResponse resposta, Request request) {
+        Map<String, Collection<String>> cabecalhos = new LinkedHashMap<>();
+        for (Header cabecalho : resposta.getHeaders()) {
+            cabecalhos.computeIfAbsent(cabecalho.getName(), nome -> new ArrayList<>()).add(cabecalho.getValue());
+        }
+        return Response.builder()
+                .status(resposta.getCode())
+                .reason(resposta.getReasonPhrase())
+                .headers(cabecalhos)
+                .request(request)
+                .body(resposta.getBodyBytes())
+                .build();
+    }
+
+    @Override
+    public void close() {
+        client.close(CloseMode.GRACEFUL);
+    }
+}
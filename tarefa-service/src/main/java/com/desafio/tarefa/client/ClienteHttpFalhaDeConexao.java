@@ -0,0 +1,31 @@
+package com.desafio.tarefa.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.RetryableException;
+
+import java.io.IOException;
+
+/**
+ * Cliente HTTP do Feign que converte falhas de conexao (IOException) na RetryableException que o Feign lancaria
+ * logo acima. A metrica http.client.requests do Feign so e finalizada quando o cliente lanca FeignException;
+ * sem esta conversao, uma falha de conexao deixaria a chamada "ativa" e sem registro de erro.
+ */
+public class ClienteHttpFalhaDeConexao implements Client {
+
+    private final Client delegate;
+
+    public ClienteHttpFalhaDeConexao(Client delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) {
+        try {
+            return delegate.execute(request, options);
+        } catch (IOException e) {
+            throw new RetryableException(-1, e.getMessage(), request.httpMethod(), e, (Long) null, request);
+        }
+    }
+}
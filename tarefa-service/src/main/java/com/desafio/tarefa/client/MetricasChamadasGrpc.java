@@ -0,0 +1,48 @@
+package com.desafio.tarefa.client;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Publica a duração de cada chamada gRPC como {@code grpc.client.requests}, por método e status, o equivalente do
+ * {@code http.client.requests} das chamadas do Feign.
+ */
+public class MetricasChamadasGrpc implements ClientInterceptor {
+
+    private final MeterRegistry registry;
+
+    public MetricasChamadasGrpc(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> metodo,
+                                                               CallOptions opcoes, Channel proximo) {
+        Timer.Sample inicio = Timer.start(registry);
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(proximo.newCall(metodo, opcoes)) {
+            @Override
+            public void start(Listener<RespT> ouvinte, Metadata cabecalhos) {
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(ouvinte) {
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        inicio.stop(Timer.builder("grpc.client.requests")
+                                .description("Chamadas gRPC ao serviço de usuários")
+                                .tag("method", metodo.getBareMethodName())
+                                .tag("status", status.getCode().name())
+                                .register(registry));
+                        super.onClose(status, trailers);
+                    }
+                }, cabecalhos);
+            }
+        };
+    }
+}
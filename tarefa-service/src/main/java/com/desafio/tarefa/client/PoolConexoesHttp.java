@@ -0,0 +1,126 @@
+package com.desafio.tarefa.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.ToIntFunction;
+
+/**
+ * Pool de conexões HTTP/1.1 do Apache HttpClient 5 usado pelos clientes Feign do serviço de usuários
+ * ({@code usuario.service.http.transporte=pool}), com as métricas que mostram se as conexões estão sendo reaproveitadas.
+ * <p>
+ * Por rota (destino), publica as conexões emprestadas, disponíveis e o máximo do pool, as chamadas aguardando uma
+ * conexão livre, o tempo de espera por uma conexão ({@code http.cliente.pool.espera}) e o tempo de abertura das
+ * conexões novas ({@code http.cliente.conexao.abertura}). Com o pool aquecido, a espera fica perto de zero e as
+ * aberturas param de crescer enquanto os empréstimos continuam.
+ */
+public class PoolConexoesHttp extends PoolingHttpClientConnectionManager {
+
+    private final Set<HttpRoute> rotasComMetricas = ConcurrentHashMap.newKeySet();
+    // Rota de cada conexao emprestada ainda fechada, ate ser aberta em connect (o contexto nao traz a rota)
+    private final Map<ConnectionEndpoint, HttpRoute> rotasAbrindo = Collections.synchronizedMap(new WeakHashMap<>());
+    private volatile MeterRegistry registry;
+
+    public void registrarMetricas(MeterRegistry registry) {
+        this.registry = registry;
+        getRoutes().forEach(this::registrarRota);
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        registrarRota(route);
+        LeaseRequest pedido = super.lease(id, route, requestTimeout, state);
+        long inicio = System.nanoTime();
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                String resultado = "esgotada";
+                try {
+                    ConnectionEndpoint conexao = pedido.get(timeout);
+                    resultado = "obtida";
+                    if (!conexao.isConnected()) {
+                        rotasAbrindo.put(conexao, route);
+                    }
+                    return conexao;
+                } finally {
+                    registrarTempo("http.cliente.pool.espera", "Espera por uma conexão livre no pool",
+                            route, resultado, inicio);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return pedido.cancel();
+            }
+        };
+    }
+
+    // So eh chamado para conexoes novas: as reaproveitadas do pool ja chegam abertas
+    @Override
+    public void connect(ConnectionEndpoint endpoint, TimeValue timeout, HttpContext context) throws IOException {
+        long inicio = System.nanoTime();
+        String resultado = "falha";
+        try {
+            super.connect(endpoint, timeout, context);
+            resultado = "sucesso";
+        } finally {
+            registrarTempo("http.cliente.conexao.abertura", "Abertura de conexões novas",
+                    rotasAbrindo.remove(endpoint), resultado, inicio);
+        }
+    }
+
+    private void registrarTempo(String nome, String descricao, HttpRoute rota, String resultado, long inicio) {
+        MeterRegistry registry = this.registry;
+        if (registry != null) {
+            Timer.builder(nome)
+                    .description(descricao)
+                    .tag("rota", nomeRota(rota))
+                    .tag("resultado", resultado)
+                    .register(registry)
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Os gauges de cada rota sao criados no primeiro emprestimo para ela; antes disso o pool nao conhece a rota
+    private void registrarRota(HttpRoute rota) {
+        MeterRegistry registry = this.registry;
+        if (registry == null || !rotasComMetricas.add(rota)) {
+            return;
+        }
+        registrarGauge(registry, "http.cliente.pool.emprestadas", "Conexões do pool em uso", rota, PoolStats::getLeased);
+        registrarGauge(registry, "http.cliente.pool.disponiveis", "Conexões ociosas prontas para reuso", rota, PoolStats::getAvailable);
+        registrarGauge(registry, "http.cliente.pool.aguardando", "Chamadas aguardando uma conexão livre", rota, PoolStats::getPending);
+        registrarGauge(registry, "http.cliente.pool.maximo", "Máximo de conexões por rota", rota, PoolStats::getMax);
+    }
+
+    private void registrarGauge(MeterRegistry registry, String nome, String descricao, HttpRoute rota,
+                                ToIntFunction<PoolStats> valor) {
+        Gauge.builder(nome, this, pool -> valor.applyAsInt(pool.getStats(rota)))
+                .description(descricao)
+                .tag("rota", nomeRota(rota))
+                .register(registry);
+    }
+
+    private static String nomeRota(HttpRoute rota) {
+        return rota != null ? rota.getTargetHost().toURI() : "desconhecida";
+    }
+}
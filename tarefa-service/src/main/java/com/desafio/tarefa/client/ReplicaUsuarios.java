@@ -0,0 +1,197 @@
+package com.desafio.tarefa.client;
+
+import com.desafio.tarefa.dto.AlteracoesUsuariosDTO;
+import com.desafio.tarefa.dto.SnapshotUsuariosDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Cópia local dos IDs de usuários existentes, guardada em um bitmap compactado (Roaring).
+ * O estado completo é carregado de {@code /api/usuarios/ids} e depois mantido com as alterações
+ * (usuários criados e excluídos) publicadas pelo serviço de usuários após a versão já aplicada.
+ * <p>
+ * A cópia só responde "existe": um ID ausente pode ter sido criado depois da última sincronização, então
+ * quem consulta deve perguntar ao serviço de usuários. Se a última sincronização bem-sucedida for mais antiga
+ * que a defasagem máxima, a cópia deixa de confirmar qualquer ID até voltar a sincronizar. O estado completo
+ * é recarregado periodicamente, o que também corrige alterações que ficaram para trás (uma transação com versão
+ * menor confirmada depois de outra com versão maior).
+ * <p>
+ * Cada alteração gera um novo bitmap, trocado de uma vez: as consultas não usam trava.
+ * <p>
+ * Os usuários excluídos, lidos nas alterações ou ausentes de uma recarga completa, são repassados ao ouvinte
+ * registrado em {@link #aoExcluirUsuarios} antes de saírem da cópia; se ele falhar, a sincronização é repetida.
+ */
+public class ReplicaUsuarios implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaUsuarios.class);
+
+    private final UsuarioReplicaClient usuarioReplicaClient;
+    private final Duration defasagemMaxima;
+    private final Duration ressincronizacao;
+    private final InstantSource relogio;
+    private final ScheduledExecutorService agendador;
+
+    // null ate o primeiro estado completo ser carregado
+    private final AtomicReference<Estado> estado = new AtomicReference<>();
+    private volatile Consumer<Collection<Long>> ouvinteExclusoes = excluidos -> { };
+
+    public ReplicaUsuarios(UsuarioReplicaClient usuarioReplicaClient, Duration defasagemMaxima, Duration ressincronizacao) {
+        this(usuarioReplicaClient, defasagemMaxima, ressincronizacao, Clock.systemUTC());
+    }
+
+    ReplicaUsuarios(UsuarioReplicaClient usuarioReplicaClient, Duration defasagemMaxima, Duration ressincronizacao,
+                    InstantSource relogio) {
+        this.usuarioReplicaClient = usuarioReplicaClient;
+        this.defasagemMaxima = defasagemMaxima;
+        this.ressincronizacao = ressincronizacao;
+        this.relogio = relogio;
+        this.agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-usuarios");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // A primeira sincronizacao roda em segundo plano; ate ela terminar as verificacoes vao ao servico de usuarios
+    public void iniciar(Duration intervalo) {
+        agendador.scheduleWithFixedDelay(this::sincronizar, 0, intervalo.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // true apenas quando a copia esta dentro da defasagem maxima e contem o ID
+    public boolean confirma(long id) {
+        Estado atual = estado.get();
+        return atual != null && atualizada(atual) && atual.ids().contains(id);
+    }
+
+    // Chamado quando o servico de usuarios avisa a exclusao, sem esperar a proxima sincronizacao
+    public void remover(long id) {
+        estado.updateAndGet(atual -> atual == null ? null
+                : atual.aplicar(List.of(), List.of(id), atual.versao(), atual.sincronizadoEm()));
+    }
+
+    public void aoExcluirUsuarios(Consumer<Collection<Long>> ouvinte) {
+        this.ouvinteExclusoes = ouvinte;
+    }
+
+    // Uma sincronizacao por vez (chamada apenas pelo agendador, ou diretamente nos testes)
+    public void sincronizar() {
+        try {
+            Estado atual = estado.get();
+            if (atual == null || relogio.instant().isAfter(atual.carregadoEm().plus(ressincronizacao))) {
+                carregarEstadoCompleto();
+            } else {
+                aplicarAlteracoes(atual.versao());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível sincronizar a cópia local de usuários: {}", e.getMessage());
+        }
+    }
+
+    private void carregarEstadoCompleto() {
+        SnapshotUsuariosDTO snapshot = usuarioReplicaClient.snapshot();
+        Roaring64Bitmap ids = new Roaring64Bitmap();
+        snapshot.getIds().forEach(ids::addLong);
+        ids.runOptimize();
+        Estado anterior = estado.get();
+        if (anterior != null) {
+            // Exclusoes que nao chegaram pelas alteracoes (versao confirmada fora de ordem)
+            Roaring64Bitmap excluidos = anterior.ids().clone();
+            excluidos.andNot(ids);
+            if (!excluidos.isEmpty()) {
+                ouvinteExclusoes.accept(Arrays.stream(excluidos.toArray()).boxed().toList());
+            }
+        }
+        Instant agora = relogio.instant();
+        estado.set(new Estado(ids, snapshot.getVersao(), agora, agora));
+        // O que mudou entre a leitura da versao e a dos IDs no servico de usuarios chega aqui
+        aplicarAlteracoes(snapshot.getVersao());
+    }
+
+    private void aplicarAlteracoes(long desde) {
+        AlteracoesUsuariosDTO alteracoes;
+        long versao = desde;
+        do {
+            alteracoes = usuarioReplicaClient.alteracoes(versao);
+            AlteracoesUsuariosDTO lote = alteracoes;
+            if (!lote.getExcluidos().isEmpty()) {
+                ouvinteExclusoes.accept(lote.getExcluidos());
+            }
+            // So conta como sincronizada quando nao ha mais alteracoes pendentes
+            Instant sincronizadoEm = lote.isTemMais() ? null : relogio.instant();
+            estado.updateAndGet(atual -> atual.aplicar(lote.getCriados(), lote.getExcluidos(), lote.getVersao(),
+                    sincronizadoEm != null ? sincronizadoEm : atual.sincronizadoEm()));
+            versao = lote.getVersao();
+        } while (alteracoes.isTemMais());
+    }
+
+    private boolean atualizada(Estado atual) {
+        return !relogio.instant().isAfter(atual.sincronizadoEm().plus(defasagemMaxima));
+    }
+
+    public long tamanho() {
+        Estado atual = estado.get();
+        return atual == null ? 0 : atual.ids().getLongCardinality();
+    }
+
+    public long versao() {
+        Estado atual = estado.get();
+        return atual == null ? -1 : atual.versao();
+    }
+
+    // Segundos desde a ultima sincronizacao completa (NaN antes da primeira)
+    public double defasagemSegundos() {
+        Estado atual = estado.get();
+        return atual == null ? Double.NaN
+                : Duration.between(atual.sincronizadoEm(), relogio.instant()).toMillis() / 1000.0;
+    }
+
+    // Tamanho, versao aplicada e defasagem da copia, publicados no registro de metricas
+    public void registrarMetricas(MeterRegistry registry) {
+        Gauge.builder("usuarios.replica.tamanho", this, ReplicaUsuarios::tamanho)
+                .description("IDs de usuários na cópia local")
+                .register(registry);
+        Gauge.builder("usuarios.replica.versao", this, ReplicaUsuarios::versao)
+                .description("Última alteração do serviço de usuários aplicada na cópia local")
+                .register(registry);
+        Gauge.builder("usuarios.replica.defasagem", this, ReplicaUsuarios::defasagemSegundos)
+                .description("Tempo desde a última sincronização da cópia local")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        agendador.shutdownNow();
+    }
+
+    private record Estado(Roaring64Bitmap ids, long versao, Instant carregadoEm, Instant sincronizadoEm) {
+
+        // IDs nao sao reutilizados pelo servico de usuarios, entao incluir os criados e depois remover os excluidos
+        // da o mesmo resultado que aplicar as alteracoes na ordem
+        Estado aplicar(Collection<Long> criados, Collection<Long> excluidos, long novaVersao, Instant sincronizadoEm) {
+            Roaring64Bitmap novosIds = ids;
+            if (!criados.isEmpty() || !excluidos.isEmpty()) {
+                novosIds = ids.clone();
+                criados.forEach(novosIds::addLong);
+                excluidos.forEach(novosIds::removeLong);
+            }
+            return new Estado(novosIds, Math.max(versao, novaVersao), carregadoEm, sincronizadoEm);
+        }
+    }
+}
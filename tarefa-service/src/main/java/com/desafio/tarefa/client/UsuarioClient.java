@@ -3,10 +3,28 @@ package com.desafio.tarefa.client;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
-@FeignClient(name = "usuario-service", url = "${usuario.service.url}")
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// O bean principal de UsuarioClient eh o decorador com a copia local de IDs definido em UsuarioClientConfig
+@FeignClient(name = "usuario-service", url = "${usuario.service.url}", qualifiers = "usuarioClientFeign", primary = false)
 public interface UsuarioClient {
 
     @GetMapping("/api/usuarios/existe/{id}")
     boolean usuarioExiste(@PathVariable("id") Long id);
-}
\ No newline at end of file
+
+    // Retorna apenas os IDs que existem
+    @PostMapping("/api/usuarios/existem")
+    List<Long> usuariosExistentes(@RequestBody Collection<Long> ids);
+
+    // Verificacao sem bloquear quem chama; por padrao roda usuarioExiste no executor. Implementacoes que ja resolvem
+    // a verificacao de forma assincrona (como o agrupador) devolvem o proprio futuro. O Feign ignora metodos default
+    default CompletableFuture<Boolean> usuarioExisteAssincrono(Long id, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> usuarioExiste(id), executor);
+    }
+}
@@ -0,0 +1,139 @@
+package com.desafio.tarefa.client;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Decorador de {@link UsuarioClient} que guarda em memória o resultado da verificação de existência.
+ * Usuários existentes e inexistentes têm tempos de expiração diferentes, e chamadas concorrentes
+ * para o mesmo ID aguardam uma única ida ao serviço de usuários.
+ * <p>
+ * O cache é assíncrono: a consulta ao serviço roda no {@code executor} e quem chama apenas aguarda o resultado.
+ * Assim a espera pela rede nunca acontece dentro do lock interno do cache, o que prenderia a thread portadora
+ * quando as requisições rodam em threads virtuais.
+ */
+public class UsuarioClientComCache implements UsuarioClient {
+
+    private final UsuarioClient delegate;
+    private final AsyncLoadingCache<Long, Boolean> cache;
+
+    public UsuarioClientComCache(UsuarioClient delegate, long tamanhoMaximo, Duration ttlPositivo, Duration ttlNegativo,
+                                 Executor executor) {
+        this(delegate, tamanhoMaximo, ttlPositivo, ttlNegativo, executor, Ticker.systemTicker());
+    }
+
+    UsuarioClientComCache(UsuarioClient delegate, long tamanhoMaximo, Duration ttlPositivo, Duration ttlNegativo,
+                          Executor executor, Ticker ticker) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .ticker(ticker)
+                .executor(executor)
+                .expireAfter(new ExpiracaoPorResultado(ttlPositivo, ttlNegativo))
+                .recordStats()
+                .buildAsync(this::carregar);
+    }
+
+    @Override
+    public boolean usuarioExiste(Long id) {
+        if (id == null) {
+            return false;
+        }
+        return aguardar(cache.get(id));
+    }
+
+    // IDs ja presentes no cache nao sao consultados; os demais vao em uma unica chamada
+    @Override
+    public List<Long> usuariosExistentes(Collection<Long> ids) {
+        Set<Long> idsDistintos = new LinkedHashSet<>(ids);
+        idsDistintos.remove(null);
+        if (idsDistintos.isEmpty()) {
+            return List.of();
+        }
+        return aguardar(cache.getAll(idsDistintos, this::carregarEmLote)).entrySet().stream()
+                .filter(Map.Entry::getValue)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // Chamado quando o serviço de usuários avisa que o usuário foi removido
+    public void invalidar(Long id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    // Usa a versao assincrona do delegate: com o agrupador, bloquear uma thread do executor esperando pelo lote
+    // poderia esgotar o pool, ja que o proprio agrupador usa o mesmo executor para fazer a chamada
+    private CompletableFuture<Boolean> carregar(Long id, Executor executor) {
+        return delegate.usuarioExisteAssincrono(id, executor);
+    }
+
+    private Map<Long, Boolean> carregarEmLote(Set<? extends Long> faltantes) {
+        Set<Long> existentes = new HashSet<>(delegate.usuariosExistentes(List.copyOf(faltantes)));
+        Map<Long, Boolean> resultado = new HashMap<>();
+        faltantes.forEach(id -> resultado.put(id, existentes.contains(id)));
+        return resultado;
+    }
+
+    public CacheStats estatisticas() {
+        return cache.synchronous().stats();
+    }
+
+    // Publica acertos, falhas, carregamentos e remocoes do cache no registro de metricas
+    public void registrarMetricas(MeterRegistry registry, String nome) {
+        CaffeineCacheMetrics.monitor(registry, cache, nome);
+    }
+
+    private static <T> T aguardar(CompletableFuture<T> resultado) {
+        try {
+            return resultado.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private static class ExpiracaoPorResultado implements Expiry<Long, Boolean> {
+
+        private final long ttlPositivoNanos;
+        private final long ttlNegativoNanos;
+
+        ExpiracaoPorResultado(Duration ttlPositivo, Duration ttlNegativo) {
+            this.ttlPositivoNanos = ttlPositivo.toNanos();
+            this.ttlNegativoNanos = ttlNegativo.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Long id, Boolean existe, long tempoAtual) {
+            return existe ? ttlPositivoNanos : ttlNegativoNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long id, Boolean existe, long tempoAtual, long duracaoAtual) {
+            return expireAfterCreate(id, existe, tempoAtual);
+        }
+
+        @Override
+        public long expireAfterRead(Long id, Boolean existe, long tempoAtual, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
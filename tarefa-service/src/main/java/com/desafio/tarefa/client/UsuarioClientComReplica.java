@@ -0,0 +1,76 @@
+package com.desafio.tarefa.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorador de {@link UsuarioClient} que responde pela {@link ReplicaUsuarios} sempre que ela confirma o ID.
+ * IDs que a cópia local não conhece (ou com a cópia defasada) seguem para o {@code delegate}.
+ */
+public class UsuarioClientComReplica implements UsuarioClient {
+
+    private final UsuarioClient delegate;
+    private final ReplicaUsuarios replica;
+    private final LongAdder confirmadosLocalmente = new LongAdder();
+    private final LongAdder enviadosAoDelegate = new LongAdder();
+
+    public UsuarioClientComReplica(UsuarioClient delegate, ReplicaUsuarios replica) {
+        this.delegate = delegate;
+        this.replica = replica;
+    }
+
+    @Override
+    public boolean usuarioExiste(Long id) {
+        if (id != null && replica.confirma(id)) {
+            confirmadosLocalmente.increment();
+            return true;
+        }
+        enviadosAoDelegate.increment();
+        return delegate.usuarioExiste(id);
+    }
+
+    // IDs confirmados pela copia local nao sao consultados; os demais vao ao delegate em uma unica chamada
+    @Override
+    public List<Long> usuariosExistentes(Collection<Long> ids) {
+        Set<Long> idsDistintos = new LinkedHashSet<>(ids);
+        idsDistintos.remove(null);
+        List<Long> desconhecidos = new ArrayList<>();
+        for (Long id : idsDistintos) {
+            if (!replica.confirma(id)) {
+                desconhecidos.add(id);
+            }
+        }
+        confirmadosLocalmente.add(idsDistintos.size() - desconhecidos.size());
+        if (desconhecidos.isEmpty()) {
+            return List.copyOf(idsDistintos);
+        }
+
+        enviadosAoDelegate.add(desconhecidos.size());
+        Set<Long> inexistentes = new HashSet<>(desconhecidos);
+        delegate.usuariosExistentes(desconhecidos).forEach(inexistentes::remove);
+        // Mesma ordem da lista recebida: confirmados pela copia ou pelo delegate
+        return idsDistintos.stream()
+                .filter(id -> !inexistentes.contains(id))
+                .toList();
+    }
+
+    // Verificacoes resolvidas pela copia local e enviadas ao delegate
+    public void registrarMetricas(MeterRegistry registry) {
+        FunctionCounter.builder("usuarios.replica.consultas", confirmadosLocalmente, LongAdder::sum)
+                .description("Verificações de existência de usuário")
+                .tag("resultado", "local")
+                .register(registry);
+        FunctionCounter.builder("usuarios.replica.consultas", enviadosAoDelegate, LongAdder::sum)
+                .description("Verificações de existência de usuário")
+                .tag("resultado", "remoto")
+                .register(registry);
+    }
+}
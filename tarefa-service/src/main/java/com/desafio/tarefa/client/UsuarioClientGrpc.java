@@ -0,0 +1,56 @@
+package com.desafio.tarefa.client;
+
+import com.desafio.tarefa.client.grpc.IdsUsuarios;
+import com.desafio.tarefa.client.grpc.UsuarioId;
+import com.desafio.tarefa.client.grpc.UsuariosInternoGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.StatusRuntimeException;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UsuarioClient} sobre a API interna em gRPC do serviço de usuários ({@code usuarios_interno.proto}), usado
+ * com {@code usuario.service.protocolo=grpc}. Todas as chamadas compartilham uma conexão HTTP/2 mantida aberta, sem
+ * cabeçalhos HTTP nem JSON a cada verificação.
+ * <p>
+ * Cada chamada tem até {@code timeout} para terminar. Falhas chegam como {@link StatusRuntimeException} e são
+ * tratadas pelo {@link UsuarioClientResiliente}, como as do Feign.
+ */
+public class UsuarioClientGrpc implements UsuarioClient, AutoCloseable {
+
+    private final ManagedChannel canal;
+    private final UsuariosInternoGrpc.UsuariosInternoBlockingStub stub;
+    private final long timeoutMillis;
+
+    public UsuarioClientGrpc(ManagedChannel canal, Duration timeout) {
+        this.canal = canal;
+        this.stub = UsuariosInternoGrpc.newBlockingStub(canal);
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @Override
+    public boolean usuarioExiste(Long id) {
+        return comPrazo().usuarioExiste(UsuarioId.newBuilder().setId(id).build()).getExiste();
+    }
+
+    @Override
+    public List<Long> usuariosExistentes(Collection<Long> ids) {
+        return comPrazo().usuariosExistentes(IdsUsuarios.newBuilder().addAllIds(ids).build()).getIdsList();
+    }
+
+    // O prazo eh contado a partir de cada chamada, entao o stub com prazo nao pode ser reaproveitado
+    private UsuariosInternoGrpc.UsuariosInternoBlockingStub comPrazo() {
+        return stub.withDeadlineAfter(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        canal.shutdown();
+        if (!canal.awaitTermination(5, TimeUnit.SECONDS)) {
+            canal.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.desafio.tarefa.client;
+
+import com.desafio.tarefa.exception.ServicoUsuarioIndisponivelException;
+import com.netflix.concurrency.limits.Limiter;
+import com.netflix.concurrency.limits.limiter.AbstractLimiter;
+import feign.FeignException;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Decorador de {@link UsuarioClient} que protege o serviço de tarefas de um serviço de usuários lento ou fora do ar.
+ * Cada chamada passa, nesta ordem, por:
+ * <ul>
+ *     <li>circuit breaker: com muitas falhas ou chamadas lentas o circuito abre e as chamadas são recusadas na hora;
+ *     depois da espera, algumas chamadas de teste (meio aberto) decidem se ele fecha de novo;</li>
+ *     <li>bulkhead: limite fixo de chamadas simultâneas, para que a espera pelo serviço não ocupe todas as threads;</li>
+ *     <li>limite adaptativo (gradiente de latência): abaixo do bulkhead, a concorrência permitida diminui quando
+ *     a latência sobe em relação à mínima observada e volta a crescer quando ela cai.</li>
+ * </ul>
+ * Falhas da chamada (do Feign ou do gRPC) e recusas viram {@link ServicoUsuarioIndisponivelException}. Só as falhas
+ * da chamada contam para o circuit breaker; recusas do bulkhead ou do limite são sobrecarga local, e não erro do serviço de usuários.
+ */
+public class UsuarioClientResiliente implements UsuarioClient {
+
+    private final UsuarioClient delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final AbstractLimiter<Void> limitador;
+
+    public UsuarioClientResiliente(UsuarioClient delegate, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                                   AbstractLimiter<Void> limitador) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.limitador = limitador;
+    }
+
+    @Override
+    public boolean usuarioExiste(Long id) {
+        return executar(() -> delegate.usuarioExiste(id));
+    }
+
+    @Override
+    public List<Long> usuariosExistentes(Collection<Long> ids) {
+        return executar(() -> delegate.usuariosExistentes(ids));
+    }
+
+    // Usado na configuracao do circuit breaker: so conta como falha o que veio da chamada ao servico
+    public static boolean falhaDaChamada(Throwable erro) {
+        return erro instanceof FeignException || erro instanceof StatusRuntimeException;
+    }
+
+    // Limite atual e chamadas em andamento; circuito e bulkhead sao publicados pelos seus registros
+    public void registrarMetricas(MeterRegistry registry) {
+        Gauge.builder("usuarios.limite.concorrencia", limitador, AbstractLimiter::getLimit)
+                .description("Chamadas simultâneas permitidas pelo limite adaptativo")
+                .register(registry);
+        Gauge.builder("usuarios.limite.em.andamento", limitador, AbstractLimiter::getInflight)
+                .description("Chamadas ao serviço de usuários em andamento")
+                .register(registry);
+    }
+
+    private <T> T executar(Supplier<T> chamada) {
+        try {
+            return circuitBreaker.executeSupplier(() -> bulkhead.executeSupplier(() -> comLimite(chamada)));
+        } catch (CallNotPermittedException e) {
+            throw new ServicoUsuarioIndisponivelException("Serviço de usuários indisponível: circuito aberto após falhas recentes", e);
+        } catch (BulkheadFullException e) {
+            throw new ServicoUsuarioIndisponivelException("Serviço de usuários sobrecarregado: limite de chamadas simultâneas atingido", e);
+        } catch (FeignException | StatusRuntimeException e) {
+            throw new ServicoUsuarioIndisponivelException("Erro ao comunicar com o serviço de usuários: " + e.getMessage(), e);
+        }
+    }
+
+    private <T> T comLimite(Supplier<T> chamada) {
+        Limiter.Listener permissao = limitador.acquire(null)
+                .orElseThrow(() -> new ServicoUsuarioIndisponivelException(
+                        "Serviço de usuários sobrecarregado: limite adaptativo de concorrência atingido"));
+        try {
+            T resultado = chamada.get();
+            permissao.onSuccess();
+            return resultado;
+        } catch (RetryableException e) {
+            // Tempo esgotado ou falha de conexao: sinal de sobrecarga, o limite cai
+            permissao.onDropped();
+            throw e;
+        } catch (StatusRuntimeException e) {
+            // Mesmo criterio no gRPC: prazo esgotado ou servico inalcancavel derrubam o limite, o resto eh ignorado
+            if (sobrecarga(e.getStatus())) {
+                permissao.onDropped();
+            } else {
+                permissao.onIgnore();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            // Respostas de erro nao dizem nada sobre a latencia do servico
+            permissao.onIgnore();
+            throw e;
+        }
+    }
+
+    private static boolean sobrecarga(Status status) {
+        return status.getCode() == Status.Code.DEADLINE_EXCEEDED || status.getCode() == Status.Code.UNAVAILABLE;
+    }
+}
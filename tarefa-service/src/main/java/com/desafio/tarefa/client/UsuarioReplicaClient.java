@@ -0,0 +1,19 @@
+package com.desafio.tarefa.client;
+
+import com.desafio.tarefa.dto.AlteracoesUsuariosDTO;
+import com.desafio.tarefa.dto.SnapshotUsuariosDTO;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+// Usado apenas na sincronizacao da ReplicaUsuarios, em segundo plano; fica fora da camada de resiliencia
+// para que uma falha na sincronizacao nao abra o circuito das verificacoes feitas pelas requisicoes
+@FeignClient(name = "usuario-service", contextId = "usuarioReplicaClient", url = "${usuario.service.url}")
+public interface UsuarioReplicaClient {
+
+    @GetMapping("/api/usuarios/ids")
+    SnapshotUsuariosDTO snapshot();
+
+    @GetMapping("/api/usuarios/alteracoes")
+    AlteracoesUsuariosDTO alteracoes(@RequestParam("desde") long desde);
+}
@@ -0,0 +1,32 @@
+package com.desafio.tarefa.config;
+
+import com.desafio.tarefa.busca.IndiceTarefas;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class BuscaConfig {
+
+    // Sem diretorio o indice fica so em memoria e eh reconstruido a cada inicializacao
+    @Bean
+    public IndiceTarefas indiceTarefas(
+            @Value("${tarefa.busca.diretorio:}") String diretorio,
+            @Value("${tarefa.busca.atualizacao:1s}") Duration atualizacao,
+            @Value("${tarefa.busca.intervalo-commit:30s}") Duration intervaloCommit,
+            ObjectProvider<MeterRegistry> meterRegistry) throws IOException {
+        Directory directory = diretorio.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(diretorio));
+        IndiceTarefas indiceTarefas = new IndiceTarefas(directory, atualizacao, intervaloCommit);
+        meterRegistry.ifAvailable(indiceTarefas::registrarMetricas);
+        return indiceTarefas;
+    }
+}
@@ -0,0 +1,107 @@
+package com.desafio.tarefa.config;
+
+import com.desafio.tarefa.client.ClienteHttp2;
+import com.desafio.tarefa.client.ClienteHttpFalhaDeConexao;
+import com.desafio.tarefa.client.PoolConexoesHttp;
+import feign.Client;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Transporte HTTP dos clientes Feign do serviço de usuários ({@code usuario.service.http.transporte}).
+ */
+@Configuration
+public class ClienteHttpConfig {
+
+    // Pool de conexoes HTTP/1.1 (padrao): conexoes reaproveitadas entre chamadas, com limite por destino
+    @Bean
+    @ConditionalOnProperty(name = "usuario.service.http.transporte", havingValue = "pool", matchIfMissing = true)
+    public PoolConexoesHttp poolConexoesHttp(
+            @Value("${usuario.service.http.maximo-conexoes:50}") int maximoConexoes,
+            @Value("${usuario.service.http.maximo-conexoes-por-rota:30}") int maximoConexoesPorRota,
+            @Value("${usuario.service.http.tempo-vida:5m}") Duration tempoVida,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        PoolConexoesHttp pool = new PoolConexoesHttp();
+        pool.setMaxTotal(maximoConexoes);
+        pool.setDefaultMaxPerRoute(maximoConexoesPorRota);
+        pool.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setTimeToLive(TimeValue.ofMilliseconds(tempoVida.toMillis()))
+                .build());
+        meterRegistry.ifAvailable(pool::registrarMetricas);
+        return pool;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "usuario.service.http.transporte", havingValue = "pool", matchIfMissing = true)
+    public CloseableHttpClient httpClientUsuarios(
+            PoolConexoesHttp poolConexoesHttp,
+            @Value("${usuario.service.http.keep-alive:15s}") Duration keepAlive,
+            @Value("${usuario.service.http.ociosa-maxima:10s}") Duration ociosaMaxima,
+            @Value("${usuario.service.http.espera-conexao:500ms}") Duration esperaConexao) {
+        TimeValue keepAliveMaximo = TimeValue.ofMilliseconds(keepAlive.toMillis());
+        return HttpClients.custom()
+                .setConnectionManager(poolConexoesHttp)
+                // Respeita o Keep-Alive do servidor, mas nunca passa de keep-alive: o Tomcat fecha a conexao ociosa
+                // sem avisar, e reaproveitar uma conexao ja fechada custa uma falha na chamada
+                .setKeepAliveStrategy((resposta, contexto) -> DefaultConnectionKeepAliveStrategy.INSTANCE
+                        .getKeepAliveDuration(resposta, contexto).min(keepAliveMaximo))
+                .evictIdleConnections(TimeValue.ofMilliseconds(ociosaMaxima.toMillis()))
+                .evictExpiredConnections()
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(esperaConexao.toMillis()))
+                        .build())
+                .disableCookieManagement()
+                .build();
+    }
+
+    // HTTP/2 sem TLS (h2c): uma conexao multiplexada por destino; o servico de usuarios precisa de
+    // server.http2.enabled=true
+    @Bean
+    @ConditionalOnProperty(name = "usuario.service.http.transporte", havingValue = "h2c")
+    public ClienteHttp2 clienteHttp2(
+            @Value("${usuario.service.http.ociosa-maxima:10s}") Duration ociosaMaxima,
+            @Value("${spring.cloud.openfeign.client.config.usuario-service.connect-timeout:1000}") long timeoutConexao,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        ClienteHttp2 cliente = new ClienteHttp2(HttpAsyncClients.customHttp2()
+                // Mesmo tempo de conexao do Feign, que em h2c vale para a conexao multiplexada de cada destino
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(timeoutConexao))
+                        .build())
+                .evictIdleConnections(TimeValue.ofMilliseconds(ociosaMaxima.toMillis()))
+                .disableCookieManagement()
+                .build());
+        meterRegistry.ifAvailable(cliente::registrarMetricas);
+        cliente.iniciar();
+        return cliente;
+    }
+
+    // As metricas do Feign envolvem este cliente; o ClienteHttpFalhaDeConexao faz com que vejam as falhas de conexao
+    @Bean
+    public Client feignClient(@Value("${usuario.service.http.transporte:pool}") String transporte,
+                              ObjectProvider<CloseableHttpClient> httpClientUsuarios,
+                              ObjectProvider<ClienteHttp2> clienteHttp2) {
+        Client cliente = switch (transporte) {
+            case "pool" -> new ApacheHttp5Client(httpClientUsuarios.getObject());
+            case "h2c" -> clienteHttp2.getObject();
+            // HttpURLConnection do JDK, sem limite de conexoes nem metricas do pool
+            case "padrao" -> new Client.Default(null, null);
+            default -> throw new IllegalArgumentException("Transporte HTTP do serviço de usuários desconhecido: " + transporte);
+        };
+        return new ClienteHttpFalhaDeConexao(cliente);
+    }
+}
@@ -0,0 +1,75 @@
+package com.desafio.tarefa.config;
+
+import com.desafio.tarefa.compressao.CompressaoRespostaFilter;
+import com.desafio.tarefa.formato.NegociacaoProtobuf;
+import com.desafio.tarefa.formato.ProtobufTarefaHttpMessageConverter;
+import com.desafio.tarefa.formato.VaryAcceptInterceptor;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Formatos das respostas da API, escolhidos pelo {@code Accept}: JSON (padrão), Smile
+ * ({@code application/x-jackson-smile}), CBOR ({@code application/cbor}) e Protocol Buffers
+ * ({@code application/x-protobuf}, apenas tarefas e páginas de tarefas; as demais respostas saem em JSON), com
+ * {@code Vary: Accept}. Também registra a compressão das respostas.
+ */
+@Configuration
+public class FormatosRespostaConfig implements WebMvcConfigurer {
+
+    // Mesma configuracao do ObjectMapper do JSON (spring.jackson.*), so muda a codificacao. Como beans, substituem
+    // os conversores que o Spring MVC registra para esses tipos, que usam um ObjectMapper sem essa configuracao
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    // Fica no fim da lista, e nao como bean: o Spring Boot poria os conversores dos beans antes do JSON, e um
+    // cliente com Accept: */* passaria a receber Protocol Buffers
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ProtobufTarefaHttpMessageConverter());
+    }
+
+    @Override
+    public void configureContentNegotiation(ContentNegotiationConfigurer configurer) {
+        configurer.strategies(List.of(new NegociacaoProtobuf()));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new VaryAcceptInterceptor());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "compressao.habilitada", havingValue = "true", matchIfMissing = true)
+    public CompressaoRespostaFilter compressaoRespostaFilter(
+            @Value("${compressao.tamanho-minimo:2KB}") DataSize tamanhoMinimo,
+            @Value("${compressao.tipos:application/json,application/*+json,application/x-jackson-smile,application/cbor,"
+                    + "application/x-protobuf,application/x-ndjson,text/csv,text/plain}") List<MediaType> tipos,
+            @Value("${compressao.tipos-continuos:application/x-ndjson,text/csv,text/event-stream}") List<MediaType> tiposContinuos,
+            @Value("${compressao.brotli.habilitado:true}") boolean brotli,
+            @Value("${compressao.brotli.qualidade:4}") int qualidadeBrotli) {
+        return new CompressaoRespostaFilter(Math.toIntExact(tamanhoMinimo.toBytes()), tipos, tiposContinuos,
+                brotli, qualidadeBrotli);
+    }
+}
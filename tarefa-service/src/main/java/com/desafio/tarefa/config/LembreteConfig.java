@@ -0,0 +1,42 @@
+package com.desafio.tarefa.config;
+
+import com.desafio.tarefa.lembrete.DespachanteLembretes;
+import com.desafio.tarefa.lembrete.DestinoLembretes;
+import com.desafio.tarefa.lembrete.DestinoLembretesArquivo;
+import com.desafio.tarefa.lembrete.DestinoLembretesLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+public class LembreteConfig {
+
+    // "log" ou "arquivo"; outro canal (e-mail, fila) entra como um bean DestinoLembretes proprio
+    @Bean
+    public DestinoLembretes destinoLembretes(
+            @Value("${tarefa.lembretes.destino:log}") String destino,
+            @Value("${tarefa.lembretes.arquivo:lembretes.ndjson}") Path arquivo,
+            ObjectMapper objectMapper) {
+        return switch (destino) {
+            case "log" -> new DestinoLembretesLog();
+            case "arquivo" -> new DestinoLembretesArquivo(arquivo, objectMapper);
+            default -> throw new IllegalArgumentException("Destino de lembretes desconhecido: " + destino);
+        };
+    }
+
+    @Bean
+    public DespachanteLembretes despachanteLembretes(
+            DestinoLembretes destinoLembretes,
+            @Value("${tarefa.lembretes.tamanho-lote:100}") int tamanhoLote,
+            @Value("${tarefa.lembretes.taxa-maxima:200}") double lembretesPorSegundo,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        DespachanteLembretes despachante = new DespachanteLembretes(destinoLembretes, tamanhoLote, lembretesPorSegundo);
+        meterRegistry.ifAvailable(despachante::registrarMetricas);
+        return despachante;
+    }
+}
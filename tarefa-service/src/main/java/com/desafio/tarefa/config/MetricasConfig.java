@@ -0,0 +1,16 @@
+package com.desafio.tarefa.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricasConfig {
+
+    // Habilita @Timed nos services; os endpoints HTTP ja sao medidos pelo Spring MVC (http.server.requests)
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
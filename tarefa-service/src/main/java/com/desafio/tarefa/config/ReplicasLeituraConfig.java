@@ -0,0 +1,101 @@
+package com.desafio.tarefa.config;
+
+import com.desafio.comum.banco.JanelaLeituraAposGravacao;
+import com.desafio.comum.banco.LeituraAposGravacaoFilter;
+import com.desafio.comum.banco.ReplicasLeitura;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de leitura: as transações {@code @Transactional(readOnly = true)} vão para as réplicas e as demais
+ * para o banco principal configurado em {@code spring.datasource}. Desligado, o DataSource continua sendo o
+ * criado pelo Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banco.replicas.habilitadas", havingValue = "true")
+public class ReplicasLeituraConfig {
+
+    @Bean
+    public JanelaLeituraAposGravacao janelaLeituraAposGravacao(
+            @Value("${banco.replicas.leitura-apos-gravacao:2s}") Duration janela) {
+        return new JanelaLeituraAposGravacao(janela);
+    }
+
+    // Traz o instante da ultima gravacao do cliente (cookie) para a janela e devolve o cookie quando ele grava
+    @Bean
+    public LeituraAposGravacaoFilter leituraAposGravacaoFilter(JanelaLeituraAposGravacao janelaLeituraAposGravacao) {
+        return new LeituraAposGravacaoFilter(janelaLeituraAposGravacao);
+    }
+
+    // O mesmo pool que o Spring Boot criaria, com as propriedades spring.datasource.hikari.*
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicasLeitura replicasLeitura(
+            HikariDataSource dataSourcePrimario,
+            JanelaLeituraAposGravacao janelaLeituraAposGravacao,
+            @Value("${banco.replicas.urls}") List<String> urls,
+            @Value("${banco.replicas.usuario:${spring.datasource.username:}}") String usuario,
+            @Value("${banco.replicas.senha:${spring.datasource.password:}}") String senha,
+            @Value("${banco.replicas.tamanho-pool:10}") int tamanhoPool,
+            @Value("${banco.replicas.selecao:rodizio}") String selecao,
+            @Value("${banco.replicas.verificacao.intervalo:5s}") Duration intervaloVerificacao,
+            @Value("${banco.replicas.verificacao.timeout:1s}") Duration timeoutVerificacao,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setUsername(usuario);
+            replica.setPassword(senha);
+            replica.setMaximumPoolSize(tamanhoPool);
+            replica.setReadOnly(true);
+            // Mesmo auto-commit do principal: o Hibernate trata todas as conexoes do mesmo jeito
+            replica.setAutoCommit(dataSourcePrimario.isAutoCommit());
+            // Replica fora do ar nao impede a inicializacao nem segura a leitura: a conexao vem do principal
+            replica.setInitializationFailTimeout(-1);
+            replica.setConnectionTimeout(Math.max(timeoutVerificacao.toMillis(), 250));
+            meterRegistry.ifAvailable(replica::setMetricRegistry);
+            replicas.add(replica);
+        }
+        ReplicasLeitura.Selecao modo = switch (selecao) {
+            case "rodizio" -> ReplicasLeitura.Selecao.RODIZIO;
+            case "menos-conexoes" -> ReplicasLeitura.Selecao.MENOS_CONEXOES;
+            default -> throw new IllegalArgumentException("Seleção de réplicas desconhecida: " + selecao);
+        };
+
+        ReplicasLeitura replicasLeitura = new ReplicasLeitura(dataSourcePrimario, replicas, modo,
+                janelaLeituraAposGravacao, timeoutVerificacao);
+        replicasLeitura.iniciar(intervaloVerificacao);
+        meterRegistry.ifAvailable(replicasLeitura::registrarMetricas);
+        return replicasLeitura;
+    }
+
+    // A conexao so eh obtida no primeiro comando SQL, quando a transacao ja foi marcada como somente leitura
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource dataSourcePrimario, ReplicasLeitura replicasLeitura) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(dataSourcePrimario);
+        dataSource.setReadOnlyDataSource(replicasLeitura);
+        return dataSource;
+    }
+}
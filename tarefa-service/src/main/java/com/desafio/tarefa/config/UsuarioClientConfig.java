@@ -0,0 +1,165 @@
+package com.desafio.tarefa.config;
+
+import com.desafio.tarefa.client.AgrupadorVerificacaoUsuario;
+import com.desafio.tarefa.client.MetricasChamadasGrpc;
+import com.desafio.tarefa.client.ReplicaUsuarios;
+import com.desafio.tarefa.client.UsuarioClient;
+import com.desafio.tarefa.client.UsuarioClientComCache;
+import com.desafio.tarefa.client.UsuarioClientComReplica;
+import com.desafio.tarefa.client.UsuarioClientGrpc;
+import com.desafio.tarefa.client.UsuarioClientResiliente;
+import com.desafio.tarefa.client.UsuarioReplicaClient;
+import com.netflix.concurrency.limits.limit.Gradient2Limit;
+import com.netflix.concurrency.limits.limiter.SimpleLimiter;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.grpc.ManagedChannelBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class UsuarioClientConfig {
+
+    // Chamadas ao servico de usuarios pela API interna em gRPC (usuario.service.protocolo=grpc), numa conexao
+    // HTTP/2 mantida aberta com pings de keepalive
+    @Bean
+    @ConditionalOnProperty(name = "usuario.service.protocolo", havingValue = "grpc")
+    public UsuarioClientGrpc usuarioClientGrpc(
+            @Value("${usuario.service.grpc.endereco:localhost:9091}") String endereco,
+            @Value("${usuario.service.grpc.timeout:2s}") Duration timeout,
+            @Value("${usuario.service.grpc.keepalive:30s}") Duration keepalive,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        ManagedChannelBuilder<?> canal = ManagedChannelBuilder.forTarget(endereco)
+                .usePlaintext()
+                .keepAliveTime(keepalive.toMillis(), TimeUnit.MILLISECONDS)
+                .keepAliveWithoutCalls(true);
+        meterRegistry.ifAvailable(registry -> canal.intercept(new MetricasChamadasGrpc(registry)));
+        return new UsuarioClientGrpc(canal.build(), timeout);
+    }
+
+    // Cadeia: replica -> cache -> agrupador -> resiliencia -> Feign ou gRPC. IDs confirmados pela copia local nao
+    // saem do processo; os demais passam pelo cache, so o que nao esta no cache eh agrupado, e cada chamada remota
+    // (ja agrupada) passa pelo circuit breaker, pelo bulkhead e pelo limite adaptativo
+    @Bean
+    public UsuarioClientResiliente usuarioClientResiliente(
+            @Value("${usuario.service.protocolo:http}") String protocolo,
+            @Qualifier("usuarioClientFeign") UsuarioClient usuarioClientFeign,
+            ObjectProvider<UsuarioClientGrpc> usuarioClientGrpc,
+            @Value("${usuario.resiliencia.circuito.taxa-falhas:50}") float taxaFalhas,
+            @Value("${usuario.resiliencia.circuito.chamada-lenta:1s}") Duration chamadaLenta,
+            @Value("${usuario.resiliencia.circuito.taxa-chamadas-lentas:80}") float taxaChamadasLentas,
+            @Value("${usuario.resiliencia.circuito.janela:20}") int janela,
+            @Value("${usuario.resiliencia.circuito.minimo-chamadas:10}") int minimoChamadas,
+            @Value("${usuario.resiliencia.circuito.espera-aberto:10s}") Duration esperaAberto,
+            @Value("${usuario.resiliencia.circuito.chamadas-meio-aberto:3}") int chamadasMeioAberto,
+            @Value("${usuario.resiliencia.bulkhead.maximo-chamadas:20}") int maximoChamadas,
+            @Value("${usuario.resiliencia.bulkhead.espera-maxima:0ms}") Duration esperaMaxima,
+            @Value("${usuario.resiliencia.limite.inicial:10}") int limiteInicial,
+            @Value("${usuario.resiliencia.limite.minimo:2}") int limiteMinimo,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        CircuitBreakerRegistry circuitos = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(janela)
+                .minimumNumberOfCalls(minimoChamadas)
+                .failureRateThreshold(taxaFalhas)
+                .slowCallDurationThreshold(chamadaLenta)
+                .slowCallRateThreshold(taxaChamadasLentas)
+                .waitDurationInOpenState(esperaAberto)
+                .permittedNumberOfCallsInHalfOpenState(chamadasMeioAberto)
+                .recordException(UsuarioClientResiliente::falhaDaChamada)
+                .build());
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maximoChamadas)
+                .maxWaitDuration(esperaMaxima)
+                .build());
+        // O limite adaptativo nunca passa do bulkhead, que continua sendo o teto fixo
+        SimpleLimiter<Void> limitador = SimpleLimiter.newBuilder()
+                .named("usuario-service")
+                .limit(Gradient2Limit.newBuilder()
+                        .initialLimit(Math.min(limiteInicial, maximoChamadas))
+                        .minLimit(Math.min(limiteMinimo, maximoChamadas))
+                        .maxConcurrency(maximoChamadas)
+                        .build())
+                .build();
+
+        UsuarioClient usuarioClientRemoto = switch (protocolo) {
+            case "http" -> usuarioClientFeign;
+            case "grpc" -> usuarioClientGrpc.getObject();
+            default -> throw new IllegalArgumentException("Protocolo do serviço de usuários desconhecido: " + protocolo);
+        };
+
+        UsuarioClientResiliente usuarioClient =
+                new UsuarioClientResiliente(usuarioClientRemoto, circuitos.circuitBreaker("usuario-service"),
+                        bulkheads.bulkhead("usuario-service"), limitador);
+        // As metricas do Resilience4j sao ligadas aos registros, nao a cada instancia
+        meterRegistry.ifAvailable(registry -> {
+            TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitos).bindTo(registry);
+            TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(registry);
+            usuarioClient.registrarMetricas(registry);
+        });
+        return usuarioClient;
+    }
+
+    @Bean
+    public AgrupadorVerificacaoUsuario agrupadorVerificacaoUsuario(
+            UsuarioClientResiliente usuarioClientResiliente,
+            @Value("${usuario.agrupador.janela:5ms}") Duration janela,
+            @Value("${usuario.agrupador.tamanho-maximo-lote:100}") int tamanhoMaximoLote,
+            @Qualifier("applicationTaskExecutor") Executor executor) {
+        return new AgrupadorVerificacaoUsuario(usuarioClientResiliente, janela, tamanhoMaximoLote, executor);
+    }
+
+    @Bean
+    public UsuarioClientComCache usuarioClientComCache(
+            AgrupadorVerificacaoUsuario agrupadorVerificacaoUsuario,
+            @Value("${usuario.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+            @Value("${usuario.cache.ttl-positivo:10m}") Duration ttlPositivo,
+            @Value("${usuario.cache.ttl-negativo:5s}") Duration ttlNegativo,
+            @Qualifier("applicationTaskExecutor") Executor executor,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        UsuarioClientComCache usuarioClient =
+                new UsuarioClientComCache(agrupadorVerificacaoUsuario, tamanhoMaximo, ttlPositivo, ttlNegativo, executor);
+        meterRegistry.ifAvailable(registry -> usuarioClient.registrarMetricas(registry, "usuarios.existencia"));
+        return usuarioClient;
+    }
+
+    @Bean
+    public ReplicaUsuarios replicaUsuarios(
+            UsuarioReplicaClient usuarioReplicaClient,
+            @Value("${usuario.replica.habilitada:true}") boolean habilitada,
+            @Value("${usuario.replica.intervalo:2s}") Duration intervalo,
+            @Value("${usuario.replica.defasagem-maxima:30s}") Duration defasagemMaxima,
+            @Value("${usuario.replica.ressincronizacao:10m}") Duration ressincronizacao,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        ReplicaUsuarios replica = new ReplicaUsuarios(usuarioReplicaClient, defasagemMaxima, ressincronizacao);
+        meterRegistry.ifAvailable(replica::registrarMetricas);
+        // Desabilitada, a copia nunca eh carregada e todas as verificacoes seguem para o cache
+        if (habilitada) {
+            replica.iniciar(intervalo);
+        }
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public UsuarioClientComReplica usuarioClientComReplica(UsuarioClientComCache usuarioClientComCache,
+                                                           ReplicaUsuarios replicaUsuarios,
+                                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        UsuarioClientComReplica usuarioClient = new UsuarioClientComReplica(usuarioClientComCache, replicaUsuarios);
+        meterRegistry.ifAvailable(usuarioClient::registrarMetricas);
+        return usuarioClient;
+    }
+}
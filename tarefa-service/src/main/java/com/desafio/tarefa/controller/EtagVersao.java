@@ -0,0 +1,57 @@
+package com.desafio.tarefa.controller;
+
+import com.desafio.tarefa.dto.PaginaDTO;
+import com.desafio.tarefa.dto.TarefaDTO;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ETags das tarefas a partir da coluna de versão.
+ * <p>
+ * Uma tarefa tem ETag forte com a sua versão ({@code "3"}). Uma página de listagem tem ETag fraca com o resumo
+ * dos IDs e versões das tarefas da página e do cursor seguinte: qualquer tarefa criada, alterada ou excluída que
+ * apareça na página muda o ETag. A comparação com {@code If-None-Match} e a resposta 304 sem corpo ficam com o
+ * Spring, a partir do ETag da {@code ResponseEntity}.
+ */
+final class EtagVersao {
+
+    // Versao de If-Match que nao corresponde a nenhuma tarefa (as versoes comecam em 0)
+    static final long NENHUMA_VERSAO = -1;
+
+    private EtagVersao() {
+    }
+
+    static String forte(Long versao) {
+        return "\"" + versao + "\"";
+    }
+
+    static String fraca(PaginaDTO<TarefaDTO> pagina) {
+        StringBuilder resumo = new StringBuilder();
+        for (TarefaDTO tarefa : pagina.getConteudo()) {
+            resumo.append(tarefa.getId()).append(':').append(tarefa.getVersao()).append(',');
+        }
+        resumo.append(pagina.getProximoCursor());
+        return "W/\"" + DigestUtils.md5DigestAsHex(resumo.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Versão exigida por um cabeçalho {@code If-Match}: {@code null} sem cabeçalho ou com {@code *} (qualquer versão).
+     * If-Match usa comparação forte, então ETags fracas, listas e valores que não sejam uma versão resultam em
+     * {@link #NENHUMA_VERSAO} e a gravação é recusada com 412.
+     */
+    static Long versaoExigida(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.length() < 3 || !valor.startsWith("\"") || !valor.endsWith("\"")) {
+            return NENHUMA_VERSAO;
+        }
+        try {
+            return Long.parseLong(valor.substring(1, valor.length() - 1));
+        } catch (NumberFormatException e) {
+            return NENHUMA_VERSAO;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.desafio.tarefa.controller;
+
+import com.desafio.tarefa.service.EventoUsuarioService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/tarefas/eventos")
+@Tag(name = "Eventos", description = "Avisos enviados internamente pelo serviço de usuários")
+public class EventoUsuarioController {
+
+    private final EventoUsuarioService eventoUsuarioService;
+
+    @Autowired
+    public EventoUsuarioController(EventoUsuarioService eventoUsuarioService) {
+        this.eventoUsuarioService = eventoUsuarioService;
+    }
+
+    @PostMapping("/usuario-excluido/{usuarioId}")
+    @Operation(summary = "Notificar exclusão de usuário", description = "Endpoint utilizado internamente pelo serviço de usuários. "
+            + "A exclusão é confirmada no serviço de usuários; as tarefas do usuário são excluídas (ou reatribuídas) "
+            + "depois, em segundo plano. Responde 409 se o usuário ainda existir")
+    public ResponseEntity<Void> usuarioExcluido(@PathVariable Long usuarioId) {
+        if (!eventoUsuarioService.usuarioExcluido(usuarioId)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+}
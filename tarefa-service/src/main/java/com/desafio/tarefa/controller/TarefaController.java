@@ -1,17 +1,40 @@
 package com.desafio.tarefa.controller;
 
+import com.desafio.tarefa.dto.AlteracaoStatusDTO;
+import com.desafio.tarefa.dto.AlteracaoStatusLoteDTO;
+import com.desafio.tarefa.dto.EstatisticasTarefasDTO;
+import com.desafio.tarefa.dto.PaginaDTO;
+import com.desafio.tarefa.dto.ParametrosPaginacao;
+import com.desafio.tarefa.dto.ResultadoAlteracaoStatusDTO;
+import com.desafio.tarefa.dto.ResultadoBuscaDTO;
+import com.desafio.tarefa.dto.ResultadoLoteDTO;
 import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.model.CampoTarefa;
+import com.desafio.tarefa.model.FormatoExportacao;
 import com.desafio.tarefa.model.StatusTarefa;
+import com.desafio.tarefa.service.BuscaTarefaService;
+import com.desafio.tarefa.service.ContadorTarefaService;
+import com.desafio.tarefa.service.ExportacaoTarefaService;
+import com.desafio.tarefa.service.LoteTarefaService;
+import com.desafio.tarefa.service.ReconstrucaoIndiceTarefas;
 import com.desafio.tarefa.service.TarefaService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tarefas")
@@ -19,66 +42,177 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class TarefaController {
 
+    private static final String DESCRICAO_CAMPOS = "Campos a retornar, separados por vírgula "
+            + "(id, titulo, descricao, status, dataCriacao, dataLimite, usuarioId). "
+            + "Padrão: id, titulo, status, dataLimite e usuarioId. O ID e o campo de ordenação sempre são retornados";
+
+    // Tipo de conteudo do JSON Merge Patch (RFC 7396); application/json tambem eh aceito no PATCH
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private final TarefaService tarefaService;
+    private final ExportacaoTarefaService exportacaoTarefaService;
+    private final LoteTarefaService loteTarefaService;
+    private final ContadorTarefaService contadorTarefaService;
+    private final BuscaTarefaService buscaTarefaService;
+    private final ReconstrucaoIndiceTarefas reconstrucaoIndiceTarefas;
 
     @Autowired
-    public TarefaController(TarefaService tarefaService) {
+    public TarefaController(TarefaService tarefaService,
+                            ExportacaoTarefaService exportacaoTarefaService,
+                            LoteTarefaService loteTarefaService,
+                            ContadorTarefaService contadorTarefaService,
+                            BuscaTarefaService buscaTarefaService,
+                            ReconstrucaoIndiceTarefas reconstrucaoIndiceTarefas) {
         this.tarefaService = tarefaService;
+        this.exportacaoTarefaService = exportacaoTarefaService;
+        this.loteTarefaService = loteTarefaService;
+        this.contadorTarefaService = contadorTarefaService;
+        this.buscaTarefaService = buscaTarefaService;
+        this.reconstrucaoIndiceTarefas = reconstrucaoIndiceTarefas;
     }
 
     @GetMapping
-    @Operation(summary = "Listar todas as tarefas")
-    public ResponseEntity<List<TarefaDTO>> listarTodas() {
-        List<TarefaDTO> tarefas = tarefaService.listarTodas();
-        return ResponseEntity.ok(tarefas);
+    @Operation(summary = "Listar todas as tarefas", description = "Paginação por cursor: envie o proximoCursor da resposta no parâmetro cursor")
+    public ResponseEntity<PaginaDTO<TarefaDTO>> listarTodas(
+            @Valid @ParameterObject ParametrosPaginacao paginacao,
+            @Parameter(description = DESCRICAO_CAMPOS) @RequestParam(required = false) String fields) {
+        PaginaDTO<TarefaDTO> tarefas = tarefaService.listarTodas(paginacao, CampoTarefa.deLista(fields));
+        return ResponseEntity.ok().eTag(EtagVersao.fraca(tarefas)).body(tarefas);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Buscar tarefa por ID")
+    @Operation(summary = "Buscar tarefa por ID", description = "Retorna o ETag da versão da tarefa; com If-None-Match igual ao ETag atual, responde 304 sem corpo")
     public ResponseEntity<TarefaDTO> buscarPorId(@PathVariable Long id) {
         TarefaDTO tarefa = tarefaService.buscarPorId(id);
-        return ResponseEntity.ok(tarefa);
+        return ResponseEntity.ok().eTag(EtagVersao.forte(tarefa.getVersao())).body(tarefa);
     }
 
     @GetMapping("/filtrar")
     @Operation(summary = "Filtrar tarefas por usuário e/ou status")
-    public ResponseEntity<List<TarefaDTO>> filtrarTarefas(
+    public ResponseEntity<PaginaDTO<TarefaDTO>> filtrarTarefas(
             @RequestParam(required = false) Long usuarioId,
-            @RequestParam(required = false) StatusTarefa status) {
+            @RequestParam(required = false) StatusTarefa status,
+            @Valid @ParameterObject ParametrosPaginacao paginacao,
+            @Parameter(description = DESCRICAO_CAMPOS) @RequestParam(required = false) String fields) {
         
-        List<TarefaDTO> tarefas;
+        PaginaDTO<TarefaDTO> tarefas;
+        Set<CampoTarefa> campos = CampoTarefa.deLista(fields);
         
         if (usuarioId != null && status != null) {
-            tarefas = tarefaService.filtrarPorUsuarioEStatus(usuarioId, status);
+            tarefas = tarefaService.filtrarPorUsuarioEStatus(usuarioId, status, paginacao, campos);
         } else if (usuarioId != null) {
-            tarefas = tarefaService.filtrarPorUsuario(usuarioId);
+            tarefas = tarefaService.filtrarPorUsuario(usuarioId, paginacao, campos);
         } else if (status != null) {
-            tarefas = tarefaService.filtrarPorStatus(status);
+            tarefas = tarefaService.filtrarPorStatus(status, paginacao, campos);
         } else {
-            tarefas = tarefaService.listarTodas();
+            tarefas = tarefaService.listarTodas(paginacao, campos);
         }
         
-        return ResponseEntity.ok(tarefas);
+        return ResponseEntity.ok().eTag(EtagVersao.fraca(tarefas)).body(tarefas);
+    }
+
+    @GetMapping("/estatisticas")
+    @Operation(summary = "Quantidade de tarefas por status", description = "Do usuário informado ou, sem usuarioId, de todos os usuários. Lida dos contadores mantidos a cada gravação, sem contar as tarefas")
+    public ResponseEntity<EstatisticasTarefasDTO> estatisticas(@RequestParam(required = false) Long usuarioId) {
+        EstatisticasTarefasDTO estatisticas = contadorTarefaService.estatisticas(usuarioId);
+        return ResponseEntity.ok(estatisticas);
+    }
+
+    @GetMapping("/busca")
+    @Operation(summary = "Buscar tarefas por texto", description = "Busca palavras no título e na descrição, ordenando pela relevância. "
+            + "Aceita \"frase exata\", prefixo*, -exclusão e a | b; usuarioId e status filtram o resultado")
+    public ResponseEntity<ResultadoBuscaDTO> buscar(
+            @RequestParam String q,
+            @RequestParam(required = false) Long usuarioId,
+            @RequestParam(required = false) StatusTarefa status,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        ResultadoBuscaDTO resultado = buscaTarefaService.buscar(q, usuarioId, status, pagina, tamanho);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @PostMapping("/busca/reconstrucao")
+    @Operation(summary = "Reconstruir o índice de busca", description = "Indexa de novo todas as tarefas do banco, em segundo plano. Retorna 409 se já houver uma reconstrução em andamento")
+    public ResponseEntity<Void> reconstruirIndice() {
+        boolean iniciada = reconstrucaoIndiceTarefas.solicitar();
+        return ResponseEntity.status(iniciada ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT).build();
+    }
+
+    @GetMapping("/exportar")
+    @Operation(summary = "Exportar tarefas", description = "Exporta as tarefas filtradas por usuário e/ou status em streaming, nos formatos ndjson ou csv")
+    public void exportar(
+            @RequestParam(required = false) Long usuarioId,
+            @RequestParam(required = false) StatusTarefa status,
+            @RequestParam(defaultValue = "ndjson") String formato,
+            HttpServletResponse response) throws IOException {
+
+        FormatoExportacao formatoExportacao = FormatoExportacao.deValor(formato);
+        response.setContentType(formatoExportacao.getTipoConteudo());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"tarefas." + formatoExportacao.getExtensao() + "\"");
+        exportacaoTarefaService.exportar(usuarioId, status, formatoExportacao, response.getOutputStream());
     }
 
     @PostMapping
     @Operation(summary = "Criar nova tarefa")
     public ResponseEntity<TarefaDTO> criar(@Valid @RequestBody TarefaDTO tarefaDTO) {
         TarefaDTO novaTarefa = tarefaService.criar(tarefaDTO);
-        return new ResponseEntity<>(novaTarefa, HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(EtagVersao.forte(novaTarefa.getVersao())).body(novaTarefa);
+    }
+
+    @PostMapping("/lote")
+    @Operation(summary = "Criar tarefas em lote", description = "Cria até 10000 tarefas em uma única requisição e retorna o resultado de cada item")
+    public ResponseEntity<ResultadoLoteDTO> criarEmLote(@RequestBody List<TarefaDTO> tarefas) {
+        ResultadoLoteDTO resultado = loteTarefaService.criarEmLote(tarefas);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @PutMapping("/lote")
+    @Operation(summary = "Atualizar tarefas em lote", description = "Atualiza até 10000 tarefas em uma única requisição. Cada item deve informar o ID da tarefa")
+    public ResponseEntity<ResultadoLoteDTO> atualizarEmLote(@RequestBody List<TarefaDTO> tarefas) {
+        ResultadoLoteDTO resultado = loteTarefaService.atualizarEmLote(tarefas);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @PutMapping("/lote/status")
+    @Operation(summary = "Mudar o status de várias tarefas", description = "Pelos IDs (até 10000) ou por filtro (usuarioId e/ou statusAtual, até 10000 por requisição), "
+            + "com um único comando no banco. Tarefas concluídas não mudam e são retornadas em rejeitadas")
+    public ResponseEntity<ResultadoAlteracaoStatusDTO> alterarStatusEmLote(@Valid @RequestBody AlteracaoStatusLoteDTO alteracao) {
+        ResultadoAlteracaoStatusDTO resultado = loteTarefaService.alterarStatusEmLote(alteracao);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @PutMapping("/{id}/status")
+    @Operation(summary = "Mudar o status de uma tarefa", description = "Um único UPDATE, que não altera tarefas concluídas. "
+            + "Com If-Match, só grava se o ETag informado for o da versão atual (senão, 412)")
+    public ResponseEntity<TarefaDTO> alterarStatus(@PathVariable Long id, @Valid @RequestBody AlteracaoStatusDTO alteracao,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TarefaDTO tarefa = tarefaService.alterarStatus(id, alteracao.getStatus(), EtagVersao.versaoExigida(ifMatch));
+        return ResponseEntity.ok().eTag(EtagVersao.forte(tarefa.getVersao())).body(tarefa);
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Atualizar tarefa existente")
-    public ResponseEntity<TarefaDTO> atualizar(@PathVariable Long id, @Valid @RequestBody TarefaDTO tarefaDTO) {
-        TarefaDTO tarefaAtualizada = tarefaService.atualizar(id, tarefaDTO);
-        return ResponseEntity.ok(tarefaAtualizada);
+    @Operation(summary = "Atualizar tarefa existente", description = "Com If-Match, só grava se o ETag informado for o da versão atual (senão, 412)")
+    public ResponseEntity<TarefaDTO> atualizar(@PathVariable Long id, @Valid @RequestBody TarefaDTO tarefaDTO,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TarefaDTO tarefaAtualizada = tarefaService.atualizar(id, tarefaDTO, EtagVersao.versaoExigida(ifMatch));
+        return ResponseEntity.ok().eTag(EtagVersao.forte(tarefaAtualizada.getVersao())).body(tarefaAtualizada);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Alterar campos de uma tarefa", description = "JSON Merge Patch: só os campos enviados são alterados e null apaga o valor. "
+            + "Com If-Match, só grava se o ETag informado for o da versão atual (senão, 412)")
+    public ResponseEntity<TarefaDTO> atualizarParcialmente(@PathVariable Long id, @RequestBody Map<String, Object> alteracoes,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TarefaDTO tarefaAtualizada = tarefaService.atualizarParcialmente(id, alteracoes, EtagVersao.versaoExigida(ifMatch));
+        return ResponseEntity.ok().eTag(EtagVersao.forte(tarefaAtualizada.getVersao())).body(tarefaAtualizada);
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "Excluir tarefa")
-    public ResponseEntity<Void> excluir(@PathVariable Long id) {
-        tarefaService.excluir(id);
+    @Operation(summary = "Excluir tarefa", description = "Com If-Match, só exclui se o ETag informado for o da versão atual (senão, 412)")
+    public ResponseEntity<Void> excluir(@PathVariable Long id,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        tarefaService.excluir(id, EtagVersao.versaoExigida(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -0,0 +1,16 @@
+package com.desafio.tarefa.dto;
+
+import com.desafio.tarefa.model.StatusTarefa;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlteracaoStatusDTO {
+
+    @NotNull(message = "O status é obrigatório")
+    private StatusTarefa status;
+}
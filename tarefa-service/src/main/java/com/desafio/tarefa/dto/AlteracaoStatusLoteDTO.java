@@ -0,0 +1,25 @@
+package com.desafio.tarefa.dto;
+
+import com.desafio.tarefa.model.StatusTarefa;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Tarefas a mudar de status: as dos IDs informados ou, sem IDs, as do usuario e/ou do status atual informados
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlteracaoStatusLoteDTO {
+
+    @NotNull(message = "O status é obrigatório")
+    private StatusTarefa status;
+
+    private List<Long> ids;
+
+    private Long usuarioId;
+
+    private StatusTarefa statusAtual;
+}
@@ -0,0 +1,22 @@
+package com.desafio.tarefa.dto;
+
+import com.desafio.tarefa.model.StatusTarefa;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasTarefasDTO {
+
+    // null quando as quantidades sao de todos os usuarios
+    private Long usuarioId;
+
+    private long total;
+
+    // Todos os status aparecem, inclusive os sem tarefas
+    private Map<StatusTarefa, Long> porStatus;
+}
@@ -0,0 +1,25 @@
+package com.desafio.tarefa.dto;
+
+import com.desafio.tarefa.model.StatusTarefa;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Aviso de tarefa com a data limite vencida, entregue pelo DespachanteLembretes
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LembreteTarefaDTO {
+
+    private Long tarefaId;
+
+    private String titulo;
+
+    private Long usuarioId;
+
+    private LocalDate dataLimite;
+
+    private StatusTarefa status;
+}
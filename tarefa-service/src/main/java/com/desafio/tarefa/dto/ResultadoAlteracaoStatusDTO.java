@@ -0,0 +1,22 @@
+package com.desafio.tarefa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoAlteracaoStatusDTO {
+
+    // Tarefas que mudaram de status
+    private int alteradas;
+
+    // IDs informados de tarefas inexistentes ou concluidas; as que ja estavam no status pedido nao entram aqui
+    private List<Long> rejeitadas;
+
+    // Na alteracao por filtro, o limite por requisicao foi atingido e pode haver mais tarefas a alterar
+    private boolean temMais;
+}
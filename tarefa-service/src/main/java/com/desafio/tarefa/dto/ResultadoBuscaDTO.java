@@ -0,0 +1,26 @@
+package com.desafio.tarefa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoBuscaDTO {
+
+    private List<TarefaEncontradaDTO> conteudo;
+
+    private int pagina;
+
+    private int tamanho;
+
+    // Tarefas que atendem a busca; acima de 1000 o indice para de contar e totalAproximado fica true
+    private long total;
+
+    private boolean totalAproximado;
+
+    private boolean temProxima;
+}
@@ -0,0 +1,28 @@
+package com.desafio.tarefa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoItemLoteDTO {
+
+    // Posicao do item na lista enviada
+    private int indice;
+
+    private Long id;
+
+    private boolean sucesso;
+
+    private String erro;
+
+    public static ResultadoItemLoteDTO sucesso(int indice, Long id) {
+        return new ResultadoItemLoteDTO(indice, id, true, null);
+    }
+
+    public static ResultadoItemLoteDTO falha(int indice, Long id, String erro) {
+        return new ResultadoItemLoteDTO(indice, id, false, erro);
+    }
+}
@@ -0,0 +1,22 @@
+package com.desafio.tarefa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteDTO {
+
+    private int total;
+
+    private int sucessos;
+
+    private int falhas;
+
+    // Um resultado por item, na mesma ordem da lista enviada
+    private List<ResultadoItemLoteDTO> itens;
+}
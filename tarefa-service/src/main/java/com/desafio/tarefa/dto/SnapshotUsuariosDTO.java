@@ -0,0 +1,18 @@
+package com.desafio.tarefa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// IDs de todos os usuarios existentes, na versao informada pelo servico de usuarios
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SnapshotUsuariosDTO {
+
+    private long versao;
+
+    private List<Long> ids;
+}
@@ -1,6 +1,8 @@
 package com.desafio.tarefa.dto;
 
 import com.desafio.tarefa.model.StatusTarefa;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -10,9 +12,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+// Campos nulos ficam fora do JSON, assim as listagens com "fields" retornam apenas o que foi pedido
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class TarefaDTO {
 
     private Long id;
@@ -31,4 +35,8 @@ public class TarefaDTO {
 
     @NotNull(message = "O usuário responsável é obrigatório")
     private Long usuarioId;
+
+    // Vai para o cliente no cabecalho ETag, nao no corpo
+    @JsonIgnore
+    private Long versao;
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.desafio.tarefa.dto;
+
+import com.desafio.tarefa.model.StatusTarefa;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Tarefa encontrada pela busca textual, com os campos guardados no indice (sem ir ao banco)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TarefaEncontradaDTO {
+
+    private Long id;
+
+    private String titulo;
+
+    private StatusTarefa status;
+
+    private LocalDate dataLimite;
+
+    private Long usuarioId;
+
+    // Relevancia da tarefa para o texto buscado (BM25); maior primeiro
+    private float pontuacao;
+}
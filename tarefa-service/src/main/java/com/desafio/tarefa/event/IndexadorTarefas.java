@@ -0,0 +1,33 @@
+package com.desafio.tarefa.event;
+
+import com.desafio.tarefa.busca.IndiceTarefas;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Leva ao índice de busca apenas as gravações confirmadas no banco; um rollback não deixa rastro no índice
+@Component
+public class IndexadorTarefas {
+
+    private final IndiceTarefas indiceTarefas;
+
+    @Autowired
+    public IndexadorTarefas(IndiceTarefas indiceTarefas) {
+        this.indiceTarefas = indiceTarefas;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoGravarTarefas(TarefasGravadasEvent evento) {
+        evento.getTarefas().forEach(indiceTarefas::indexar);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoExcluirTarefa(TarefaExcluidaEvent evento) {
+        indiceTarefas.remover(evento.getTarefaId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoExcluirTarefas(TarefasExcluidasEvent evento) {
+        evento.getTarefaIds().forEach(indiceTarefas::remover);
+    }
+}
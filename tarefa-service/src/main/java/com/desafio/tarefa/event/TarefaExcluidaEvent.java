@@ -0,0 +1,12 @@
+package com.desafio.tarefa.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Publicado quando uma tarefa é excluída
+@Getter
+@AllArgsConstructor
+public class TarefaExcluidaEvent {
+
+    private final Long tarefaId;
+}
@@ -0,0 +1,14 @@
+package com.desafio.tarefa.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// Publicado quando várias tarefas são excluídas de uma vez (limpeza das tarefas de um usuário excluído)
+@Getter
+@AllArgsConstructor
+public class TarefasExcluidasEvent {
+
+    private final List<Long> tarefaIds;
+}
@@ -0,0 +1,15 @@
+package com.desafio.tarefa.event;
+
+import com.desafio.tarefa.dto.TarefaDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// Publicado quando tarefas são criadas ou alteradas (uma só, ou todas as de um lote), com o estado gravado
+@Getter
+@AllArgsConstructor
+public class TarefasGravadasEvent {
+
+    private final List<TarefaDTO> tarefas;
+}
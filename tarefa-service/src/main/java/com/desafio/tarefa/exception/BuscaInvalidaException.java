@@ -0,0 +1,7 @@
+package com.desafio.tarefa.exception;
+
+public class BuscaInvalidaException extends RuntimeException {
+    public BuscaInvalidaException(String mensagem) {
+        super(mensagem);
+    }
+}
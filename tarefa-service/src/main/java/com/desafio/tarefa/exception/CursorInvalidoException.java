@@ -0,0 +1,7 @@
+package com.desafio.tarefa.exception;
+
+public class CursorInvalidoException extends RuntimeException {
+    public CursorInvalidoException(String mensagem) {
+        super(mensagem);
+    }
+}
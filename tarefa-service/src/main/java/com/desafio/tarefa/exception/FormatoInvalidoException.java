@@ -0,0 +1,7 @@
+package com.desafio.tarefa.exception;
+
+public class FormatoInvalidoException extends RuntimeException {
+    public FormatoInvalidoException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -1,12 +1,15 @@
 package com.desafio.tarefa.exception;
 
 import feign.FeignException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -35,6 +38,17 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(erro, HttpStatus.BAD_REQUEST);
     }
 
+    // Usuario inexistente eh erro de quem chamou (400); servico de usuarios fora do ar eh indisponibilidade (503)
+    @ExceptionHandler(ServicoUsuarioIndisponivelException.class)
+    public ResponseEntity<ErroResponse> handleServicoUsuarioIndisponivelException(ServicoUsuarioIndisponivelException ex) {
+        ErroResponse erro = new ErroResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(StatusInvalidoException.class)
     public ResponseEntity<ErroResponse> handleStatusInvalidoException(StatusInvalidoException ex) {
         ErroResponse erro = new ErroResponse(
@@ -45,6 +59,81 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(erro, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(CursorInvalidoException.class)
+    public ResponseEntity<ErroResponse> handleCursorInvalidoException(CursorInvalidoException ex) {
+        ErroResponse erro = new ErroResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(FormatoInvalidoException.class)
+    public ResponseEntity<ErroResponse> handleFormatoInvalidoException(FormatoInvalidoException ex) {
+        ErroResponse erro = new ErroResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(CampoInvalidoException.class)
+    public ResponseEntity<ErroResponse> handleCampoInvalidoException(CampoInvalidoException ex) {
+        ErroResponse erro = new ErroResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BuscaInvalidaException.class)
+    public ResponseEntity<ErroResponse> handleBuscaInvalidaException(BuscaInvalidaException ex) {
+        ErroResponse erro = new ErroResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(LoteInvalidoException.class)
+    public ResponseEntity<ErroResponse> handleLoteInvalidoException(LoteInvalidoException ex) {
+        ErroResponse erro = new ErroResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(VersaoDivergenteException.class)
+    public ResponseEntity<ErroResponse> handleVersaoDivergenteException(VersaoDivergenteException ex) {
+        ErroResponse erro = new ErroResponse(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    // A tarefa foi alterada por outra transacao entre a leitura e o UPDATE. Com If-Match, a versao informada
+    // deixou de ser a atual (412); sem ele, basta repetir a requisicao (409)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErroResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex,
+                                                                              WebRequest request) {
+        HttpStatus status = request.getHeader(HttpHeaders.IF_MATCH) != null
+                ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        ErroResponse erro = new ErroResponse(
+                status.value(),
+                "A tarefa foi alterada por outra requisição",
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, status);
+    }
+
     @ExceptionHandler(FeignException.class)
     public ResponseEntity<ErroResponse> handleFeignException(FeignException ex) {
         ErroResponse erro = new ErroResponse(
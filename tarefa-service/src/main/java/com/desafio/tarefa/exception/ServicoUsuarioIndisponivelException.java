@@ -0,0 +1,12 @@
+package com.desafio.tarefa.exception;
+
+// O serviço de usuários não respondeu (falha, tempo esgotado ou chamada recusada pela camada de resiliência)
+public class ServicoUsuarioIndisponivelException extends RuntimeException {
+    public ServicoUsuarioIndisponivelException(String mensagem) {
+        super(mensagem);
+    }
+
+    public ServicoUsuarioIndisponivelException(String mensagem, Throwable causa) {
+        super(mensagem, causa);
+    }
+}
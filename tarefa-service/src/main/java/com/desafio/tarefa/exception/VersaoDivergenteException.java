@@ -0,0 +1,8 @@
+package com.desafio.tarefa.exception;
+
+// A versao informada em If-Match nao eh a versao atual da tarefa (412)
+public class VersaoDivergenteException extends RuntimeException {
+    public VersaoDivergenteException(String mensagem) {
+        super(mensagem);
+    }
+}
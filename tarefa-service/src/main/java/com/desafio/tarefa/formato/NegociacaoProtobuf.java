@@ -0,0 +1,33 @@
+package com.desafio.tarefa.formato;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Negociação pelo {@code Accept} em que JSON é sempre aceito, com a menor preferência, por quem pede Protocol Buffers.
+ * <p>
+ * Só tarefas e páginas de tarefas têm mensagem em {@code tarefas.proto}: as demais respostas, inclusive as de erro,
+ * saem em JSON em vez de 406 (ou de 500, quando o tratamento de uma exceção não encontra formato para o erro).
+ */
+public class NegociacaoProtobuf extends HeaderContentNegotiationStrategy {
+
+    private static final MediaType JSON_ALTERNATIVO = new MediaType(MediaType.APPLICATION_JSON, Map.of("q", "0.01"));
+
+    @Override
+    public List<MediaType> resolveMediaTypes(NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        List<MediaType> tipos = super.resolveMediaTypes(request);
+        boolean pedeProtobuf = tipos.stream().anyMatch(ProtobufTarefaHttpMessageConverter.PROTOBUF::equalsTypeAndSubtype);
+        if (!pedeProtobuf || tipos.stream().anyMatch(tipo -> tipo.includes(MediaType.APPLICATION_JSON))) {
+            return tipos;
+        }
+        List<MediaType> comJson = new ArrayList<>(tipos);
+        comJson.add(JSON_ALTERNATIVO);
+        return comJson;
+    }
+}
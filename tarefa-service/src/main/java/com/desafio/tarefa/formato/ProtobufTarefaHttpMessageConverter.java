@@ -0,0 +1,127 @@
+package com.desafio.tarefa.formato;
+
+import com.desafio.tarefa.dto.PaginaDTO;
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.formato.proto.PaginaTarefas;
+import com.desafio.tarefa.formato.proto.Status;
+import com.desafio.tarefa.formato.proto.Tarefa;
+import com.google.protobuf.Message;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Escreve {@link TarefaDTO} e {@link PaginaDTO} de tarefas em Protocol Buffers ({@code application/x-protobuf}),
+ * com as mensagens de {@code tarefas.proto}.
+ * <p>
+ * Só escreve: requisições continuam em JSON (ou Smile/CBOR). Respostas de erro e os demais tipos não têm mensagem
+ * correspondente, então o cliente deve aceitar também JSON ({@code Accept: application/x-protobuf, application/json;q=0.5})
+ * para receber os erros.
+ */
+public class ProtobufTarefaHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public ProtobufTarefaHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return TarefaDTO.class == clazz;
+    }
+
+    // Consultado pelo Spring MVC so com a classe (sem o tipo generico) ao listar os formatos que o metodo produz;
+    // a verificacao do PaginaDTO<TarefaDTO> fica no canWrite com o tipo
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return TarefaDTO.class == clazz || PaginaDTO.class == clazz ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return canWrite(mediaType) && (TarefaDTO.class == clazz || paginaDeTarefas(type));
+    }
+
+    // PaginaDTO<TarefaDTO>: o tipo generico vem do retorno do metodo do controller
+    private static boolean paginaDeTarefas(@Nullable Type type) {
+        return type instanceof ParameterizedType parametrizado
+                && parametrizado.getRawType() == PaginaDTO.class
+                && parametrizado.getActualTypeArguments()[0] == TarefaDTO.class;
+    }
+
+    @Override
+    protected void writeInternal(Object objeto, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        Message mensagem = objeto instanceof TarefaDTO tarefa ? paraMensagem(tarefa) : paraMensagem((PaginaDTO<?>) objeto);
+        mensagem.writeTo(outputMessage.getBody());
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Requisições em Protocol Buffers não são aceitas", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Requisições em Protocol Buffers não são aceitas", inputMessage);
+    }
+
+    public static PaginaTarefas paraMensagem(PaginaDTO<?> pagina) {
+        PaginaTarefas.Builder mensagem = PaginaTarefas.newBuilder()
+                .setTamanho(pagina.getTamanho())
+                .setTemProxima(pagina.isTemProxima());
+        for (Object tarefa : pagina.getConteudo()) {
+            mensagem.addConteudo(paraMensagem((TarefaDTO) tarefa));
+        }
+        if (pagina.getProximoCursor() != null) {
+            mensagem.setProximoCursor(pagina.getProximoCursor());
+        }
+        return mensagem.build();
+    }
+
+    // Campos nulos ficam sem valor, como ficam fora do JSON
+    public static Tarefa paraMensagem(TarefaDTO tarefa) {
+        Tarefa.Builder mensagem = Tarefa.newBuilder();
+        if (tarefa.getId() != null) {
+            mensagem.setId(tarefa.getId());
+        }
+        if (tarefa.getTitulo() != null) {
+            mensagem.setTitulo(tarefa.getTitulo());
+        }
+        if (tarefa.getDescricao() != null) {
+            mensagem.setDescricao(tarefa.getDescricao());
+        }
+        if (tarefa.getStatus() != null) {
+            mensagem.setStatus(Status.valueOf(tarefa.getStatus().name()));
+        }
+        if (tarefa.getDataCriacao() != null) {
+            mensagem.setDataCriacao(tarefa.getDataCriacao().toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+        if (tarefa.getDataLimite() != null) {
+            mensagem.setDataLimite(Math.toIntExact(tarefa.getDataLimite().toEpochDay()));
+        }
+        if (tarefa.getUsuarioId() != null) {
+            mensagem.setUsuarioId(tarefa.getUsuarioId());
+        }
+        return mensagem.build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.desafio.tarefa.formato;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Adiciona {@code Vary: Accept} às respostas da API.
+ * <p>
+ * O mesmo recurso, com o mesmo ETag (que vem da versão), sai em JSON, Smile, CBOR ou Protocol Buffers conforme o
+ * {@code Accept}: sem o {@code Vary}, um cache intermediário entregaria a um cliente o formato pedido por outro, e um
+ * {@code If-None-Match} respondido com 304 valeria para qualquer formato. O cabeçalho entra antes do handler para
+ * valer também nas respostas 304 e nas de erro.
+ */
+public class VaryAcceptInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return true;
+    }
+}
@@ -0,0 +1,85 @@
+package com.desafio.tarefa.lembrete;
+
+import com.desafio.tarefa.dto.LembreteTarefaDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Entrega os lembretes ao {@link DestinoLembretes} em lotes de até {@code tamanhoLote}, sem passar de
+ * {@code lembretesPorSegundo}: cada lote só sai depois do tempo que os lembretes anteriores ocupam na taxa
+ * (zero ou negativo desliga o limite). Os envios acontecem na thread de quem chama; chamadas simultâneas dividem a
+ * mesma taxa, cada lote na sua vez.
+ */
+public class DespachanteLembretes {
+
+    private final DestinoLembretes destino;
+    private final int tamanhoLote;
+    private final long intervaloPorLembreteNanos;
+    private final LongAdder enviados = new LongAdder();
+    // ReentrantLock em vez de synchronized, e so para reservar a vez: a espera acontece fora da trava, sem prender
+    // as demais chamadas nem, com threads virtuais (Java 21), a thread portadora
+    private final ReentrantLock trava = new ReentrantLock();
+    private long proximoEnvio = System.nanoTime();
+    private Timer duracaoEnvio;
+
+    public DespachanteLembretes(DestinoLembretes destino, int tamanhoLote, double lembretesPorSegundo) {
+        this.destino = destino;
+        this.tamanhoLote = Math.max(tamanhoLote, 1);
+        this.intervaloPorLembreteNanos = lembretesPorSegundo > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / lembretesPorSegundo) : 0;
+    }
+
+    // Uma falha do destino interrompe o envio e chega a quem chamou; os lotes anteriores ja foram entregues
+    public void enviar(List<LembreteTarefaDTO> lembretes) {
+        for (int inicio = 0; inicio < lembretes.size(); inicio += tamanhoLote) {
+            List<LembreteTarefaDTO> lote = lembretes.subList(inicio, Math.min(inicio + tamanhoLote, lembretes.size()));
+            aguardarVez(lote.size());
+            if (duracaoEnvio != null) {
+                duracaoEnvio.record(() -> destino.enviar(lote));
+            } else {
+                destino.enviar(lote);
+            }
+            enviados.add(lote.size());
+        }
+    }
+
+    private void aguardarVez(int quantidade) {
+        long agora;
+        long vez;
+        trava.lock();
+        try {
+            agora = System.nanoTime();
+            vez = Math.max(agora, proximoEnvio);
+            proximoEnvio = vez + quantidade * intervaloPorLembreteNanos;
+        } finally {
+            trava.unlock();
+        }
+        if (vez > agora) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(vez - agora);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Envio de lembretes interrompido", e);
+            }
+        }
+    }
+
+    public long enviados() {
+        return enviados.sum();
+    }
+
+    // Lembretes entregues (a taxa vem do rate() no Prometheus) e tempo de cada lote no destino
+    public void registrarMetricas(MeterRegistry registry) {
+        FunctionCounter.builder("tarefas.lembretes.enviados", enviados, LongAdder::sum)
+                .description("Lembretes de tarefas atrasadas entregues ao destino")
+                .register(registry);
+        duracaoEnvio = Timer.builder("tarefas.lembretes.envio")
+                .description("Tempo de entrega de cada lote de lembretes")
+                .register(registry);
+    }
+}
@@ -0,0 +1,14 @@
+package com.desafio.tarefa.lembrete;
+
+import com.desafio.tarefa.dto.LembreteTarefaDTO;
+
+import java.util.List;
+
+/**
+ * Para onde vão os lembretes de tarefas atrasadas (e-mail, fila, notificação...). Recebe os lembretes em lotes;
+ * uma exceção faz o lote inteiro ser reenviado na próxima varredura, então a entrega deve tolerar repetições.
+ */
+public interface DestinoLembretes {
+
+    void enviar(List<LembreteTarefaDTO> lembretes);
+}
@@ -0,0 +1,44 @@
+package com.desafio.tarefa.lembrete;
+
+import com.desafio.tarefa.dto.LembreteTarefaDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Acrescenta os lembretes a um arquivo, um JSON por linha (ndjson), com uma escrita por lote
+public class DestinoLembretesArquivo implements DestinoLembretes {
+
+    private final Path arquivo;
+    private final ObjectMapper objectMapper;
+    // Um lote por vez no arquivo; ReentrantLock porque a escrita em disco sob um monitor prenderia a thread portadora
+    private final ReentrantLock trava = new ReentrantLock();
+
+    public DestinoLembretesArquivo(Path arquivo, ObjectMapper objectMapper) {
+        this.arquivo = arquivo;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void enviar(List<LembreteTarefaDTO> lembretes) {
+        trava.lock();
+        try (Writer writer = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (LembreteTarefaDTO lembrete : lembretes) {
+                writer.write(objectMapper.writeValueAsString(lembrete));
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível gravar os lembretes em " + arquivo, e);
+        } finally {
+            trava.unlock();
+        }
+    }
+}
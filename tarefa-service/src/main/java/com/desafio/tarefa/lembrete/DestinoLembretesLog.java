@@ -0,0 +1,21 @@
+package com.desafio.tarefa.lembrete;
+
+import com.desafio.tarefa.dto.LembreteTarefaDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+// Escreve cada lembrete no log "lembretes"; destino padrao enquanto nao ha um canal de notificacao
+public class DestinoLembretesLog implements DestinoLembretes {
+
+    private static final Logger log = LoggerFactory.getLogger("lembretes");
+
+    @Override
+    public void enviar(List<LembreteTarefaDTO> lembretes) {
+        for (LembreteTarefaDTO lembrete : lembretes) {
+            log.info("Tarefa {} do usuário {} atrasada desde {}: {}", lembrete.getTarefaId(), lembrete.getUsuarioId(),
+                    lembrete.getDataLimite(), lembrete.getTitulo());
+        }
+    }
+}
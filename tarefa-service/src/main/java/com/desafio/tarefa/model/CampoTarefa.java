@@ -0,0 +1,60 @@
+package com.desafio.tarefa.model;
+
+import com.desafio.tarefa.exception.CampoInvalidoException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Campos de Tarefa que podem ser pedidos nas listagens pelo parametro "fields" ou alterados por PATCH
+public enum CampoTarefa {
+    ID("id"),
+    TITULO("titulo"),
+    DESCRICAO("descricao"),
+    STATUS("status"),
+    DATA_CRIACAO("dataCriacao"),
+    DATA_LIMITE("dataLimite"),
+    USUARIO_ID("usuarioId");
+
+    // Campos retornados nas listagens quando o cliente nao informa "fields"
+    public static final Set<CampoTarefa> RESUMO =
+            Collections.unmodifiableSet(EnumSet.of(ID, TITULO, STATUS, DATA_LIMITE, USUARIO_ID));
+
+    private final String atributo;
+
+    CampoTarefa(String atributo) {
+        this.atributo = atributo;
+    }
+
+    // Converte "titulo,status" no conjunto de campos; o ID eh sempre incluido
+    public static Set<CampoTarefa> deLista(String campos) {
+        if (campos == null || campos.isBlank()) {
+            return RESUMO;
+        }
+
+        Set<CampoTarefa> resultado = EnumSet.of(ID);
+        for (String nome : campos.split(",")) {
+            String nomeLimpo = nome.trim();
+            if (!nomeLimpo.isEmpty()) {
+                resultado.add(deAtributo(nomeLimpo));
+            }
+        }
+        return resultado;
+    }
+
+    public static CampoTarefa deAtributo(String nome) {
+        for (CampoTarefa campo : values()) {
+            if (campo.atributo.equalsIgnoreCase(nome)) {
+                return campo;
+            }
+        }
+        String aceitos = Arrays.stream(values()).map(CampoTarefa::getAtributo).collect(Collectors.joining(", "));
+        throw new CampoInvalidoException("Campo inválido: " + nome + ". Valores aceitos: " + aceitos);
+    }
+
+    public String getAtributo() {
+        return atributo;
+    }
+}
@@ -0,0 +1,17 @@
+package com.desafio.tarefa.model;
+
+import java.util.Comparator;
+
+// Linha da tabela tarefas_contadores. A ordem (usuario, status) eh a ordem em que as linhas sao travadas,
+// igual para todas as transacoes, para que duas gravacoes nao esperem uma pela outra em ordem inversa
+public record ChaveContadorTarefa(Long usuarioId, StatusTarefa status) implements Comparable<ChaveContadorTarefa> {
+
+    private static final Comparator<ChaveContadorTarefa> ORDEM = Comparator
+            .comparing(ChaveContadorTarefa::usuarioId)
+            .thenComparing(chave -> chave.status().name());
+
+    @Override
+    public int compareTo(ChaveContadorTarefa outra) {
+        return ORDEM.compare(this, outra);
+    }
+}
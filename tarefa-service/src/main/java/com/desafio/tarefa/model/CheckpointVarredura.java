@@ -0,0 +1,34 @@
+package com.desafio.tarefa.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Ultima tarefa (na ordem data limite, ID) ja processada por uma varredura; nulos antes da primeira
+@Entity
+@Table(name = "varreduras_checkpoint")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckpointVarredura {
+
+    @Id
+    @Column(length = 100)
+    private String nome;
+
+    @Column(name = "data_limite")
+    private LocalDate dataLimite;
+
+    @Column(name = "tarefa_id")
+    private Long tarefaId;
+
+    @Column(name = "atualizado_em")
+    private LocalDateTime atualizadoEm;
+}
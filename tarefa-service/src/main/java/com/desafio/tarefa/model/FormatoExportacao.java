@@ -0,0 +1,33 @@
+package com.desafio.tarefa.model;
+
+import com.desafio.tarefa.exception.FormatoInvalidoException;
+
+public enum FormatoExportacao {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv;charset=UTF-8", "csv");
+
+    private final String tipoConteudo;
+    private final String extensao;
+
+    FormatoExportacao(String tipoConteudo, String extensao) {
+        this.tipoConteudo = tipoConteudo;
+        this.extensao = extensao;
+    }
+
+    public static FormatoExportacao deValor(String valor) {
+        for (FormatoExportacao formato : values()) {
+            if (formato.name().equalsIgnoreCase(valor)) {
+                return formato;
+            }
+        }
+        throw new FormatoInvalidoException("Formato de exportação inválido: " + valor);
+    }
+
+    public String getTipoConteudo() {
+        return tipoConteudo;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+}
@@ -0,0 +1,20 @@
+package com.desafio.tarefa.model;
+
+public enum OrdenacaoTarefa {
+    DATA_CRIACAO(CampoTarefa.DATA_CRIACAO),
+    DATA_LIMITE(CampoTarefa.DATA_LIMITE);
+
+    private final CampoTarefa campo;
+
+    OrdenacaoTarefa(CampoTarefa campo) {
+        this.campo = campo;
+    }
+
+    public CampoTarefa getCampo() {
+        return campo;
+    }
+
+    public String getAtributo() {
+        return campo.getAtributo();
+    }
+}
@@ -17,8 +17,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Tarefa {
 
+    // Sequencia com reserva de 50 IDs por ida ao banco: permite ao Hibernate agrupar os INSERTs em lote JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tarefas_seq")
+    @SequenceGenerator(name = "tarefas_seq", sequenceName = "tarefas_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "O título é obrigatório")
@@ -43,6 +45,12 @@ public class Tarefa {
     @Column(name = "usuario_id", nullable = false)
     private Long usuarioId;
 
+    // Incrementada pelo Hibernate a cada alteracao; o UPDATE e o DELETE so afetam a linha se ela ainda estiver
+    // na versao lida (trava otimista). Eh tambem o ETag da tarefa
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     @PrePersist
     public void prePersist() {
         dataCriacao = LocalDateTime.now();
@@ -0,0 +1,27 @@
+package com.desafio.tarefa.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Usuario excluido cujas tarefas ainda aguardam a limpeza em segundo plano
+@Entity
+@Table(name = "usuarios_excluidos")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsuarioExcluido {
+
+    @Id
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+
+    @Column(name = "excluido_em", nullable = false)
+    private LocalDateTime excluidoEm;
+}
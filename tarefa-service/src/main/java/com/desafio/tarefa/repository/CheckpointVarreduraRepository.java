@@ -0,0 +1,20 @@
+package com.desafio.tarefa.repository;
+
+import com.desafio.tarefa.model.CheckpointVarredura;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CheckpointVarreduraRepository extends JpaRepository<CheckpointVarredura, String> {
+
+    // SELECT ... FOR UPDATE: outra instancia que varre ao mesmo tempo espera o fim da transacao
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from CheckpointVarredura c where c.nome = :nome")
+    Optional<CheckpointVarredura> travar(@Param("nome") String nome);
+}
@@ -0,0 +1,129 @@
+package com.desafio.tarefa.repository;
+
+import com.desafio.tarefa.model.StatusTarefa;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Acesso à tabela {@code tarefas_contadores} (quantidade de tarefas por usuário e status).
+ * Os ajustes são somados no banco, com upsert, e não lidos e regravados: gravações simultâneas
+ * para o mesmo usuário apenas esperam a trava da linha umas das outras.
+ */
+@Repository
+public class ContadorTarefaRepository {
+
+    // Mesmo resultado nos dois comandos; o ON CONFLICT do PostgreSQL nao depende da ordem de execucao
+    // das transacoes simultaneas, enquanto o MERGE padrao eh usado nos demais bancos (H2 nos testes)
+    private static final String AJUSTAR_POSTGRESQL = """
+            INSERT INTO tarefas_contadores (usuario_id, status, quantidade) VALUES (:usuarioId, :status, :delta)
+            ON CONFLICT (usuario_id, status) DO UPDATE SET quantidade = tarefas_contadores.quantidade + EXCLUDED.quantidade
+            """;
+    private static final String AJUSTAR_PADRAO = """
+            MERGE INTO tarefas_contadores c
+            USING (SELECT CAST(:usuarioId AS BIGINT) AS usuario_id, CAST(:status AS VARCHAR(255)) AS status,
+                          CAST(:delta AS BIGINT) AS quantidade) n
+            ON c.usuario_id = n.usuario_id AND c.status = n.status
+            WHEN MATCHED THEN UPDATE SET quantidade = c.quantidade + n.quantidade
+            WHEN NOT MATCHED THEN INSERT (usuario_id, status, quantidade) VALUES (n.usuario_id, n.status, n.quantidade)
+            """;
+
+    private final EntityManager entityManager;
+    private final String comandoAjuste;
+
+    @Autowired
+    public ContadorTarefaRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        boolean postgresql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+        this.comandoAjuste = postgresql ? AJUSTAR_POSTGRESQL : AJUSTAR_PADRAO;
+    }
+
+    // Soma delta ao contador, criando a linha se ainda nao existir (delta 0 apenas garante a linha)
+    public void ajustar(Long usuarioId, StatusTarefa status, long delta) {
+        entityManager.createNativeQuery(comandoAjuste)
+                .setParameter("usuarioId", usuarioId)
+                .setParameter("status", status.name())
+                .setParameter("delta", delta)
+                .executeUpdate();
+    }
+
+    public Map<StatusTarefa, Long> contadoresDoUsuario(Long usuarioId) {
+        return porStatus(tuplas(entityManager.createNativeQuery(
+                        "SELECT status, quantidade FROM tarefas_contadores WHERE usuario_id = :usuarioId", Tuple.class)
+                .setParameter("usuarioId", usuarioId)));
+    }
+
+    public Map<StatusTarefa, Long> contadoresGerais() {
+        return porStatus(tuplas(entityManager.createNativeQuery(
+                        "SELECT status, SUM(quantidade) AS quantidade FROM tarefas_contadores GROUP BY status", Tuple.class)));
+    }
+
+    // Usuarios cujo contador difere da contagem das tarefas, com as duas tabelas comparadas no proprio banco
+    public List<Long> usuariosComDivergencia() {
+        List<Tuple> linhas = tuplas(entityManager.createNativeQuery("""
+                        SELECT DISTINCT usuario_id FROM (
+                            SELECT usuario_id, status, SUM(quantidade) AS diferenca FROM (
+                                SELECT usuario_id, status, COUNT(*) AS quantidade FROM tarefas GROUP BY usuario_id, status
+                                UNION ALL
+                                SELECT usuario_id, status, -quantidade FROM tarefas_contadores
+                            ) d
+                            GROUP BY usuario_id, status
+                            HAVING SUM(quantidade) <> 0
+                        ) divergentes
+                        ORDER BY usuario_id
+                        """, Tuple.class));
+        return linhas.stream().map(linha -> ((Number) linha.get(0)).longValue()).toList();
+    }
+
+    // Trava as linhas do usuario, em ordem de status, ate o fim da transacao
+    public Map<StatusTarefa, Long> travarContadoresDoUsuario(Long usuarioId) {
+        return porStatus(tuplas(entityManager.createNativeQuery("""
+                        SELECT status, quantidade FROM tarefas_contadores WHERE usuario_id = :usuarioId
+                        ORDER BY status FOR UPDATE
+                        """, Tuple.class)
+                .setParameter("usuarioId", usuarioId)));
+    }
+
+    public Map<StatusTarefa, Long> contarTarefasDoUsuario(Long usuarioId) {
+        return porStatus(tuplas(entityManager.createNativeQuery(
+                        "SELECT status, COUNT(*) AS quantidade FROM tarefas WHERE usuario_id = :usuarioId GROUP BY status",
+                        Tuple.class)
+                .setParameter("usuarioId", usuarioId)));
+    }
+
+    public void definir(Long usuarioId, StatusTarefa status, long quantidade) {
+        entityManager.createNativeQuery(
+                        "UPDATE tarefas_contadores SET quantidade = :quantidade WHERE usuario_id = :usuarioId AND status = :status")
+                .setParameter("quantidade", quantidade)
+                .setParameter("usuarioId", usuarioId)
+                .setParameter("status", status.name())
+                .executeUpdate();
+    }
+
+    // getResultList da Query nao eh tipado; a conversao de cada linha evita o cast nao verificado da lista inteira
+    private static List<Tuple> tuplas(Query consulta) {
+        List<?> linhas = consulta.getResultList();
+        return linhas.stream().map(Tuple.class::cast).toList();
+    }
+
+    // Status sem linha (ou sem tarefas) ficam com zero
+    private static Map<StatusTarefa, Long> porStatus(List<Tuple> linhas) {
+        Map<StatusTarefa, Long> quantidades = new EnumMap<>(StatusTarefa.class);
+        for (StatusTarefa status : StatusTarefa.values()) {
+            quantidades.put(status, 0L);
+        }
+        for (Tuple linha : linhas) {
+            quantidades.put(StatusTarefa.valueOf(linha.get(0, String.class)), ((Number) linha.get(1)).longValue());
+        }
+        return quantidades;
+    }
+}
@@ -0,0 +1,8 @@
+package com.desafio.tarefa.repository;
+
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.model.StatusTarefa;
+
+// Tarefa como ficou depois da mudanca de status (novo status e nova versao), com o status que ela tinha antes
+public record StatusAlterado(TarefaDTO tarefa, StatusTarefa statusAnterior) {
+}
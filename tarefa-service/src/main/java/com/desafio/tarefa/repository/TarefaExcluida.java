@@ -0,0 +1,6 @@
+package com.desafio.tarefa.repository;
+
+import com.desafio.tarefa.model.StatusTarefa;
+
+// Tarefa removida por um DELETE em lote, com o usuario e o status que ela tinha (para os contadores)
+public record TarefaExcluida(Long id, Long usuarioId, StatusTarefa status) {}
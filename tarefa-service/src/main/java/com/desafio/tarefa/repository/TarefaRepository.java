@@ -3,12 +3,14 @@ package com.desafio.tarefa.repository;
 import com.desafio.tarefa.model.StatusTarefa;
 import com.desafio.tarefa.model.Tarefa;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TarefaRepository extends JpaRepository<Tarefa, Long> {
+public interface TarefaRepository extends JpaRepository<Tarefa, Long>, TarefaRepositoryCustom {
 
     List<Tarefa> findByUsuarioId(Long usuarioId);
 
@@ -17,4 +19,10 @@ public interface TarefaRepository extends JpaRepository<Tarefa, Long> {
     List<Tarefa> findByUsuarioIdAndStatus(Long usuarioId, StatusTarefa status);
 
     long countByUsuarioId(Long usuarioId);
-}
\ No newline at end of file
+
+    // Para na primeira tarefa encontrada no indice de usuario_id, sem contar todas
+    boolean existsByUsuarioId(Long usuarioId);
+
+    @Query("select t.id from Tarefa t where t.id in :ids and t.status = :status")
+    List<Long> findIdsComStatus(Collection<Long> ids, StatusTarefa status);
+}
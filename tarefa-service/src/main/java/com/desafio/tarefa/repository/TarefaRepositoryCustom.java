@@ -0,0 +1,49 @@
+package com.desafio.tarefa.repository;
+
+import com.desafio.tarefa.dto.LembreteTarefaDTO;
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.model.CampoTarefa;
+import com.desafio.tarefa.model.OrdenacaoTarefa;
+import com.desafio.tarefa.model.StatusTarefa;
+import com.desafio.tarefa.model.Tarefa;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface TarefaRepositoryCustom {
+
+    // Busca paginada por keyset: usuarioId e status sao filtros opcionais, cursor nulo indica a primeira pagina.
+    // Seleciona apenas as colunas dos campos pedidos (mais o ID e o campo de ordenacao), sem carregar entidades
+    List<TarefaDTO> buscarPagina(Long usuarioId, StatusTarefa status, Set<CampoTarefa> campos,
+                                 OrdenacaoTarefa ordenacao, Sort.Direction direcao, CursorTarefa cursor, int limite);
+
+    // UPDATE apenas das colunas informadas, na tarefa que ainda estiver na versao lida, incrementando a versao.
+    // Retorna false se a tarefa foi alterada ou excluida depois da leitura
+    boolean atualizarCampos(Long id, Long versao, Map<CampoTarefa, Object> valores);
+
+    // Muda para novoStatus, em um unico comando, as tarefas nao concluidas e em outro status que tenham um dos IDs
+    // informados e atendam aos filtros (usuario, status atual e versao, todos opcionais), no maximo limite tarefas.
+    // Retorna as tarefas alteradas; as demais ficam como estavam
+    List<StatusAlterado> alterarStatus(Collection<Long> ids, Long usuarioId, StatusTarefa statusAtual, Long versao,
+                                       StatusTarefa novoStatus, int limite);
+
+    // Exclui, em um unico comando, a tarefa com o ID informado (e na versao informada, se houver) ou as tarefas do
+    // usuario, no maximo limite tarefas na ordem dos IDs. Retorna as tarefas excluidas
+    List<TarefaExcluida> excluir(Long id, Long usuarioId, Long versao, int limite);
+
+    // Passa para novoUsuarioId, em um unico comando, no maximo limite tarefas do usuario (na ordem dos IDs),
+    // incrementando a versao. Retorna as tarefas como ficaram
+    List<TarefaDTO> reatribuir(Long usuarioId, Long novoUsuarioId, int limite);
+
+    // Leitura em streaming para exportacao: deve ser consumida dentro de uma transacao e fechada ao final
+    Stream<Tarefa> streamPorFiltro(Long usuarioId, StatusTarefa status);
+
+    // Tarefas nao concluidas com data limite anterior a hoje, em ordem de (data limite, ID), a partir da posicao
+    // seguinte a (aposDataLimite, aposId); posicao nula indica o inicio
+    List<LembreteTarefaDTO> buscarAtrasadas(LocalDate hoje, LocalDate aposDataLimite, Long aposId, int limite);
+}
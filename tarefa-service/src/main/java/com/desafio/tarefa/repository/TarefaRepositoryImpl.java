@@ -0,0 +1,382 @@
+package com.desafio.tarefa.repository;
+
+import com.desafio.tarefa.dto.LembreteTarefaDTO;
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.model.CampoTarefa;
+import com.desafio.tarefa.model.OrdenacaoTarefa;
+import com.desafio.tarefa.model.StatusTarefa;
+import com.desafio.tarefa.model.Tarefa;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class TarefaRepositoryImpl implements TarefaRepositoryCustom {
+
+    // Quantidade de linhas trazidas do banco por ida ao servidor durante o streaming
+    static final int TAMANHO_LOTE_STREAM = 500;
+
+    // O UPDATE devolve as linhas alteradas com o status anterior. No PostgreSQL, o FROM com as linhas travadas
+    // pelo SELECT ... FOR UPDATE fornece o status anterior ao RETURNING; nos demais bancos (H2 nos testes),
+    // OLD TABLE devolve as linhas como estavam antes do UPDATE
+    private static final String ALTERAR_STATUS_POSTGRESQL = """
+            WITH alteradas AS (
+                UPDATE tarefas t SET status = :novoStatus, versao = t.versao + 1
+                FROM (SELECT id, status FROM tarefas WHERE %s ORDER BY id LIMIT :limite FOR UPDATE) anterior
+                WHERE t.id = anterior.id
+                RETURNING t.id, t.titulo, t.descricao, t.data_criacao, t.data_limite, t.usuario_id, t.versao,
+                          anterior.status AS status_anterior
+            )
+            SELECT id, titulo, descricao, data_criacao, data_limite, usuario_id, versao, status_anterior FROM alteradas
+            """;
+    private static final String ALTERAR_STATUS_PADRAO = """
+            SELECT id, titulo, descricao, data_criacao, data_limite, usuario_id, versao + 1 AS versao,
+                   status AS status_anterior
+            FROM OLD TABLE (
+                UPDATE tarefas SET status = :novoStatus, versao = versao + 1
+                WHERE id IN (SELECT id FROM tarefas WHERE %s ORDER BY id LIMIT :limite)
+            )
+            """;
+
+    // Mesma ideia para DELETE e para a troca de usuario: RETURNING no PostgreSQL, OLD TABLE (linhas antes do
+    // comando) e FINAL TABLE (linhas depois do comando) nos demais bancos
+    private static final String EXCLUIR_POSTGRESQL = """
+            WITH excluidas AS (
+                DELETE FROM tarefas
+                WHERE id IN (SELECT id FROM tarefas WHERE %s ORDER BY id LIMIT :limite FOR UPDATE)
+                RETURNING id, usuario_id, status
+            )
+            SELECT id, usuario_id, status FROM excluidas
+            """;
+    private static final String EXCLUIR_PADRAO = """
+            SELECT id, usuario_id, status
+            FROM OLD TABLE (
+                DELETE FROM tarefas WHERE id IN (SELECT id FROM tarefas WHERE %s ORDER BY id LIMIT :limite)
+            )
+            """;
+    private static final String REATRIBUIR_POSTGRESQL = """
+            WITH reatribuidas AS (
+                UPDATE tarefas SET usuario_id = :novoUsuarioId, versao = versao + 1
+                WHERE id IN (SELECT id FROM tarefas WHERE usuario_id = :usuarioId ORDER BY id LIMIT :limite FOR UPDATE)
+                RETURNING id, titulo, descricao, status, data_criacao, data_limite, usuario_id, versao
+            )
+            SELECT id, titulo, descricao, status, data_criacao, data_limite, usuario_id, versao FROM reatribuidas
+            """;
+    private static final String REATRIBUIR_PADRAO = """
+            SELECT id, titulo, descricao, status, data_criacao, data_limite, usuario_id, versao
+            FROM FINAL TABLE (
+                UPDATE tarefas SET usuario_id = :novoUsuarioId, versao = versao + 1
+                WHERE id IN (SELECT id FROM tarefas WHERE usuario_id = :usuarioId ORDER BY id LIMIT :limite)
+            )
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Sem open-in-view o stream de resultados precisa de uma transacao para manter o EntityManager aberto
+    @Override
+    @Transactional(readOnly = true)
+    public List<TarefaDTO> buscarPagina(Long usuarioId, StatusTarefa status, Set<CampoTarefa> campos,
+                                        OrdenacaoTarefa ordenacao, Sort.Direction direcao, CursorTarefa cursor, int limite) {
+        List<String> condicoes = new ArrayList<>();
+        Map<String, Object> parametros = new HashMap<>();
+
+        if (usuarioId != null) {
+            condicoes.add("t.usuarioId = :usuarioId");
+            parametros.put("usuarioId", usuarioId);
+        }
+        if (status != null) {
+            condicoes.add("t.status = :status");
+            parametros.put("status", status);
+        }
+
+        // O ID e o campo de ordenacao sao sempre lidos, pois formam o cursor da proxima pagina, e a versao, que
+        // compoe o ETag da pagina
+        Set<CampoTarefa> selecionados = EnumSet.of(CampoTarefa.ID, ordenacao.getCampo());
+        selecionados.addAll(campos);
+        String colunas = selecionados.stream()
+                .map(campo -> "t." + campo.getAtributo() + " as " + campo.getAtributo())
+                .collect(Collectors.joining(", ", "", ", t.versao as versao"));
+
+        String atributo = "t." + ordenacao.getAtributo();
+        // Nulos ficam no fim em ASC e no inicio em DESC, o mesmo comportamento padrao de indices no PostgreSQL
+        String ordem = direcao.isAscending()
+                ? " order by " + atributo + " asc nulls last, t.id asc"
+                : " order by " + atributo + " desc nulls first, t.id desc";
+        if (cursor != null) {
+            parametros.put("cursorId", cursor.getId());
+            if (cursor.getValor() != null) {
+                parametros.put("cursorValor", cursor.getValor());
+            }
+        }
+
+        // Cada trecho eh uma busca no indice (atributo, id) a partir do cursor; o segundo so eh lido quando o
+        // primeiro nao completa a pagina
+        List<TarefaDTO> pagina = new ArrayList<>();
+        for (String trecho : trechosKeyset(ordenacao, direcao, cursor)) {
+            List<String> condicoesTrecho = new ArrayList<>(condicoes);
+            if (trecho != null) {
+                condicoesTrecho.add(trecho);
+            }
+            StringBuilder jpql = new StringBuilder("select ").append(colunas).append(" from Tarefa t");
+            if (!condicoesTrecho.isEmpty()) {
+                jpql.append(" where ").append(String.join(" and ", condicoesTrecho));
+            }
+            jpql.append(ordem);
+
+            // Consulta escalar: nada entra no contexto de persistencia nem gera snapshot para dirty checking
+            TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+            parametros.forEach((nome, valor) -> {
+                if (jpql.indexOf(":" + nome) >= 0) {
+                    query.setParameter(nome, valor);
+                }
+            });
+            query.setMaxResults(limite - pagina.size()).getResultStream()
+                    .map(linha -> paraDTO(linha, selecionados))
+                    .forEach(pagina::add);
+            if (pagina.size() >= limite) {
+                break;
+            }
+        }
+        return pagina;
+    }
+
+    private TarefaDTO paraDTO(Tuple linha, Set<CampoTarefa> campos) {
+        TarefaDTO dto = new TarefaDTO();
+        dto.setVersao(linha.get("versao", Long.class));
+        for (CampoTarefa campo : campos) {
+            Object valor = linha.get(campo.getAtributo());
+            switch (campo) {
+                case ID -> dto.setId((Long) valor);
+                case TITULO -> dto.setTitulo((String) valor);
+                case DESCRICAO -> dto.setDescricao((String) valor);
+                case STATUS -> dto.setStatus((StatusTarefa) valor);
+                case DATA_CRIACAO -> dto.setDataCriacao((LocalDateTime) valor);
+                case DATA_LIMITE -> dto.setDataLimite((LocalDate) valor);
+                case USUARIO_ID -> dto.setUsuarioId((Long) valor);
+            }
+        }
+        return dto;
+    }
+
+    // Condicoes "depois do cursor" para (atributo, id), em ordem, uma consulta por trecho (null: sem condicao).
+    // A comparacao de linha (atributo, id) > (valor, id) vira uma busca no indice; com OR entre as alternativas o
+    // banco percorreria o indice desde o inicio filtrando, e a pagina N custaria N paginas. Os nulos de data_limite
+    // (no fim em ASC, no inicio em DESC) ficam num trecho proprio
+    private List<String> trechosKeyset(OrdenacaoTarefa ordenacao, Sort.Direction direcao, CursorTarefa cursor) {
+        if (cursor == null) {
+            return Collections.singletonList(null);
+        }
+        String atributo = "t." + ordenacao.getAtributo();
+        String comparador = direcao.isAscending() ? ">" : "<";
+        boolean aceitaNulos = ordenacao == OrdenacaoTarefa.DATA_LIMITE;
+
+        if (cursor.getValor() == null) {
+            String aposNulos = atributo + " is null and t.id " + comparador + " :cursorId";
+            return direcao.isAscending() ? List.of(aposNulos) : List.of(aposNulos, atributo + " is not null");
+        }
+        String aposCursor = "(" + atributo + ", t.id) " + comparador + " (:cursorValor, :cursorId)";
+        return direcao.isAscending() && aceitaNulos ? List.of(aposCursor, atributo + " is null") : List.of(aposCursor);
+    }
+
+    // Consulta montada em vez de @DynamicUpdate na entidade: o Hibernate nao agrupa UPDATEs dinamicos em lotes JDBC,
+    // e a atualizacao em lote precisa deles
+    @Override
+    @Transactional
+    public boolean atualizarCampos(Long id, Long versao, Map<CampoTarefa, Object> valores) {
+        StringBuilder jpql = new StringBuilder("update Tarefa t set t.versao = t.versao + 1");
+        for (CampoTarefa campo : valores.keySet()) {
+            jpql.append(", t.").append(campo.getAtributo()).append(" = :").append(campo.getAtributo());
+        }
+        jpql.append(" where t.id = :id and t.versao = :versao");
+
+        Query update = entityManager.createQuery(jpql.toString())
+                .setParameter("id", id)
+                .setParameter("versao", versao);
+        valores.forEach((campo, valor) -> update.setParameter(campo.getAtributo(), valor));
+        return update.executeUpdate() == 1;
+    }
+
+    // Um unico comando no banco, sem carregar as tarefas: as que foram concluidas ou alteradas por outra transacao
+    // antes do UPDATE simplesmente nao atendem ao filtro
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public List<StatusAlterado> alterarStatus(Collection<Long> ids, Long usuarioId, StatusTarefa statusAtual, Long versao,
+                                              StatusTarefa novoStatus, int limite) {
+        List<String> condicoes = new ArrayList<>(List.of("status <> 'CONCLUIDO'", "status <> :novoStatus"));
+        Map<String, Object> parametros = new HashMap<>();
+        parametros.put("novoStatus", novoStatus.name());
+        parametros.put("limite", limite);
+        if (ids != null) {
+            condicoes.add("id IN (:ids)");
+            parametros.put("ids", ids);
+        }
+        if (usuarioId != null) {
+            condicoes.add("usuario_id = :usuarioId");
+            parametros.put("usuarioId", usuarioId);
+        }
+        if (statusAtual != null) {
+            condicoes.add("status = :statusAtual");
+            parametros.put("statusAtual", statusAtual.name());
+        }
+        if (versao != null) {
+            condicoes.add("versao = :versao");
+            parametros.put("versao", versao);
+        }
+
+        String sql = (postgresql() ? ALTERAR_STATUS_POSTGRESQL : ALTERAR_STATUS_PADRAO)
+                .formatted(String.join(" AND ", condicoes));
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("titulo", String.class)
+                .addScalar("descricao", String.class)
+                .addScalar("data_criacao", LocalDateTime.class)
+                .addScalar("data_limite", LocalDate.class)
+                .addScalar("usuario_id", Long.class)
+                .addScalar("versao", Long.class)
+                .addScalar("status_anterior", String.class);
+        parametros.forEach(query::setParameter);
+
+        return query.getResultList().stream()
+                .map(linha -> new StatusAlterado(
+                        new TarefaDTO((Long) linha[0], (String) linha[1], (String) linha[2], novoStatus,
+                                (LocalDateTime) linha[3], (LocalDate) linha[4], (Long) linha[5], (Long) linha[6]),
+                        StatusTarefa.valueOf((String) linha[7])))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public List<TarefaExcluida> excluir(Long id, Long usuarioId, Long versao, int limite) {
+        List<String> condicoes = new ArrayList<>();
+        Map<String, Object> parametros = new HashMap<>();
+        parametros.put("limite", limite);
+        if (id != null) {
+            condicoes.add("id = :id");
+            parametros.put("id", id);
+        }
+        if (usuarioId != null) {
+            condicoes.add("usuario_id = :usuarioId");
+            parametros.put("usuarioId", usuarioId);
+        }
+        if (versao != null) {
+            condicoes.add("versao = :versao");
+            parametros.put("versao", versao);
+        }
+        if (condicoes.isEmpty()) {
+            throw new IllegalArgumentException("Informe o ID ou o usuário das tarefas a excluir");
+        }
+
+        String sql = (postgresql() ? EXCLUIR_POSTGRESQL : EXCLUIR_PADRAO).formatted(String.join(" AND ", condicoes));
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("usuario_id", Long.class)
+                .addScalar("status", String.class);
+        parametros.forEach(query::setParameter);
+
+        return query.getResultList().stream()
+                .map(linha -> new TarefaExcluida((Long) linha[0], (Long) linha[1], StatusTarefa.valueOf((String) linha[2])))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public List<TarefaDTO> reatribuir(Long usuarioId, Long novoUsuarioId, int limite) {
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(postgresql() ? REATRIBUIR_POSTGRESQL : REATRIBUIR_PADRAO)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("titulo", String.class)
+                .addScalar("descricao", String.class)
+                .addScalar("status", String.class)
+                .addScalar("data_criacao", LocalDateTime.class)
+                .addScalar("data_limite", LocalDate.class)
+                .addScalar("usuario_id", Long.class)
+                .addScalar("versao", Long.class)
+                .setParameter("usuarioId", usuarioId)
+                .setParameter("novoUsuarioId", novoUsuarioId)
+                .setParameter("limite", limite);
+
+        return query.getResultList().stream()
+                .map(linha -> new TarefaDTO((Long) linha[0], (String) linha[1], (String) linha[2],
+                        StatusTarefa.valueOf((String) linha[3]), (LocalDateTime) linha[4], (LocalDate) linha[5],
+                        (Long) linha[6], (Long) linha[7]))
+                .toList();
+    }
+
+    private boolean postgresql() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    @Override
+    public Stream<Tarefa> streamPorFiltro(Long usuarioId, StatusTarefa status) {
+        List<String> condicoes = new ArrayList<>();
+        if (usuarioId != null) {
+            condicoes.add("t.usuarioId = :usuarioId");
+        }
+        if (status != null) {
+            condicoes.add("t.status = :status");
+        }
+
+        String jpql = "select t from Tarefa t"
+                + (condicoes.isEmpty() ? "" : " where " + String.join(" and ", condicoes))
+                + " order by t.id";
+        TypedQuery<Tarefa> query = entityManager.createQuery(jpql, Tarefa.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, TAMANHO_LOTE_STREAM)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (usuarioId != null) {
+            query.setParameter("usuarioId", usuarioId);
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+
+        // Cada tarefa sai do contexto de persistencia assim que eh lida, mantendo a memoria constante
+        return query.getResultStream().map(tarefa -> {
+            entityManager.detach(tarefa);
+            return tarefa;
+        });
+    }
+
+    // Percorre o indice (data_limite, id) a partir da posicao anterior, entao cada bloco custa o mesmo
+    // independentemente de quantas tarefas ja foram varridas
+    @Override
+    public List<LembreteTarefaDTO> buscarAtrasadas(LocalDate hoje, LocalDate aposDataLimite, Long aposId, int limite) {
+        String jpql = "select new com.desafio.tarefa.dto.LembreteTarefaDTO(t.id, t.titulo, t.usuarioId, t.dataLimite, t.status)"
+                + " from Tarefa t where t.dataLimite < :hoje and t.status <> :concluido"
+                + (aposDataLimite != null
+                    ? " and (t.dataLimite > :aposDataLimite or (t.dataLimite = :aposDataLimite and t.id > :aposId))"
+                    : "")
+                + " order by t.dataLimite, t.id";
+        TypedQuery<LembreteTarefaDTO> query = entityManager.createQuery(jpql, LembreteTarefaDTO.class)
+                .setParameter("hoje", hoje)
+                .setParameter("concluido", StatusTarefa.CONCLUIDO);
+        if (aposDataLimite != null) {
+            query.setParameter("aposDataLimite", aposDataLimite).setParameter("aposId", aposId);
+        }
+        return query.setMaxResults(limite).getResultList();
+    }
+}
@@ -0,0 +1,14 @@
+package com.desafio.tarefa.repository;
+
+import com.desafio.tarefa.model.UsuarioExcluido;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UsuarioExcluidoRepository extends JpaRepository<UsuarioExcluido, Long> {
+
+    // Os avisos mais antigos primeiro
+    List<UsuarioExcluido> findTop100ByOrderByExcluidoEmAsc();
+}
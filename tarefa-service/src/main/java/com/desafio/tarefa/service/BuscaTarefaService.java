@@ -0,0 +1,69 @@
+package com.desafio.tarefa.service;
+
+import com.desafio.tarefa.busca.IndiceTarefas;
+import com.desafio.tarefa.dto.ResultadoBuscaDTO;
+import com.desafio.tarefa.dto.ParametrosPaginacao;
+import com.desafio.tarefa.exception.BuscaInvalidaException;
+import com.desafio.tarefa.model.StatusTarefa;
+import com.desafio.tarefa.repository.TarefaRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Busca textual em título e descrição pelo {@link IndiceTarefas}, e reconstrução do índice a partir do banco.
+ */
+@Service
+@Timed(value = "tarefa.busca.service", description = "Tempo da busca textual e da reconstrução do índice", histogram = true)
+public class BuscaTarefaService {
+
+    private static final Logger log = LoggerFactory.getLogger(BuscaTarefaService.class);
+
+    // Paginas mais fundas custam uma ordenacao maior a cada consulta; acima disso, refine a busca
+    public static final int MAXIMO_RESULTADOS = 1000;
+
+    private final IndiceTarefas indiceTarefas;
+    private final TarefaRepository tarefaRepository;
+    private final TarefaService tarefaService;
+
+    @Autowired
+    public BuscaTarefaService(IndiceTarefas indiceTarefas, TarefaRepository tarefaRepository, TarefaService tarefaService) {
+        this.indiceTarefas = indiceTarefas;
+        this.tarefaRepository = tarefaRepository;
+        this.tarefaService = tarefaService;
+    }
+
+    public ResultadoBuscaDTO buscar(String texto, Long usuarioId, StatusTarefa status, int pagina, int tamanho) {
+        if (texto == null || texto.isBlank()) {
+            throw new BuscaInvalidaException("Informe o texto a buscar no parâmetro q");
+        }
+        if (pagina < 0 || tamanho < 1 || tamanho > ParametrosPaginacao.TAMANHO_MAXIMO) {
+            throw new BuscaInvalidaException("A página deve ser a partir de 0 e o tamanho entre 1 e "
+                    + ParametrosPaginacao.TAMANHO_MAXIMO);
+        }
+        if ((long) (pagina + 1) * tamanho > MAXIMO_RESULTADOS) {
+            throw new BuscaInvalidaException("A busca retorna no máximo os " + MAXIMO_RESULTADOS
+                    + " resultados mais relevantes; refine o texto ou use os filtros");
+        }
+        return indiceTarefas.buscar(texto, usuarioId, status, pagina, tamanho);
+    }
+
+    /**
+     * Indexa de novo todas as tarefas do banco, lidas em streaming, e remove do índice as que não existem mais.
+     * Enquanto isso a busca responde com o índice atual, e gravações feitas durante a reconstrução prevalecem
+     * sobre as linhas lidas (veja {@link IndiceTarefas#reconstruir}).
+     *
+     * @return quantidade de tarefas indexadas
+     */
+    @Transactional(readOnly = true)
+    public long reconstruirIndice() {
+        // A consulta so roda dentro do reconstruir, depois que o indice passa a anotar as gravacoes concorrentes
+        long indexadas = indiceTarefas.reconstruir(() -> tarefaRepository.streamPorFiltro(null, null)
+                .map(tarefaService::converterParaDTO));
+        log.info("Índice de busca reconstruído com {} tarefas", indexadas);
+        return indexadas;
+    }
+}
@@ -0,0 +1,107 @@
+package com.desafio.tarefa.service;
+
+import com.desafio.tarefa.dto.EstatisticasTarefasDTO;
+import com.desafio.tarefa.model.ChaveContadorTarefa;
+import com.desafio.tarefa.model.StatusTarefa;
+import com.desafio.tarefa.model.Tarefa;
+import com.desafio.tarefa.repository.ContadorTarefaRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Quantidade de tarefas por usuário e status, mantida a cada gravação de tarefa em vez de contada nas consultas.
+ * Os ajustes entram na mesma transação da gravação; a {@link ReconciliacaoContadoresTarefa} corrige, em segundo
+ * plano, o que tiver sido gravado por fora deste serviço (o tarefa-service-reativo ou alterações direto no banco).
+ */
+@Service
+public class ContadorTarefaService {
+
+    private final ContadorTarefaRepository contadorTarefaRepository;
+
+    @Autowired
+    public ContadorTarefaService(ContadorTarefaRepository contadorTarefaRepository) {
+        this.contadorTarefaRepository = contadorTarefaRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void tarefaCriada(Tarefa tarefa) {
+        aplicar(Map.of(chave(tarefa), 1L));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void tarefaAlterada(ChaveContadorTarefa anterior, Tarefa tarefa) {
+        Map<ChaveContadorTarefa, Long> deltas = new TreeMap<>();
+        somar(deltas, anterior, -1);
+        somar(deltas, chave(tarefa), 1);
+        aplicar(deltas);
+    }
+
+    // Os contadores sao travados sempre na mesma ordem (a das chaves), e os ajustes que se anulam nao vao ao banco
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void aplicar(Map<ChaveContadorTarefa, Long> deltas) {
+        new TreeMap<>(deltas).forEach((chave, delta) -> {
+            if (delta != 0) {
+                contadorTarefaRepository.ajustar(chave.usuarioId(), chave.status(), delta);
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    @Timed(value = "tarefa.service", histogram = true)
+    public EstatisticasTarefasDTO estatisticas(Long usuarioId) {
+        Map<StatusTarefa, Long> porStatus = usuarioId != null
+                ? contadorTarefaRepository.contadoresDoUsuario(usuarioId)
+                : contadorTarefaRepository.contadoresGerais();
+        long total = porStatus.values().stream().mapToLong(Long::longValue).sum();
+        return new EstatisticasTarefasDTO(usuarioId, total, porStatus);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> usuariosComDivergencia() {
+        return contadorTarefaRepository.usuariosComDivergencia();
+    }
+
+    // Cria as linhas que faltam (com zero) em uma transacao propria, para que recontar encontre todas para travar
+    @Transactional
+    public void garantirContadores(Long usuarioId) {
+        for (StatusTarefa status : StatusTarefa.values()) {
+            contadorTarefaRepository.ajustar(usuarioId, status, 0);
+        }
+    }
+
+    /**
+     * Conta de novo as tarefas do usuário e corrige os contadores que diferem. As linhas do usuário ficam
+     * travadas antes da contagem: uma gravação em andamento ou termina antes (e entra na contagem) ou espera
+     * a correção e soma o seu ajuste depois dela.
+     *
+     * @return {@code true} se algum contador foi corrigido
+     */
+    @Transactional
+    public boolean recontar(Long usuarioId) {
+        Map<StatusTarefa, Long> contadores = contadorTarefaRepository.travarContadoresDoUsuario(usuarioId);
+        Map<StatusTarefa, Long> tarefas = contadorTarefaRepository.contarTarefasDoUsuario(usuarioId);
+        boolean corrigido = false;
+        for (StatusTarefa status : StatusTarefa.values()) {
+            if (!contadores.get(status).equals(tarefas.get(status))) {
+                contadorTarefaRepository.definir(usuarioId, status, tarefas.get(status));
+                corrigido = true;
+            }
+        }
+        return corrigido;
+    }
+
+    public static ChaveContadorTarefa chave(Tarefa tarefa) {
+        return new ChaveContadorTarefa(tarefa.getUsuarioId(), tarefa.getStatus());
+    }
+
+    public static void somar(Map<ChaveContadorTarefa, Long> deltas, ChaveContadorTarefa chave, long delta) {
+        deltas.merge(chave, delta, Long::sum);
+    }
+}
@@ -0,0 +1,49 @@
+package com.desafio.tarefa.service;
+
+import com.desafio.tarefa.client.ReplicaUsuarios;
+import com.desafio.tarefa.client.UsuarioClientComCache;
+import com.desafio.tarefa.client.UsuarioClientResiliente;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+// Trata os avisos enviados pelo serviço de usuários
+@Service
+public class EventoUsuarioService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventoUsuarioService.class);
+
+    private final UsuarioClientResiliente usuarioClientRemoto;
+    private final UsuarioClientComCache usuarioClientComCache;
+    private final ReplicaUsuarios replicaUsuarios;
+    private final LimpezaTarefasUsuarioService limpezaTarefasUsuarioService;
+    private final LimpezaUsuariosExcluidos limpezaUsuariosExcluidos;
+
+    @Autowired
+    public EventoUsuarioService(UsuarioClientResiliente usuarioClientRemoto, UsuarioClientComCache usuarioClientComCache,
+                                ReplicaUsuarios replicaUsuarios,
+                                LimpezaTarefasUsuarioService limpezaTarefasUsuarioService,
+                                LimpezaUsuariosExcluidos limpezaUsuariosExcluidos) {
+        this.usuarioClientRemoto = usuarioClientRemoto;
+        this.usuarioClientComCache = usuarioClientComCache;
+        this.replicaUsuarios = replicaUsuarios;
+        this.limpezaTarefasUsuarioService = limpezaTarefasUsuarioService;
+        this.limpezaUsuariosExcluidos = limpezaUsuariosExcluidos;
+    }
+
+    // O endpoint do aviso nao autentica quem chama: a exclusao eh confirmada no proprio servico de usuarios, sem
+    // passar pela copia local nem pelo cache. O aviso eh gravado antes de responder; as tarefas do usuario sao
+    // limpas depois, em segundo plano. Retorna se o aviso foi aceito
+    public boolean usuarioExcluido(Long usuarioId) {
+        if (usuarioClientRemoto.usuarioExiste(usuarioId)) {
+            log.warn("Aviso de exclusão ignorado: o usuário {} ainda existe no serviço de usuários", usuarioId);
+            return false;
+        }
+        replicaUsuarios.remover(usuarioId);
+        usuarioClientComCache.invalidar(usuarioId);
+        limpezaTarefasUsuarioService.registrarUsuarioExcluido(usuarioId);
+        limpezaUsuariosExcluidos.agendar();
+        return true;
+    }
+}
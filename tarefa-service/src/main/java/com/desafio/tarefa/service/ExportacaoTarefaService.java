@@ -0,0 +1,114 @@
+package com.desafio.tarefa.service;
+
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.model.FormatoExportacao;
+import com.desafio.tarefa.model.StatusTarefa;
+import com.desafio.tarefa.model.Tarefa;
+import com.desafio.tarefa.repository.TarefaRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Timed(value = "tarefa.exportacao.service", description = "Tempo das exportações de tarefas", histogram = true)
+public class ExportacaoTarefaService {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final String CABECALHO_CSV = "id,titulo,descricao,status,dataCriacao,dataLimite,usuarioId";
+
+    private final TarefaRepository tarefaRepository;
+    private final TarefaService tarefaService;
+    private final ObjectWriter escritorJson;
+
+    @Autowired
+    public ExportacaoTarefaService(TarefaRepository tarefaRepository, TarefaService tarefaService, ObjectMapper objectMapper) {
+        this.tarefaRepository = tarefaRepository;
+        this.tarefaService = tarefaService;
+        // Sem flush a cada linha: o buffer decide quando enviar os bytes ao cliente
+        this.escritorJson = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // Escreve as tarefas diretamente na saida, uma linha por vez, sem montar listas em memoria
+    @Transactional(readOnly = true)
+    public void exportar(Long usuarioId, StatusTarefa status, FormatoExportacao formato, OutputStream saida) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+
+        try (Stream<Tarefa> tarefas = tarefaRepository.streamPorFiltro(usuarioId, status)) {
+            Iterator<Tarefa> iterador = tarefas.iterator();
+            if (formato == FormatoExportacao.CSV) {
+                escreverCsv(iterador, escritor);
+            } else {
+                escreverNdjson(iterador, escritor);
+            }
+        }
+        escritor.flush();
+    }
+
+    private void escreverNdjson(Iterator<Tarefa> tarefas, Writer escritor) throws IOException {
+        JsonGenerator gerador = escritorJson.createGenerator(escritor);
+        gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        gerador.setRootValueSeparator(null);
+
+        boolean primeira = true;
+        while (tarefas.hasNext()) {
+            escritorJson.writeValue(gerador, tarefaService.converterParaDTO(tarefas.next()));
+            gerador.writeRaw('\n');
+            if (primeira) {
+                // Envia a primeira linha imediatamente para o cliente comecar a consumir
+                gerador.flush();
+                primeira = false;
+            }
+        }
+        gerador.close();
+    }
+
+    private void escreverCsv(Iterator<Tarefa> tarefas, Writer escritor) throws IOException {
+        escritor.write(CABECALHO_CSV);
+        escritor.write('\n');
+        escritor.flush();
+
+        while (tarefas.hasNext()) {
+            TarefaDTO tarefa = tarefaService.converterParaDTO(tarefas.next());
+            escritor.write(String.valueOf(tarefa.getId()));
+            escritor.write(',');
+            escritor.write(campoCsv(tarefa.getTitulo()));
+            escritor.write(',');
+            escritor.write(campoCsv(tarefa.getDescricao()));
+            escritor.write(',');
+            escritor.write(campoCsv(tarefa.getStatus()));
+            escritor.write(',');
+            escritor.write(campoCsv(tarefa.getDataCriacao()));
+            escritor.write(',');
+            escritor.write(campoCsv(tarefa.getDataLimite()));
+            escritor.write(',');
+            escritor.write(campoCsv(tarefa.getUsuarioId()));
+            escritor.write('\n');
+        }
+    }
+
+    // Aspas apenas quando necessario, seguindo a RFC 4180
+    private String campoCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,108 @@
+package com.desafio.tarefa.service;
+
+import com.desafio.tarefa.dto.LembreteTarefaDTO;
+import com.desafio.tarefa.lembrete.DespachanteLembretes;
+import com.desafio.tarefa.model.CheckpointVarredura;
+import com.desafio.tarefa.repository.CheckpointVarreduraRepository;
+import com.desafio.tarefa.repository.TarefaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Um bloco da varredura de tarefas atrasadas. Numa transação curta, o ponto de retomada é travado, as próximas
+ * tarefas vencidas são lidas e o ponto avança até a última delas; os lembretes são entregues depois do commit, sem
+ * segurar a trava durante a espera do limite de taxa. Instâncias que varrem ao mesmo tempo reservam blocos
+ * diferentes, então não repetem lembretes.
+ * <p>
+ * Se a entrega falhar, o ponto volta para antes do bloco (ou fica onde está, se já estiver antes) e o bloco é
+ * entregue de novo na próxima varredura, junto com o que outra instância tiver reservado depois dele. Uma queda do
+ * serviço entre a reserva e a entrega perde os lembretes do bloco.
+ */
+@Service
+public class LembreteTarefaService {
+
+    public static final String VARREDURA_ATRASADAS = "tarefas-atrasadas";
+
+    // Ordem da varredura: data limite e ID, com o ponto nulo (nenhuma tarefa processada) antes de todos
+    private static final Comparator<Posicao> ORDEM_VARREDURA = Comparator
+            .comparing(Posicao::dataLimite, Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()))
+            .thenComparing(Posicao::tarefaId, Comparator.nullsFirst(Comparator.<Long>naturalOrder()));
+
+    private final TarefaRepository tarefaRepository;
+    private final CheckpointVarreduraRepository checkpointVarreduraRepository;
+    private final DespachanteLembretes despachanteLembretes;
+    private final TransactionTemplate transacao;
+
+    @Autowired
+    public LembreteTarefaService(TarefaRepository tarefaRepository,
+                                 CheckpointVarreduraRepository checkpointVarreduraRepository,
+                                 DespachanteLembretes despachanteLembretes,
+                                 PlatformTransactionManager transactionManager) {
+        this.tarefaRepository = tarefaRepository;
+        this.checkpointVarreduraRepository = checkpointVarreduraRepository;
+        this.despachanteLembretes = despachanteLembretes;
+        this.transacao = new TransactionTemplate(transactionManager);
+    }
+
+    // Retorna quantas tarefas o bloco teve; menos que tamanhoBloco indica que a varredura chegou ao fim
+    public int processarBloco(LocalDate hoje, int tamanhoBloco) {
+        Bloco bloco = transacao.execute(status -> reservar(hoje, tamanhoBloco));
+        if (bloco.lembretes().isEmpty()) {
+            return 0;
+        }
+
+        try {
+            despachanteLembretes.enviar(bloco.lembretes());
+        } catch (RuntimeException e) {
+            transacao.executeWithoutResult(status -> devolver(bloco.anterior()));
+            throw e;
+        }
+        return bloco.lembretes().size();
+    }
+
+    private Bloco reservar(LocalDate hoje, int tamanhoBloco) {
+        CheckpointVarredura checkpoint = travar();
+        Posicao anterior = new Posicao(checkpoint.getDataLimite(), checkpoint.getTarefaId());
+
+        List<LembreteTarefaDTO> atrasadas = tarefaRepository.buscarAtrasadas(hoje, anterior.dataLimite(),
+                anterior.tarefaId(), tamanhoBloco);
+        if (!atrasadas.isEmpty()) {
+            LembreteTarefaDTO ultima = atrasadas.get(atrasadas.size() - 1);
+            mover(checkpoint, new Posicao(ultima.getDataLimite(), ultima.getTarefaId()));
+        }
+        return new Bloco(atrasadas, anterior);
+    }
+
+    // Outra instancia pode ter reservado blocos depois deste; eles voltam junto, repetir eh melhor que perder
+    private void devolver(Posicao anterior) {
+        CheckpointVarredura checkpoint = travar();
+        Posicao atual = new Posicao(checkpoint.getDataLimite(), checkpoint.getTarefaId());
+        if (ORDEM_VARREDURA.compare(anterior, atual) < 0) {
+            mover(checkpoint, anterior);
+        }
+    }
+
+    private CheckpointVarredura travar() {
+        return checkpointVarreduraRepository.travar(VARREDURA_ATRASADAS)
+                .orElseThrow(() -> new IllegalStateException("Ponto de retomada não encontrado: " + VARREDURA_ATRASADAS));
+    }
+
+    private static void mover(CheckpointVarredura checkpoint, Posicao posicao) {
+        checkpoint.setDataLimite(posicao.dataLimite());
+        checkpoint.setTarefaId(posicao.tarefaId());
+        checkpoint.setAtualizadoEm(LocalDateTime.now());
+    }
+
+    private record Posicao(LocalDate dataLimite, Long tarefaId) {
+    }
+
+    private record Bloco(List<LembreteTarefaDTO> lembretes, Posicao anterior) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.desafio.tarefa.service;
+
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.event.TarefasExcluidasEvent;
+import com.desafio.tarefa.event.TarefasGravadasEvent;
+import com.desafio.tarefa.model.ChaveContadorTarefa;
+import com.desafio.tarefa.model.UsuarioExcluido;
+import com.desafio.tarefa.repository.TarefaExcluida;
+import com.desafio.tarefa.repository.TarefaRepository;
+import com.desafio.tarefa.repository.UsuarioExcluidoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Um bloco da limpeza das tarefas de um usuário excluído: remove (ou passa para outro usuário) as próximas
+ * {@code tamanhoBloco} tarefas dele com um único comando no banco e ajusta os contadores na mesma transação.
+ * Cada bloco é uma transação curta, então um usuário com muitas tarefas não trava a tabela até o fim da limpeza.
+ */
+@Service
+public class LimpezaTarefasUsuarioService {
+
+    private final TarefaRepository tarefaRepository;
+    private final UsuarioExcluidoRepository usuarioExcluidoRepository;
+    private final TarefaService tarefaService;
+    private final ContadorTarefaService contadorTarefaService;
+    private final ApplicationEventPublisher eventPublisher;
+    // null: as tarefas sao excluidas; senao, passam para este usuario
+    private final Long reatribuirPara;
+
+    @Autowired
+    public LimpezaTarefasUsuarioService(TarefaRepository tarefaRepository,
+                                        UsuarioExcluidoRepository usuarioExcluidoRepository,
+                                        TarefaService tarefaService,
+                                        ContadorTarefaService contadorTarefaService,
+                                        ApplicationEventPublisher eventPublisher,
+                                        @Value("${tarefa.usuarios-excluidos.reatribuir-para:#{null}}") Long reatribuirPara) {
+        this.tarefaRepository = tarefaRepository;
+        this.usuarioExcluidoRepository = usuarioExcluidoRepository;
+        this.tarefaService = tarefaService;
+        this.contadorTarefaService = contadorTarefaService;
+        this.eventPublisher = eventPublisher;
+        this.reatribuirPara = reatribuirPara;
+    }
+
+    // Grava o aviso de exclusao; avisos repetidos do mesmo usuario mantem a primeira data
+    @Transactional
+    public void registrarUsuarioExcluido(Long usuarioId) {
+        registrarUsuariosExcluidos(List.of(usuarioId));
+    }
+
+    // Exclusoes lidas nas alteracoes do servico de usuarios; o aviso do mesmo usuario pode ja ter chegado
+    @Transactional
+    public void registrarUsuariosExcluidos(Collection<Long> usuarioIds) {
+        LocalDateTime agora = LocalDateTime.now();
+        for (Long usuarioId : usuarioIds) {
+            if (!usuarioExcluidoRepository.existsById(usuarioId)) {
+                usuarioExcluidoRepository.save(new UsuarioExcluido(usuarioId, agora));
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> usuariosPendentes() {
+        return usuarioExcluidoRepository.findTop100ByOrderByExcluidoEmAsc().stream()
+                .map(UsuarioExcluido::getUsuarioId)
+                .toList();
+    }
+
+    // Retorna quantas tarefas o bloco teve; menos que tamanhoBloco indica que o usuario nao tem mais tarefas
+    @Transactional
+    public int processarBloco(Long usuarioId, int tamanhoBloco) {
+        // O proprio usuario que recebe as tarefas excluido: as tarefas dele sao excluidas
+        if (reatribuirPara != null && !reatribuirPara.equals(usuarioId)) {
+            List<TarefaDTO> reatribuidas = tarefaRepository.reatribuir(usuarioId, reatribuirPara, tamanhoBloco);
+            Map<ChaveContadorTarefa, Long> contadores = new TreeMap<>();
+            for (TarefaDTO tarefa : reatribuidas) {
+                ContadorTarefaService.somar(contadores, new ChaveContadorTarefa(usuarioId, tarefa.getStatus()), -1);
+                ContadorTarefaService.somar(contadores, new ChaveContadorTarefa(reatribuirPara, tarefa.getStatus()), 1);
+            }
+            contadorTarefaService.aplicar(contadores);
+            if (!reatribuidas.isEmpty()) {
+                eventPublisher.publishEvent(new TarefasGravadasEvent(reatribuidas));
+            }
+            return reatribuidas.size();
+        }
+
+        List<TarefaExcluida> excluidas = tarefaRepository.excluir(null, usuarioId, null, tamanhoBloco);
+        tarefaService.registrarExcluidas(excluidas);
+        if (!excluidas.isEmpty()) {
+            eventPublisher.publishEvent(new TarefasExcluidasEvent(excluidas.stream().map(TarefaExcluida::id).toList()));
+        }
+        return excluidas.size();
+    }
+
+    @Transactional
+    public void concluir(Long usuarioId) {
+        usuarioExcluidoRepository.deleteById(usuarioId);
+    }
+}
@@ -0,0 +1,139 @@
+package com.desafio.tarefa.service;
+
+import com.desafio.tarefa.client.ReplicaUsuarios;
+import com.desafio.tarefa.client.UsuarioClientComCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remove em segundo plano as tarefas dos usuários excluídos no serviço de usuários. A exclusão chega pelo aviso do
+ * serviço de usuários e também pelas alterações lidas pela {@link ReplicaUsuarios}, que não se perdem se o aviso
+ * falhar. Ela fica gravada no banco e dispara uma limpeza imediata; a limpeza também roda a cada intervalo, o que
+ * retoma exclusões que ficaram pela metade (falha no banco ou serviço reiniciado). As tarefas de cada usuário saem em blocos de
+ * {@code tamanhoBloco}, um por transação, e o aviso só é apagado quando o usuário não tem mais tarefas.
+ */
+@Component
+public class LimpezaUsuariosExcluidos implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LimpezaUsuariosExcluidos.class);
+
+    private final LimpezaTarefasUsuarioService limpezaTarefasUsuarioService;
+    private final UsuarioClientComCache usuarioClientComCache;
+    private final boolean habilitada;
+    private final Duration intervalo;
+    private final int tamanhoBloco;
+    private final ScheduledExecutorService agendador;
+    private final LongAdder tarefasProcessadas = new LongAdder();
+    private final AtomicInteger usuariosPendentes = new AtomicInteger();
+
+    @Autowired
+    public LimpezaUsuariosExcluidos(LimpezaTarefasUsuarioService limpezaTarefasUsuarioService,
+                                    UsuarioClientComCache usuarioClientComCache,
+                                    ReplicaUsuarios replicaUsuarios,
+                                    @Value("${tarefa.usuarios-excluidos.limpeza.habilitada:true}") boolean habilitada,
+                                    @Value("${tarefa.usuarios-excluidos.limpeza.intervalo:1m}") Duration intervalo,
+                                    @Value("${tarefa.usuarios-excluidos.limpeza.tamanho-bloco:1000}") int tamanhoBloco,
+                                    ObjectProvider<MeterRegistry> meterRegistry) {
+        this.limpezaTarefasUsuarioService = limpezaTarefasUsuarioService;
+        this.usuarioClientComCache = usuarioClientComCache;
+        this.habilitada = habilitada;
+        this.intervalo = intervalo;
+        this.tamanhoBloco = Math.max(tamanhoBloco, 1);
+        this.agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "limpeza-usuarios-excluidos");
+            thread.setDaemon(true);
+            return thread;
+        });
+        meterRegistry.ifAvailable(this::registrarMetricas);
+        replicaUsuarios.aoExcluirUsuarios(this::registrarExcluidos);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (habilitada) {
+            agendador.scheduleWithFixedDelay(this::executar, 0, intervalo.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Chamado ao receber um aviso de exclusao: a limpeza roda na thread do agendador, sem segurar a requisicao
+    public void agendar() {
+        if (habilitada) {
+            agendador.execute(this::executar);
+        }
+    }
+
+    // Chamado na thread da copia local; se a gravacao falhar, a copia le as mesmas alteracoes de novo. Como no aviso,
+    // o cache deixa de confirmar o usuario, senao tarefas novas dele seriam aceitas ate a entrada expirar
+    public void registrarExcluidos(Collection<Long> usuarioIds) {
+        usuarioIds.forEach(usuarioClientComCache::invalidar);
+        limpezaTarefasUsuarioService.registrarUsuariosExcluidos(usuarioIds);
+        agendar();
+    }
+
+    private void executar() {
+        try {
+            limpar();
+        } catch (RuntimeException e) {
+            log.warn("Limpeza das tarefas de usuários excluídos interrompida: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Processa os avisos pendentes até não restar nenhum (chamada pelo agendador, ou diretamente nos testes).
+     *
+     * @return quantidade de tarefas removidas ou reatribuídas
+     */
+    public long limpar() {
+        long total = 0;
+        List<Long> pendentes;
+        while (!(pendentes = limpezaTarefasUsuarioService.usuariosPendentes()).isEmpty()) {
+            usuariosPendentes.set(pendentes.size());
+            for (Long usuarioId : pendentes) {
+                int processadas;
+                do {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return total;
+                    }
+                    processadas = limpezaTarefasUsuarioService.processarBloco(usuarioId, tamanhoBloco);
+                    tarefasProcessadas.add(processadas);
+                    total += processadas;
+                } while (processadas == tamanhoBloco);
+                limpezaTarefasUsuarioService.concluir(usuarioId);
+            }
+        }
+        usuariosPendentes.set(0);
+        return total;
+    }
+
+    private void registrarMetricas(MeterRegistry registry) {
+        FunctionCounter.builder("tarefas.usuarios-excluidos.tarefas", tarefasProcessadas, LongAdder::sum)
+                .description("Tarefas removidas ou reatribuídas pela limpeza de usuários excluídos")
+                .register(registry);
+        Gauge.builder("tarefas.usuarios-excluidos.pendentes", usuariosPendentes, AtomicInteger::get)
+                .description("Usuários excluídos com tarefas ainda por limpar (no máximo 100 por leitura)")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        agendador.shutdownNow();
+    }
+}
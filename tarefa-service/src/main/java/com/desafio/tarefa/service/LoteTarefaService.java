@@ -0,0 +1,275 @@
+package com.desafio.tarefa.service;
+
+import com.desafio.tarefa.client.UsuarioClient;
+import com.desafio.tarefa.dto.AlteracaoStatusLoteDTO;
+import com.desafio.tarefa.dto.ResultadoAlteracaoStatusDTO;
+import com.desafio.tarefa.dto.ResultadoItemLoteDTO;
+import com.desafio.tarefa.dto.ResultadoLoteDTO;
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.event.TarefasGravadasEvent;
+import com.desafio.tarefa.exception.LoteInvalidoException;
+import com.desafio.tarefa.model.ChaveContadorTarefa;
+import com.desafio.tarefa.model.StatusTarefa;
+import com.desafio.tarefa.model.Tarefa;
+import com.desafio.tarefa.repository.StatusAlterado;
+import com.desafio.tarefa.repository.TarefaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Criação e atualização de muitas tarefas em uma única requisição.
+ * Os usuários são verificados com uma única chamada ao serviço de usuários, e as tarefas são
+ * gravadas em blocos do tamanho do lote JDBC, com flush e limpeza do contexto de persistência
+ * a cada bloco. Itens inválidos são reportados individualmente e não impedem a gravação dos demais.
+ */
+@Service
+@Timed(value = "tarefa.lote.service", description = "Tempo das operações em lote de tarefas", histogram = true)
+public class LoteTarefaService {
+
+    public static final int TAMANHO_MAXIMO_LOTE = 10000;
+
+    private final TarefaRepository tarefaRepository;
+    private final TarefaService tarefaService;
+    private final UsuarioClient usuarioClient;
+    private final ContadorTarefaService contadorTarefaService;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int tamanhoBloco;
+
+    @Autowired
+    public LoteTarefaService(TarefaRepository tarefaRepository,
+                             TarefaService tarefaService,
+                             UsuarioClient usuarioClient,
+                             ContadorTarefaService contadorTarefaService,
+                             Validator validator,
+                             EntityManager entityManager,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int tamanhoBloco) {
+        this.tarefaRepository = tarefaRepository;
+        this.tarefaService = tarefaService;
+        this.usuarioClient = usuarioClient;
+        this.contadorTarefaService = contadorTarefaService;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.tamanhoBloco = Math.max(tamanhoBloco, 1);
+    }
+
+    @Transactional
+    public ResultadoLoteDTO criarEmLote(List<TarefaDTO> tarefas) {
+        validarTamanho(tarefas);
+        ResultadoItemLoteDTO[] resultados = new ResultadoItemLoteDTO[tarefas.size()];
+        validarItens(tarefas, resultados);
+        verificarUsuarios(tarefas, resultados);
+
+        Map<ChaveContadorTarefa, Long> contadores = new HashMap<>();
+        List<TarefaDTO> gravadas = new ArrayList<>();
+        for (List<Integer> bloco : dividirEmBlocos(pendentes(resultados))) {
+            List<Tarefa> gravadasNoBloco = new ArrayList<>();
+            for (int indice : bloco) {
+                Tarefa tarefa = tarefaService.converterParaEntidade(tarefas.get(indice));
+                // Com o gerador por sequencia o ID ja eh atribuido aqui, sem executar o INSERT
+                entityManager.persist(tarefa);
+                ContadorTarefaService.somar(contadores, ContadorTarefaService.chave(tarefa), 1);
+                gravadasNoBloco.add(tarefa);
+                resultados[indice] = ResultadoItemLoteDTO.sucesso(indice, tarefa.getId());
+            }
+            descarregar(gravadasNoBloco, gravadas);
+        }
+        // Um ajuste por usuario e status e um evento para o lote inteiro
+        contadorTarefaService.aplicar(contadores);
+        eventPublisher.publishEvent(new TarefasGravadasEvent(gravadas));
+        return montarResultado(resultados);
+    }
+
+    @Transactional
+    public ResultadoLoteDTO atualizarEmLote(List<TarefaDTO> tarefas) {
+        validarTamanho(tarefas);
+        ResultadoItemLoteDTO[] resultados = new ResultadoItemLoteDTO[tarefas.size()];
+        validarItens(tarefas, resultados);
+        validarIds(tarefas, resultados);
+        verificarUsuarios(tarefas, resultados);
+
+        Map<ChaveContadorTarefa, Long> contadores = new HashMap<>();
+        List<TarefaDTO> gravadas = new ArrayList<>();
+        for (List<Integer> bloco : dividirEmBlocos(pendentes(resultados))) {
+            List<Tarefa> gravadasNoBloco = new ArrayList<>();
+            List<Long> ids = bloco.stream().map(indice -> tarefas.get(indice).getId()).toList();
+            Map<Long, Tarefa> existentes = tarefaRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Tarefa::getId, Function.identity()));
+
+            for (int indice : bloco) {
+                TarefaDTO tarefaDTO = tarefas.get(indice);
+                Tarefa tarefa = existentes.get(tarefaDTO.getId());
+                if (tarefa == null) {
+                    resultados[indice] = ResultadoItemLoteDTO.falha(indice, tarefaDTO.getId(),
+                            "Tarefa não encontrada com o ID: " + tarefaDTO.getId());
+                } else if (tarefa.getStatus() == StatusTarefa.CONCLUIDO) {
+                    resultados[indice] = ResultadoItemLoteDTO.falha(indice, tarefaDTO.getId(),
+                            "Tarefas com status 'CONCLUIDO' não podem ser editadas");
+                } else {
+                    ContadorTarefaService.somar(contadores, ContadorTarefaService.chave(tarefa), -1);
+                    tarefaService.aplicarAlteracoes(tarefa, tarefaDTO);
+                    ContadorTarefaService.somar(contadores, ContadorTarefaService.chave(tarefa), 1);
+                    gravadasNoBloco.add(tarefa);
+                    resultados[indice] = ResultadoItemLoteDTO.sucesso(indice, tarefa.getId());
+                }
+            }
+            descarregar(gravadasNoBloco, gravadas);
+        }
+        contadorTarefaService.aplicar(contadores);
+        eventPublisher.publishEvent(new TarefasGravadasEvent(gravadas));
+        return montarResultado(resultados);
+    }
+
+    /**
+     * Muda o status de várias tarefas com um único comando no banco: as dos IDs informados ou, sem IDs, as que
+     * atendem ao filtro (usuário e/ou status atual), até {@link #TAMANHO_MAXIMO_LOTE} por requisição. Tarefas
+     * concluídas não mudam; as que já estão no status pedido ficam como estão.
+     */
+    @Transactional
+    public ResultadoAlteracaoStatusDTO alterarStatusEmLote(AlteracaoStatusLoteDTO alteracao) {
+        Set<Long> ids = null;
+        if (alteracao.getIds() != null) {
+            if (alteracao.getUsuarioId() != null || alteracao.getStatusAtual() != null) {
+                throw new LoteInvalidoException("Informe os IDs ou o filtro (usuarioId e/ou statusAtual), não os dois");
+            }
+            ids = new LinkedHashSet<>(alteracao.getIds());
+            ids.remove(null);
+            if (ids.isEmpty() || ids.size() > TAMANHO_MAXIMO_LOTE) {
+                throw new LoteInvalidoException("Informe de 1 a " + TAMANHO_MAXIMO_LOTE + " IDs de tarefas");
+            }
+        } else if (alteracao.getUsuarioId() == null && alteracao.getStatusAtual() == null) {
+            throw new LoteInvalidoException("Informe os IDs ou o filtro (usuarioId e/ou statusAtual) das tarefas");
+        }
+
+        int limite = ids != null ? ids.size() : TAMANHO_MAXIMO_LOTE;
+        List<StatusAlterado> alteradas = tarefaRepository.alterarStatus(ids, alteracao.getUsuarioId(),
+                alteracao.getStatusAtual(), null, alteracao.getStatus(), limite);
+        tarefaService.registrarStatusAlterados(alteradas);
+
+        List<Long> rejeitadas = List.of();
+        if (ids != null && alteradas.size() < ids.size()) {
+            // So os IDs que nao mudaram sao consultados, para separar os que ja estavam no status pedido
+            Set<Long> restantes = new LinkedHashSet<>(ids);
+            alteradas.forEach(alterada -> restantes.remove(alterada.tarefa().getId()));
+            restantes.removeAll(tarefaRepository.findIdsComStatus(restantes, alteracao.getStatus()));
+            rejeitadas = new ArrayList<>(restantes);
+        }
+        return new ResultadoAlteracaoStatusDTO(alteradas.size(), rejeitadas, ids == null && alteradas.size() == limite);
+    }
+
+    // Métodos auxiliares
+    private void validarTamanho(List<TarefaDTO> tarefas) {
+        if (tarefas == null || tarefas.isEmpty()) {
+            throw new LoteInvalidoException("O lote deve conter ao menos uma tarefa");
+        }
+        if (tarefas.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new LoteInvalidoException("O lote deve conter no máximo " + TAMANHO_MAXIMO_LOTE + " tarefas");
+        }
+    }
+
+    private void validarItens(List<TarefaDTO> tarefas, ResultadoItemLoteDTO[] resultados) {
+        for (int indice = 0; indice < tarefas.size(); indice++) {
+            TarefaDTO tarefaDTO = tarefas.get(indice);
+            if (tarefaDTO == null) {
+                resultados[indice] = ResultadoItemLoteDTO.falha(indice, null, "Tarefa não informada");
+                continue;
+            }
+            Set<ConstraintViolation<TarefaDTO>> violacoes = validator.validate(tarefaDTO);
+            if (!violacoes.isEmpty()) {
+                String erro = violacoes.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                resultados[indice] = ResultadoItemLoteDTO.falha(indice, tarefaDTO.getId(), erro);
+            }
+        }
+    }
+
+    private void validarIds(List<TarefaDTO> tarefas, ResultadoItemLoteDTO[] resultados) {
+        Set<Long> vistos = new HashSet<>();
+        for (int indice : pendentes(resultados)) {
+            Long id = tarefas.get(indice).getId();
+            if (id == null) {
+                resultados[indice] = ResultadoItemLoteDTO.falha(indice, null, "O ID da tarefa é obrigatório");
+            } else if (!vistos.add(id)) {
+                resultados[indice] = ResultadoItemLoteDTO.falha(indice, id, "Tarefa repetida no lote: " + id);
+            }
+        }
+    }
+
+    // Uma unica chamada ao servico de usuarios para todos os IDs distintos do lote
+    private void verificarUsuarios(List<TarefaDTO> tarefas, ResultadoItemLoteDTO[] resultados) {
+        List<Integer> pendentes = pendentes(resultados);
+        Set<Long> usuarioIds = pendentes.stream()
+                .map(indice -> tarefas.get(indice).getUsuarioId())
+                .collect(Collectors.toSet());
+        if (usuarioIds.isEmpty()) {
+            return;
+        }
+
+        // Se o servico de usuarios falhar, o lote inteiro falha com ServicoUsuarioIndisponivelException (503)
+        Set<Long> existentes = new HashSet<>(usuarioClient.usuariosExistentes(usuarioIds));
+
+        for (int indice : pendentes) {
+            TarefaDTO tarefaDTO = tarefas.get(indice);
+            if (!existentes.contains(tarefaDTO.getUsuarioId())) {
+                resultados[indice] = ResultadoItemLoteDTO.falha(indice, tarefaDTO.getId(),
+                        "Usuário não encontrado com o ID: " + tarefaDTO.getUsuarioId());
+            }
+        }
+    }
+
+    private List<Integer> pendentes(ResultadoItemLoteDTO[] resultados) {
+        List<Integer> pendentes = new ArrayList<>();
+        for (int indice = 0; indice < resultados.length; indice++) {
+            if (resultados[indice] == null) {
+                pendentes.add(indice);
+            }
+        }
+        return pendentes;
+    }
+
+    private List<List<Integer>> dividirEmBlocos(List<Integer> indices) {
+        List<List<Integer>> blocos = new ArrayList<>();
+        for (int inicio = 0; inicio < indices.size(); inicio += tamanhoBloco) {
+            blocos.add(indices.subList(inicio, Math.min(inicio + tamanhoBloco, indices.size())));
+        }
+        return blocos;
+    }
+
+    // Envia o bloco ao banco em lote JDBC e solta as entidades para a memoria nao crescer com o lote
+    // Converte depois do flush: so entao a versao das tarefas alteradas foi incrementada, e o evento leva a atual
+    private void descarregar(List<Tarefa> gravadasNoBloco, List<TarefaDTO> gravadas) {
+        entityManager.flush();
+        gravadasNoBloco.forEach(tarefa -> gravadas.add(tarefaService.converterParaDTO(tarefa)));
+        entityManager.clear();
+    }
+
+    private ResultadoLoteDTO montarResultado(ResultadoItemLoteDTO[] resultados) {
+        List<ResultadoItemLoteDTO> itens = Arrays.asList(resultados);
+        int sucessos = (int) itens.stream().filter(Objects::nonNull).filter(ResultadoItemLoteDTO::isSucesso).count();
+        return new ResultadoLoteDTO(itens.size(), sucessos, itens.size() - sucessos, itens);
+    }
+}
@@ -0,0 +1,111 @@
+package com.desafio.tarefa.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compara periodicamente os contadores de tarefas com a contagem da tabela de tarefas e corrige os usuários
+ * que divergem. A comparação percorre as duas tabelas em uma única consulta, sem travas; só os usuários
+ * divergentes são recontados, cada um na sua transação e com os seus contadores travados.
+ */
+@Component
+public class ReconciliacaoContadoresTarefa implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliacaoContadoresTarefa.class);
+
+    private final ContadorTarefaService contadorTarefaService;
+    private final boolean habilitada;
+    private final Duration intervalo;
+    private final ScheduledExecutorService agendador;
+    private final LongAdder usuariosCorrigidos = new LongAdder();
+    private Timer duracao;
+
+    @Autowired
+    public ReconciliacaoContadoresTarefa(ContadorTarefaService contadorTarefaService,
+                                         @Value("${tarefa.contadores.reconciliacao.habilitada:true}") boolean habilitada,
+                                         @Value("${tarefa.contadores.reconciliacao.intervalo:10m}") Duration intervalo,
+                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        this.contadorTarefaService = contadorTarefaService;
+        this.habilitada = habilitada;
+        this.intervalo = intervalo;
+        this.agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "reconciliacao-contadores");
+            thread.setDaemon(true);
+            return thread;
+        });
+        meterRegistry.ifAvailable(this::registrarMetricas);
+    }
+
+    // A primeira execucao espera um intervalo inteiro: logo apos a migracao os contadores acabaram de ser calculados
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (habilitada) {
+            agendador.scheduleWithFixedDelay(this::executar, intervalo.toMillis(), intervalo.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void executar() {
+        try {
+            if (duracao != null) {
+                duracao.record(this::reconciliar);
+            } else {
+                reconciliar();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível reconciliar os contadores de tarefas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Executa uma reconciliação completa (chamada pelo agendador, ou diretamente nos testes).
+     *
+     * @return quantidade de usuários com algum contador corrigido
+     */
+    public int reconciliar() {
+        List<Long> divergentes = contadorTarefaService.usuariosComDivergencia();
+        int corrigidos = 0;
+        for (Long usuarioId : divergentes) {
+            contadorTarefaService.garantirContadores(usuarioId);
+            // A divergencia pode ter sido so uma gravacao em andamento durante a comparacao
+            if (contadorTarefaService.recontar(usuarioId)) {
+                corrigidos++;
+            }
+        }
+        usuariosCorrigidos.add(corrigidos);
+        if (corrigidos > 0) {
+            log.info("Contadores de tarefas corrigidos para {} usuário(s)", corrigidos);
+        }
+        return corrigidos;
+    }
+
+    private void registrarMetricas(MeterRegistry registry) {
+        FunctionCounter.builder("tarefas.contadores.corrigidos", usuariosCorrigidos, LongAdder::sum)
+                .description("Usuários com contadores de tarefas corrigidos pela reconciliação")
+                .register(registry);
+        duracao = Timer.builder("tarefas.contadores.reconciliacao")
+                .description("Tempo de cada reconciliação dos contadores de tarefas")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        agendador.shutdownNow();
+    }
+}
@@ -0,0 +1,76 @@
+package com.desafio.tarefa.service;
+
+import com.desafio.tarefa.busca.IndiceTarefas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Executa a reconstrução do índice de busca em segundo plano: na inicialização, se o índice estiver vazio
+ * (primeira execução ou índice só em memória), e quando pedida pela API. Uma reconstrução por vez.
+ */
+@Component
+public class ReconstrucaoIndiceTarefas implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconstrucaoIndiceTarefas.class);
+
+    private final BuscaTarefaService buscaTarefaService;
+    private final IndiceTarefas indiceTarefas;
+    private final boolean reconstruirSeVazio;
+    private final ExecutorService executor;
+    private final AtomicBoolean emAndamento = new AtomicBoolean();
+
+    @Autowired
+    public ReconstrucaoIndiceTarefas(BuscaTarefaService buscaTarefaService, IndiceTarefas indiceTarefas,
+                                     @Value("${tarefa.busca.reconstruir-se-vazio:true}") boolean reconstruirSeVazio) {
+        this.buscaTarefaService = buscaTarefaService;
+        this.indiceTarefas = indiceTarefas;
+        this.reconstruirSeVazio = reconstruirSeVazio;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "reconstrucao-indice-tarefas");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        if (reconstruirSeVazio && indiceTarefas.documentos() == 0) {
+            solicitar();
+        }
+    }
+
+    // false se ja houver uma reconstrucao em andamento
+    public boolean solicitar() {
+        if (!emAndamento.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                buscaTarefaService.reconstruirIndice();
+            } catch (RuntimeException e) {
+                log.warn("Não foi possível reconstruir o índice de busca: {}", e.getMessage());
+            } finally {
+                emAndamento.set(false);
+            }
+        });
+        return true;
+    }
+
+    public boolean emAndamento() {
+        return emAndamento.get();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
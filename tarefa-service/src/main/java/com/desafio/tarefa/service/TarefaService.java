@@ -1,33 +1,63 @@
 package com.desafio.tarefa.service;
 
 import com.desafio.tarefa.client.UsuarioClient;
+import com.desafio.tarefa.dto.PaginaDTO;
+import com.desafio.tarefa.dto.ParametrosPaginacao;
 import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.event.TarefaExcluidaEvent;
+import com.desafio.tarefa.event.TarefasGravadasEvent;
+import com.desafio.tarefa.exception.CampoInvalidoException;
 import com.desafio.tarefa.exception.StatusInvalidoException;
 import com.desafio.tarefa.exception.TarefaNaoEncontradaException;
 import com.desafio.tarefa.exception.UsuarioNaoExisteException;
+import com.desafio.tarefa.exception.VersaoDivergenteException;
+import com.desafio.tarefa.model.CampoTarefa;
+import com.desafio.tarefa.model.ChaveContadorTarefa;
+import com.desafio.tarefa.model.OrdenacaoTarefa;
 import com.desafio.tarefa.model.StatusTarefa;
 import com.desafio.tarefa.model.Tarefa;
+import com.desafio.tarefa.repository.CursorTarefa;
+import com.desafio.tarefa.repository.StatusAlterado;
+import com.desafio.tarefa.repository.TarefaExcluida;
 import com.desafio.tarefa.repository.TarefaRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 public class TarefaService {
 
+    // Apenas os metodos de negocio sao medidos; os conversores sao chamados por item em lotes e exportacoes
+    private static final String METRICA = "tarefa.service";
+
     private final TarefaRepository tarefaRepository;
     private final UsuarioClient usuarioClient;
+    private final ContadorTarefaService contadorTarefaService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public TarefaService(TarefaRepository tarefaRepository, UsuarioClient usuarioClient) {
+    public TarefaService(TarefaRepository tarefaRepository, UsuarioClient usuarioClient,
+                         ContadorTarefaService contadorTarefaService, ApplicationEventPublisher eventPublisher) {
         this.tarefaRepository = tarefaRepository;
         this.usuarioClient = usuarioClient;
+        this.contadorTarefaService = contadorTarefaService;
+        this.eventPublisher = eventPublisher;
     }
 
-    private TarefaDTO converterParaDTO(Tarefa tarefa) {
+    public TarefaDTO converterParaDTO(Tarefa tarefa) {
         TarefaDTO dto = new TarefaDTO();
         dto.setId(tarefa.getId());
         dto.setTitulo(tarefa.getTitulo());
@@ -36,12 +66,13 @@ public class TarefaService {
         dto.setDataCriacao(tarefa.getDataCriacao());
         dto.setDataLimite(tarefa.getDataLimite());
         dto.setUsuarioId(tarefa.getUsuarioId());
+        dto.setVersao(tarefa.getVersao());
         return dto;
     }
 
-    private Tarefa converterParaEntidade(TarefaDTO dto) {
+    // O ID vem da sequencia e a versao comeca em 0: os informados no DTO sao ignorados
+    public Tarefa converterParaEntidade(TarefaDTO dto) {
         Tarefa tarefa = new Tarefa();
-        tarefa.setId(dto.getId());
         tarefa.setTitulo(dto.getTitulo());
         tarefa.setDescricao(dto.getDescricao());
         tarefa.setStatus(dto.getStatus());
@@ -51,51 +82,60 @@ public class TarefaService {
         return tarefa;
     }
 
-    public List<TarefaDTO> listarTodas() {
-        return tarefaRepository.findAll().stream()
-                .map(this::converterParaDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    @Timed(value = METRICA, histogram = true)
+    public PaginaDTO<TarefaDTO> listarTodas(ParametrosPaginacao paginacao, Set<CampoTarefa> campos) {
+        return buscarPagina(null, null, paginacao, campos);
     }
 
+    @Transactional(readOnly = true)
+    @Timed(value = METRICA, histogram = true)
     public TarefaDTO buscarPorId(Long id) {
         Tarefa tarefa = tarefaRepository.findById(id)
                 .orElseThrow(() -> new TarefaNaoEncontradaException("Tarefa não encontrada com o ID: " + id));
         return converterParaDTO(tarefa);
     }
 
-    public List<TarefaDTO> filtrarPorUsuario(Long usuarioId) {
+    @Transactional(readOnly = true)
+    @Timed(value = METRICA, histogram = true)
+    public PaginaDTO<TarefaDTO> filtrarPorUsuario(Long usuarioId, ParametrosPaginacao paginacao, Set<CampoTarefa> campos) {
         verificarUsuarioExiste(usuarioId);
-        return tarefaRepository.findByUsuarioId(usuarioId).stream()
-                .map(this::converterParaDTO)
-                .collect(Collectors.toList());
+        return buscarPagina(usuarioId, null, paginacao, campos);
     }
 
-    public List<TarefaDTO> filtrarPorStatus(StatusTarefa status) {
-        return tarefaRepository.findByStatus(status).stream()
-                .map(this::converterParaDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    @Timed(value = METRICA, histogram = true)
+    public PaginaDTO<TarefaDTO> filtrarPorStatus(StatusTarefa status, ParametrosPaginacao paginacao, Set<CampoTarefa> campos) {
+        return buscarPagina(null, status, paginacao, campos);
     }
 
-    public List<TarefaDTO> filtrarPorUsuarioEStatus(Long usuarioId, StatusTarefa status) {
+    @Transactional(readOnly = true)
+    @Timed(value = METRICA, histogram = true)
+    public PaginaDTO<TarefaDTO> filtrarPorUsuarioEStatus(Long usuarioId, StatusTarefa status, ParametrosPaginacao paginacao,
+                                                          Set<CampoTarefa> campos) {
         verificarUsuarioExiste(usuarioId);
-        return tarefaRepository.findByUsuarioIdAndStatus(usuarioId, status).stream()
-                .map(this::converterParaDTO)
-                .collect(Collectors.toList());
+        return buscarPagina(usuarioId, status, paginacao, campos);
     }
 
     @Transactional
+    @Timed(value = METRICA, histogram = true)
     public TarefaDTO criar(TarefaDTO tarefaDTO) {
         verificarUsuarioExiste(tarefaDTO.getUsuarioId());
         
         Tarefa tarefa = converterParaEntidade(tarefaDTO);
         Tarefa tarefaSalva = tarefaRepository.save(tarefa);
-        return converterParaDTO(tarefaSalva);
+        contadorTarefaService.tarefaCriada(tarefaSalva);
+        TarefaDTO criada = converterParaDTO(tarefaSalva);
+        eventPublisher.publishEvent(new TarefasGravadasEvent(List.of(criada)));
+        return criada;
     }
 
     @Transactional
-    public TarefaDTO atualizar(Long id, TarefaDTO tarefaDTO) {
+    @Timed(value = METRICA, histogram = true)
+    public TarefaDTO atualizar(Long id, TarefaDTO tarefaDTO, Long versaoEsperada) {
         Tarefa tarefaExistente = tarefaRepository.findById(id)
                 .orElseThrow(() -> new TarefaNaoEncontradaException("Tarefa não encontrada com o ID: " + id));
+        verificarVersao(tarefaExistente, versaoEsperada);
 
         // Verificar se tarefa pode ser editada com base no status
         if (tarefaExistente.getStatus() == StatusTarefa.CONCLUIDO) {
@@ -105,40 +145,250 @@ public class TarefaService {
         // Verificar se o usuário existe
         verificarUsuarioExiste(tarefaDTO.getUsuarioId());
 
-        // Atualizar os campos da tarefa
-        tarefaExistente.setTitulo(tarefaDTO.getTitulo());
-        tarefaExistente.setDescricao(tarefaDTO.getDescricao());
-        tarefaExistente.setStatus(tarefaDTO.getStatus());
-        tarefaExistente.setDataLimite(tarefaDTO.getDataLimite());
-        tarefaExistente.setUsuarioId(tarefaDTO.getUsuarioId());
+        ChaveContadorTarefa contadorAnterior = ContadorTarefaService.chave(tarefaExistente);
+        aplicarAlteracoes(tarefaExistente, tarefaDTO);
 
-        Tarefa tarefaAtualizada = tarefaRepository.save(tarefaExistente);
-        return converterParaDTO(tarefaAtualizada);
+        // O flush executa o UPDATE agora: a versao devolvida (ETag) ja eh a nova
+        Tarefa tarefaAtualizada = tarefaRepository.saveAndFlush(tarefaExistente);
+        contadorTarefaService.tarefaAlterada(contadorAnterior, tarefaAtualizada);
+        TarefaDTO atualizada = converterParaDTO(tarefaAtualizada);
+        eventPublisher.publishEvent(new TarefasGravadasEvent(List.of(atualizada)));
+        return atualizada;
     }
 
+    /**
+     * Aplica um JSON Merge Patch (RFC 7396): só os campos presentes são alterados e {@code null} apaga o valor.
+     * O UPDATE contém apenas as colunas cujo valor mudou, e o serviço de usuários só é consultado quando o
+     * usuário responsável muda. Sem nenhuma mudança, nada é gravado e a versão continua a mesma.
+     */
     @Transactional
-    public void excluir(Long id) {
-        if (!tarefaRepository.existsById(id)) {
-            throw new TarefaNaoEncontradaException("Tarefa não encontrada com o ID: " + id);
+    @Timed(value = METRICA, histogram = true)
+    public TarefaDTO atualizarParcialmente(Long id, Map<String, Object> alteracoes, Long versaoEsperada) {
+        Map<CampoTarefa, Object> valores = lerAlteracoes(alteracoes);
+        Tarefa tarefa = tarefaRepository.findById(id)
+                .orElseThrow(() -> new TarefaNaoEncontradaException("Tarefa não encontrada com o ID: " + id));
+        verificarVersao(tarefa, versaoEsperada);
+
+        if (tarefa.getStatus() == StatusTarefa.CONCLUIDO) {
+            throw new StatusInvalidoException("Tarefas com status 'CONCLUIDO' não podem ser editadas");
         }
-        
-        tarefaRepository.deleteById(id);
+
+        TarefaDTO atualizada = converterParaDTO(tarefa);
+        valores.entrySet().removeIf(valor -> Objects.equals(valor.getValue(), valorAtual(atualizada, valor.getKey())));
+        if (valores.isEmpty()) {
+            return atualizada;
+        }
+        if (valores.containsKey(CampoTarefa.USUARIO_ID)) {
+            verificarUsuarioExiste((Long) valores.get(CampoTarefa.USUARIO_ID));
+        }
+
+        // A entidade carregada nao eh alterada: o dirty checking nao repete o UPDATE com todas as colunas
+        if (!tarefaRepository.atualizarCampos(id, tarefa.getVersao(), valores)) {
+            throw new ObjectOptimisticLockingFailureException(Tarefa.class, id);
+        }
+        valores.forEach((campo, valor) -> aplicarAlteracao(atualizada, campo, valor));
+        atualizada.setVersao(tarefa.getVersao() + 1);
+
+        Map<ChaveContadorTarefa, Long> contadores = new TreeMap<>();
+        ContadorTarefaService.somar(contadores, ContadorTarefaService.chave(tarefa), -1);
+        ContadorTarefaService.somar(contadores, new ChaveContadorTarefa(atualizada.getUsuarioId(), atualizada.getStatus()), 1);
+        contadorTarefaService.aplicar(contadores);
+        eventPublisher.publishEvent(new TarefasGravadasEvent(List.of(atualizada)));
+        return atualizada;
+    }
+
+    /**
+     * Muda o status com um único comando no banco, que só altera a tarefa se ela não estiver concluída (e, com
+     * If-Match, se estiver na versão informada). A tarefa só é lida quando nada foi alterado, para explicar o motivo.
+     */
+    @Transactional
+    @Timed(value = METRICA, histogram = true)
+    public TarefaDTO alterarStatus(Long id, StatusTarefa status, Long versaoEsperada) {
+        List<StatusAlterado> alteradas = tarefaRepository.alterarStatus(List.of(id), null, null, versaoEsperada, status, 1);
+        if (alteradas.isEmpty()) {
+            Tarefa tarefa = tarefaRepository.findById(id)
+                    .orElseThrow(() -> new TarefaNaoEncontradaException("Tarefa não encontrada com o ID: " + id));
+            verificarVersao(tarefa, versaoEsperada);
+            if (tarefa.getStatus() == status) {
+                return converterParaDTO(tarefa);
+            }
+            if (tarefa.getStatus() == StatusTarefa.CONCLUIDO) {
+                throw new StatusInvalidoException("Tarefas com status 'CONCLUIDO' não podem ser editadas");
+            }
+            // Outra transacao alterou a tarefa entre o UPDATE e a leitura
+            throw new ObjectOptimisticLockingFailureException(Tarefa.class, id);
+        }
+
+        registrarStatusAlterados(alteradas);
+        return alteradas.get(0).tarefa();
+    }
+
+    // Ajusta os contadores (um ajuste por usuario e status) e leva as tarefas ao indice de busca
+    void registrarStatusAlterados(List<StatusAlterado> alteradas) {
+        Map<ChaveContadorTarefa, Long> contadores = new TreeMap<>();
+        for (StatusAlterado alterada : alteradas) {
+            Long usuarioId = alterada.tarefa().getUsuarioId();
+            ContadorTarefaService.somar(contadores, new ChaveContadorTarefa(usuarioId, alterada.statusAnterior()), -1);
+            ContadorTarefaService.somar(contadores, new ChaveContadorTarefa(usuarioId, alterada.tarefa().getStatus()), 1);
+        }
+        contadorTarefaService.aplicar(contadores);
+        eventPublisher.publishEvent(new TarefasGravadasEvent(alteradas.stream().map(StatusAlterado::tarefa).toList()));
+    }
+
+    @Transactional
+    @Timed(value = METRICA, histogram = true)
+    public void excluir(Long id, Long versaoEsperada) {
+        // Um unico DELETE, que devolve o usuario e o status da tarefa para o contador a decrementar
+        List<TarefaExcluida> excluidas = tarefaRepository.excluir(id, null, versaoEsperada, 1);
+        if (excluidas.isEmpty()) {
+            // Sem If-Match, nenhuma linha excluida significa que a tarefa nao existe
+            if (versaoEsperada == null) {
+                throw new TarefaNaoEncontradaException("Tarefa não encontrada com o ID: " + id);
+            }
+            Tarefa tarefa = tarefaRepository.findById(id)
+                    .orElseThrow(() -> new TarefaNaoEncontradaException("Tarefa não encontrada com o ID: " + id));
+            verificarVersao(tarefa, versaoEsperada);
+            // Outra transacao alterou a tarefa entre o DELETE e a leitura
+            throw new ObjectOptimisticLockingFailureException(Tarefa.class, id);
+        }
+
+        registrarExcluidas(excluidas);
+        eventPublisher.publishEvent(new TarefaExcluidaEvent(id));
+    }
+
+    // Decrementa os contadores das tarefas excluidas, com um ajuste por usuario e status
+    void registrarExcluidas(List<TarefaExcluida> excluidas) {
+        Map<ChaveContadorTarefa, Long> contadores = new TreeMap<>();
+        for (TarefaExcluida excluida : excluidas) {
+            ContadorTarefaService.somar(contadores, new ChaveContadorTarefa(excluida.usuarioId(), excluida.status()), -1);
+        }
+        contadorTarefaService.aplicar(contadores);
+    }
+
+    // Atualizar os campos da tarefa
+    public void aplicarAlteracoes(Tarefa tarefa, TarefaDTO tarefaDTO) {
+        tarefa.setTitulo(tarefaDTO.getTitulo());
+        tarefa.setDescricao(tarefaDTO.getDescricao());
+        tarefa.setStatus(tarefaDTO.getStatus());
+        tarefa.setDataLimite(tarefaDTO.getDataLimite());
+        tarefa.setUsuarioId(tarefaDTO.getUsuarioId());
     }
 
-    // Verifica se há tarefas associadas a um usuário
+    // Verifica se há tarefas associadas a um usuário. Consulta a tabela de tarefas, e não os contadores: estes podem
+    // estar atrasados em relação a gravações feitas fora deste serviço até a próxima reconciliação
+    @Transactional(readOnly = true)
+    @Timed(value = METRICA, histogram = true)
     public boolean temTarefasDoUsuario(Long usuarioId) {
-        return tarefaRepository.countByUsuarioId(usuarioId) > 0;
+        return tarefaRepository.existsByUsuarioId(usuarioId);
     }
 
     // Métodos auxiliares
+    private PaginaDTO<TarefaDTO> buscarPagina(Long usuarioId, StatusTarefa status, ParametrosPaginacao paginacao,
+                                              Set<CampoTarefa> campos) {
+        OrdenacaoTarefa ordenacao = paginacao.getOrdenacao();
+        Sort.Direction direcao = paginacao.getDirecao();
+        int tamanho = Math.min(Math.max(paginacao.getTamanho(), 1), ParametrosPaginacao.TAMANHO_MAXIMO);
+        CursorTarefa cursor = CursorTarefa.decodificar(paginacao.getCursor(), ordenacao, direcao);
+
+        // Busca um registro a mais apenas para saber se existe proxima pagina
+        List<TarefaDTO> conteudo = tarefaRepository.buscarPagina(usuarioId, status, campos, ordenacao, direcao, cursor, tamanho + 1);
+        boolean temProxima = conteudo.size() > tamanho;
+        if (temProxima) {
+            conteudo = conteudo.subList(0, tamanho);
+        }
+
+        String proximoCursor = temProxima
+                ? CursorTarefa.apos(conteudo.get(conteudo.size() - 1), ordenacao, direcao).codificar()
+                : null;
+        return new PaginaDTO<>(conteudo, conteudo.size(), temProxima, proximoCursor);
+    }
+
+    // Valida e converte os campos do merge patch; os obrigatorios nao aceitam null
+    private Map<CampoTarefa, Object> lerAlteracoes(Map<String, Object> alteracoes) {
+        Map<CampoTarefa, Object> valores = new EnumMap<>(CampoTarefa.class);
+        alteracoes.forEach((nome, valor) -> {
+            CampoTarefa campo = CampoTarefa.deAtributo(nome);
+            valores.put(campo, switch (campo) {
+                case TITULO -> {
+                    String titulo = texto(nome, valor);
+                    if (titulo == null || titulo.isBlank()) {
+                        throw new CampoInvalidoException("O título é obrigatório");
+                    }
+                    yield titulo;
+                }
+                case DESCRICAO -> texto(nome, valor);
+                case STATUS -> {
+                    if (valor == null) {
+                        throw new CampoInvalidoException("O status é obrigatório");
+                    }
+                    try {
+                        yield StatusTarefa.valueOf(valor.toString());
+                    } catch (IllegalArgumentException e) {
+                        throw new CampoInvalidoException("Status inválido: " + valor);
+                    }
+                }
+                case DATA_LIMITE -> {
+                    try {
+                        yield valor == null ? null : LocalDate.parse(valor.toString());
+                    } catch (DateTimeParseException e) {
+                        throw new CampoInvalidoException("Data limite inválida: " + valor + ". Use o formato AAAA-MM-DD");
+                    }
+                }
+                case USUARIO_ID -> {
+                    if (!(valor instanceof Integer || valor instanceof Long)) {
+                        throw new CampoInvalidoException("O usuário responsável é obrigatório e deve ser um número");
+                    }
+                    yield ((Number) valor).longValue();
+                }
+                case ID, DATA_CRIACAO -> throw new CampoInvalidoException("O campo " + nome + " não pode ser alterado");
+            });
+        });
+        return valores;
+    }
+
+    private static String texto(String nome, Object valor) {
+        if (valor != null && !(valor instanceof String)) {
+            throw new CampoInvalidoException("O campo " + nome + " deve ser um texto");
+        }
+        return (String) valor;
+    }
+
+    private static Object valorAtual(TarefaDTO tarefa, CampoTarefa campo) {
+        return switch (campo) {
+            case ID -> tarefa.getId();
+            case TITULO -> tarefa.getTitulo();
+            case DESCRICAO -> tarefa.getDescricao();
+            case STATUS -> tarefa.getStatus();
+            case DATA_CRIACAO -> tarefa.getDataCriacao();
+            case DATA_LIMITE -> tarefa.getDataLimite();
+            case USUARIO_ID -> tarefa.getUsuarioId();
+        };
+    }
+
+    private static void aplicarAlteracao(TarefaDTO tarefa, CampoTarefa campo, Object valor) {
+        switch (campo) {
+            case TITULO -> tarefa.setTitulo((String) valor);
+            case DESCRICAO -> tarefa.setDescricao((String) valor);
+            case STATUS -> tarefa.setStatus((StatusTarefa) valor);
+            case DATA_LIMITE -> tarefa.setDataLimite((LocalDate) valor);
+            case USUARIO_ID -> tarefa.setUsuarioId((Long) valor);
+            case ID, DATA_CRIACAO -> throw new IllegalArgumentException("Campo somente leitura: " + campo);
+        }
+    }
+
+    // Sem versao esperada (sem If-Match ou com "*") qualquer versao serve. Uma alteracao confirmada por outra
+    // transacao depois desta leitura eh detectada no UPDATE/DELETE, que filtram pela versao lida
+    private void verificarVersao(Tarefa tarefa, Long versaoEsperada) {
+        if (versaoEsperada != null && !versaoEsperada.equals(tarefa.getVersao())) {
+            throw new VersaoDivergenteException("A tarefa " + tarefa.getId() + " está na versão " + tarefa.getVersao()
+                    + ", diferente da informada em If-Match");
+        }
+    }
+
+    // Falhas na comunicacao com o servico de usuarios seguem como ServicoUsuarioIndisponivelException (503)
     private void verificarUsuarioExiste(Long usuarioId) {
-        try {
-            boolean existe = usuarioClient.usuarioExiste(usuarioId);
-            if (!existe) {
-                throw new UsuarioNaoExisteException("Usuário não encontrado com o ID: " + usuarioId);
-            }
-        } catch (Exception e) {
-            throw new UsuarioNaoExisteException("Erro ao verificar existência do usuário: " + e.getMessage());
+        if (!usuarioClient.usuarioExiste(usuarioId)) {
+            throw new UsuarioNaoExisteException("Usuário não encontrado com o ID: " + usuarioId);
         }
     }
 
@@ -0,0 +1,127 @@
+package com.desafio.tarefa.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Procura periodicamente tarefas não concluídas com a data limite vencida e envia um lembrete para cada uma.
+ * Cada varredura continua do ponto de retomada gravado no banco (inclusive depois de reiniciar o serviço) e
+ * avança em blocos de {@code tamanhoBloco}, um por transação, até alcançar as tarefas que venceram ontem.
+ * <p>
+ * Uma tarefa gera um lembrete quando a sua data limite passa. Tarefas criadas ou alteradas com uma data limite
+ * anterior ao ponto de retomada já não são alcançadas.
+ */
+@Component
+public class VarreduraTarefasAtrasadas implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(VarreduraTarefasAtrasadas.class);
+
+    private final LembreteTarefaService lembreteTarefaService;
+    private final boolean habilitada;
+    private final Duration intervalo;
+    private final int tamanhoBloco;
+    private final Clock relogio = Clock.systemDefaultZone();
+    private final ScheduledExecutorService agendador;
+    private final LongAdder tarefasLidas = new LongAdder();
+    private volatile Instant ultimaVarreduraCompleta;
+    private Timer duracao;
+
+    @Autowired
+    public VarreduraTarefasAtrasadas(LembreteTarefaService lembreteTarefaService,
+                                     @Value("${tarefa.lembretes.varredura.habilitada:true}") boolean habilitada,
+                                     @Value("${tarefa.lembretes.varredura.intervalo:1m}") Duration intervalo,
+                                     @Value("${tarefa.lembretes.varredura.tamanho-bloco:500}") int tamanhoBloco,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        this.lembreteTarefaService = lembreteTarefaService;
+        this.habilitada = habilitada;
+        this.intervalo = intervalo;
+        this.tamanhoBloco = Math.max(tamanhoBloco, 1);
+        this.agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "varredura-tarefas-atrasadas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        meterRegistry.ifAvailable(this::registrarMetricas);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (habilitada) {
+            agendador.scheduleWithFixedDelay(this::executar, 0, intervalo.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void executar() {
+        try {
+            if (duracao != null) {
+                duracao.record(this::varrer);
+            } else {
+                varrer();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Varredura de tarefas atrasadas interrompida: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Processa blocos até não restar tarefa vencida depois do ponto de retomada (chamada pelo agendador,
+     * ou diretamente nos testes).
+     *
+     * @return quantidade de tarefas processadas
+     */
+    public long varrer() {
+        LocalDate hoje = LocalDate.now(relogio);
+        long total = 0;
+        int lidas;
+        do {
+            lidas = lembreteTarefaService.processarBloco(hoje, tamanhoBloco);
+            tarefasLidas.add(lidas);
+            total += lidas;
+        } while (lidas == tamanhoBloco && !Thread.currentThread().isInterrupted());
+        ultimaVarreduraCompleta = relogio.instant();
+        return total;
+    }
+
+    // Segundos desde a ultima varredura que chegou ao fim (NaN antes da primeira)
+    public double defasagemSegundos() {
+        Instant ultima = ultimaVarreduraCompleta;
+        return ultima == null ? Double.NaN : Duration.between(ultima, relogio.instant()).toMillis() / 1000.0;
+    }
+
+    private void registrarMetricas(MeterRegistry registry) {
+        FunctionCounter.builder("tarefas.lembretes.lidas", tarefasLidas, LongAdder::sum)
+                .description("Tarefas atrasadas lidas pela varredura")
+                .register(registry);
+        Gauge.builder("tarefas.lembretes.defasagem", this, VarreduraTarefasAtrasadas::defasagemSegundos)
+                .description("Tempo desde a última varredura de tarefas atrasadas concluída")
+                .baseUnit("seconds")
+                .register(registry);
+        duracao = Timer.builder("tarefas.lembretes.varredura")
+                .description("Tempo de cada varredura de tarefas atrasadas")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        agendador.shutdownNow();
+    }
+}
@@ -0,0 +1,15 @@
+-- Estrutura inicial da tabela de tarefas. Usa IF NOT EXISTS para que bancos criados
+-- anteriormente pelo ddl-auto=update sejam apenas adotados pelo Flyway
+CREATE TABLE IF NOT EXISTS tarefas (
+    id           BIGINT       NOT NULL,
+    titulo       VARCHAR(255) NOT NULL,
+    descricao    TEXT,
+    status       VARCHAR(255) NOT NULL,
+    data_criacao TIMESTAMP(6) NOT NULL,
+    data_limite  DATE,
+    usuario_id   BIGINT       NOT NULL,
+    CONSTRAINT pk_tarefas PRIMARY KEY (id),
+    CONSTRAINT ck_tarefas_status CHECK (status IN ('PENDENTE', 'EM_ANDAMENTO', 'CONCLUIDO'))
+);
+
+CREATE SEQUENCE IF NOT EXISTS tarefas_seq START WITH 1 INCREMENT BY 50;
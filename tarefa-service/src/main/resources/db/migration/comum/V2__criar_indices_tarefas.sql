@@ -0,0 +1,14 @@
+-- Indices alinhados com as consultas do TarefaRepository.
+-- O ID no fim de cada indice acompanha o desempate da paginacao por keyset.
+
+-- Filtro por usuario (findByUsuarioId, countByUsuarioId) e por usuario + status,
+-- ja na ordem da listagem por data de criacao
+CREATE INDEX IF NOT EXISTS idx_tarefas_usuario_status_criacao ON tarefas (usuario_id, status, data_criacao, id);
+
+-- Filtro por status ordenado por data limite ou por data de criacao
+CREATE INDEX IF NOT EXISTS idx_tarefas_status_limite ON tarefas (status, data_limite, id);
+CREATE INDEX IF NOT EXISTS idx_tarefas_status_criacao ON tarefas (status, data_criacao, id);
+
+-- Listagem sem filtro nas duas ordenacoes
+CREATE INDEX IF NOT EXISTS idx_tarefas_criacao ON tarefas (data_criacao, id);
+CREATE INDEX IF NOT EXISTS idx_tarefas_limite ON tarefas (data_limite, id);
@@ -0,0 +1,14 @@
+-- Quantidade de tarefas por usuario e status, mantida pelo servico de tarefas na mesma transacao de cada
+-- gravacao e corrigida periodicamente pela reconciliacao. O estado inicial vem das tarefas ja existentes
+CREATE TABLE IF NOT EXISTS tarefas_contadores (
+    usuario_id BIGINT       NOT NULL,
+    status     VARCHAR(255) NOT NULL,
+    quantidade BIGINT       NOT NULL,
+    CONSTRAINT pk_tarefas_contadores PRIMARY KEY (usuario_id, status)
+);
+
+INSERT INTO tarefas_contadores (usuario_id, status, quantidade)
+SELECT usuario_id, status, COUNT(*)
+FROM tarefas
+WHERE NOT EXISTS (SELECT 1 FROM tarefas_contadores)
+GROUP BY usuario_id, status;
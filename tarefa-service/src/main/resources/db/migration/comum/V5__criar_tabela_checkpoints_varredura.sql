@@ -0,0 +1,13 @@
+-- Ponto de retomada das varreduras em segundo plano: a ultima posicao (data limite, ID) ja processada.
+-- Sem posicao, a varredura comeca do inicio
+CREATE TABLE IF NOT EXISTS varreduras_checkpoint (
+    nome          VARCHAR(100) NOT NULL,
+    data_limite   DATE,
+    tarefa_id     BIGINT,
+    atualizado_em TIMESTAMP,
+    CONSTRAINT pk_varreduras_checkpoint PRIMARY KEY (nome)
+);
+
+INSERT INTO varreduras_checkpoint (nome)
+SELECT 'tarefas-atrasadas'
+WHERE NOT EXISTS (SELECT 1 FROM varreduras_checkpoint WHERE nome = 'tarefas-atrasadas');
@@ -0,0 +1,3 @@
+-- Versao de cada tarefa, incrementada a cada alteracao: trava otimista das gravacoes e base do ETag.
+-- Tarefas ja existentes comecam na versao 0
+ALTER TABLE tarefas ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
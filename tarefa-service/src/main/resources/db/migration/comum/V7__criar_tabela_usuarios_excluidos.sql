@@ -0,0 +1,7 @@
+-- Usuarios excluidos no servico de usuarios cujas tarefas ainda nao foram removidas (ou reatribuidas).
+-- A linha eh gravada ao receber o aviso de exclusao e apagada quando o usuario nao tem mais tarefas
+CREATE TABLE IF NOT EXISTS usuarios_excluidos (
+    usuario_id  BIGINT    NOT NULL,
+    excluido_em TIMESTAMP NOT NULL,
+    CONSTRAINT pk_usuarios_excluidos PRIMARY KEY (usuario_id)
+);
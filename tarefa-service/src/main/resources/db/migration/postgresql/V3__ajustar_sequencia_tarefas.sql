@@ -0,0 +1,4 @@
+-- Tabelas criadas antes da troca de IDENTITY pela sequencia ja possuem IDs.
+-- Com o otimizador pooled do Hibernate (blocos de 50), o valor da sequencia eh o fim do bloco,
+-- entao ela precisa ficar pelo menos 50 acima do maior ID existente.
+SELECT setval('tarefas_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM tarefas) + 50, 50), false);
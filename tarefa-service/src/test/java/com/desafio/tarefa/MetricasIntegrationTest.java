@@ -0,0 +1,58 @@
+package com.desafio.tarefa;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// O servico de usuarios aponta para uma porta fechada, para gerar a metrica de erro do Feign
+@SpringBootTest(properties = "usuario.service.url=http://localhost:1")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+public class MetricasIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void deveExporMetricasDeEndpointsServicesFeignPoolResilienciaReplicaHikariEHibernate() throws Exception {
+        mockMvc.perform(get("/api/tarefas")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/tarefas/filtrar").param("usuarioId", "1")).andExpect(status().isServiceUnavailable());
+
+        String metricas = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(metricas)
+                .contains("http_server_requests_seconds_bucket{application=\"tarefa-service\"")
+                .contains("uri=\"/api/tarefas\"")
+                .containsPattern("tarefa_service_seconds_count\\{.*method=\"listarTodas\"")
+                .containsPattern("tarefa_service_seconds_count\\{.*exception=\"ServicoUsuarioIndisponivelException\".*method=\"filtrarPorUsuario\"")
+                .containsPattern("http_client_requests_seconds_count\\{.*error=\"RetryableException\".*http_url=\"/api/usuarios/existem\"")
+                .containsPattern("resilience4j_circuitbreaker_calls_seconds_count\\{.*kind=\"failed\".*name=\"usuario-service\"")
+                .containsPattern("http_cliente_pool_espera_seconds_count\\{.*resultado=\"obtida\".*rota=\"http://localhost:1\"")
+                .containsPattern("http_cliente_conexao_abertura_seconds_count\\{.*resultado=\"falha\".*rota=\"http://localhost:1\"")
+                .containsPattern("http_cliente_pool_maximo\\{.*rota=\"http://localhost:1\".*} 30.0")
+                .contains("resilience4j_bulkhead_available_concurrent_calls")
+                .contains("usuarios_limite_concorrencia")
+                .contains("usuarios_replica_defasagem_seconds")
+                .containsPattern("usuarios_replica_consultas_total\\{.*resultado=\"remoto\"")
+                .contains("tarefas_contadores_corrigidos_total")
+                .contains("tarefas_lembretes_enviados_total")
+                .contains("tarefas_lembretes_defasagem_seconds")
+                .contains("tarefas_busca_documentos")
+                .contains("hikaricp_connections_acquire_seconds_bucket")
+                .contains("hikaricp_connections_pending")
+                .contains("hibernate_query_executions_total")
+                .contains("hibernate_entities_loads_total")
+                .contains("hibernate_flushes_total");
+    }
+}
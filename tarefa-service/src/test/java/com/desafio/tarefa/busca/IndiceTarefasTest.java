@@ -0,0 +1,217 @@
+package com.desafio.tarefa.busca;
+
+import com.desafio.tarefa.dto.ResultadoBuscaDTO;
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.dto.TarefaEncontradaDTO;
+import com.desafio.tarefa.model.StatusTarefa;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IndiceTarefasTest {
+
+    private IndiceTarefas indice = new IndiceTarefas(new ByteBuffersDirectory(), Duration.ofSeconds(1), Duration.ofMinutes(1));
+
+    @AfterEach
+    void tearDown() throws Exception {
+        indice.close();
+    }
+
+    @Test
+    void deveOrdenarOcorrenciaNoTituloAntesDaDescricao() {
+        indice.indexar(tarefa(1L, "Comprar material", "Enviar o relatório para a diretoria", 10L, StatusTarefa.PENDENTE));
+        indice.indexar(tarefa(2L, "Relatório mensal", "Fechar os números do mês", 10L, StatusTarefa.PENDENTE));
+        indice.indexar(tarefa(3L, "Reunião", "Pauta da semana", 10L, StatusTarefa.PENDENTE));
+        indice.confirmar();
+
+        ResultadoBuscaDTO resultado = indice.buscar("relatório", null, null, 0, 10);
+
+        assertThat(resultado.getConteudo()).extracting(TarefaEncontradaDTO::getId).containsExactly(2L, 1L);
+        assertThat(resultado.getTotal()).isEqualTo(2);
+        assertThat(resultado.isTemProxima()).isFalse();
+    }
+
+    @Test
+    void deveEncontrarVariacoesDaPalavraSemAcento() {
+        indice.indexar(tarefa(1L, "Revisar relatórios", null, 10L, StatusTarefa.PENDENTE));
+        indice.confirmar();
+
+        assertThat(indice.buscar("relatorio", null, null, 0, 10).getConteudo())
+                .singleElement()
+                .satisfies(encontrada -> {
+                    assertThat(encontrada.getTitulo()).isEqualTo("Revisar relatórios");
+                    assertThat(encontrada.getUsuarioId()).isEqualTo(10L);
+                    assertThat(encontrada.getStatus()).isEqualTo(StatusTarefa.PENDENTE);
+                    assertThat(encontrada.getDataLimite()).isEqualTo(LocalDate.of(2030, 1, 31));
+                });
+    }
+
+    @Test
+    void deveExigirTodasAsPalavrasEAplicarFiltros() {
+        indice.indexar(tarefa(1L, "Atualizar contrato", "cliente novo", 10L, StatusTarefa.PENDENTE));
+        indice.indexar(tarefa(2L, "Atualizar contrato", "cliente antigo", 20L, StatusTarefa.PENDENTE));
+        indice.indexar(tarefa(3L, "Atualizar contrato", "cliente novo", 20L, StatusTarefa.CONCLUIDO));
+        indice.indexar(tarefa(4L, "Atualizar planilha", "cliente novo", 20L, StatusTarefa.PENDENTE));
+        indice.confirmar();
+
+        assertThat(ids(indice.buscar("contrato novo", null, null, 0, 10))).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids(indice.buscar("contrato novo", 20L, null, 0, 10))).containsExactly(3L);
+        assertThat(ids(indice.buscar("contrato", 20L, StatusTarefa.PENDENTE, 0, 10))).containsExactly(2L);
+        assertThat(ids(indice.buscar("contrato -antigo", null, null, 0, 10))).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void devePaginarPelaRelevancia() {
+        for (long id = 1; id <= 25; id++) {
+            indice.indexar(tarefa(id, "Tarefa " + id, "revisar código", 10L, StatusTarefa.PENDENTE));
+        }
+        indice.confirmar();
+
+        ResultadoBuscaDTO primeira = indice.buscar("revisar", null, null, 0, 10);
+        ResultadoBuscaDTO ultima = indice.buscar("revisar", null, null, 2, 10);
+
+        assertThat(primeira.getConteudo()).hasSize(10);
+        assertThat(primeira.isTemProxima()).isTrue();
+        assertThat(primeira.getTotal()).isEqualTo(25);
+        assertThat(ultima.getConteudo()).hasSize(5);
+        assertThat(ultima.getPagina()).isEqualTo(2);
+        assertThat(ultima.isTemProxima()).isFalse();
+    }
+
+    @Test
+    void deveSubstituirERemoverPeloId() {
+        indice.indexar(tarefa(1L, "Pagar fornecedor", null, 10L, StatusTarefa.PENDENTE));
+        indice.indexar(tarefa(1L, "Pagar aluguel", null, 10L, StatusTarefa.EM_ANDAMENTO));
+        indice.indexar(tarefa(2L, "Pagar condomínio", null, 10L, StatusTarefa.PENDENTE));
+        indice.confirmar();
+
+        assertThat(indice.buscar("fornecedor", null, null, 0, 10).getConteudo()).isEmpty();
+        assertThat(ids(indice.buscar("aluguel", null, StatusTarefa.EM_ANDAMENTO, 0, 10))).containsExactly(1L);
+
+        indice.remover(2L);
+        indice.confirmar();
+
+        assertThat(ids(indice.buscar("pagar", null, null, 0, 10))).containsExactly(1L);
+        assertThat(indice.documentos()).isEqualTo(1);
+    }
+
+    @Test
+    void deveTornarGravacaoVisivelSemConfirmar() throws Exception {
+        indice.close();
+        indice = new IndiceTarefas(new ByteBuffersDirectory(), Duration.ofMillis(50), Duration.ofMinutes(1));
+
+        indice.indexar(tarefa(1L, "Agendar vistoria", null, 10L, StatusTarefa.PENDENTE));
+
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (indice.buscar("vistoria", null, null, 0, 10).getConteudo().isEmpty() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertThat(ids(indice.buscar("vistoria", null, null, 0, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void deveManterDocumentosConfirmadosAoReabrirDoDisco(@TempDir Path diretorio) throws Exception {
+        indice.close();
+        indice = new IndiceTarefas(FSDirectory.open(diretorio), Duration.ofSeconds(1), Duration.ofMinutes(1));
+        indice.indexar(tarefa(1L, "Renovar seguro", null, 10L, StatusTarefa.PENDENTE));
+        indice.close();
+
+        indice = new IndiceTarefas(FSDirectory.open(diretorio), Duration.ofSeconds(1), Duration.ofMinutes(1));
+
+        assertThat(indice.documentos()).isEqualTo(1);
+        assertThat(ids(indice.buscar("seguro", null, null, 0, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void deveReconstruirSemEsvaziarABuscaNemSobrescreverAlteracoesFeitasDurante() {
+        indice.indexar(tarefa(1L, "Pagar fornecedor", null, 10L, StatusTarefa.PENDENTE));
+        indice.indexar(tarefa(2L, "Pagar aluguel", null, 10L, StatusTarefa.PENDENTE));
+        indice.indexar(tarefa(4L, "Pagar condomínio", null, 10L, StatusTarefa.PENDENTE));
+        indice.confirmar();
+
+        long lidas = indice.reconstruir(() -> {
+            // A busca continua respondendo com o indice anterior
+            assertThat(ids(indice.buscar("pagar", null, null, 0, 10))).containsExactlyInAnyOrder(1L, 2L, 4L);
+            // Alteracoes confirmadas no banco depois que a leitura comecou: as linhas lidas abaixo ja estao velhas
+            indice.indexar(tarefa(1L, 1L, "Pagar fornecedor novo", StatusTarefa.CONCLUIDO));
+            indice.remover(2L);
+            return Stream.of(
+                    tarefa(1L, "Pagar fornecedor", null, 10L, StatusTarefa.PENDENTE),
+                    tarefa(2L, "Pagar aluguel", null, 10L, StatusTarefa.PENDENTE),
+                    tarefa(3L, "Pagar internet", null, 10L, StatusTarefa.PENDENTE));
+        });
+
+        assertThat(lidas).isEqualTo(3);
+        assertThat(ids(indice.buscar("pagar", null, null, 0, 10))).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids(indice.buscar("pagar", null, StatusTarefa.CONCLUIDO, 0, 10))).containsExactly(1L);
+        assertThat(indice.documentos()).isEqualTo(2);
+
+        // Fora da reconstrucao as gravacoes voltam ao normal, e uma nova reconstrucao pode comecar
+        indice.indexar(tarefa(5L, "Pagar luz", null, 10L, StatusTarefa.PENDENTE));
+        assertThat(indice.reconstruir(() -> Stream.of(tarefa(5L, "Pagar luz", null, 10L, StatusTarefa.PENDENTE))))
+                .isEqualTo(1);
+        assertThat(ids(indice.buscar("pagar", null, null, 0, 10))).containsExactly(5L);
+    }
+
+    @Test
+    void deveDescartarVersaoMaisAntigaQueChegaDepois() {
+        indice.indexar(tarefa(1L, 2L, "Pagar fornecedor", StatusTarefa.CONCLUIDO));
+        indice.indexar(tarefa(1L, 1L, "Pagar fornecedor", StatusTarefa.EM_ANDAMENTO));
+        indice.confirmar();
+
+        assertThat(ids(indice.buscar("pagar", null, StatusTarefa.CONCLUIDO, 0, 10))).containsExactly(1L);
+        assertThat(indice.buscar("pagar", null, StatusTarefa.EM_ANDAMENTO, 0, 10).getConteudo()).isEmpty();
+
+        // Ja visivel no leitor, a versao vem do proprio documento
+        indice.indexar(tarefa(1L, 1L, "Pagar fornecedor", StatusTarefa.EM_ANDAMENTO));
+        indice.indexar(tarefa(1L, 3L, "Pagar fornecedor", StatusTarefa.PENDENTE));
+        indice.confirmar();
+
+        assertThat(ids(indice.buscar("pagar", null, StatusTarefa.PENDENTE, 0, 10))).containsExactly(1L);
+        assertThat(indice.documentos()).isEqualTo(1);
+    }
+
+    @Test
+    void naoDeveTrazerDeVoltaTarefaRemovidaPorGravacaoAtrasada() {
+        indice.indexar(tarefa(1L, 0L, "Pagar fornecedor", StatusTarefa.PENDENTE));
+        indice.remover(1L);
+        indice.indexar(tarefa(1L, 1L, "Pagar fornecedor", StatusTarefa.CONCLUIDO));
+        indice.confirmar();
+
+        assertThat(indice.buscar("pagar", null, null, 0, 10).getConteudo()).isEmpty();
+        assertThat(indice.documentos()).isZero();
+    }
+
+    private static List<Long> ids(ResultadoBuscaDTO resultado) {
+        return resultado.getConteudo().stream().map(TarefaEncontradaDTO::getId).toList();
+    }
+
+    private static TarefaDTO tarefa(Long id, String titulo, String descricao, Long usuarioId, StatusTarefa status) {
+        TarefaDTO tarefa = new TarefaDTO();
+        tarefa.setId(id);
+        tarefa.setTitulo(titulo);
+        tarefa.setDescricao(descricao);
+        tarefa.setUsuarioId(usuarioId);
+        tarefa.setStatus(status);
+        tarefa.setDataLimite(LocalDate.of(2030, 1, 31));
+        tarefa.setVersao(0L);
+        return tarefa;
+    }
+
+    private static TarefaDTO tarefa(Long id, Long versao, String titulo, StatusTarefa status) {
+        TarefaDTO tarefa = tarefa(id, titulo, null, 10L, status);
+        tarefa.setVersao(versao);
+        return tarefa;
+    }
+}
@@ -0,0 +1,101 @@
+package com.desafio.tarefa.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AgrupadorVerificacaoUsuarioTest {
+
+    @Mock
+    private UsuarioClient delegate;
+
+    private ExecutorService executor;
+    private ExecutorService chamadores;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        chamadores = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        chamadores.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void deveResolverChamadasConcorrentesComUmaUnicaRequisicao() throws Exception {
+        when(delegate.usuariosExistentes(anyCollection())).thenReturn(List.of(1L, 3L));
+        try (AgrupadorVerificacaoUsuario agrupador = new AgrupadorVerificacaoUsuario(delegate, Duration.ofMillis(200), 100, executor)) {
+            List<Future<Boolean>> resultados = verificarAoMesmoTempo(agrupador, 1L, 2L, 3L, 1L);
+
+            assertTrue(resultados.get(0).get(5, TimeUnit.SECONDS));
+            assertFalse(resultados.get(1).get(5, TimeUnit.SECONDS));
+            assertTrue(resultados.get(2).get(5, TimeUnit.SECONDS));
+            assertTrue(resultados.get(3).get(5, TimeUnit.SECONDS));
+            verify(delegate, times(1)).usuariosExistentes(argThat(ids -> ids.size() == 3));
+            verify(delegate, never()).usuarioExiste(any());
+        }
+    }
+
+    @Test
+    void deveDespacharLoteAoAtingirTamanhoMaximoSemEsperarJanela() throws Exception {
+        when(delegate.usuariosExistentes(anyCollection())).thenReturn(List.of(1L, 2L));
+        try (AgrupadorVerificacaoUsuario agrupador = new AgrupadorVerificacaoUsuario(delegate, Duration.ofMinutes(1), 2, executor)) {
+            List<Future<Boolean>> resultados = verificarAoMesmoTempo(agrupador, 1L, 2L);
+
+            assertTrue(resultados.get(0).get(5, TimeUnit.SECONDS));
+            assertTrue(resultados.get(1).get(5, TimeUnit.SECONDS));
+            verify(delegate, times(1)).usuariosExistentes(anyCollection());
+        }
+    }
+
+    @Test
+    void devePropagarFalhaDoServicoParaTodasAsChamadasDoLote() throws Exception {
+        when(delegate.usuariosExistentes(anyCollection())).thenThrow(new IllegalStateException("indisponível"));
+        try (AgrupadorVerificacaoUsuario agrupador = new AgrupadorVerificacaoUsuario(delegate, Duration.ofMillis(1), 100, executor)) {
+            IllegalStateException erro = assertThrows(IllegalStateException.class, () -> agrupador.usuarioExiste(1L));
+            assertEquals("indisponível", erro.getMessage());
+        }
+    }
+
+    @Test
+    void deveRepassarConsultaEmLoteDiretamente() {
+        when(delegate.usuariosExistentes(List.of(4L, 5L))).thenReturn(List.of(5L));
+        try (AgrupadorVerificacaoUsuario agrupador = new AgrupadorVerificacaoUsuario(delegate, Duration.ofMillis(5), 100, executor)) {
+            assertEquals(List.of(5L), agrupador.usuariosExistentes(List.of(4L, 5L)));
+        }
+    }
+
+    private List<Future<Boolean>> verificarAoMesmoTempo(AgrupadorVerificacaoUsuario agrupador, Long... ids) throws InterruptedException {
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        for (Long id : ids) {
+            resultados.add(chamadores.submit(() -> {
+                largada.await();
+                return agrupador.usuarioExiste(id);
+            }));
+        }
+        largada.countDown();
+        return resultados;
+    }
+}
@@ -0,0 +1,115 @@
+package com.desafio.tarefa.client;
+
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpVersion;
+import org.apache.hc.core5.http.Message;
+import org.apache.hc.core5.http.ProtocolVersion;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.impl.bootstrap.HttpAsyncServer;
+import org.apache.hc.core5.http.nio.AsyncRequestConsumer;
+import org.apache.hc.core5.http.nio.AsyncServerRequestHandler;
+import org.apache.hc.core5.http.nio.entity.AsyncEntityProducers;
+import org.apache.hc.core5.http.nio.entity.StringAsyncEntityConsumer;
+import org.apache.hc.core5.http.nio.support.AsyncResponseBuilder;
+import org.apache.hc.core5.http.nio.support.BasicRequestConsumer;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.http2.impl.nio.bootstrap.H2ServerBootstrap;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.ListenerEndpoint;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClienteHttp2Test {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<ProtocolVersion> versoesRecebidas = new CopyOnWriteArrayList<>();
+    private HttpAsyncServer servidor;
+    private ClienteHttp2 cliente;
+    private String url;
+
+    // Servidor h2c falso que devolve em JSON o corpo recebido e anota a versao do protocolo de cada requisicao
+    @BeforeEach
+    void setUp() throws Exception {
+        servidor = H2ServerBootstrap.bootstrap()
+                .setVersionPolicy(HttpVersionPolicy.FORCE_HTTP_2)
+                .register("*", new AsyncServerRequestHandler<Message<HttpRequest, String>>() {
+                    @Override
+                    public AsyncRequestConsumer<Message<HttpRequest, String>> prepare(
+                            HttpRequest request, EntityDetails entityDetails, HttpContext context) {
+                        return new BasicRequestConsumer<>(entityDetails != null ? new StringAsyncEntityConsumer() : null);
+                    }
+
+                    @Override
+                    public void handle(Message<HttpRequest, String> mensagem, ResponseTrigger resposta, HttpContext context)
+                            throws HttpException, IOException {
+                        versoesRecebidas.add(context.getProtocolVersion());
+                        String corpo = mensagem.getBody() != null ? mensagem.getBody() : "[]";
+                        resposta.submitResponse(AsyncResponseBuilder.create(200)
+                                .setEntity(AsyncEntityProducers.create(corpo, ContentType.APPLICATION_JSON))
+                                .build(), context);
+                    }
+                })
+                .create();
+        servidor.start();
+        ListenerEndpoint endpoint = servidor.listen(new InetSocketAddress("localhost", 0), URIScheme.HTTP).get();
+        url = "http://localhost:" + ((InetSocketAddress) endpoint.getAddress()).getPort();
+
+        cliente = new ClienteHttp2(HttpAsyncClients.customHttp2()
+                .setDefaultConnectionConfig(ConnectionConfig.custom().setConnectTimeout(Timeout.ofSeconds(1)).build())
+                .build());
+        cliente.registrarMetricas(registry);
+        cliente.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cliente.close();
+        servidor.close(CloseMode.IMMEDIATE);
+    }
+
+    @Test
+    void deveEnviarChamadasEmHttp2SemTls() throws Exception {
+        Request request = Request.create(Request.HttpMethod.POST, url + "/usuarios/existentes",
+                Map.of("Content-Type", List.of("application/json"), "Content-Length", List.of("5")),
+                "[1,3]".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8, null);
+
+        try (Response resposta = cliente.execute(request, new Request.Options(1, TimeUnit.SECONDS, 2, TimeUnit.SECONDS, true))) {
+            assertEquals(200, resposta.status());
+            assertEquals("[1,3]", new String(resposta.body().asInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            assertTrue(resposta.headers().get("content-type").iterator().next().startsWith("application/json"));
+        }
+        assertEquals(List.of(HttpVersion.HTTP_2), versoesRecebidas);
+        assertEquals(0, registry.get("http.cliente.h2.fluxos").gauge().value());
+    }
+
+    @Test
+    void deveFalharComIoExceptionQuandoNaoConsegueConectar() {
+        servidor.close(CloseMode.IMMEDIATE);
+        Request request = Request.create(Request.HttpMethod.GET, url + "/usuarios/1", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+
+        assertThrows(IOException.class,
+                () -> cliente.execute(request, new Request.Options(1, TimeUnit.SECONDS, 2, TimeUnit.SECONDS, true)));
+    }
+}
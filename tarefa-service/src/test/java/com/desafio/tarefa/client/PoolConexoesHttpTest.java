@@ -0,0 +1,131 @@
+package com.desafio.tarefa.client;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Request;
+import feign.Response;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PoolConexoesHttpTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch liberarLento = new CountDownLatch(1);
+    private HttpServer servidor;
+    private PoolConexoesHttp pool;
+    private CloseableHttpClient httpClient;
+    private ApacheHttp5Client cliente;
+    private String rota;
+
+    // Servico de usuarios falso: /usuarios/1 responde na hora e /usuarios/lento so depois de liberado pelo teste
+    @BeforeEach
+    void setUp() throws Exception {
+        servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.setExecutor(Executors.newFixedThreadPool(2));
+        servidor.createContext("/usuarios", troca -> {
+            if (troca.getRequestURI().getPath().endsWith("lento")) {
+                try {
+                    liberarLento.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] corpo = "true".getBytes(StandardCharsets.UTF_8);
+            troca.getResponseHeaders().add("Content-Type", "application/json");
+            troca.sendResponseHeaders(200, corpo.length);
+            try (OutputStream saida = troca.getResponseBody()) {
+                saida.write(corpo);
+            }
+        });
+        servidor.start();
+        rota = "http://localhost:" + servidor.getAddress().getPort();
+
+        pool = new PoolConexoesHttp();
+        pool.setMaxTotal(10);
+        pool.setDefaultMaxPerRoute(1);
+        pool.registrarMetricas(registry);
+        httpClient = HttpClients.custom()
+                .setConnectionManager(pool)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(200))
+                        .build())
+                .build();
+        cliente = new ApacheHttp5Client(httpClient);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        liberarLento.countDown();
+        httpClient.close();
+        servidor.stop(0);
+    }
+
+    @Test
+    void deveReaproveitarConexaoEntreChamadas() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            try (Response resposta = chamar("/usuarios/1")) {
+                assertEquals(200, resposta.status());
+                assertEquals("true", new String(resposta.body().asInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        assertEquals(3, registry.get("http.cliente.pool.espera").tags("rota", rota, "resultado", "obtida").timer().count());
+        assertEquals(1, registry.get("http.cliente.conexao.abertura").tags("rota", rota, "resultado", "sucesso").timer().count());
+        assertEquals(0, registry.get("http.cliente.pool.emprestadas").tag("rota", rota).gauge().value());
+        assertEquals(1, registry.get("http.cliente.pool.disponiveis").tag("rota", rota).gauge().value());
+        assertEquals(1, registry.get("http.cliente.pool.maximo").tag("rota", rota).gauge().value());
+    }
+
+    @Test
+    void deveDesistirDaChamadaQuandoNaoHaConexaoLivreNaRota() throws Exception {
+        CompletableFuture<Response> lenta = CompletableFuture.supplyAsync(() -> {
+            try {
+                return chamar("/usuarios/lento");
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        aguardarConexaoEmprestada();
+
+        // A unica conexao da rota esta com a chamada lenta: a segunda desiste depois da espera maxima
+        assertThrows(IOException.class, () -> chamar("/usuarios/1"));
+        assertEquals(1, registry.get("http.cliente.pool.espera").tags("rota", rota, "resultado", "esgotada").timer().count());
+
+        liberarLento.countDown();
+        lenta.get(5, TimeUnit.SECONDS).close();
+        assertEquals(0, registry.get("http.cliente.pool.aguardando").tag("rota", rota).gauge().value());
+    }
+
+    private Response chamar(String caminho) throws IOException {
+        Request request = Request.create(Request.HttpMethod.GET, rota + caminho, Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return cliente.execute(request, new Request.Options(1, TimeUnit.SECONDS, 5, TimeUnit.SECONDS, true));
+    }
+
+    private void aguardarConexaoEmprestada() throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (registry.find("http.cliente.pool.emprestadas").gauge() == null
+                || registry.get("http.cliente.pool.emprestadas").gauge().value() < 1) {
+            assertTrue(System.currentTimeMillis() < limite, "a chamada lenta não pegou a conexão");
+            Thread.sleep(10);
+        }
+    }
+}
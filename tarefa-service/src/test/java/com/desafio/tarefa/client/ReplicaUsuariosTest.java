@@ -0,0 +1,191 @@
+package com.desafio.tarefa.client;
+
+import com.desafio.tarefa.dto.AlteracoesUsuariosDTO;
+import com.desafio.tarefa.dto.SnapshotUsuariosDTO;
+import feign.FeignException;
+import feign.Request;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaUsuariosTest {
+
+    @Mock
+    private UsuarioReplicaClient usuarioReplicaClient;
+
+    private final AtomicReference<Instant> relogio = new AtomicReference<>(Instant.parse("2024-05-01T10:00:00Z"));
+    private ReplicaUsuarios replica;
+
+    @BeforeEach
+    void setUp() {
+        replica = new ReplicaUsuarios(usuarioReplicaClient, Duration.ofSeconds(30), Duration.ofMinutes(10), relogio::get);
+    }
+
+    @Test
+    void naoDeveConfirmarNadaAntesDaPrimeiraSincronizacao() {
+        assertFalse(replica.confirma(1L));
+        assertEquals(0, replica.tamanho());
+    }
+
+    @Test
+    void deveCarregarEstadoCompletoEAplicarAlteracoesPosteriores() {
+        when(usuarioReplicaClient.snapshot()).thenReturn(new SnapshotUsuariosDTO(5L, List.of(1L, 2L, 3L)));
+        when(usuarioReplicaClient.alteracoes(5L))
+                .thenReturn(new AlteracoesUsuariosDTO(7L, List.of(4L), List.of(2L), false));
+
+        replica.sincronizar();
+
+        assertTrue(replica.confirma(1L));
+        assertFalse(replica.confirma(2L));
+        assertTrue(replica.confirma(4L));
+        assertEquals(3, replica.tamanho());
+        assertEquals(7L, replica.versao());
+    }
+
+    @Test
+    void deveSeguirBuscandoAlteracoesEnquantoHouverMais() {
+        when(usuarioReplicaClient.snapshot()).thenReturn(new SnapshotUsuariosDTO(0L, List.of()));
+        when(usuarioReplicaClient.alteracoes(0L)).thenReturn(new AlteracoesUsuariosDTO(2L, List.of(1L, 2L), List.of(), true));
+        when(usuarioReplicaClient.alteracoes(2L)).thenReturn(new AlteracoesUsuariosDTO(3L, List.of(3L), List.of(), false));
+
+        replica.sincronizar();
+
+        assertTrue(replica.confirma(1L));
+        assertTrue(replica.confirma(3L));
+        assertEquals(3L, replica.versao());
+    }
+
+    @Test
+    void deveBuscarApenasAlteracoesNasSincronizacoesSeguintes() {
+        when(usuarioReplicaClient.snapshot()).thenReturn(new SnapshotUsuariosDTO(5L, List.of(1L)));
+        when(usuarioReplicaClient.alteracoes(5L)).thenReturn(semAlteracoes(5L));
+        replica.sincronizar();
+
+        when(usuarioReplicaClient.alteracoes(5L)).thenReturn(new AlteracoesUsuariosDTO(6L, List.of(9L), List.of(), false));
+        avancar(Duration.ofSeconds(2));
+        replica.sincronizar();
+
+        assertTrue(replica.confirma(9L));
+        verify(usuarioReplicaClient, times(1)).snapshot();
+    }
+
+    @Test
+    void deveRecarregarEstadoCompletoAposIntervaloDeRessincronizacao() {
+        when(usuarioReplicaClient.snapshot())
+                .thenReturn(new SnapshotUsuariosDTO(5L, List.of(1L, 2L)))
+                .thenReturn(new SnapshotUsuariosDTO(5L, List.of(1L)));
+        when(usuarioReplicaClient.alteracoes(5L)).thenReturn(semAlteracoes(5L));
+        replica.sincronizar();
+        assertTrue(replica.confirma(2L));
+
+        // Uma exclusao que nao chegou pelas alteracoes (versao confirmada fora de ordem) some na recarga completa
+        avancar(Duration.ofMinutes(11));
+        replica.sincronizar();
+
+        assertFalse(replica.confirma(2L));
+        verify(usuarioReplicaClient, times(2)).snapshot();
+    }
+
+    @Test
+    void deveDeixarDeConfirmarQuandoDefasagemPassaDoLimite() {
+        when(usuarioReplicaClient.snapshot()).thenReturn(new SnapshotUsuariosDTO(5L, List.of(1L)));
+        when(usuarioReplicaClient.alteracoes(5L)).thenReturn(semAlteracoes(5L));
+        replica.sincronizar();
+
+        when(usuarioReplicaClient.alteracoes(5L)).thenThrow(indisponivel());
+        avancar(Duration.ofSeconds(20));
+        replica.sincronizar();
+        assertTrue(replica.confirma(1L));
+
+        avancar(Duration.ofSeconds(20));
+        replica.sincronizar();
+        assertFalse(replica.confirma(1L));
+        assertEquals(40.0, replica.defasagemSegundos());
+    }
+
+    @Test
+    void deveRemoverUsuarioExcluidoSemEsperarSincronizacao() {
+        when(usuarioReplicaClient.snapshot()).thenReturn(new SnapshotUsuariosDTO(5L, List.of(1L, 2L)));
+        when(usuarioReplicaClient.alteracoes(5L)).thenReturn(semAlteracoes(5L));
+        replica.sincronizar();
+
+        replica.remover(2L);
+
+        assertTrue(replica.confirma(1L));
+        assertFalse(replica.confirma(2L));
+    }
+
+    @Test
+    void deveRepassarUsuariosExcluidosAoOuvinte() {
+        List<Long> excluidos = new ArrayList<>();
+        replica.aoExcluirUsuarios(excluidos::addAll);
+        when(usuarioReplicaClient.snapshot())
+                .thenReturn(new SnapshotUsuariosDTO(5L, List.of(1L, 2L, 3L)))
+                .thenReturn(new SnapshotUsuariosDTO(8L, List.of(1L)));
+        when(usuarioReplicaClient.alteracoes(5L))
+                .thenReturn(new AlteracoesUsuariosDTO(6L, List.of(), List.of(2L), false));
+        when(usuarioReplicaClient.alteracoes(8L)).thenReturn(semAlteracoes(8L));
+        replica.sincronizar();
+        assertEquals(List.of(2L), excluidos);
+
+        // O 3 sumiu sem aparecer nas alteracoes: a recarga completa tambem avisa
+        avancar(Duration.ofMinutes(11));
+        replica.sincronizar();
+
+        assertEquals(List.of(2L, 3L), excluidos);
+    }
+
+    @Test
+    void deveRepetirAlteracoesQuandoOuvinteFalha() {
+        when(usuarioReplicaClient.snapshot()).thenReturn(new SnapshotUsuariosDTO(5L, List.of(1L, 2L)));
+        when(usuarioReplicaClient.alteracoes(5L)).thenReturn(semAlteracoes(5L));
+        replica.sincronizar();
+
+        List<Long> excluidos = new ArrayList<>();
+        replica.aoExcluirUsuarios(ids -> {
+            if (excluidos.isEmpty()) {
+                excluidos.add(-1L);
+                throw new IllegalStateException("Banco fora do ar");
+            }
+            excluidos.addAll(ids);
+        });
+        when(usuarioReplicaClient.alteracoes(5L)).thenReturn(new AlteracoesUsuariosDTO(6L, List.of(), List.of(2L), false));
+        avancar(Duration.ofSeconds(2));
+        replica.sincronizar();
+        assertTrue(replica.confirma(2L));
+        assertEquals(5L, replica.versao());
+
+        avancar(Duration.ofSeconds(2));
+        replica.sincronizar();
+        assertFalse(replica.confirma(2L));
+        assertEquals(List.of(-1L, 2L), excluidos);
+    }
+
+    private void avancar(Duration duracao) {
+        relogio.updateAndGet(agora -> agora.plus(duracao));
+    }
+
+    private static AlteracoesUsuariosDTO semAlteracoes(long versao) {
+        return new AlteracoesUsuariosDTO(versao, List.of(), List.of(), false);
+    }
+
+    private static FeignException indisponivel() {
+        Request requisicao = Request.create(Request.HttpMethod.GET, "/api/usuarios/alteracoes", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return new FeignException.ServiceUnavailable("Service Unavailable", requisicao, null, Map.of());
+    }
+}
@@ -0,0 +1,180 @@
+package com.desafio.tarefa.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UsuarioClientComCacheTest {
+
+    // Metodos default (como usuarioExisteAssincrono) chamam a implementacao real, que usa os metodos simulados
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
+    private UsuarioClient delegate;
+
+    private final AtomicLong relogio = new AtomicLong();
+    private UsuarioClientComCache usuarioClient;
+
+    @BeforeEach
+    void setUp() {
+        usuarioClient = new UsuarioClientComCache(delegate, 100, Duration.ofMinutes(10), Duration.ofSeconds(5),
+                Runnable::run, relogio::get);
+    }
+
+    @Test
+    void deveReutilizarResultadoPositivoAteExpirar() {
+        when(delegate.usuarioExiste(1L)).thenReturn(true);
+
+        assertTrue(usuarioClient.usuarioExiste(1L));
+        assertTrue(usuarioClient.usuarioExiste(1L));
+        verify(delegate, times(1)).usuarioExiste(1L);
+
+        avancar(Duration.ofMinutes(11));
+        assertTrue(usuarioClient.usuarioExiste(1L));
+        verify(delegate, times(2)).usuarioExiste(1L);
+        assertEquals(1, usuarioClient.estatisticas().hitCount());
+    }
+
+    @Test
+    void deveExpirarResultadoNegativoMaisCedo() {
+        when(delegate.usuarioExiste(2L)).thenReturn(false);
+
+        assertFalse(usuarioClient.usuarioExiste(2L));
+        avancar(Duration.ofSeconds(4));
+        assertFalse(usuarioClient.usuarioExiste(2L));
+        verify(delegate, times(1)).usuarioExiste(2L);
+
+        avancar(Duration.ofSeconds(2));
+        assertFalse(usuarioClient.usuarioExiste(2L));
+        verify(delegate, times(2)).usuarioExiste(2L);
+    }
+
+    @Test
+    void deveConsultarNovamenteAposInvalidacao() {
+        when(delegate.usuarioExiste(1L)).thenReturn(true, false);
+
+        assertTrue(usuarioClient.usuarioExiste(1L));
+        usuarioClient.invalidar(1L);
+
+        assertFalse(usuarioClient.usuarioExiste(1L));
+        verify(delegate, times(2)).usuarioExiste(1L);
+    }
+
+    @Test
+    void naoDeveGuardarFalhasDoServicoDeUsuarios() {
+        when(delegate.usuarioExiste(1L)).thenThrow(new IllegalStateException("indisponível")).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> usuarioClient.usuarioExiste(1L));
+        assertTrue(usuarioClient.usuarioExiste(1L));
+        verify(delegate, times(2)).usuarioExiste(1L);
+    }
+
+    @Test
+    void deveFazerUmaUnicaChamadaParaConsultasConcorrentes() throws Exception {
+        CountDownLatch liberarResposta = new CountDownLatch(1);
+        when(delegate.usuarioExiste(1L)).thenAnswer(invocacao -> {
+            liberarResposta.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> resultados = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                resultados.add(executor.submit(() -> usuarioClient.usuarioExiste(1L)));
+            }
+            Thread.sleep(100);
+            liberarResposta.countDown();
+
+            for (Future<Boolean> resultado : resultados) {
+                assertTrue(resultado.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(delegate, times(1)).usuarioExiste(1L);
+    }
+
+    @Test
+    void deveConsultarOServicoNoExecutorEAguardarForaDoCache() {
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "carregador-teste"));
+        try {
+            UsuarioClientComCache clienteAssincrono = new UsuarioClientComCache(delegate, 100, Duration.ofMinutes(10),
+                    Duration.ofSeconds(5), executor);
+            List<String> threadsDaConsulta = new ArrayList<>();
+            when(delegate.usuarioExiste(1L)).thenAnswer(invocacao -> {
+                threadsDaConsulta.add(Thread.currentThread().getName());
+                return true;
+            });
+
+            assertTrue(clienteAssincrono.usuarioExiste(1L));
+            assertEquals(List.of("carregador-teste"), threadsDaConsulta);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Cache e agrupador dividem o executor; esperar pelo agrupador dentro do executor esgotaria o pool
+    @Test
+    void naoDeveEsgotarExecutorCompartilhadoComAgrupador() throws Exception {
+        when(delegate.usuariosExistentes(anyCollection())).thenReturn(List.of(1L, 2L, 3L, 4L));
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+        ExecutorService chamadores = Executors.newFixedThreadPool(4);
+        try (AgrupadorVerificacaoUsuario agrupador = new AgrupadorVerificacaoUsuario(delegate, Duration.ofMillis(50), 100, executor)) {
+            UsuarioClientComCache clienteComAgrupador = new UsuarioClientComCache(agrupador, 100, Duration.ofMinutes(10),
+                    Duration.ofSeconds(5), executor);
+            List<Future<Boolean>> resultados = new ArrayList<>();
+            for (long id = 1; id <= 4; id++) {
+                long usuarioId = id;
+                resultados.add(chamadores.submit(() -> clienteComAgrupador.usuarioExiste(usuarioId)));
+            }
+
+            for (Future<Boolean> resultado : resultados) {
+                assertTrue(resultado.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            chamadores.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    private void avancar(Duration duracao) {
+        relogio.addAndGet(duracao.toNanos());
+    }
+
+    @Test
+    void deveConsultarEmLoteApenasIdsForaDoCache() {
+        when(delegate.usuarioExiste(1L)).thenReturn(true);
+        when(delegate.usuariosExistentes(anyCollection())).thenReturn(List.of(3L));
+
+        assertTrue(usuarioClient.usuarioExiste(1L));
+        List<Long> existentes = usuarioClient.usuariosExistentes(List.of(1L, 2L, 3L, 2L));
+
+        assertEquals(2, existentes.size());
+        assertTrue(existentes.containsAll(List.of(1L, 3L)));
+        verify(delegate).usuariosExistentes(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(2L, 3L))));
+
+        // O resultado do lote fica no cache para as verificacoes individuais
+        assertFalse(usuarioClient.usuarioExiste(2L));
+        assertTrue(usuarioClient.usuarioExiste(3L));
+        verify(delegate, never()).usuarioExiste(2L);
+        verify(delegate, never()).usuarioExiste(3L);
+    }
+}
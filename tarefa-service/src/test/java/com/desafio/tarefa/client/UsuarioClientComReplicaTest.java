@@ -0,0 +1,67 @@
+package com.desafio.tarefa.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UsuarioClientComReplicaTest {
+
+    @Mock
+    private UsuarioClient delegate;
+
+    @Mock
+    private ReplicaUsuarios replica;
+
+    private UsuarioClientComReplica usuarioClient;
+
+    @BeforeEach
+    void setUp() {
+        usuarioClient = new UsuarioClientComReplica(delegate, replica);
+    }
+
+    @Test
+    void deveConfirmarUsuarioPelaReplicaSemChamarDelegate() {
+        when(replica.confirma(1L)).thenReturn(true);
+
+        assertTrue(usuarioClient.usuarioExiste(1L));
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void deveConsultarDelegateQuandoReplicaNaoConfirma() {
+        when(replica.confirma(2L)).thenReturn(false);
+        when(delegate.usuarioExiste(2L)).thenReturn(false);
+
+        assertFalse(usuarioClient.usuarioExiste(2L));
+        verify(delegate, times(1)).usuarioExiste(2L);
+    }
+
+    @Test
+    void deveEnviarAoDelegateApenasIdsNaoConfirmadosMantendoAOrdem() {
+        when(replica.confirma(anyLong())).thenAnswer(invocacao -> (long) invocacao.getArgument(0) % 2 == 1);
+        when(delegate.usuariosExistentes(List.of(4L, 2L))).thenReturn(List.of(2L));
+
+        List<Long> existentes = usuarioClient.usuariosExistentes(Arrays.asList(1L, 4L, 3L, 2L, 1L, null));
+
+        assertEquals(List.of(1L, 3L, 2L), existentes);
+        verify(delegate, times(1)).usuariosExistentes(anyCollection());
+    }
+
+    @Test
+    void naoDeveChamarDelegateQuandoReplicaConfirmaTodos() {
+        when(replica.confirma(anyLong())).thenReturn(true);
+
+        assertEquals(List.of(1L, 2L), usuarioClient.usuariosExistentes(List.of(1L, 2L)));
+        verifyNoInteractions(delegate);
+    }
+}
@@ -0,0 +1,87 @@
+package com.desafio.tarefa.client;
+
+import com.desafio.tarefa.client.grpc.ExistenciaUsuario;
+import com.desafio.tarefa.client.grpc.IdsUsuarios;
+import com.desafio.tarefa.client.grpc.UsuarioId;
+import com.desafio.tarefa.client.grpc.UsuariosInternoGrpc;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UsuarioClientGrpcTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private Server servidor;
+    private UsuarioClientGrpc usuarioClient;
+
+    // Servico de usuarios falso: so o usuario 1 e o 3 existem, e o usuario 99 demora mais que o prazo do cliente
+    @BeforeEach
+    void setUp() throws Exception {
+        servidor = ServerBuilder.forPort(0).addService(new UsuariosInternoGrpc.UsuariosInternoImplBase() {
+            @Override
+            public void usuarioExiste(UsuarioId request, StreamObserver<ExistenciaUsuario> responseObserver) {
+                if (request.getId() == 99L) {
+                    try {
+                        Thread.sleep(2000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                responseObserver.onNext(ExistenciaUsuario.newBuilder()
+                        .setId(request.getId())
+                        .setExiste(request.getId() == 1L || request.getId() == 3L)
+                        .build());
+                responseObserver.onCompleted();
+            }
+
+            @Override
+            public void usuariosExistentes(IdsUsuarios request, StreamObserver<IdsUsuarios> responseObserver) {
+                responseObserver.onNext(IdsUsuarios.newBuilder()
+                        .addAllIds(request.getIdsList().stream().filter(id -> id == 1L || id == 3L).toList())
+                        .build());
+                responseObserver.onCompleted();
+            }
+        }).build().start();
+        usuarioClient = new UsuarioClientGrpc(ManagedChannelBuilder.forAddress("localhost", servidor.getPort())
+                .usePlaintext()
+                .intercept(new MetricasChamadasGrpc(registry))
+                .build(), Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        usuarioClient.close();
+        servidor.shutdownNow().awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void deveVerificarUsuariosPelaApiInterna() {
+        assertTrue(usuarioClient.usuarioExiste(1L));
+        assertFalse(usuarioClient.usuarioExiste(2L));
+        assertEquals(List.of(1L, 3L), usuarioClient.usuariosExistentes(List.of(1L, 2L, 3L)));
+
+        assertEquals(2, registry.get("grpc.client.requests").tags("method", "UsuarioExiste", "status", "OK").timer().count());
+        assertEquals(1, registry.get("grpc.client.requests").tags("method", "UsuariosExistentes").timer().count());
+    }
+
+    @Test
+    void deveEncerrarChamadaAposOPrazo() {
+        StatusRuntimeException erro = assertThrows(StatusRuntimeException.class, () -> usuarioClient.usuarioExiste(99L));
+
+        assertEquals(Status.Code.DEADLINE_EXCEEDED, erro.getStatus().getCode());
+        assertEquals(1, registry.get("grpc.client.requests").tags("status", "DEADLINE_EXCEEDED").timer().count());
+    }
+}
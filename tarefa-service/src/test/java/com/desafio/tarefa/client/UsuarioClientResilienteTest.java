@@ -0,0 +1,174 @@
+package com.desafio.tarefa.client;
+
+import com.desafio.tarefa.exception.ServicoUsuarioIndisponivelException;
+import com.netflix.concurrency.limits.limit.FixedLimit;
+import com.netflix.concurrency.limits.limiter.SimpleLimiter;
+import feign.Request;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UsuarioClientResilienteTest {
+
+    @Mock
+    private UsuarioClient delegate;
+
+    private final ExecutorService chamadores = Executors.newCachedThreadPool();
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = CircuitBreaker.of("usuario-service", CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .permittedNumberOfCallsInHalfOpenState(2)
+                .recordException(UsuarioClientResiliente::falhaDaChamada)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        chamadores.shutdownNow();
+    }
+
+    @Test
+    void deveConverterFalhaDeComunicacaoSemTratarUsuarioInexistenteComoFalha() {
+        UsuarioClientResiliente usuarioClient = criar(10, 10);
+        when(delegate.usuarioExiste(1L)).thenReturn(false);
+        when(delegate.usuarioExiste(2L)).thenThrow(tempoEsgotado());
+
+        assertFalse(usuarioClient.usuarioExiste(1L));
+        ServicoUsuarioIndisponivelException erro =
+                assertThrows(ServicoUsuarioIndisponivelException.class, () -> usuarioClient.usuarioExiste(2L));
+
+        assertInstanceOf(RetryableException.class, erro.getCause());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void deveTratarStatusDoGrpcComoFalhaDaChamada() {
+        UsuarioClientResiliente usuarioClient = criar(10, 10);
+        when(delegate.usuarioExiste(1L)).thenThrow(Status.DEADLINE_EXCEEDED.asRuntimeException());
+
+        ServicoUsuarioIndisponivelException erro =
+                assertThrows(ServicoUsuarioIndisponivelException.class, () -> usuarioClient.usuarioExiste(1L));
+
+        assertInstanceOf(StatusRuntimeException.class, erro.getCause());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void deveAbrirCircuitoAposFalhasEFecharDepoisDasChamadasDeTeste() {
+        UsuarioClientResiliente usuarioClient = criar(10, 10);
+        when(delegate.usuarioExiste(1L)).thenThrow(tempoEsgotado());
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ServicoUsuarioIndisponivelException.class, () -> usuarioClient.usuarioExiste(1L));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        // Circuito aberto: recusa sem chamar o servico
+        ServicoUsuarioIndisponivelException erro =
+                assertThrows(ServicoUsuarioIndisponivelException.class, () -> usuarioClient.usuarioExiste(1L));
+        assertInstanceOf(CallNotPermittedException.class, erro.getCause());
+        verify(delegate, times(4)).usuarioExiste(1L);
+
+        // Fim da espera: as chamadas de teste do estado meio aberto vao ao servico e, se responderem, o circuito fecha
+        circuitBreaker.transitionToHalfOpenState();
+        when(delegate.usuarioExiste(2L)).thenReturn(true);
+        assertTrue(usuarioClient.usuarioExiste(2L));
+        assertTrue(usuarioClient.usuarioExiste(2L));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void deveRecusarChamadaAlemDoBulkheadSemContarComoFalhaDoServico() throws Exception {
+        UsuarioClientResiliente usuarioClient = criar(1, 10);
+        CountDownLatch liberar = bloquearPrimeiraChamada();
+
+        Future<Boolean> emAndamento = chamadores.submit(() -> usuarioClient.usuarioExiste(1L));
+        aguardarChamadaEmAndamento();
+        ServicoUsuarioIndisponivelException erro =
+                assertThrows(ServicoUsuarioIndisponivelException.class, () -> usuarioClient.usuarioExiste(2L));
+        liberar.countDown();
+
+        assertInstanceOf(BulkheadFullException.class, erro.getCause());
+        assertTrue(emAndamento.get(5, TimeUnit.SECONDS));
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void deveRecusarChamadaAlemDoLimiteDeConcorrencia() throws Exception {
+        UsuarioClientResiliente usuarioClient = criar(10, 1);
+        CountDownLatch liberar = bloquearPrimeiraChamada();
+
+        Future<Boolean> emAndamento = chamadores.submit(() -> usuarioClient.usuarioExiste(1L));
+        aguardarChamadaEmAndamento();
+        ServicoUsuarioIndisponivelException erro =
+                assertThrows(ServicoUsuarioIndisponivelException.class, () -> usuarioClient.usuarioExiste(2L));
+        liberar.countDown();
+
+        assertTrue(erro.getMessage().contains("limite adaptativo"));
+        assertTrue(emAndamento.get(5, TimeUnit.SECONDS));
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        verify(delegate, never()).usuarioExiste(2L);
+    }
+
+    private UsuarioClientResiliente criar(int maximoChamadas, int limite) {
+        Bulkhead bulkhead = Bulkhead.of("usuario-service", BulkheadConfig.custom()
+                .maxConcurrentCalls(maximoChamadas)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        SimpleLimiter<Void> limitador = SimpleLimiter.newBuilder().limit(FixedLimit.of(limite)).build();
+        return new UsuarioClientResiliente(delegate, circuitBreaker, bulkhead, limitador);
+    }
+
+    private final CountDownLatch chamadaIniciada = new CountDownLatch(1);
+
+    // A chamada do usuario 1 fica presa no "servico" ate o latch devolvido ser liberado
+    private CountDownLatch bloquearPrimeiraChamada() {
+        CountDownLatch liberar = new CountDownLatch(1);
+        lenient().when(delegate.usuarioExiste(1L)).thenAnswer(invocacao -> {
+            chamadaIniciada.countDown();
+            return liberar.await(5, TimeUnit.SECONDS);
+        });
+        return liberar;
+    }
+
+    private void aguardarChamadaEmAndamento() throws InterruptedException {
+        assertTrue(chamadaIniciada.await(5, TimeUnit.SECONDS));
+    }
+
+    private static RetryableException tempoEsgotado() {
+        Request requisicao = Request.create(Request.HttpMethod.GET, "/api/usuarios/existe/1", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return new RetryableException(-1, "Read timed out", Request.HttpMethod.GET, (Long) null, requisicao);
+    }
+}
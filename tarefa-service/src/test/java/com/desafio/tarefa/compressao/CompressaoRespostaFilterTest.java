@@ -0,0 +1,168 @@
+package com.desafio.tarefa.compressao;
+
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.aayushatharva.brotli4j.decoder.DecoderJNI;
+import com.aayushatharva.brotli4j.decoder.DirectDecompress;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompressaoRespostaFilterTest {
+
+    private static final String GRANDE = "{\"titulo\":\"Tarefa\"}".repeat(200);
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final CompressaoRespostaFilter filtro = new CompressaoRespostaFilter(1024,
+            List.of(MediaType.APPLICATION_JSON, MediaType.parseMediaType("application/x-jackson-smile"), NDJSON),
+            List.of(NDJSON), true, 4);
+
+    @Test
+    void deveComprimirComGzipRespostaAcimaDoTamanhoMinimo() throws Exception {
+        MockHttpServletResponse resposta = executar("gzip, deflate", "application/json", null, GRANDE);
+
+        assertThat(resposta.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(resposta.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        assertThat(resposta.getHeader("Content-Length")).isNull();
+        byte[] corpo = new GZIPInputStream(new ByteArrayInputStream(resposta.getContentAsByteArray())).readAllBytes();
+        assertThat(new String(corpo, StandardCharsets.UTF_8)).isEqualTo(GRANDE);
+    }
+
+    @Test
+    void devePreferirBrotliQuandoAceito() throws Exception {
+        MockHttpServletResponse resposta = executar("gzip, br", "application/x-jackson-smile", "W/\"abc\"", GRANDE);
+
+        assertThat(resposta.getHeader("Content-Encoding")).isEqualTo("br");
+        DirectDecompress corpo = Decoder.decompress(resposta.getContentAsByteArray());
+        assertThat(corpo.getResultStatus()).isEqualTo(DecoderJNI.Status.DONE);
+        assertThat(new String(corpo.getDecompressedData(), StandardCharsets.UTF_8)).isEqualTo(GRANDE);
+    }
+
+    @Test
+    void naoDeveComprimirRespostaPequena() throws Exception {
+        MockHttpServletResponse resposta = executar("gzip", "application/json", null, "{\"id\":1}");
+
+        assertThat(resposta.getHeader("Content-Encoding")).isNull();
+        assertThat(resposta.getContentLength()).isEqualTo(8);
+        assertThat(resposta.getContentAsString()).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void naoDeveComprimirRespostaComEtagForteOuTipoForaDaLista() throws Exception {
+        MockHttpServletResponse comEtagForte = executar("gzip", "application/json", "\"3\"", GRANDE);
+        MockHttpServletResponse tipoForaDaLista = executar("gzip", "image/png", null, GRANDE);
+
+        assertThat(comEtagForte.getHeader("Content-Encoding")).isNull();
+        assertThat(comEtagForte.getHeader("ETag")).isEqualTo("\"3\"");
+        assertThat(comEtagForte.getContentAsString()).isEqualTo(GRANDE);
+        assertThat(tipoForaDaLista.getHeader("Content-Encoding")).isNull();
+    }
+
+    @Test
+    void deveEnviarPrimeiraLinhaNoFlushDeTipoContinuo() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tarefas/exportar");
+        request.addHeader("Accept-Encoding", "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> codificacaoNoFlush = new AtomicReference<>();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse saida) throws IOException {
+                saida.setContentType("application/x-ndjson");
+                saida.getOutputStream().write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+                saida.getOutputStream().flush();
+                // Abaixo do tamanho minimo, mas a primeira linha ja foi enviada comprimida
+                assertThat(response.isCommitted()).isTrue();
+                assertThat(response.getContentAsByteArray()).isNotEmpty();
+                codificacaoNoFlush.set(response.getHeader("Content-Encoding"));
+                saida.getOutputStream().write("{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        filtro.doFilter(request, response, chain);
+
+        assertThat(codificacaoNoFlush.get()).isEqualTo("gzip");
+        byte[] corpo = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray())).readAllBytes();
+        assertThat(new String(corpo, StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}\n{\"id\":2}\n");
+    }
+
+    @Test
+    void deveConcluirRespostaAssincronaNoUltimoDespacho() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tarefas");
+        request.addHeader("Accept-Encoding", "gzip");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<HttpServletResponse> respostaAssincrona = new AtomicReference<>();
+        filtro.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse saida) {
+                req.startAsync();
+                respostaAssincrona.set(saida);
+            }
+        }));
+
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getHeader("Content-Length")).isNull();
+
+        // O despacho assincrono recebe a resposta envolvida pelo filtro no primeiro despacho
+        request.setAsyncStarted(false);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        filtro.doFilter(request, respostaAssincrona.get(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse saida) throws IOException {
+                saida.setContentType("application/json");
+                saida.getOutputStream().write(GRANDE.getBytes(StandardCharsets.UTF_8));
+            }
+        }));
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        byte[] corpo = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray())).readAllBytes();
+        assertThat(new String(corpo, StandardCharsets.UTF_8)).isEqualTo(GRANDE);
+    }
+
+    @Test
+    void deveRespeitarCodificacoesRecusadas() {
+        assertThat(filtro.codificacaoAceita(null)).isNull();
+        assertThat(filtro.codificacaoAceita("identity")).isNull();
+        assertThat(filtro.codificacaoAceita("br;q=0, gzip;q=0.5")).isEqualTo("gzip");
+        assertThat(filtro.codificacaoAceita("gzip;q=0")).isNull();
+        assertThat(filtro.codificacaoAceita("*")).isEqualTo("br");
+    }
+
+    private MockHttpServletResponse executar(String acceptEncoding, String tipo, String etag, String corpo) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tarefas");
+        request.addHeader("Accept-Encoding", acceptEncoding);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse saida) throws IOException {
+                saida.setContentType(tipo);
+                if (etag != null) {
+                    saida.setHeader("ETag", etag);
+                }
+                // Escrita em partes e flush no meio, como faz o Jackson
+                byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+                int meio = bytes.length / 2;
+                saida.getOutputStream().write(bytes, 0, meio);
+                saida.getOutputStream().flush();
+                saida.getOutputStream().write(bytes, meio, bytes.length - meio);
+                saida.flushBuffer();
+            }
+        });
+        filtro.doFilter(request, response, chain);
+        return response;
+    }
+}
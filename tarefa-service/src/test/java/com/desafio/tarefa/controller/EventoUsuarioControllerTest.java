@@ -0,0 +1,52 @@
+package com.desafio.tarefa.controller;
+
+import com.desafio.tarefa.service.EventoUsuarioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class EventoUsuarioControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private EventoUsuarioService eventoUsuarioService;
+
+    @InjectMocks
+    private EventoUsuarioController eventoUsuarioController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(eventoUsuarioController)
+                .setControllerAdvice(new com.desafio.tarefa.exception.GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void deveTratarExclusaoDeUsuario() throws Exception {
+        when(eventoUsuarioService.usuarioExcluido(10L)).thenReturn(true);
+
+        mockMvc.perform(post("/api/tarefas/eventos/usuario-excluido/{usuarioId}", 10L))
+                .andExpect(status().isAccepted());
+
+        verify(eventoUsuarioService, times(1)).usuarioExcluido(10L);
+    }
+
+    @Test
+    void deveRecusarAvisoDeUsuarioQueAindaExiste() throws Exception {
+        when(eventoUsuarioService.usuarioExcluido(10L)).thenReturn(false);
+
+        mockMvc.perform(post("/api/tarefas/eventos/usuario-excluido/{usuarioId}", 10L))
+                .andExpect(status().isConflict());
+    }
+}
@@ -1,10 +1,35 @@
 package com.desafio.tarefa.controller;
 
+import com.desafio.tarefa.dto.EstatisticasTarefasDTO;
+import com.desafio.tarefa.dto.PaginaDTO;
+import com.desafio.tarefa.dto.ParametrosPaginacao;
+import com.desafio.tarefa.dto.ResultadoBuscaDTO;
+import com.desafio.tarefa.dto.AlteracaoStatusLoteDTO;
+import com.desafio.tarefa.dto.ResultadoAlteracaoStatusDTO;
+import com.desafio.tarefa.dto.ResultadoItemLoteDTO;
+import com.desafio.tarefa.dto.ResultadoLoteDTO;
 import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.dto.TarefaEncontradaDTO;
+import com.desafio.tarefa.exception.BuscaInvalidaException;
+import com.desafio.tarefa.exception.CampoInvalidoException;
+import com.desafio.tarefa.exception.CursorInvalidoException;
+import com.desafio.tarefa.exception.LoteInvalidoException;
 import com.desafio.tarefa.exception.StatusInvalidoException;
 import com.desafio.tarefa.exception.TarefaNaoEncontradaException;
+import com.desafio.tarefa.exception.ServicoUsuarioIndisponivelException;
 import com.desafio.tarefa.exception.UsuarioNaoExisteException;
+import com.desafio.tarefa.exception.VersaoDivergenteException;
+import com.desafio.tarefa.formato.VaryAcceptInterceptor;
+import com.desafio.tarefa.model.CampoTarefa;
+import com.desafio.tarefa.model.OrdenacaoTarefa;
 import com.desafio.tarefa.model.StatusTarefa;
+import com.desafio.tarefa.model.Tarefa;
+import com.desafio.tarefa.model.FormatoExportacao;
+import com.desafio.tarefa.service.BuscaTarefaService;
+import com.desafio.tarefa.service.ContadorTarefaService;
+import com.desafio.tarefa.service.ExportacaoTarefaService;
+import com.desafio.tarefa.service.LoteTarefaService;
+import com.desafio.tarefa.service.ReconstrucaoIndiceTarefas;
 import com.desafio.tarefa.service.TarefaService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -14,18 +39,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -39,6 +74,21 @@ public class TarefaControllerTest {
     @Mock
     private TarefaService tarefaService;
 
+    @Mock
+    private ExportacaoTarefaService exportacaoTarefaService;
+
+    @Mock
+    private LoteTarefaService loteTarefaService;
+
+    @Mock
+    private ContadorTarefaService contadorTarefaService;
+
+    @Mock
+    private BuscaTarefaService buscaTarefaService;
+
+    @Mock
+    private ReconstrucaoIndiceTarefas reconstrucaoIndiceTarefas;
+
     @InjectMocks
     private TarefaController tarefaController;
 
@@ -52,6 +102,7 @@ public class TarefaControllerTest {
         // Configurar MockMvc e o manipulador global de exceções
         mockMvc = MockMvcBuilders.standaloneSetup(tarefaController)
                 .setControllerAdvice(new com.desafio.tarefa.exception.GlobalExceptionHandler())
+                .addInterceptors(new VaryAcceptInterceptor())
                 .build();
 
         // Configurar ObjectMapper para lidar com LocalDateTime
@@ -67,22 +118,97 @@ public class TarefaControllerTest {
         tarefaDTO.setDataCriacao(LocalDateTime.now());
         tarefaDTO.setDataLimite(LocalDate.now().plusDays(7));
         tarefaDTO.setUsuarioId(USUARIO_ID);
+        tarefaDTO.setVersao(3L);
     }
 
     @Test
     void deveListarTodasTarefas() throws Exception {
         
-        List<TarefaDTO> tarefas = Arrays.asList(tarefaDTO);
-        when(tarefaService.listarTodas()).thenReturn(tarefas);
+        when(tarefaService.listarTodas(any(ParametrosPaginacao.class), any())).thenReturn(pagina());
+
+        mockMvc.perform(get("/api/tarefas")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo", hasSize(1)))
+                .andExpect(jsonPath("$.conteudo[0].id", is(TAREFA_ID.intValue())))
+                .andExpect(jsonPath("$.conteudo[0].titulo", is("Tarefa de Teste")))
+                .andExpect(jsonPath("$.temProxima", is(true)))
+                .andExpect(jsonPath("$.proximoCursor", is("abc")));
+
+        verify(tarefaService, times(1)).listarTodas(any(ParametrosPaginacao.class), any());
+    }
+
+    @Test
+    void deveRepassarParametrosDePaginacao() throws Exception {
+        
+        when(tarefaService.listarTodas(any(ParametrosPaginacao.class), any())).thenReturn(pagina());
+
+        mockMvc.perform(get("/api/tarefas")
+                .param("cursor", "abc")
+                .param("tamanho", "50")
+                .param("ordenacao", "DATA_LIMITE")
+                .param("direcao", "DESC")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(tarefaService, times(1)).listarTodas(
+                new ParametrosPaginacao("abc", 50, OrdenacaoTarefa.DATA_LIMITE, Sort.Direction.DESC), CampoTarefa.RESUMO);
+    }
+
+    @Test
+    void deveListarApenasOsCamposPedidos() throws Exception {
+        TarefaDTO resumida = new TarefaDTO();
+        resumida.setId(TAREFA_ID);
+        resumida.setTitulo("Tarefa de Teste");
+        when(tarefaService.listarTodas(any(ParametrosPaginacao.class), any()))
+                .thenReturn(new PaginaDTO<>(List.of(resumida), 1, false, null));
 
         mockMvc.perform(get("/api/tarefas")
+                .param("fields", "titulo, descricao")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].id", is(TAREFA_ID.intValue())))
-                .andExpect(jsonPath("$[0].titulo", is("Tarefa de Teste")));
+                .andExpect(jsonPath("$.conteudo[0].titulo", is("Tarefa de Teste")))
+                .andExpect(jsonPath("$.conteudo[0].status").doesNotExist())
+                .andExpect(jsonPath("$.conteudo[0].usuarioId").doesNotExist());
+
+        verify(tarefaService, times(1)).listarTodas(any(ParametrosPaginacao.class),
+                eq(EnumSet.of(CampoTarefa.ID, CampoTarefa.TITULO, CampoTarefa.DESCRICAO)));
+    }
+
+    @Test
+    void deveRetornarBadRequestQuandoCampoInvalido() throws Exception {
+        mockMvc.perform(get("/api/tarefas/filtrar")
+                .param("fields", "titulo,senha")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem", startsWith("Campo inválido: senha")));
+
+        verifyNoInteractions(tarefaService);
+    }
+
+    @Test
+    void deveRejeitarTamanhoDePaginaAcimaDoLimite() throws Exception {
+
+        mockMvc.perform(get("/api/tarefas")
+                .param("tamanho", String.valueOf(ParametrosPaginacao.TAMANHO_MAXIMO + 1))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.tamanho").exists());
+
+        verify(tarefaService, never()).listarTodas(any(ParametrosPaginacao.class), any());
+    }
+
+    @Test
+    void deveTratarCursorInvalido() throws Exception {
+
+        when(tarefaService.listarTodas(any(ParametrosPaginacao.class), any()))
+                .thenThrow(new CursorInvalidoException("Cursor inválido: xyz"));
 
-        verify(tarefaService, times(1)).listarTodas();
+        mockMvc.perform(get("/api/tarefas")
+                .param("cursor", "xyz")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem", is("Cursor inválido: xyz")));
     }
 
     @Test
@@ -102,51 +228,76 @@ public class TarefaControllerTest {
     @Test
     void deveFiltrarTarefasPorUsuario() throws Exception {
         
-        List<TarefaDTO> tarefas = Arrays.asList(tarefaDTO);
-        when(tarefaService.filtrarPorUsuario(USUARIO_ID)).thenReturn(tarefas);
+        when(tarefaService.filtrarPorUsuario(eq(USUARIO_ID), any(ParametrosPaginacao.class), any())).thenReturn(pagina());
 
         mockMvc.perform(get("/api/tarefas/filtrar")
                 .param("usuarioId", USUARIO_ID.toString())
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].usuarioId", is(USUARIO_ID.intValue())));
+                .andExpect(jsonPath("$.conteudo", hasSize(1)))
+                .andExpect(jsonPath("$.conteudo[0].usuarioId", is(USUARIO_ID.intValue())));
 
-        verify(tarefaService, times(1)).filtrarPorUsuario(USUARIO_ID);
+        verify(tarefaService, times(1)).filtrarPorUsuario(eq(USUARIO_ID), any(ParametrosPaginacao.class), any());
     }
 
     @Test
     void deveFiltrarTarefasPorStatus() throws Exception {
         
-        List<TarefaDTO> tarefas = Arrays.asList(tarefaDTO);
-        when(tarefaService.filtrarPorStatus(StatusTarefa.PENDENTE)).thenReturn(tarefas);
+        when(tarefaService.filtrarPorStatus(eq(StatusTarefa.PENDENTE), any(ParametrosPaginacao.class), any())).thenReturn(pagina());
 
         mockMvc.perform(get("/api/tarefas/filtrar")
                 .param("status", "PENDENTE")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].status", is("PENDENTE")));
+                .andExpect(jsonPath("$.conteudo", hasSize(1)))
+                .andExpect(jsonPath("$.conteudo[0].status", is("PENDENTE")));
 
-        verify(tarefaService, times(1)).filtrarPorStatus(StatusTarefa.PENDENTE);
+        verify(tarefaService, times(1)).filtrarPorStatus(eq(StatusTarefa.PENDENTE), any(ParametrosPaginacao.class), any());
     }
 
     @Test
     void deveFiltrarTarefasPorUsuarioEStatus() throws Exception {
         
-        List<TarefaDTO> tarefas = Arrays.asList(tarefaDTO);
-        when(tarefaService.filtrarPorUsuarioEStatus(USUARIO_ID, StatusTarefa.PENDENTE)).thenReturn(tarefas);
+        when(tarefaService.filtrarPorUsuarioEStatus(eq(USUARIO_ID), eq(StatusTarefa.PENDENTE), any(ParametrosPaginacao.class), any()))
+                .thenReturn(pagina());
 
         mockMvc.perform(get("/api/tarefas/filtrar")
                 .param("usuarioId", USUARIO_ID.toString())
                 .param("status", "PENDENTE")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].usuarioId", is(USUARIO_ID.intValue())))
-                .andExpect(jsonPath("$[0].status", is("PENDENTE")));
+                .andExpect(jsonPath("$.conteudo", hasSize(1)))
+                .andExpect(jsonPath("$.conteudo[0].usuarioId", is(USUARIO_ID.intValue())))
+                .andExpect(jsonPath("$.conteudo[0].status", is("PENDENTE")));
+
+        verify(tarefaService, times(1))
+                .filtrarPorUsuarioEStatus(eq(USUARIO_ID), eq(StatusTarefa.PENDENTE), any(ParametrosPaginacao.class), any());
+    }
+
+    @Test
+    void deveExportarTarefasEmCsv() throws Exception {
+
+        mockMvc.perform(get("/api/tarefas/exportar")
+                .param("usuarioId", USUARIO_ID.toString())
+                .param("status", "PENDENTE")
+                .param("formato", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tarefas.csv\""));
 
-        verify(tarefaService, times(1)).filtrarPorUsuarioEStatus(USUARIO_ID, StatusTarefa.PENDENTE);
+        verify(exportacaoTarefaService, times(1))
+                .exportar(eq(USUARIO_ID), eq(StatusTarefa.PENDENTE), eq(FormatoExportacao.CSV), any());
+    }
+
+    @Test
+    void deveRejeitarFormatoDeExportacaoInvalido() throws Exception {
+
+        mockMvc.perform(get("/api/tarefas/exportar")
+                .param("formato", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem", is("Formato de exportação inválido: xml")));
+
+        verify(exportacaoTarefaService, never()).exportar(any(), any(), any(), any());
     }
 
     @Test
@@ -164,6 +315,25 @@ public class TarefaControllerTest {
         verify(tarefaService, times(1)).criar(any(TarefaDTO.class));
     }
 
+    @Test
+    void deveDiferenciarUsuarioInexistenteDeServicoDeUsuariosIndisponivel() throws Exception {
+        when(tarefaService.criar(any(TarefaDTO.class)))
+                .thenThrow(new UsuarioNaoExisteException("Usuário não encontrado com o ID: " + USUARIO_ID))
+                .thenThrow(new ServicoUsuarioIndisponivelException("Serviço de usuários indisponível: circuito aberto após falhas recentes"));
+
+        mockMvc.perform(post("/api/tarefas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(tarefaDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)));
+        mockMvc.perform(post("/api/tarefas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(tarefaDTO)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status", is(503)))
+                .andExpect(jsonPath("$.mensagem", is("Serviço de usuários indisponível: circuito aberto após falhas recentes")));
+    }
+
     @Test
     void deveTratarErroDeValidacaoAoCriarTarefa() throws Exception {
         // objeto sem título
@@ -182,28 +352,162 @@ public class TarefaControllerTest {
     void deveAtualizarTarefa() throws Exception {
         
         tarefaDTO.setTitulo("Tarefa Atualizada");
-        when(tarefaService.atualizar(eq(TAREFA_ID), any(TarefaDTO.class))).thenReturn(tarefaDTO);
+        when(tarefaService.atualizar(eq(TAREFA_ID), any(TarefaDTO.class), isNull())).thenReturn(tarefaDTO);
 
         mockMvc.perform(put("/api/tarefas/{id}", TAREFA_ID)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(tarefaDTO)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
                 .andExpect(jsonPath("$.id", is(TAREFA_ID.intValue())))
-                .andExpect(jsonPath("$.titulo", is("Tarefa Atualizada")));
+                .andExpect(jsonPath("$.titulo", is("Tarefa Atualizada")))
+                .andExpect(jsonPath("$.versao").doesNotExist());
+
+        verify(tarefaService, times(1)).atualizar(eq(TAREFA_ID), any(TarefaDTO.class), isNull());
+    }
+
+    @Test
+    void deveAtualizarTarefaParcialmenteComMergePatch() throws Exception {
+        tarefaDTO.setStatus(StatusTarefa.EM_ANDAMENTO);
+        when(tarefaService.atualizarParcialmente(eq(TAREFA_ID), any(), eq(3L))).thenReturn(tarefaDTO);
+
+        mockMvc.perform(patch("/api/tarefas/{id}", TAREFA_ID)
+                .header("If-Match", "\"3\"")
+                .contentType("application/merge-patch+json")
+                .content("{\"status\": \"EM_ANDAMENTO\", \"descricao\": null}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.status", is("EM_ANDAMENTO")));
+
+        Map<String, Object> esperado = new HashMap<>();
+        esperado.put("status", "EM_ANDAMENTO");
+        esperado.put("descricao", null);
+        verify(tarefaService).atualizarParcialmente(TAREFA_ID, esperado, 3L);
+    }
+
+    @Test
+    void deveRejeitarCampoInvalidoNaAtualizacaoParcial() throws Exception {
+        when(tarefaService.atualizarParcialmente(eq(TAREFA_ID), any(), isNull()))
+                .thenThrow(new CampoInvalidoException("O campo id não pode ser alterado"));
+
+        mockMvc.perform(patch("/api/tarefas/{id}", TAREFA_ID)
+                .contentType("application/merge-patch+json")
+                .content("{\"id\": 2}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem", is("O campo id não pode ser alterado")));
+    }
+
+    @Test
+    void deveAlterarStatusDaTarefa() throws Exception {
+        tarefaDTO.setStatus(StatusTarefa.CONCLUIDO);
+        tarefaDTO.setVersao(4L);
+        when(tarefaService.alterarStatus(TAREFA_ID, StatusTarefa.CONCLUIDO, 3L)).thenReturn(tarefaDTO);
+
+        mockMvc.perform(put("/api/tarefas/{id}/status", TAREFA_ID)
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"CONCLUIDO\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.status", is("CONCLUIDO")));
+    }
 
-        verify(tarefaService, times(1)).atualizar(eq(TAREFA_ID), any(TarefaDTO.class));
+    @Test
+    void deveExigirStatusNaAlteracaoDeStatus() throws Exception {
+        mockMvc.perform(put("/api/tarefas/{id}/status", TAREFA_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(tarefaService);
+    }
+
+    @Test
+    void deveRepassarVersaoDoIfMatchNaAtualizacao() throws Exception {
+        when(tarefaService.atualizar(eq(TAREFA_ID), any(TarefaDTO.class), eq(3L))).thenReturn(tarefaDTO);
+
+        mockMvc.perform(put("/api/tarefas/{id}", TAREFA_ID)
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(tarefaDTO)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deveRetornarPreconditionFailedParaVersaoDivergente() throws Exception {
+        // ETag fraca nunca corresponde em If-Match
+        when(tarefaService.atualizar(eq(TAREFA_ID), any(TarefaDTO.class), eq(-1L)))
+                .thenThrow(new VersaoDivergenteException("A tarefa 1 está na versão 3, diferente da informada em If-Match"));
+
+        mockMvc.perform(put("/api/tarefas/{id}", TAREFA_ID)
+                .header("If-Match", "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(tarefaDTO)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.mensagem", is("A tarefa 1 está na versão 3, diferente da informada em If-Match")));
+    }
+
+    @Test
+    void deveRetornarConflitoParaAlteracaoConcorrenteSemIfMatch() throws Exception {
+        when(tarefaService.atualizar(eq(TAREFA_ID), any(TarefaDTO.class), isNull()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Tarefa.class, TAREFA_ID));
+
+        mockMvc.perform(put("/api/tarefas/{id}", TAREFA_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(tarefaDTO)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void deveRetornarEtagForteENaoModificadoNaBuscaPorId() throws Exception {
+        when(tarefaService.buscarPorId(TAREFA_ID)).thenReturn(tarefaDTO);
+
+        mockMvc.perform(get("/api/tarefas/{id}", TAREFA_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        // O ETag eh o mesmo em todos os formatos: o Vary separa as respostas de cada Accept nos caches
+        mockMvc.perform(get("/api/tarefas/{id}", TAREFA_ID).header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/tarefas/{id}", TAREFA_ID).header("If-None-Match", "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(TAREFA_ID.intValue())));
+    }
+
+    @Test
+    void deveRetornarEtagFracaDaPaginaQueMudaComAVersao() throws Exception {
+        when(tarefaService.listarTodas(any(ParametrosPaginacao.class), any())).thenReturn(pagina());
+
+        String etag = mockMvc.perform(get("/api/tarefas"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tarefas").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        tarefaDTO.setVersao(4L);
+        mockMvc.perform(get("/api/tarefas").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
     }
 
     @Test
     void deveExcluirTarefa() throws Exception {
         
-        doNothing().when(tarefaService).excluir(TAREFA_ID);
+        doNothing().when(tarefaService).excluir(TAREFA_ID, 3L);
 
         mockMvc.perform(delete("/api/tarefas/{id}", TAREFA_ID)
+                .header("If-Match", "\"3\"")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNoContent());
 
-        verify(tarefaService, times(1)).excluir(TAREFA_ID);
+        verify(tarefaService, times(1)).excluir(TAREFA_ID, 3L);
     }
 
     @Test
@@ -218,4 +522,130 @@ public class TarefaControllerTest {
 
         verify(tarefaService, times(1)).temTarefasDoUsuario(USUARIO_ID);
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveRetornarEstatisticasDoUsuario() throws Exception {
+        Map<StatusTarefa, Long> porStatus = new EnumMap<>(Map.of(
+                StatusTarefa.PENDENTE, 2L, StatusTarefa.EM_ANDAMENTO, 1L, StatusTarefa.CONCLUIDO, 0L));
+        when(contadorTarefaService.estatisticas(USUARIO_ID))
+                .thenReturn(new EstatisticasTarefasDTO(USUARIO_ID, 3, porStatus));
+
+        mockMvc.perform(get("/api/tarefas/estatisticas").param("usuarioId", USUARIO_ID.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usuarioId", is(USUARIO_ID.intValue())))
+                .andExpect(jsonPath("$.total", is(3)))
+                .andExpect(jsonPath("$.porStatus.PENDENTE", is(2)))
+                .andExpect(jsonPath("$.porStatus.CONCLUIDO", is(0)));
+    }
+
+    @Test
+    void deveRetornarEstatisticasGeraisSemUsuario() throws Exception {
+        when(contadorTarefaService.estatisticas(null))
+                .thenReturn(new EstatisticasTarefasDTO(null, 0, new EnumMap<>(StatusTarefa.class)));
+
+        mockMvc.perform(get("/api/tarefas/estatisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(0)));
+
+        verify(contadorTarefaService).estatisticas(null);
+    }
+
+    @Test
+    void deveBuscarTarefasPorTexto() throws Exception {
+        TarefaEncontradaDTO encontrada = new TarefaEncontradaDTO(TAREFA_ID, "Relatório mensal", StatusTarefa.PENDENTE,
+                LocalDate.of(2030, 1, 31), USUARIO_ID, 1.5f);
+        when(buscaTarefaService.buscar("relatorio", USUARIO_ID, StatusTarefa.PENDENTE, 1, 10))
+                .thenReturn(new ResultadoBuscaDTO(List.of(encontrada), 1, 1, 11, false, false));
+
+        mockMvc.perform(get("/api/tarefas/busca")
+                        .param("q", "relatorio")
+                        .param("usuarioId", USUARIO_ID.toString())
+                        .param("status", "PENDENTE")
+                        .param("pagina", "1")
+                        .param("tamanho", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo", hasSize(1)))
+                .andExpect(jsonPath("$.conteudo[0].titulo", is("Relatório mensal")))
+                .andExpect(jsonPath("$.total", is(11)))
+                .andExpect(jsonPath("$.temProxima", is(false)));
+    }
+
+    @Test
+    void deveRetornarBadRequestParaBuscaInvalida() throws Exception {
+        when(buscaTarefaService.buscar(" ", null, null, 0, 20))
+                .thenThrow(new BuscaInvalidaException("Informe o texto a buscar no parâmetro q"));
+
+        mockMvc.perform(get("/api/tarefas/busca").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem", is("Informe o texto a buscar no parâmetro q")));
+    }
+
+    @Test
+    void deveIniciarReconstrucaoDoIndiceApenasUmaVezPorVez() throws Exception {
+        when(reconstrucaoIndiceTarefas.solicitar()).thenReturn(true, false);
+
+        mockMvc.perform(post("/api/tarefas/busca/reconstrucao")).andExpect(status().isAccepted());
+        mockMvc.perform(post("/api/tarefas/busca/reconstrucao")).andExpect(status().isConflict());
+    }
+
+    private PaginaDTO<TarefaDTO> pagina() {
+        return new PaginaDTO<>(Arrays.asList(tarefaDTO), 1, true, "abc");
+    }
+
+    @Test
+    void deveCriarTarefasEmLote() throws Exception {
+        ResultadoLoteDTO resultado = new ResultadoLoteDTO(2, 1, 1, Arrays.asList(
+                ResultadoItemLoteDTO.sucesso(0, TAREFA_ID),
+                ResultadoItemLoteDTO.falha(1, null, "Usuário não encontrado com o ID: 99")));
+        when(loteTarefaService.criarEmLote(anyList())).thenReturn(resultado);
+
+        mockMvc.perform(post("/api/tarefas/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Arrays.asList(tarefaDTO, tarefaDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sucessos", is(1)))
+                .andExpect(jsonPath("$.falhas", is(1)))
+                .andExpect(jsonPath("$.itens[0].id", is(TAREFA_ID.intValue())))
+                .andExpect(jsonPath("$.itens[1].erro", is("Usuário não encontrado com o ID: 99")));
+
+        verify(loteTarefaService, times(1)).criarEmLote(argThat(tarefas -> tarefas.size() == 2));
+    }
+
+    @Test
+    void deveAtualizarTarefasEmLote() throws Exception {
+        ResultadoLoteDTO resultado = new ResultadoLoteDTO(1, 1, 0, List.of(ResultadoItemLoteDTO.sucesso(0, TAREFA_ID)));
+        when(loteTarefaService.atualizarEmLote(anyList())).thenReturn(resultado);
+
+        mockMvc.perform(put("/api/tarefas/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(tarefaDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].sucesso", is(true)));
+    }
+
+    @Test
+    void deveAlterarStatusEmLote() throws Exception {
+        AlteracaoStatusLoteDTO alteracao = new AlteracaoStatusLoteDTO(StatusTarefa.CONCLUIDO, List.of(1L, 2L), null, null);
+        when(loteTarefaService.alterarStatusEmLote(alteracao)).thenReturn(new ResultadoAlteracaoStatusDTO(1, List.of(2L), false));
+
+        mockMvc.perform(put("/api/tarefas/lote/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(alteracao)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.alteradas", is(1)))
+                .andExpect(jsonPath("$.rejeitadas[0]", is(2)))
+                .andExpect(jsonPath("$.temMais", is(false)));
+    }
+
+    @Test
+    void deveRetornarBadRequestQuandoLoteInvalido() throws Exception {
+        when(loteTarefaService.criarEmLote(anyList()))
+                .thenThrow(new LoteInvalidoException("O lote deve conter ao menos uma tarefa"));
+
+        mockMvc.perform(post("/api/tarefas/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem", is("O lote deve conter ao menos uma tarefa")));
+    }
+}
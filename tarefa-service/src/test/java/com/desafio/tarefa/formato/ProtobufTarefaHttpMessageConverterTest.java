@@ -0,0 +1,94 @@
+package com.desafio.tarefa.formato;
+
+import com.desafio.tarefa.dto.PaginaDTO;
+import com.desafio.tarefa.dto.ResultadoLoteDTO;
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.formato.proto.PaginaTarefas;
+import com.desafio.tarefa.formato.proto.Status;
+import com.desafio.tarefa.formato.proto.Tarefa;
+import com.desafio.tarefa.model.StatusTarefa;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProtobufTarefaHttpMessageConverterTest {
+
+    private final ProtobufTarefaHttpMessageConverter converter = new ProtobufTarefaHttpMessageConverter();
+
+    @Test
+    void deveEscreverPaginaDeTarefas() throws Exception {
+        TarefaDTO completa = new TarefaDTO(1L, "Revisar contrato", "Cláusulas de multa", StatusTarefa.EM_ANDAMENTO,
+                LocalDateTime.of(2024, 3, 1, 9, 30), LocalDate.of(2024, 3, 15), 10L, 2L);
+        // Listagem com "fields": campos fora da selecao chegam nulos
+        TarefaDTO resumida = new TarefaDTO();
+        resumida.setId(2L);
+        resumida.setTitulo("Pagar fornecedor");
+        PaginaDTO<TarefaDTO> pagina = new PaginaDTO<>(List.of(completa, resumida), 2, true, "cursor-2");
+        MockHttpOutputMessage saida = new MockHttpOutputMessage();
+
+        converter.write(pagina, new ParameterizedTypeReference<PaginaDTO<TarefaDTO>>() {
+        }.getType(), ProtobufTarefaHttpMessageConverter.PROTOBUF, saida);
+
+        assertThat(saida.getHeaders().getContentType()).isEqualTo(ProtobufTarefaHttpMessageConverter.PROTOBUF);
+        PaginaTarefas mensagem = PaginaTarefas.parseFrom(saida.getBodyAsBytes());
+        assertThat(mensagem.getTamanho()).isEqualTo(2);
+        assertThat(mensagem.getTemProxima()).isTrue();
+        assertThat(mensagem.getProximoCursor()).isEqualTo("cursor-2");
+        Tarefa primeira = mensagem.getConteudo(0);
+        assertThat(primeira.getTitulo()).isEqualTo("Revisar contrato");
+        assertThat(primeira.getDescricao()).isEqualTo("Cláusulas de multa");
+        assertThat(primeira.getStatus()).isEqualTo(Status.EM_ANDAMENTO);
+        assertThat(primeira.getDataCriacao()).isEqualTo(1709285400000L);
+        assertThat(LocalDate.ofEpochDay(primeira.getDataLimite())).isEqualTo(LocalDate.of(2024, 3, 15));
+        assertThat(primeira.getUsuarioId()).isEqualTo(10L);
+        Tarefa segunda = mensagem.getConteudo(1);
+        assertThat(segunda.getId()).isEqualTo(2L);
+        assertThat(segunda.hasDescricao()).isFalse();
+        assertThat(segunda.hasUsuarioId()).isFalse();
+        assertThat(segunda.getStatus()).isEqualTo(Status.STATUS_NAO_INFORMADO);
+    }
+
+    @Test
+    void deveEscreverApenasTarefasEPaginasDeTarefas() {
+        MediaType protobuf = ProtobufTarefaHttpMessageConverter.PROTOBUF;
+
+        assertThat(converter.canWrite(TarefaDTO.class, TarefaDTO.class, protobuf)).isTrue();
+        assertThat(converter.canWrite(new ParameterizedTypeReference<PaginaDTO<TarefaDTO>>() {
+        }.getType(), PaginaDTO.class, protobuf)).isTrue();
+        assertThat(converter.canWrite(new ParameterizedTypeReference<PaginaDTO<String>>() {
+        }.getType(), PaginaDTO.class, protobuf)).isFalse();
+        assertThat(converter.canWrite(ResultadoLoteDTO.class, ResultadoLoteDTO.class, protobuf)).isFalse();
+        assertThat(converter.canWrite(TarefaDTO.class, TarefaDTO.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(TarefaDTO.class, TarefaDTO.class, protobuf)).isFalse();
+    }
+
+    @Test
+    void deveAceitarJsonComMenorPreferenciaQuandoPedeProtobuf() throws Exception {
+        NegociacaoProtobuf negociacao = new NegociacaoProtobuf();
+
+        List<MediaType> apenasProtobuf = negociacao.resolveMediaTypes(requisicao("application/x-protobuf"));
+        List<MediaType> comJson = negociacao.resolveMediaTypes(requisicao("application/x-protobuf, application/json;q=0.5"));
+        List<MediaType> semProtobuf = negociacao.resolveMediaTypes(requisicao("application/x-jackson-smile"));
+
+        assertThat(apenasProtobuf).hasSize(2);
+        assertThat(apenasProtobuf.get(1).equalsTypeAndSubtype(MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(apenasProtobuf.get(1).getQualityValue()).isLessThan(1);
+        assertThat(comJson).hasSize(2);
+        assertThat(semProtobuf).containsExactly(MediaType.parseMediaType("application/x-jackson-smile"));
+    }
+
+    private static ServletWebRequest requisicao(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tarefas");
+        request.addHeader("Accept", accept);
+        return new ServletWebRequest(request);
+    }
+}
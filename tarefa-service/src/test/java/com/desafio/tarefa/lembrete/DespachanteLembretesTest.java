@@ -0,0 +1,103 @@
+package com.desafio.tarefa.lembrete;
+
+import com.desafio.tarefa.dto.LembreteTarefaDTO;
+import com.desafio.tarefa.model.StatusTarefa;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DespachanteLembretesTest {
+
+    private final List<List<LembreteTarefaDTO>> lotes = new ArrayList<>();
+
+    @Test
+    void deveEnviarEmLotesDoTamanhoConfigurado() {
+        DespachanteLembretes despachante = new DespachanteLembretes(lote -> lotes.add(List.copyOf(lote)), 4, 0);
+
+        despachante.enviar(lembretes(10));
+
+        assertThat(lotes).extracting(List::size).containsExactly(4, 4, 2);
+        assertThat(despachante.enviados()).isEqualTo(10);
+    }
+
+    @Test
+    void deveRespeitarTaxaMaxima() {
+        // 20 lembretes a 100 por segundo: os lotes saem em 0, 50, 100 e 150 ms
+        DespachanteLembretes despachante = new DespachanteLembretes(lote -> lotes.add(List.copyOf(lote)), 5, 100);
+
+        long inicio = System.nanoTime();
+        despachante.enviar(lembretes(20));
+        long decorridoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertThat(lotes).hasSize(4);
+        assertThat(decorridoMs).isGreaterThanOrEqualTo(140);
+    }
+
+    @Test
+    void deveDividirATaxaEntreChamadasSimultaneas() throws Exception {
+        // Duas chamadas de 10 lembretes a 100 por segundo: os 4 lotes saem em 0, 50, 100 e 150 ms, qualquer que
+        // seja a ordem entre as chamadas
+        List<List<LembreteTarefaDTO>> entregues = new CopyOnWriteArrayList<>();
+        DespachanteLembretes despachante = new DespachanteLembretes(lote -> entregues.add(List.copyOf(lote)), 5, 100);
+
+        long inicio = System.nanoTime();
+        CompletableFuture<Void> primeira = CompletableFuture.runAsync(() -> despachante.enviar(lembretes(10)));
+        CompletableFuture<Void> segunda = CompletableFuture.runAsync(() -> despachante.enviar(lembretes(10)));
+        CompletableFuture.allOf(primeira, segunda).get(5, TimeUnit.SECONDS);
+        long decorridoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertThat(entregues).hasSize(4);
+        assertThat(despachante.enviados()).isEqualTo(20);
+        assertThat(decorridoMs).isGreaterThanOrEqualTo(140);
+    }
+
+    @Test
+    void deveInterromperNoPrimeiroLoteQueFalha() {
+        DespachanteLembretes despachante = new DespachanteLembretes(lote -> {
+            if (!lotes.isEmpty()) {
+                throw new IllegalStateException("Destino fora do ar");
+            }
+            lotes.add(List.copyOf(lote));
+        }, 2, 0);
+
+        assertThrows(IllegalStateException.class, () -> despachante.enviar(lembretes(6)));
+        assertThat(despachante.enviados()).isEqualTo(2);
+    }
+
+    @Test
+    void deveAcrescentarLembretesAoArquivoEmNdjson(@TempDir Path diretorio) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Path arquivo = diretorio.resolve("lembretes.ndjson");
+        DestinoLembretesArquivo destino = new DestinoLembretesArquivo(arquivo, objectMapper);
+
+        destino.enviar(lembretes(2));
+        destino.enviar(lembretes(1));
+
+        List<String> linhas = Files.readAllLines(arquivo);
+        assertThat(linhas).hasSize(3);
+        assertThat(objectMapper.readValue(linhas.get(0), LembreteTarefaDTO.class)).isEqualTo(lembretes(1).get(0));
+        assertThat(linhas.get(0)).contains("\"dataLimite\":\"2024-03-09\"");
+    }
+
+    private List<LembreteTarefaDTO> lembretes(int quantidade) {
+        return LongStream.rangeClosed(1, quantidade)
+                .mapToObj(id -> new LembreteTarefaDTO(id, "Tarefa " + id, 10L, LocalDate.of(2024, 3, 9), StatusTarefa.PENDENTE))
+                .toList();
+    }
+}
@@ -0,0 +1,29 @@
+package com.desafio.tarefa.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Guarda as consultas geradas pelo Hibernate para que os testes possam analisar o plano de execucao
+public class ColetorSql implements StatementInspector {
+
+    private static final List<String> CONSULTAS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        if (sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+            CONSULTAS.add(sql);
+        }
+        return sql;
+    }
+
+    public static List<String> consultas() {
+        return new ArrayList<>(CONSULTAS);
+    }
+
+    public static void limpar() {
+        CONSULTAS.clear();
+    }
+}
@@ -0,0 +1,129 @@
+package com.desafio.tarefa.repository;
+
+import com.desafio.tarefa.model.CampoTarefa;
+import com.desafio.tarefa.model.OrdenacaoTarefa;
+import com.desafio.tarefa.model.StatusTarefa;
+import com.desafio.tarefa.model.Tarefa;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Executa EXPLAIN no H2 para cada consulta filtrada do repositório e falha se alguma delas
+ * recorrer a uma varredura completa da tabela, garantindo que as migrações criem os índices
+ * usados pelas consultas. As listagens sem filtro não entram aqui, pois leem a tabela toda por natureza.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.desafio.tarefa.repository.ColetorSql")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class PlanoConsultaTarefaTest {
+
+    // "tableScan" ou um indice percorrido inteiro, sem condicao de busca (ex.: /* PUBLIC.PRIMARY_KEY_5 */)
+    private static final Pattern VARREDURA_COMPLETA = Pattern.compile("tableScan|/\\*\\s*PUBLIC\\.[\\w.]+\\s*\\*/");
+
+    @Autowired
+    private TarefaRepository tarefaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        ColetorSql.limpar();
+    }
+
+    @Test
+    public void testFindByUsuarioIdUsaIndice() {
+        tarefaRepository.findByUsuarioId(1L);
+        assertSemVarreduraCompleta();
+    }
+
+    @Test
+    public void testFindByStatusUsaIndice() {
+        tarefaRepository.findByStatus(StatusTarefa.PENDENTE);
+        assertSemVarreduraCompleta();
+    }
+
+    @Test
+    public void testFindByUsuarioIdAndStatusUsaIndice() {
+        tarefaRepository.findByUsuarioIdAndStatus(1L, StatusTarefa.PENDENTE);
+        assertSemVarreduraCompleta();
+    }
+
+    @Test
+    public void testCountByUsuarioIdUsaIndice() {
+        tarefaRepository.countByUsuarioId(1L);
+        assertSemVarreduraCompleta();
+    }
+
+    @Test
+    public void testExistsByUsuarioIdUsaIndice() {
+        tarefaRepository.existsByUsuarioId(1L);
+        assertSemVarreduraCompleta();
+    }
+
+    @Test
+    public void testBuscarPaginaComFiltrosUsaIndice() {
+        CursorTarefa cursorLimite = new CursorTarefa(OrdenacaoTarefa.DATA_LIMITE, Sort.Direction.ASC, LocalDate.now(), 10L);
+
+        tarefaRepository.buscarPagina(1L, null, CampoTarefa.RESUMO, OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC, null, 21);
+        tarefaRepository.buscarPagina(null, StatusTarefa.PENDENTE, CampoTarefa.RESUMO, OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.DESC, null, 21);
+        tarefaRepository.buscarPagina(null, StatusTarefa.PENDENTE, CampoTarefa.RESUMO, OrdenacaoTarefa.DATA_LIMITE, Sort.Direction.ASC, cursorLimite, 21);
+        // Cursor no trecho dos nulos em DESC: um trecho para os nulos restantes e outro para as datas preenchidas
+        CursorTarefa cursorNulo = new CursorTarefa(OrdenacaoTarefa.DATA_LIMITE, Sort.Direction.DESC, null, 10L);
+        tarefaRepository.buscarPagina(1L, null, CampoTarefa.RESUMO, OrdenacaoTarefa.DATA_LIMITE, Sort.Direction.DESC, cursorNulo, 21);
+        tarefaRepository.buscarPagina(1L, StatusTarefa.PENDENTE, CampoTarefa.RESUMO, OrdenacaoTarefa.DATA_LIMITE, Sort.Direction.ASC, null, 21);
+        assertSemVarreduraCompleta();
+    }
+
+    @Test
+    public void testStreamPorFiltroUsaIndice() {
+        try (Stream<Tarefa> tarefas = tarefaRepository.streamPorFiltro(1L, StatusTarefa.PENDENTE)) {
+            tarefas.count();
+        }
+        try (Stream<Tarefa> tarefas = tarefaRepository.streamPorFiltro(null, StatusTarefa.CONCLUIDO)) {
+            tarefas.count();
+        }
+        assertSemVarreduraCompleta();
+    }
+
+    @Test
+    public void testBuscarAtrasadasUsaIndice() {
+        tarefaRepository.buscarAtrasadas(LocalDate.now(), null, null, 500);
+        tarefaRepository.buscarAtrasadas(LocalDate.now(), LocalDate.now().minusDays(3), 10L, 500);
+        assertSemVarreduraCompleta();
+    }
+
+    private void assertSemVarreduraCompleta() {
+        List<String> consultas = ColetorSql.consultas();
+        assertThat(consultas).isNotEmpty();
+        for (String sql : consultas) {
+            assertThat(explicar(sql)).as("Plano de execução de: %s", sql).doesNotContainPattern(VARREDURA_COMPLETA);
+        }
+    }
+
+    private String explicar(String sql) {
+        return entityManager.unwrap(Session.class).doReturningWork(conexao -> {
+            try (PreparedStatement comando = conexao.prepareStatement("EXPLAIN " + sql);
+                 ResultSet resultado = comando.executeQuery()) {
+                resultado.next();
+                return resultado.getString(1);
+            }
+        });
+    }
+}
@@ -1,19 +1,36 @@
 package com.desafio.tarefa.repository;
 
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.model.CampoTarefa;
+import com.desafio.tarefa.model.OrdenacaoTarefa;
 import com.desafio.tarefa.model.StatusTarefa;
 import com.desafio.tarefa.model.Tarefa;
+import jakarta.persistence.OptimisticLockException;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+// Usa o H2 do perfil de teste pelo Hikari, com a mesma configuracao de conexao da aplicacao (auto-commit desligado)
 @DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
 public class TarefaRepositoryTest {
 
     @Autowired
@@ -223,4 +240,283 @@ public class TarefaRepositoryTest {
         // Verificar resultados
         assertThat(tarefasDoUsuario).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testBuscarPaginaPercorreTodasAsTarefasPorDataCriacao() {
+        // Dados de teste
+        for (int i = 1; i <= 5; i++) {
+            Tarefa tarefa = new Tarefa();
+            tarefa.setTitulo("Tarefa " + i);
+            tarefa.setStatus(i % 2 == 0 ? StatusTarefa.EM_ANDAMENTO : StatusTarefa.PENDENTE);
+            tarefa.setUsuarioId(1L);
+            entityManager.persist(tarefa);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Executar o método percorrendo as paginas pelo cursor
+        List<String> titulos = new ArrayList<>();
+        CursorTarefa cursor = null;
+        List<TarefaDTO> pagina;
+        do {
+            pagina = tarefaRepository.buscarPagina(1L, null, CampoTarefa.RESUMO, OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC, cursor, 2);
+            pagina.forEach(tarefa -> titulos.add(tarefa.getTitulo()));
+            if (!pagina.isEmpty()) {
+                cursor = CursorTarefa.apos(pagina.get(pagina.size() - 1), OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC);
+            }
+        } while (pagina.size() == 2);
+
+        // Verificar resultados
+        assertThat(titulos).containsExactly("Tarefa 1", "Tarefa 2", "Tarefa 3", "Tarefa 4", "Tarefa 5");
+    }
+
+    @Test
+    public void testBuscarPaginaPorDataLimiteComValoresNulos() {
+        // Dados de teste
+        LocalDate hoje = LocalDate.now();
+        LocalDate[] datas = {hoje.plusDays(2), null, hoje.plusDays(1), null, hoje.plusDays(2)};
+        for (int i = 0; i < datas.length; i++) {
+            Tarefa tarefa = new Tarefa();
+            tarefa.setTitulo("Tarefa " + (i + 1));
+            tarefa.setStatus(StatusTarefa.PENDENTE);
+            tarefa.setDataLimite(datas[i]);
+            tarefa.setUsuarioId(1L);
+            entityManager.persist(tarefa);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Executar e verificar nas duas direcoes, uma tarefa por pagina
+        assertThat(percorrer(OrdenacaoTarefa.DATA_LIMITE, Sort.Direction.ASC, StatusTarefa.PENDENTE))
+                .containsExactly("Tarefa 3", "Tarefa 1", "Tarefa 5", "Tarefa 2", "Tarefa 4");
+        assertThat(percorrer(OrdenacaoTarefa.DATA_LIMITE, Sort.Direction.DESC, StatusTarefa.PENDENTE))
+                .containsExactly("Tarefa 4", "Tarefa 2", "Tarefa 5", "Tarefa 1", "Tarefa 3");
+        assertThat(percorrer(OrdenacaoTarefa.DATA_LIMITE, Sort.Direction.ASC, StatusTarefa.CONCLUIDO)).isEmpty();
+    }
+
+    @Test
+    public void testBuscarPaginaSelecionaApenasOsCamposPedidos() {
+        // Dados de teste
+        Tarefa tarefa = new Tarefa();
+        tarefa.setTitulo("Tarefa");
+        tarefa.setDescricao("Texto longo que não deve ser lido");
+        tarefa.setStatus(StatusTarefa.PENDENTE);
+        tarefa.setDataLimite(LocalDate.now().plusDays(1));
+        tarefa.setUsuarioId(1L);
+        entityManager.persist(tarefa);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Executar o método
+        List<TarefaDTO> pagina = tarefaRepository.buscarPagina(null, null, EnumSet.of(CampoTarefa.TITULO),
+                OrdenacaoTarefa.DATA_LIMITE, Sort.Direction.ASC, null, 10);
+
+        // Verificar resultados: ID, versao e campo de ordenacao sempre vem, o resto fica nulo
+        assertThat(pagina).hasSize(1);
+        TarefaDTO resultado = pagina.get(0);
+        assertThat(resultado.getId()).isEqualTo(tarefa.getId());
+        assertThat(resultado.getVersao()).isZero();
+        assertThat(resultado.getTitulo()).isEqualTo("Tarefa");
+        assertThat(resultado.getDataLimite()).isEqualTo(tarefa.getDataLimite());
+        assertThat(resultado.getDescricao()).isNull();
+        assertThat(resultado.getStatus()).isNull();
+        assertThat(resultado.getUsuarioId()).isNull();
+        // Nenhuma entidade foi carregada no contexto de persistencia
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    private List<String> percorrer(OrdenacaoTarefa ordenacao, Sort.Direction direcao, StatusTarefa status) {
+        List<String> titulos = new ArrayList<>();
+        CursorTarefa cursor = null;
+        List<TarefaDTO> pagina;
+        while (!(pagina = tarefaRepository.buscarPagina(null, status, CampoTarefa.RESUMO, ordenacao, direcao, cursor, 1)).isEmpty()) {
+            TarefaDTO tarefa = pagina.get(0);
+            titulos.add(tarefa.getTitulo());
+            // Ida e volta pelo token, como faria o cliente
+            cursor = CursorTarefa.decodificar(CursorTarefa.apos(tarefa, ordenacao, direcao).codificar(), ordenacao, direcao);
+        }
+        return titulos;
+    }
+
+    @Test
+    public void testVersaoIncrementaACadaAlteracaoERecusaGravacaoSobreVersaoAntiga() {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setTitulo("Tarefa");
+        tarefa.setStatus(StatusTarefa.PENDENTE);
+        tarefa.setUsuarioId(1L);
+        entityManager.persistAndFlush(tarefa);
+        assertThat(tarefa.getVersao()).isZero();
+
+        tarefa.setStatus(StatusTarefa.EM_ANDAMENTO);
+        entityManager.flush();
+        assertThat(tarefa.getVersao()).isEqualTo(1);
+
+        // Outra transacao altera a linha depois da leitura: o UPDATE filtrado pela versao lida nao encontra a linha
+        entityManager.getEntityManager()
+                .createQuery("update Tarefa t set t.versao = t.versao + 1 where t.id = :id")
+                .setParameter("id", tarefa.getId())
+                .executeUpdate();
+        tarefa.setTitulo("Alterada");
+        assertThatThrownBy(() -> entityManager.flush()).isInstanceOf(OptimisticLockException.class);
+    }
+
+    @Test
+    public void testStreamPorFiltroRetornaTarefasDesanexadas() {
+        // Dados de teste
+        for (int i = 1; i <= 3; i++) {
+            Tarefa tarefa = new Tarefa();
+            tarefa.setTitulo("Tarefa " + i);
+            tarefa.setStatus(i == 3 ? StatusTarefa.CONCLUIDO : StatusTarefa.PENDENTE);
+            tarefa.setUsuarioId(1L);
+            entityManager.persist(tarefa);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Executar o método
+        List<Tarefa> tarefas;
+        try (Stream<Tarefa> stream = tarefaRepository.streamPorFiltro(1L, StatusTarefa.PENDENTE)) {
+            tarefas = stream.toList();
+        }
+
+        // Verificar resultados
+        assertThat(tarefas).extracting(Tarefa::getTitulo).containsExactly("Tarefa 1", "Tarefa 2");
+        assertThat(tarefas).noneMatch(tarefa -> entityManager.getEntityManager().contains(tarefa));
+    }
+
+    @Test
+    public void testAtualizarCamposGravaSoAsColunasInformadasNaVersaoLida() {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setTitulo("Tarefa");
+        tarefa.setDescricao("Descrição");
+        tarefa.setStatus(StatusTarefa.PENDENTE);
+        tarefa.setUsuarioId(1L);
+        entityManager.persistAndFlush(tarefa);
+        // Alteracao de outra coluna que nao passa pela versao: o UPDATE parcial nao pode sobrescreve-la
+        entityManager.getEntityManager()
+                .createNativeQuery("update tarefas set titulo = 'Titulo externo' where id = :id")
+                .setParameter("id", tarefa.getId())
+                .executeUpdate();
+
+        boolean atualizada = tarefaRepository.atualizarCampos(tarefa.getId(), 0L,
+                Map.of(CampoTarefa.STATUS, StatusTarefa.EM_ANDAMENTO));
+        entityManager.clear();
+
+        Tarefa gravada = entityManager.find(Tarefa.class, tarefa.getId());
+        assertThat(atualizada).isTrue();
+        assertThat(gravada.getStatus()).isEqualTo(StatusTarefa.EM_ANDAMENTO);
+        assertThat(gravada.getTitulo()).isEqualTo("Titulo externo");
+        assertThat(gravada.getDescricao()).isEqualTo("Descrição");
+        assertThat(gravada.getVersao()).isEqualTo(1);
+
+        // A versao lida (0) ja nao eh a atual
+        Map<CampoTarefa, Object> semDescricao = new EnumMap<>(CampoTarefa.class);
+        semDescricao.put(CampoTarefa.DESCRICAO, null);
+        assertThat(tarefaRepository.atualizarCampos(tarefa.getId(), 0L, semDescricao)).isFalse();
+        assertThat(tarefaRepository.atualizarCampos(tarefa.getId(), 1L, semDescricao)).isTrue();
+        entityManager.clear();
+        assertThat(entityManager.find(Tarefa.class, tarefa.getId()).getDescricao()).isNull();
+    }
+
+    @Test
+    public void testAlterarStatusPulaConcluidasERetornaOStatusAnterior() {
+        Tarefa pendente = persistirTarefa("Pendente", StatusTarefa.PENDENTE, 1L);
+        Tarefa emAndamento = persistirTarefa("Em andamento", StatusTarefa.EM_ANDAMENTO, 1L);
+        Tarefa concluida = persistirTarefa("Concluída", StatusTarefa.CONCLUIDO, 1L);
+        Tarefa outroUsuario = persistirTarefa("Outro usuário", StatusTarefa.PENDENTE, 2L);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<StatusAlterado> alteradas = tarefaRepository.alterarStatus(
+                List.of(pendente.getId(), emAndamento.getId(), concluida.getId(), outroUsuario.getId()),
+                null, null, null, StatusTarefa.EM_ANDAMENTO, 10);
+
+        // A que ja estava em andamento e a concluida nao mudam
+        assertThat(alteradas).hasSize(2);
+        assertThat(alteradas).extracting(alterada -> alterada.tarefa().getId())
+                .containsExactlyInAnyOrder(pendente.getId(), outroUsuario.getId());
+        assertThat(alteradas).allSatisfy(alterada -> {
+            assertThat(alterada.statusAnterior()).isEqualTo(StatusTarefa.PENDENTE);
+            assertThat(alterada.tarefa().getStatus()).isEqualTo(StatusTarefa.EM_ANDAMENTO);
+            assertThat(alterada.tarefa().getVersao()).isEqualTo(1);
+        });
+        assertThat(entityManager.find(Tarefa.class, pendente.getId()).getVersao()).isEqualTo(1);
+        assertThat(entityManager.find(Tarefa.class, emAndamento.getId()).getVersao()).isZero();
+        assertThat(entityManager.find(Tarefa.class, concluida.getId()).getStatus()).isEqualTo(StatusTarefa.CONCLUIDO);
+    }
+
+    @Test
+    public void testAlterarStatusPorFiltroRespeitaVersaoELimite() {
+        Tarefa primeira = persistirTarefa("Primeira", StatusTarefa.PENDENTE, 1L);
+        persistirTarefa("Segunda", StatusTarefa.PENDENTE, 1L);
+        persistirTarefa("Terceira", StatusTarefa.PENDENTE, 1L);
+        persistirTarefa("Em andamento", StatusTarefa.EM_ANDAMENTO, 1L);
+        persistirTarefa("Outro usuário", StatusTarefa.PENDENTE, 2L);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Versao diferente da atual: nada muda
+        assertThat(tarefaRepository.alterarStatus(List.of(primeira.getId()), null, null, 5L,
+                StatusTarefa.CONCLUIDO, 1)).isEmpty();
+
+        List<StatusAlterado> alteradas = tarefaRepository.alterarStatus(null, 1L, StatusTarefa.PENDENTE, null,
+                StatusTarefa.CONCLUIDO, 2);
+        assertThat(alteradas).extracting(alterada -> alterada.tarefa().getTitulo()).containsExactly("Primeira", "Segunda");
+
+        alteradas = tarefaRepository.alterarStatus(null, 1L, StatusTarefa.PENDENTE, null, StatusTarefa.CONCLUIDO, 2);
+        assertThat(alteradas).extracting(alterada -> alterada.tarefa().getTitulo()).containsExactly("Terceira");
+        assertThat(tarefaRepository.findByUsuarioIdAndStatus(2L, StatusTarefa.PENDENTE)).hasSize(1);
+        assertThat(tarefaRepository.findIdsComStatus(List.of(primeira.getId()), StatusTarefa.CONCLUIDO))
+                .containsExactly(primeira.getId());
+    }
+
+    @Test
+    public void testExcluirPeloIdEVersaoOuPeloUsuarioEmBlocos() {
+        Tarefa primeira = persistirTarefa("Primeira", StatusTarefa.PENDENTE, 1L);
+        persistirTarefa("Segunda", StatusTarefa.CONCLUIDO, 1L);
+        persistirTarefa("Terceira", StatusTarefa.EM_ANDAMENTO, 1L);
+        Tarefa outroUsuario = persistirTarefa("Outro usuário", StatusTarefa.PENDENTE, 2L);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(tarefaRepository.excluir(primeira.getId(), null, 3L, 1)).isEmpty();
+        assertThat(tarefaRepository.excluir(primeira.getId(), null, 0L, 1))
+                .containsExactly(new TarefaExcluida(primeira.getId(), 1L, StatusTarefa.PENDENTE));
+        assertThat(tarefaRepository.excluir(primeira.getId(), null, null, 1)).isEmpty();
+
+        assertThat(tarefaRepository.excluir(null, 1L, null, 1)).extracting(TarefaExcluida::status)
+                .containsExactly(StatusTarefa.CONCLUIDO);
+        assertThat(tarefaRepository.excluir(null, 1L, null, 10)).extracting(TarefaExcluida::status)
+                .containsExactly(StatusTarefa.EM_ANDAMENTO);
+        assertThat(tarefaRepository.countByUsuarioId(1L)).isZero();
+        assertThat(tarefaRepository.existsById(outroUsuario.getId())).isTrue();
+    }
+
+    @Test
+    public void testReatribuirDevolveAsTarefasComONovoUsuarioENovaVersao() {
+        persistirTarefa("Primeira", StatusTarefa.PENDENTE, 1L);
+        persistirTarefa("Segunda", StatusTarefa.CONCLUIDO, 1L);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<TarefaDTO> reatribuidas = tarefaRepository.reatribuir(1L, 9L, 1);
+
+        assertThat(reatribuidas).singleElement().satisfies(tarefa -> {
+            assertThat(tarefa.getTitulo()).isEqualTo("Primeira");
+            assertThat(tarefa.getStatus()).isEqualTo(StatusTarefa.PENDENTE);
+            assertThat(tarefa.getUsuarioId()).isEqualTo(9L);
+            assertThat(tarefa.getVersao()).isEqualTo(1);
+        });
+        assertThat(tarefaRepository.reatribuir(1L, 9L, 10)).extracting(TarefaDTO::getTitulo).containsExactly("Segunda");
+        assertThat(tarefaRepository.countByUsuarioId(9L)).isEqualTo(2);
+    }
+
+    private Tarefa persistirTarefa(String titulo, StatusTarefa status, Long usuarioId) {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setTitulo(titulo);
+        tarefa.setStatus(status);
+        tarefa.setDataCriacao(LocalDateTime.now());
+        tarefa.setUsuarioId(usuarioId);
+        return entityManager.persist(tarefa);
+    }
+}
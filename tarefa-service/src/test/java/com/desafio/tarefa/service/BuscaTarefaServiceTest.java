@@ -0,0 +1,100 @@
+package com.desafio.tarefa.service;
+
+import com.desafio.tarefa.busca.IndiceTarefas;
+import com.desafio.tarefa.dto.ResultadoBuscaDTO;
+import com.desafio.tarefa.dto.TarefaEncontradaDTO;
+import com.desafio.tarefa.exception.BuscaInvalidaException;
+import com.desafio.tarefa.model.StatusTarefa;
+import com.desafio.tarefa.model.Tarefa;
+import com.desafio.tarefa.repository.TarefaRepository;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class BuscaTarefaServiceTest {
+
+    @Autowired
+    private TarefaRepository tarefaRepository;
+
+    private IndiceTarefas indiceTarefas;
+    private BuscaTarefaService buscaTarefaService;
+
+    @BeforeEach
+    void setUp() {
+        indiceTarefas = new IndiceTarefas(new ByteBuffersDirectory(), Duration.ofSeconds(1), Duration.ofMinutes(1));
+        buscaTarefaService = new BuscaTarefaService(indiceTarefas, tarefaRepository,
+                new TarefaService(tarefaRepository, null, null, null));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        indiceTarefas.close();
+    }
+
+    @Test
+    void deveReconstruirIndiceAPartirDoBanco() {
+        Tarefa relatorio = tarefaRepository.save(tarefa("Relatório trimestral", "Consolidar vendas", 1L));
+        tarefaRepository.save(tarefa("Reunião de equipe", "Apresentar o relatório", 2L));
+        tarefaRepository.saveAndFlush(tarefa("Comprar café", null, 1L));
+        // Documento que nao existe mais no banco: some com a reconstrucao
+        Tarefa excluida = tarefa("Relatório antigo", null, 1L);
+        excluida.setId(999_999L);
+        indiceTarefas.indexar(new TarefaService(null, null, null, null).converterParaDTO(excluida));
+
+        long indexadas = buscaTarefaService.reconstruirIndice();
+
+        assertThat(indexadas).isEqualTo(3);
+        assertThat(indiceTarefas.documentos()).isEqualTo(3);
+        ResultadoBuscaDTO resultado = buscaTarefaService.buscar("relatorio", 1L, null, 0, 20);
+        assertThat(resultado.getConteudo()).extracting(TarefaEncontradaDTO::getId).containsExactly(relatorio.getId());
+    }
+
+    @Test
+    void deveRejeitarBuscaSemTexto() {
+        BuscaInvalidaException erro = assertThrows(BuscaInvalidaException.class,
+                () -> buscaTarefaService.buscar("  ", null, null, 0, 20));
+        assertThat(erro.getMessage()).isEqualTo("Informe o texto a buscar no parâmetro q");
+    }
+
+    @Test
+    void deveRejeitarPaginacaoInvalida() {
+        assertThrows(BuscaInvalidaException.class, () -> buscaTarefaService.buscar("a", null, null, -1, 20));
+        assertThrows(BuscaInvalidaException.class, () -> buscaTarefaService.buscar("a", null, null, 0, 0));
+        assertThrows(BuscaInvalidaException.class, () -> buscaTarefaService.buscar("a", null, null, 0, 101));
+    }
+
+    @Test
+    void deveLimitarAProfundidadeDaPaginacao() {
+        assertThat(buscaTarefaService.buscar("a", null, null, 9, 100).getConteudo()).isEmpty();
+
+        BuscaInvalidaException erro = assertThrows(BuscaInvalidaException.class,
+                () -> buscaTarefaService.buscar("a", null, null, 10, 100));
+        assertThat(erro.getMessage()).contains(String.valueOf(BuscaTarefaService.MAXIMO_RESULTADOS));
+    }
+
+    private static Tarefa tarefa(String titulo, String descricao, Long usuarioId) {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setTitulo(titulo);
+        tarefa.setDescricao(descricao);
+        tarefa.setStatus(StatusTarefa.PENDENTE);
+        tarefa.setDataCriacao(LocalDateTime.now());
+        tarefa.setDataLimite(LocalDate.now().plusDays(7));
+        tarefa.setUsuarioId(usuarioId);
+        return tarefa;
+    }
+}
@@ -0,0 +1,94 @@
+package com.desafio.tarefa.service;
+
+import com.desafio.tarefa.dto.EstatisticasTarefasDTO;
+import com.desafio.tarefa.model.ChaveContadorTarefa;
+import com.desafio.tarefa.model.StatusTarefa;
+import com.desafio.tarefa.model.Tarefa;
+import com.desafio.tarefa.repository.ContadorTarefaRepository;
+import com.desafio.tarefa.repository.TarefaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ContadorTarefaRepository.class, ContadorTarefaService.class, ReconciliacaoContadoresTarefa.class})
+public class ContadorTarefaServiceTest {
+
+    @Autowired
+    private ContadorTarefaService contadorTarefaService;
+
+    @Autowired
+    private ReconciliacaoContadoresTarefa reconciliacao;
+
+    @Autowired
+    private TarefaRepository tarefaRepository;
+
+    @Test
+    void deveSomarAjustesPorUsuarioEStatus() {
+        Map<ChaveContadorTarefa, Long> deltas = new HashMap<>();
+        ContadorTarefaService.somar(deltas, new ChaveContadorTarefa(1L, StatusTarefa.PENDENTE), 3);
+        ContadorTarefaService.somar(deltas, new ChaveContadorTarefa(1L, StatusTarefa.CONCLUIDO), 1);
+        ContadorTarefaService.somar(deltas, new ChaveContadorTarefa(2L, StatusTarefa.PENDENTE), 2);
+        contadorTarefaService.aplicar(deltas);
+        contadorTarefaService.tarefaAlterada(new ChaveContadorTarefa(1L, StatusTarefa.PENDENTE),
+                tarefa(1L, StatusTarefa.EM_ANDAMENTO));
+
+        EstatisticasTarefasDTO doUsuario = contadorTarefaService.estatisticas(1L);
+        assertThat(doUsuario.getUsuarioId()).isEqualTo(1L);
+        assertThat(doUsuario.getTotal()).isEqualTo(4);
+        assertThat(doUsuario.getPorStatus()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                StatusTarefa.PENDENTE, 2L, StatusTarefa.EM_ANDAMENTO, 1L, StatusTarefa.CONCLUIDO, 1L));
+
+        EstatisticasTarefasDTO gerais = contadorTarefaService.estatisticas(null);
+        assertThat(gerais.getUsuarioId()).isNull();
+        assertThat(gerais.getTotal()).isEqualTo(6);
+        assertThat(gerais.getPorStatus()).containsEntry(StatusTarefa.PENDENTE, 4L);
+    }
+
+    @Test
+    void deveRetornarZeroParaUsuarioSemTarefas() {
+        EstatisticasTarefasDTO estatisticas = contadorTarefaService.estatisticas(99L);
+
+        assertThat(estatisticas.getTotal()).isZero();
+        assertThat(estatisticas.getPorStatus()).hasSize(StatusTarefa.values().length)
+                .allSatisfy((status, quantidade) -> assertThat(quantidade).isZero());
+    }
+
+    @Test
+    void deveCorrigirContadoresDivergentesNaReconciliacao() {
+        // Tarefas gravadas sem ajustar os contadores (como faz o servico reativo) e um contador sem tarefas
+        tarefaRepository.saveAndFlush(tarefa(1L, StatusTarefa.PENDENTE));
+        tarefaRepository.saveAndFlush(tarefa(1L, StatusTarefa.CONCLUIDO));
+        contadorTarefaService.tarefaCriada(tarefa(2L, StatusTarefa.EM_ANDAMENTO));
+        // Contador ja correto: nao eh recontado
+        contadorTarefaService.tarefaCriada(tarefaRepository.saveAndFlush(tarefa(3L, StatusTarefa.PENDENTE)));
+
+        assertThat(contadorTarefaService.usuariosComDivergencia()).containsExactly(1L, 2L);
+        assertThat(reconciliacao.reconciliar()).isEqualTo(2);
+
+        assertThat(contadorTarefaService.usuariosComDivergencia()).isEmpty();
+        assertThat(contadorTarefaService.estatisticas(1L).getPorStatus()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                StatusTarefa.PENDENTE, 1L, StatusTarefa.EM_ANDAMENTO, 0L, StatusTarefa.CONCLUIDO, 1L));
+        assertThat(contadorTarefaService.estatisticas(2L).getTotal()).isZero();
+        assertThat(contadorTarefaService.estatisticas(null).getTotal()).isEqualTo(3);
+        assertThat(reconciliacao.reconciliar()).isZero();
+    }
+
+    private Tarefa tarefa(Long usuarioId, StatusTarefa status) {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setTitulo("Tarefa");
+        tarefa.setStatus(status);
+        tarefa.setUsuarioId(usuarioId);
+        return tarefa;
+    }
+}
@@ -0,0 +1,58 @@
+package com.desafio.tarefa.service;
+
+import com.desafio.tarefa.client.ReplicaUsuarios;
+import com.desafio.tarefa.client.UsuarioClientComCache;
+import com.desafio.tarefa.client.UsuarioClientResiliente;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EventoUsuarioServiceTest {
+
+    @Mock
+    private UsuarioClientResiliente usuarioClientRemoto;
+
+    @Mock
+    private UsuarioClientComCache usuarioClientComCache;
+
+    @Mock
+    private ReplicaUsuarios replicaUsuarios;
+
+    @Mock
+    private LimpezaTarefasUsuarioService limpezaTarefasUsuarioService;
+
+    @Mock
+    private LimpezaUsuariosExcluidos limpezaUsuariosExcluidos;
+
+    @InjectMocks
+    private EventoUsuarioService eventoUsuarioService;
+
+    @Test
+    void deveRegistrarExclusaoConfirmadaPeloServicoDeUsuarios() {
+        when(usuarioClientRemoto.usuarioExiste(10L)).thenReturn(false);
+
+        assertThat(eventoUsuarioService.usuarioExcluido(10L)).isTrue();
+
+        verify(replicaUsuarios).remover(10L);
+        verify(usuarioClientComCache).invalidar(10L);
+        verify(limpezaTarefasUsuarioService).registrarUsuarioExcluido(10L);
+        verify(limpezaUsuariosExcluidos).agendar();
+    }
+
+    @Test
+    void deveIgnorarAvisoDeUsuarioQueAindaExiste() {
+        when(usuarioClientRemoto.usuarioExiste(10L)).thenReturn(true);
+
+        assertThat(eventoUsuarioService.usuarioExcluido(10L)).isFalse();
+
+        // Nem a copia local nem o cache sao consultados ou alterados
+        verifyNoInteractions(replicaUsuarios, usuarioClientComCache, limpezaTarefasUsuarioService,
+                limpezaUsuariosExcluidos);
+    }
+}
@@ -0,0 +1,101 @@
+package com.desafio.tarefa.service;
+
+import com.desafio.tarefa.client.UsuarioClient;
+import com.desafio.tarefa.model.FormatoExportacao;
+import com.desafio.tarefa.model.StatusTarefa;
+import com.desafio.tarefa.model.Tarefa;
+import com.desafio.tarefa.repository.TarefaRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ExportacaoTarefaServiceTest {
+
+    @Mock
+    private TarefaRepository tarefaRepository;
+
+    @Mock
+    private UsuarioClient usuarioClient;
+
+    private ExportacaoTarefaService exportacaoTarefaService;
+    private ObjectMapper objectMapper;
+    private Tarefa tarefa1;
+    private Tarefa tarefa2;
+    private final Long USUARIO_ID = 10L;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        TarefaService tarefaService = new TarefaService(tarefaRepository, usuarioClient, null, null);
+        exportacaoTarefaService = new ExportacaoTarefaService(tarefaRepository, tarefaService, objectMapper);
+
+        // Configurar objetos de teste
+        tarefa1 = new Tarefa(1L, "Tarefa 1", "Descrição simples", StatusTarefa.PENDENTE,
+                LocalDateTime.of(2024, 1, 10, 8, 30), LocalDate.of(2024, 2, 1), USUARIO_ID, 0L);
+        tarefa2 = new Tarefa(2L, "Tarefa, com vírgula", "Linha com \"aspas\"\ne quebra", StatusTarefa.PENDENTE,
+                LocalDateTime.of(2024, 1, 11, 9, 0), null, USUARIO_ID, 0L);
+    }
+
+    @Test
+    void deveExportarTarefasEmNdjson() throws Exception {
+        AtomicBoolean fechado = new AtomicBoolean();
+        when(tarefaRepository.streamPorFiltro(USUARIO_ID, StatusTarefa.PENDENTE))
+                .thenReturn(Stream.of(tarefa1, tarefa2).onClose(() -> fechado.set(true)));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        exportacaoTarefaService.exportar(USUARIO_ID, StatusTarefa.PENDENTE, FormatoExportacao.NDJSON, saida);
+
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, linhas.length);
+        JsonNode primeira = objectMapper.readTree(linhas[0]);
+        assertEquals(1L, primeira.get("id").asLong());
+        assertEquals("Tarefa 1", primeira.get("titulo").asText());
+        assertEquals("2024-02-01", primeira.get("dataLimite").asText());
+        assertEquals("Linha com \"aspas\"\ne quebra", objectMapper.readTree(linhas[1]).get("descricao").asText());
+        assertTrue(fechado.get());
+        verify(tarefaRepository, times(1)).streamPorFiltro(USUARIO_ID, StatusTarefa.PENDENTE);
+    }
+
+    @Test
+    void deveExportarTarefasEmCsv() throws Exception {
+        when(tarefaRepository.streamPorFiltro(null, null)).thenReturn(Stream.of(tarefa1, tarefa2));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        exportacaoTarefaService.exportar(null, null, FormatoExportacao.CSV, saida);
+
+        String csv = saida.toString(StandardCharsets.UTF_8);
+        assertEquals("id,titulo,descricao,status,dataCriacao,dataLimite,usuarioId\n"
+                + "1,Tarefa 1,Descrição simples,PENDENTE,2024-01-10T08:30,2024-02-01,10\n"
+                + "2,\"Tarefa, com vírgula\",\"Linha com \"\"aspas\"\"\ne quebra\",PENDENTE,2024-01-11T09:00,,10\n", csv);
+    }
+
+    @Test
+    void deveExportarApenasCabecalhoQuandoNaoHaTarefas() throws Exception {
+        when(tarefaRepository.streamPorFiltro(null, StatusTarefa.CONCLUIDO)).thenReturn(Stream.empty());
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        exportacaoTarefaService.exportar(null, StatusTarefa.CONCLUIDO, FormatoExportacao.CSV, saida);
+
+        assertEquals("id,titulo,descricao,status,dataCriacao,dataLimite,usuarioId\n", saida.toString(StandardCharsets.UTF_8));
+    }
+}
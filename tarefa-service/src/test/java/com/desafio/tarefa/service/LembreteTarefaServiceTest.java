@@ -0,0 +1,113 @@
+package com.desafio.tarefa.service;
+
+import com.desafio.tarefa.dto.LembreteTarefaDTO;
+import com.desafio.tarefa.lembrete.DespachanteLembretes;
+import com.desafio.tarefa.model.CheckpointVarredura;
+import com.desafio.tarefa.model.StatusTarefa;
+import com.desafio.tarefa.model.Tarefa;
+import com.desafio.tarefa.repository.CheckpointVarreduraRepository;
+import com.desafio.tarefa.repository.TarefaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class LembreteTarefaServiceTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2024, 3, 10);
+
+    @Autowired
+    private TarefaRepository tarefaRepository;
+
+    @Autowired
+    private CheckpointVarreduraRepository checkpointVarreduraRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<LembreteTarefaDTO> enviados = new ArrayList<>();
+
+    @Test
+    void deveEnviarLembretesDasTarefasAtrasadasEmBlocosERetomarDoPontoGravado() {
+        Long antiga = persistir(HOJE.minusDays(3), StatusTarefa.PENDENTE);
+        Long ontemEmAndamento = persistir(HOJE.minusDays(1), StatusTarefa.EM_ANDAMENTO);
+        persistir(HOJE.minusDays(2), StatusTarefa.CONCLUIDO);
+        Long venceHoje = persistir(HOJE, StatusTarefa.PENDENTE);
+        persistir(null, StatusTarefa.PENDENTE);
+        Long ontemPendente = persistir(HOJE.minusDays(1), StatusTarefa.PENDENTE);
+        LembreteTarefaService lembreteTarefaService = criarServico();
+
+        assertThat(lembreteTarefaService.processarBloco(HOJE, 2)).isEqualTo(2);
+        assertThat(lembreteTarefaService.processarBloco(HOJE, 2)).isEqualTo(1);
+        assertThat(lembreteTarefaService.processarBloco(HOJE, 2)).isZero();
+
+        assertThat(enviados).extracting(LembreteTarefaDTO::getTarefaId)
+                .containsExactly(antiga, ontemEmAndamento, ontemPendente);
+        CheckpointVarredura checkpoint = checkpointVarreduraRepository
+                .findById(LembreteTarefaService.VARREDURA_ATRASADAS).orElseThrow();
+        assertThat(checkpoint.getDataLimite()).isEqualTo(HOJE.minusDays(1));
+        assertThat(checkpoint.getTarefaId()).isEqualTo(ontemPendente);
+
+        // No dia seguinte so a tarefa que venceu hoje eh nova
+        enviados.clear();
+        assertThat(criarServico().processarBloco(HOJE.plusDays(1), 2)).isEqualTo(1);
+        assertThat(enviados).extracting(LembreteTarefaDTO::getTarefaId).containsExactly(venceHoje);
+    }
+
+    @Test
+    void naoDeveAvancarPontoDeRetomadaQuandoDestinoFalha() {
+        persistir(HOJE.minusDays(1), StatusTarefa.PENDENTE);
+        LembreteTarefaService lembreteTarefaService = new LembreteTarefaService(tarefaRepository,
+                checkpointVarreduraRepository, new DespachanteLembretes(lembretes -> {
+                    throw new IllegalStateException("Destino fora do ar");
+                }, 10, 0), transactionManager);
+
+        assertThrows(IllegalStateException.class, () -> lembreteTarefaService.processarBloco(HOJE, 10));
+
+        CheckpointVarredura checkpoint = checkpointVarreduraRepository
+                .findById(LembreteTarefaService.VARREDURA_ATRASADAS).orElseThrow();
+        assertThat(checkpoint.getDataLimite()).isNull();
+        assertThat(checkpoint.getTarefaId()).isNull();
+    }
+
+    @Test
+    void deveReservarOBlocoAntesDeEntregarOsLembretes() {
+        Long ontem = persistir(HOJE.minusDays(1), StatusTarefa.PENDENTE);
+        List<Long> pontoDuranteEntrega = new ArrayList<>();
+        LembreteTarefaService lembreteTarefaService = new LembreteTarefaService(tarefaRepository,
+                checkpointVarreduraRepository, new DespachanteLembretes(lembretes -> pontoDuranteEntrega.add(
+                        checkpointVarreduraRepository.findById(LembreteTarefaService.VARREDURA_ATRASADAS)
+                                .orElseThrow().getTarefaId()), 10, 0), transactionManager);
+
+        assertThat(lembreteTarefaService.processarBloco(HOJE, 10)).isEqualTo(1);
+
+        // A entrega ja ve o ponto avancado: a trava do ponto nao fica presa durante o envio
+        assertThat(pontoDuranteEntrega).containsExactly(ontem);
+    }
+
+    private LembreteTarefaService criarServico() {
+        return new LembreteTarefaService(tarefaRepository, checkpointVarreduraRepository,
+                new DespachanteLembretes(enviados::addAll, 10, 0), transactionManager);
+    }
+
+    private Long persistir(LocalDate dataLimite, StatusTarefa status) {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setTitulo("Tarefa");
+        tarefa.setStatus(status);
+        tarefa.setDataLimite(dataLimite);
+        tarefa.setUsuarioId(1L);
+        return tarefaRepository.save(tarefa).getId();
+    }
+}
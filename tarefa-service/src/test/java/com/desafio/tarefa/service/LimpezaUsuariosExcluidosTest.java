@@ -0,0 +1,181 @@
+package com.desafio.tarefa.service;
+
+import com.desafio.tarefa.client.ReplicaUsuarios;
+import com.desafio.tarefa.client.UsuarioClient;
+import com.desafio.tarefa.client.UsuarioClientComCache;
+import com.desafio.tarefa.client.UsuarioClientComReplica;
+import com.desafio.tarefa.client.UsuarioReplicaClient;
+import com.desafio.tarefa.dto.AlteracoesUsuariosDTO;
+import com.desafio.tarefa.dto.SnapshotUsuariosDTO;
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.event.TarefasExcluidasEvent;
+import com.desafio.tarefa.event.TarefasGravadasEvent;
+import com.desafio.tarefa.exception.UsuarioNaoExisteException;
+import com.desafio.tarefa.model.StatusTarefa;
+import com.desafio.tarefa.model.Tarefa;
+import com.desafio.tarefa.repository.ContadorTarefaRepository;
+import com.desafio.tarefa.repository.TarefaRepository;
+import com.desafio.tarefa.repository.UsuarioExcluidoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class LimpezaUsuariosExcluidosTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TarefaRepository tarefaRepository;
+
+    @Autowired
+    private UsuarioExcluidoRepository usuarioExcluidoRepository;
+
+    private ContadorTarefaService contadorTarefaService;
+    private TarefaService tarefaService;
+    private final List<Object> eventos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        contadorTarefaService = new ContadorTarefaService(new ContadorTarefaRepository(entityManager));
+        tarefaService = new TarefaService(tarefaRepository, null, contadorTarefaService, eventos::add);
+    }
+
+    @Test
+    void deveExcluirAsTarefasDoUsuarioEmBlocosEApagarOAviso() {
+        for (int i = 0; i < 25; i++) {
+            persistir(1L, i % 5 == 0 ? StatusTarefa.CONCLUIDO : StatusTarefa.PENDENTE);
+        }
+        persistir(2L, StatusTarefa.PENDENTE);
+        LimpezaUsuariosExcluidos limpeza = limpeza(null);
+        limpezaService(null).registrarUsuarioExcluido(1L);
+        // Aviso repetido nao duplica o registro
+        limpezaService(null).registrarUsuarioExcluido(1L);
+
+        long processadas = limpeza.limpar();
+
+        assertThat(processadas).isEqualTo(25);
+        assertThat(tarefaRepository.countByUsuarioId(1L)).isZero();
+        assertThat(tarefaRepository.countByUsuarioId(2L)).isEqualTo(1);
+        assertThat(usuarioExcluidoRepository.count()).isZero();
+        assertThat(contadorTarefaService.estatisticas(1L).getTotal()).isZero();
+        assertThat(contadorTarefaService.estatisticas(2L).getTotal()).isEqualTo(1);
+        // Um evento por bloco de 10
+        assertThat(eventos).hasSize(3).allMatch(TarefasExcluidasEvent.class::isInstance);
+        assertThat(limpeza.limpar()).isZero();
+    }
+
+    @Test
+    void deveReatribuirAsTarefasQuandoConfigurado() {
+        for (int i = 0; i < 12; i++) {
+            persistir(1L, StatusTarefa.EM_ANDAMENTO);
+        }
+        limpezaService(99L).registrarUsuarioExcluido(1L);
+
+        assertThat(limpeza(99L).limpar()).isEqualTo(12);
+
+        assertThat(tarefaRepository.countByUsuarioId(99L)).isEqualTo(12);
+        assertThat(contadorTarefaService.estatisticas(1L).getPorStatus()).containsEntry(StatusTarefa.EM_ANDAMENTO, 0L);
+        assertThat(contadorTarefaService.estatisticas(99L).getPorStatus()).containsEntry(StatusTarefa.EM_ANDAMENTO, 12L);
+        assertThat(eventos).hasSize(2).allMatch(TarefasGravadasEvent.class::isInstance);
+        assertThat(usuarioExcluidoRepository.count()).isZero();
+    }
+
+    @Test
+    void deveLimparUsuarioExcluidoLidoNasAlteracoesSemAviso() {
+        for (int i = 0; i < 3; i++) {
+            persistir(1L, StatusTarefa.PENDENTE);
+        }
+        persistir(2L, StatusTarefa.PENDENTE);
+        UsuarioReplicaClient usuarioReplicaClient = mock(UsuarioReplicaClient.class);
+        when(usuarioReplicaClient.snapshot()).thenReturn(new SnapshotUsuariosDTO(5L, List.of(1L, 2L)));
+        when(usuarioReplicaClient.alteracoes(5L))
+                .thenReturn(new AlteracoesUsuariosDTO(6L, List.of(), List.of(1L), false));
+        ReplicaUsuarios replica = new ReplicaUsuarios(usuarioReplicaClient, Duration.ofSeconds(30), Duration.ofMinutes(10));
+        LimpezaUsuariosExcluidos limpeza = limpeza(null, replica);
+
+        replica.sincronizar();
+
+        assertThat(usuarioExcluidoRepository.existsById(1L)).isTrue();
+        assertThat(limpeza.limpar()).isEqualTo(3);
+        assertThat(tarefaRepository.countByUsuarioId(1L)).isZero();
+        assertThat(tarefaRepository.countByUsuarioId(2L)).isEqualTo(1);
+    }
+
+    @Test
+    void deveRecusarTarefaDeUsuarioExcluidoLidoNasAlteracoesMesmoComOCacheConfirmando() {
+        UsuarioClient remoto = mock(UsuarioClient.class, Answers.CALLS_REAL_METHODS);
+        when(remoto.usuarioExiste(1L)).thenReturn(true, false);
+        UsuarioClientComCache cache = new UsuarioClientComCache(remoto, 100, Duration.ofMinutes(10),
+                Duration.ofSeconds(5), Runnable::run);
+        UsuarioReplicaClient usuarioReplicaClient = mock(UsuarioReplicaClient.class);
+        when(usuarioReplicaClient.snapshot()).thenReturn(new SnapshotUsuariosDTO(5L, List.of(1L)));
+        when(usuarioReplicaClient.alteracoes(5L))
+                .thenReturn(new AlteracoesUsuariosDTO(6L, List.of(), List.of(1L), false));
+        ReplicaUsuarios replica = new ReplicaUsuarios(usuarioReplicaClient, Duration.ofSeconds(30), Duration.ofMinutes(10));
+        TarefaService criacao = new TarefaService(tarefaRepository, new UsuarioClientComReplica(cache, replica),
+                contadorTarefaService, eventos::add);
+        limpeza(null, replica, cache);
+
+        // Antes da copia carregar, a existencia vem do servico de usuarios e fica no cache
+        criacao.criar(tarefaDTO(1L));
+        replica.sincronizar();
+
+        assertThatThrownBy(() -> criacao.criar(tarefaDTO(1L))).isInstanceOf(UsuarioNaoExisteException.class);
+        assertThat(tarefaRepository.countByUsuarioId(1L)).isEqualTo(1);
+    }
+
+    private LimpezaTarefasUsuarioService limpezaService(Long reatribuirPara) {
+        return new LimpezaTarefasUsuarioService(tarefaRepository, usuarioExcluidoRepository, tarefaService,
+                contadorTarefaService, eventos::add, reatribuirPara);
+    }
+
+    private LimpezaUsuariosExcluidos limpeza(Long reatribuirPara) {
+        return limpeza(reatribuirPara, mock(ReplicaUsuarios.class));
+    }
+
+    private LimpezaUsuariosExcluidos limpeza(Long reatribuirPara, ReplicaUsuarios replica) {
+        return limpeza(reatribuirPara, replica, mock(UsuarioClientComCache.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private LimpezaUsuariosExcluidos limpeza(Long reatribuirPara, ReplicaUsuarios replica, UsuarioClientComCache cache) {
+        return new LimpezaUsuariosExcluidos(limpezaService(reatribuirPara), cache, replica, false,
+                Duration.ofMinutes(1), 10, mock(ObjectProvider.class));
+    }
+
+    private static TarefaDTO tarefaDTO(Long usuarioId) {
+        TarefaDTO tarefa = new TarefaDTO();
+        tarefa.setTitulo("Tarefa");
+        tarefa.setStatus(StatusTarefa.PENDENTE);
+        tarefa.setUsuarioId(usuarioId);
+        return tarefa;
+    }
+
+    private void persistir(Long usuarioId, StatusTarefa status) {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setTitulo("Tarefa");
+        tarefa.setStatus(status);
+        tarefa.setUsuarioId(usuarioId);
+        entityManager.persist(tarefa);
+        contadorTarefaService.tarefaCriada(tarefa);
+    }
+}
@@ -0,0 +1,241 @@
+package com.desafio.tarefa.service;
+
+import com.desafio.tarefa.client.UsuarioClient;
+import com.desafio.tarefa.dto.AlteracaoStatusLoteDTO;
+import com.desafio.tarefa.dto.ResultadoAlteracaoStatusDTO;
+import com.desafio.tarefa.dto.ResultadoItemLoteDTO;
+import com.desafio.tarefa.dto.ResultadoLoteDTO;
+import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.event.TarefasGravadasEvent;
+import com.desafio.tarefa.exception.LoteInvalidoException;
+import com.desafio.tarefa.model.StatusTarefa;
+import com.desafio.tarefa.model.Tarefa;
+import com.desafio.tarefa.repository.ContadorTarefaRepository;
+import com.desafio.tarefa.repository.TarefaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class LoteTarefaServiceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TarefaRepository tarefaRepository;
+
+    @MockBean
+    private UsuarioClient usuarioClient;
+
+    private LoteTarefaService loteTarefaService;
+    private ContadorTarefaService contadorTarefaService;
+    private final List<Object> eventos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        contadorTarefaService = new ContadorTarefaService(new ContadorTarefaRepository(entityManager));
+        TarefaService tarefaService = new TarefaService(tarefaRepository, usuarioClient, contadorTarefaService, eventos::add);
+        loteTarefaService = new LoteTarefaService(tarefaRepository, tarefaService, usuarioClient, contadorTarefaService,
+                Validation.buildDefaultValidatorFactory().getValidator(), entityManager, eventos::add, 50);
+    }
+
+    @Test
+    void deveCriarTarefasEmLoteComUmaUnicaVerificacaoDeUsuarios() {
+        when(usuarioClient.usuariosExistentes(anyCollection())).thenReturn(List.of(1L, 2L));
+        List<TarefaDTO> tarefas = IntStream.range(0, 10_000)
+                .mapToObj(i -> novaTarefa("Tarefa " + i, (long) (i % 2) + 1))
+                .toList();
+
+        ResultadoLoteDTO resultado = loteTarefaService.criarEmLote(tarefas);
+
+        assertThat(resultado.getTotal()).isEqualTo(10_000);
+        assertThat(resultado.getSucessos()).isEqualTo(10_000);
+        assertThat(resultado.getFalhas()).isZero();
+        assertThat(resultado.getItens()).allMatch(item -> item.isSucesso() && item.getId() != null);
+        assertThat(tarefaRepository.count()).isEqualTo(10_000);
+        assertThat(contadorTarefaService.estatisticas(1L).getPorStatus()).containsEntry(StatusTarefa.PENDENTE, 5_000L);
+        assertThat(contadorTarefaService.estatisticas(null).getTotal()).isEqualTo(10_000);
+        verify(usuarioClient, times(1)).usuariosExistentes(argThat(ids -> ids.size() == 2));
+        verify(usuarioClient, never()).usuarioExiste(any());
+    }
+
+    @Test
+    void deveReportarItensInvalidosSemImpedirOsDemais() {
+        when(usuarioClient.usuariosExistentes(anyCollection())).thenReturn(List.of(1L));
+        TarefaDTO semTitulo = novaTarefa(" ", 1L);
+        TarefaDTO usuarioInexistente = novaTarefa("Outra", 99L);
+        List<TarefaDTO> tarefas = Arrays.asList(novaTarefa("Valida", 1L), semTitulo, null, usuarioInexistente);
+
+        ResultadoLoteDTO resultado = loteTarefaService.criarEmLote(tarefas);
+
+        assertThat(resultado.getSucessos()).isEqualTo(1);
+        assertThat(resultado.getFalhas()).isEqualTo(3);
+        List<ResultadoItemLoteDTO> itens = resultado.getItens();
+        assertThat(itens.get(0).isSucesso()).isTrue();
+        assertThat(itens.get(1).getErro()).isEqualTo("O título é obrigatório");
+        assertThat(itens.get(2).getErro()).isEqualTo("Tarefa não informada");
+        assertThat(itens.get(3).getErro()).isEqualTo("Usuário não encontrado com o ID: 99");
+        assertThat(tarefaRepository.count()).isEqualTo(1);
+        // Um unico evento por lote, so com as tarefas gravadas
+        assertThat(eventos).singleElement().isInstanceOfSatisfying(TarefasGravadasEvent.class,
+                evento -> assertThat(evento.getTarefas()).extracting(TarefaDTO::getTitulo).containsExactly("Valida"));
+    }
+
+    @Test
+    void deveAtualizarTarefasEmLote() {
+        when(usuarioClient.usuariosExistentes(anyCollection())).thenReturn(List.of(1L, 2L));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            ids.add(persistir("Tarefa " + i, StatusTarefa.PENDENTE));
+        }
+        Long concluida = persistir("Concluída", StatusTarefa.CONCLUIDO);
+
+        List<TarefaDTO> alteracoes = new ArrayList<>();
+        for (Long id : ids) {
+            TarefaDTO dto = novaTarefa("Alterada " + id, 2L);
+            dto.setId(id);
+            dto.setStatus(StatusTarefa.EM_ANDAMENTO);
+            alteracoes.add(dto);
+        }
+        TarefaDTO repetida = novaTarefa("Repetida", 2L);
+        repetida.setId(ids.get(0));
+        TarefaDTO inexistente = novaTarefa("Inexistente", 2L);
+        inexistente.setId(999_999L);
+        TarefaDTO naoEditavel = novaTarefa("Não editável", 2L);
+        naoEditavel.setId(concluida);
+        TarefaDTO semId = novaTarefa("Sem ID", 2L);
+        alteracoes.addAll(List.of(repetida, inexistente, naoEditavel, semId));
+
+        ResultadoLoteDTO resultado = loteTarefaService.atualizarEmLote(alteracoes);
+
+        assertThat(resultado.getSucessos()).isEqualTo(120);
+        List<ResultadoItemLoteDTO> itens = resultado.getItens();
+        assertThat(itens.get(120).getErro()).isEqualTo("Tarefa repetida no lote: " + ids.get(0));
+        assertThat(itens.get(121).getErro()).isEqualTo("Tarefa não encontrada com o ID: 999999");
+        assertThat(itens.get(122).getErro()).isEqualTo("Tarefas com status 'CONCLUIDO' não podem ser editadas");
+        assertThat(itens.get(123).getErro()).isEqualTo("O ID da tarefa é obrigatório");
+
+        Tarefa atualizada = tarefaRepository.findById(ids.get(0)).orElseThrow();
+        assertThat(atualizada.getTitulo()).isEqualTo("Alterada " + ids.get(0));
+        assertThat(atualizada.getStatus()).isEqualTo(StatusTarefa.EM_ANDAMENTO);
+        assertThat(atualizada.getUsuarioId()).isEqualTo(2L);
+        assertThat(tarefaRepository.findById(concluida).orElseThrow().getTitulo()).isEqualTo("Concluída");
+        assertThat(contadorTarefaService.estatisticas(1L).getPorStatus())
+                .containsEntry(StatusTarefa.PENDENTE, 0L)
+                .containsEntry(StatusTarefa.CONCLUIDO, 1L);
+        assertThat(contadorTarefaService.estatisticas(2L).getPorStatus())
+                .containsEntry(StatusTarefa.EM_ANDAMENTO, 120L)
+                .containsEntry(StatusTarefa.PENDENTE, 0L);
+        // O evento leva a versao gravada pelo UPDATE, e nao a anterior
+        assertThat(eventos).singleElement().isInstanceOfSatisfying(TarefasGravadasEvent.class, evento -> {
+            assertThat(evento.getTarefas()).hasSize(120);
+            assertThat(evento.getTarefas().get(0).getVersao()).isEqualTo(atualizada.getVersao()).isPositive();
+        });
+    }
+
+    @Test
+    void deveRejeitarLoteVazioOuAcimaDoLimite() {
+        assertThrows(LoteInvalidoException.class, () -> loteTarefaService.criarEmLote(List.of()));
+
+        List<TarefaDTO> grande = IntStream.rangeClosed(0, LoteTarefaService.TAMANHO_MAXIMO_LOTE)
+                .mapToObj(i -> novaTarefa("Tarefa", 1L))
+                .toList();
+        assertThrows(LoteInvalidoException.class, () -> loteTarefaService.atualizarEmLote(grande));
+        verifyNoInteractions(usuarioClient);
+    }
+
+    @Test
+    void deveAlterarStatusPelosIdsEInformarOsRejeitados() {
+        Long pendente = persistir("Pendente", StatusTarefa.PENDENTE);
+        Long emAndamento = persistir("Em andamento", StatusTarefa.EM_ANDAMENTO);
+        Long concluida = persistir("Concluída", StatusTarefa.CONCLUIDO);
+
+        ResultadoAlteracaoStatusDTO resultado = loteTarefaService.alterarStatusEmLote(new AlteracaoStatusLoteDTO(
+                StatusTarefa.EM_ANDAMENTO, List.of(pendente, emAndamento, concluida, 999_999L, pendente), null, null));
+        entityManager.clear();
+
+        // A que ja estava em andamento nao eh alterada nem rejeitada
+        assertThat(resultado.getAlteradas()).isEqualTo(1);
+        assertThat(resultado.getRejeitadas()).containsExactly(concluida, 999_999L);
+        assertThat(resultado.isTemMais()).isFalse();
+        assertThat(tarefaRepository.findById(pendente).orElseThrow().getStatus()).isEqualTo(StatusTarefa.EM_ANDAMENTO);
+        assertThat(contadorTarefaService.estatisticas(1L).getPorStatus())
+                .containsEntry(StatusTarefa.PENDENTE, 0L)
+                .containsEntry(StatusTarefa.EM_ANDAMENTO, 2L)
+                .containsEntry(StatusTarefa.CONCLUIDO, 1L);
+        assertThat(eventos).singleElement().isInstanceOfSatisfying(TarefasGravadasEvent.class,
+                evento -> assertThat(evento.getTarefas()).extracting(TarefaDTO::getId).containsExactly(pendente));
+        verifyNoInteractions(usuarioClient);
+    }
+
+    @Test
+    void deveAlterarStatusPorFiltro() {
+        for (int i = 0; i < 30; i++) {
+            persistir("Tarefa " + i, i % 3 == 0 ? StatusTarefa.EM_ANDAMENTO : StatusTarefa.PENDENTE);
+        }
+
+        ResultadoAlteracaoStatusDTO resultado = loteTarefaService.alterarStatusEmLote(
+                new AlteracaoStatusLoteDTO(StatusTarefa.CONCLUIDO, null, 1L, StatusTarefa.PENDENTE));
+        entityManager.clear();
+
+        assertThat(resultado.getAlteradas()).isEqualTo(20);
+        assertThat(resultado.getRejeitadas()).isEmpty();
+        assertThat(resultado.isTemMais()).isFalse();
+        assertThat(tarefaRepository.findByUsuarioIdAndStatus(1L, StatusTarefa.CONCLUIDO)).hasSize(20);
+        assertThat(contadorTarefaService.estatisticas(1L).getPorStatus())
+                .containsEntry(StatusTarefa.PENDENTE, 0L)
+                .containsEntry(StatusTarefa.EM_ANDAMENTO, 10L)
+                .containsEntry(StatusTarefa.CONCLUIDO, 20L);
+    }
+
+    @Test
+    void deveRejeitarAlteracaoDeStatusSemIdsNemFiltroOuComOsDois() {
+        assertThrows(LoteInvalidoException.class, () -> loteTarefaService.alterarStatusEmLote(
+                new AlteracaoStatusLoteDTO(StatusTarefa.CONCLUIDO, null, null, null)));
+        assertThrows(LoteInvalidoException.class, () -> loteTarefaService.alterarStatusEmLote(
+                new AlteracaoStatusLoteDTO(StatusTarefa.CONCLUIDO, List.of(), null, null)));
+        assertThrows(LoteInvalidoException.class, () -> loteTarefaService.alterarStatusEmLote(
+                new AlteracaoStatusLoteDTO(StatusTarefa.CONCLUIDO, List.of(1L), 1L, null)));
+        assertThat(eventos).isEmpty();
+    }
+
+    private TarefaDTO novaTarefa(String titulo, Long usuarioId) {
+        TarefaDTO dto = new TarefaDTO();
+        dto.setTitulo(titulo);
+        dto.setStatus(StatusTarefa.PENDENTE);
+        dto.setDataLimite(LocalDate.now().plusDays(7));
+        dto.setUsuarioId(usuarioId);
+        return dto;
+    }
+
+    private Long persistir(String titulo, StatusTarefa status) {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setTitulo(titulo);
+        tarefa.setStatus(status);
+        tarefa.setUsuarioId(1L);
+        entityManager.persist(tarefa);
+        contadorTarefaService.tarefaCriada(tarefa);
+        return tarefa.getId();
+    }
+}
@@ -1,12 +1,26 @@
 package com.desafio.tarefa.service;
 
 import com.desafio.tarefa.client.UsuarioClient;
+import com.desafio.tarefa.dto.PaginaDTO;
+import com.desafio.tarefa.dto.ParametrosPaginacao;
 import com.desafio.tarefa.dto.TarefaDTO;
+import com.desafio.tarefa.event.TarefaExcluidaEvent;
+import com.desafio.tarefa.event.TarefasGravadasEvent;
+import com.desafio.tarefa.exception.CampoInvalidoException;
+import com.desafio.tarefa.exception.CursorInvalidoException;
+import com.desafio.tarefa.exception.ServicoUsuarioIndisponivelException;
 import com.desafio.tarefa.exception.StatusInvalidoException;
 import com.desafio.tarefa.exception.TarefaNaoEncontradaException;
 import com.desafio.tarefa.exception.UsuarioNaoExisteException;
+import com.desafio.tarefa.exception.VersaoDivergenteException;
+import com.desafio.tarefa.model.CampoTarefa;
+import com.desafio.tarefa.model.ChaveContadorTarefa;
+import com.desafio.tarefa.model.OrdenacaoTarefa;
 import com.desafio.tarefa.model.StatusTarefa;
 import com.desafio.tarefa.model.Tarefa;
+import com.desafio.tarefa.repository.CursorTarefa;
+import com.desafio.tarefa.repository.StatusAlterado;
+import com.desafio.tarefa.repository.TarefaExcluida;
 import com.desafio.tarefa.repository.TarefaRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,16 +28,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +58,12 @@ public class TarefaServiceTest {
     @Mock
     private UsuarioClient usuarioClient;
 
+    @Mock
+    private ContadorTarefaService contadorTarefaService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TarefaService tarefaService;
 
@@ -54,6 +83,7 @@ public class TarefaServiceTest {
         tarefa.setDataCriacao(LocalDateTime.now());
         tarefa.setDataLimite(LocalDate.now().plusDays(7));
         tarefa.setUsuarioId(USUARIO_ID);
+        tarefa.setVersao(0L);
 
         tarefaDTO = new TarefaDTO();
         tarefaDTO.setId(TAREFA_ID);
@@ -68,15 +98,48 @@ public class TarefaServiceTest {
     @Test
     void deveListarTodasAsTarefas() {
         
-        List<Tarefa> tarefas = Arrays.asList(tarefa);
-        when(tarefaRepository.findAll()).thenReturn(tarefas);
+        List<TarefaDTO> tarefas = Arrays.asList(tarefaDTO);
+        when(tarefaRepository.buscarPagina(null, null, CampoTarefa.RESUMO, OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC, null, 21))
+                .thenReturn(tarefas);
 
-        List<TarefaDTO> resultado = tarefaService.listarTodas();
+        PaginaDTO<TarefaDTO> resultado = tarefaService.listarTodas(new ParametrosPaginacao(), CampoTarefa.RESUMO);
 
         assertNotNull(resultado);
-        assertEquals(1, resultado.size());
-        assertEquals(TAREFA_ID, resultado.get(0).getId());
-        verify(tarefaRepository, times(1)).findAll();
+        assertEquals(1, resultado.getTamanho());
+        assertEquals(TAREFA_ID, resultado.getConteudo().get(0).getId());
+        assertFalse(resultado.isTemProxima());
+        assertNull(resultado.getProximoCursor());
+        verify(tarefaRepository, times(1))
+                .buscarPagina(null, null, CampoTarefa.RESUMO, OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC, null, 21);
+        verify(tarefaRepository, never()).findAll();
+    }
+
+    @Test
+    void deveRetornarCursorQuandoExistirProximaPagina() {
+        TarefaDTO segunda = new TarefaDTO();
+        segunda.setId(2L);
+        segunda.setDataCriacao(LocalDateTime.now());
+        when(tarefaRepository.buscarPagina(isNull(), isNull(), eq(CampoTarefa.RESUMO), eq(OrdenacaoTarefa.DATA_CRIACAO), eq(Sort.Direction.ASC),
+                isNull(), eq(2))).thenReturn(Arrays.asList(tarefaDTO, segunda));
+
+        PaginaDTO<TarefaDTO> resultado = tarefaService.listarTodas(
+                new ParametrosPaginacao(null, 1, OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC), CampoTarefa.RESUMO);
+
+        assertEquals(1, resultado.getTamanho());
+        assertTrue(resultado.isTemProxima());
+        CursorTarefa cursor = CursorTarefa.decodificar(resultado.getProximoCursor(),
+                OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC);
+        assertEquals(TAREFA_ID, cursor.getId());
+        assertEquals(tarefaDTO.getDataCriacao(), cursor.getValor());
+    }
+
+    @Test
+    void deveRejeitarCursorDeOutraOrdenacao() {
+        String cursor = new CursorTarefa(OrdenacaoTarefa.DATA_LIMITE, Sort.Direction.ASC, LocalDate.now(), 5L).codificar();
+
+        assertThrows(CursorInvalidoException.class, () -> tarefaService.listarTodas(
+                new ParametrosPaginacao(cursor, 20, OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC), CampoTarefa.RESUMO));
+        verifyNoInteractions(tarefaRepository);
     }
 
     @Test
@@ -95,48 +158,54 @@ public class TarefaServiceTest {
     @Test
     void deveFiltrarTarefasPorUsuario() {
         
-        List<Tarefa> tarefas = Arrays.asList(tarefa);
+        List<TarefaDTO> tarefas = Arrays.asList(tarefaDTO);
         when(usuarioClient.usuarioExiste(USUARIO_ID)).thenReturn(true);
-        when(tarefaRepository.findByUsuarioId(USUARIO_ID)).thenReturn(tarefas);
+        when(tarefaRepository.buscarPagina(USUARIO_ID, null, CampoTarefa.RESUMO, OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC, null, 21))
+                .thenReturn(tarefas);
 
-        List<TarefaDTO> resultado = tarefaService.filtrarPorUsuario(USUARIO_ID);
+        PaginaDTO<TarefaDTO> resultado = tarefaService.filtrarPorUsuario(USUARIO_ID, new ParametrosPaginacao(), CampoTarefa.RESUMO);
 
         assertNotNull(resultado);
-        assertEquals(1, resultado.size());
-        assertEquals(USUARIO_ID, resultado.get(0).getUsuarioId());
+        assertEquals(1, resultado.getTamanho());
+        assertEquals(USUARIO_ID, resultado.getConteudo().get(0).getUsuarioId());
         verify(usuarioClient, times(1)).usuarioExiste(USUARIO_ID);
-        verify(tarefaRepository, times(1)).findByUsuarioId(USUARIO_ID);
+        verify(tarefaRepository, times(1))
+                .buscarPagina(USUARIO_ID, null, CampoTarefa.RESUMO, OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC, null, 21);
     }
 
     @Test
     void deveFiltrarTarefasPorStatus() {
         
-        List<Tarefa> tarefas = Arrays.asList(tarefa);
-        when(tarefaRepository.findByStatus(StatusTarefa.PENDENTE)).thenReturn(tarefas);
+        List<TarefaDTO> tarefas = Arrays.asList(tarefaDTO);
+        when(tarefaRepository.buscarPagina(null, StatusTarefa.PENDENTE, CampoTarefa.RESUMO, OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC, null, 21))
+                .thenReturn(tarefas);
 
-        List<TarefaDTO> resultado = tarefaService.filtrarPorStatus(StatusTarefa.PENDENTE);
+        PaginaDTO<TarefaDTO> resultado = tarefaService.filtrarPorStatus(StatusTarefa.PENDENTE, new ParametrosPaginacao(), CampoTarefa.RESUMO);
 
         assertNotNull(resultado);
-        assertEquals(1, resultado.size());
-        assertEquals(StatusTarefa.PENDENTE, resultado.get(0).getStatus());
-        verify(tarefaRepository, times(1)).findByStatus(StatusTarefa.PENDENTE);
+        assertEquals(1, resultado.getTamanho());
+        assertEquals(StatusTarefa.PENDENTE, resultado.getConteudo().get(0).getStatus());
+        verify(tarefaRepository, times(1))
+                .buscarPagina(null, StatusTarefa.PENDENTE, CampoTarefa.RESUMO, OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC, null, 21);
     }
 
     @Test
     void deveFiltrarTarefasPorUsuarioEStatus() {
         
-        List<Tarefa> tarefas = Arrays.asList(tarefa);
+        List<TarefaDTO> tarefas = Arrays.asList(tarefaDTO);
         when(usuarioClient.usuarioExiste(USUARIO_ID)).thenReturn(true);
-        when(tarefaRepository.findByUsuarioIdAndStatus(USUARIO_ID, StatusTarefa.PENDENTE)).thenReturn(tarefas);
+        when(tarefaRepository.buscarPagina(USUARIO_ID, StatusTarefa.PENDENTE, CampoTarefa.RESUMO, OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC, null, 21))
+                .thenReturn(tarefas);
 
-        List<TarefaDTO> resultado = tarefaService.filtrarPorUsuarioEStatus(USUARIO_ID, StatusTarefa.PENDENTE);
+        PaginaDTO<TarefaDTO> resultado = tarefaService.filtrarPorUsuarioEStatus(USUARIO_ID, StatusTarefa.PENDENTE, new ParametrosPaginacao(), CampoTarefa.RESUMO);
 
         assertNotNull(resultado);
-        assertEquals(1, resultado.size());
-        assertEquals(USUARIO_ID, resultado.get(0).getUsuarioId());
-        assertEquals(StatusTarefa.PENDENTE, resultado.get(0).getStatus());
+        assertEquals(1, resultado.getTamanho());
+        assertEquals(USUARIO_ID, resultado.getConteudo().get(0).getUsuarioId());
+        assertEquals(StatusTarefa.PENDENTE, resultado.getConteudo().get(0).getStatus());
         verify(usuarioClient, times(1)).usuarioExiste(USUARIO_ID);
-        verify(tarefaRepository, times(1)).findByUsuarioIdAndStatus(USUARIO_ID, StatusTarefa.PENDENTE);
+        verify(tarefaRepository, times(1))
+                .buscarPagina(USUARIO_ID, StatusTarefa.PENDENTE, CampoTarefa.RESUMO, OrdenacaoTarefa.DATA_CRIACAO, Sort.Direction.ASC, null, 21);
     }
 
     @Test
@@ -152,6 +221,27 @@ public class TarefaServiceTest {
         assertEquals("Tarefa de Teste", resultado.getTitulo());
         verify(usuarioClient, times(1)).usuarioExiste(USUARIO_ID);
         verify(tarefaRepository, times(1)).save(any(Tarefa.class));
+        verify(contadorTarefaService, times(1)).tarefaCriada(tarefa);
+        verify(eventPublisher).publishEvent(argThat((TarefasGravadasEvent evento) ->
+                evento.getTarefas().size() == 1 && TAREFA_ID.equals(evento.getTarefas().get(0).getId())));
+    }
+
+    @Test
+    void naoDeveCriarTarefaParaUsuarioInexistente() {
+        when(usuarioClient.usuarioExiste(USUARIO_ID)).thenReturn(false);
+
+        assertThrows(UsuarioNaoExisteException.class, () -> tarefaService.criar(tarefaDTO));
+        verify(tarefaRepository, never()).save(any());
+        verifyNoInteractions(contadorTarefaService, eventPublisher);
+    }
+
+    @Test
+    void deveRepassarIndisponibilidadeDoServicoDeUsuarios() {
+        ServicoUsuarioIndisponivelException falha = new ServicoUsuarioIndisponivelException("Serviço de usuários indisponível");
+        when(usuarioClient.usuarioExiste(USUARIO_ID)).thenThrow(falha);
+
+        assertSame(falha, assertThrows(ServicoUsuarioIndisponivelException.class, () -> tarefaService.criar(tarefaDTO)));
+        verify(tarefaRepository, never()).save(any());
     }
 
     @Test
@@ -159,13 +249,13 @@ public class TarefaServiceTest {
         
         when(tarefaRepository.findById(TAREFA_ID)).thenReturn(Optional.of(tarefa));
         when(usuarioClient.usuarioExiste(USUARIO_ID)).thenReturn(true);
-        when(tarefaRepository.save(any(Tarefa.class))).thenReturn(tarefa);
+        when(tarefaRepository.saveAndFlush(any(Tarefa.class))).thenReturn(tarefa);
 
         // Modificar DTO para atualização
         tarefaDTO.setTitulo("Tarefa Atualizada");
         tarefaDTO.setStatus(StatusTarefa.EM_ANDAMENTO);
 
-        TarefaDTO resultado = tarefaService.atualizar(TAREFA_ID, tarefaDTO);
+        TarefaDTO resultado = tarefaService.atualizar(TAREFA_ID, tarefaDTO, null);
 
         assertNotNull(resultado);
         assertEquals(TAREFA_ID, resultado.getId());
@@ -173,40 +263,208 @@ public class TarefaServiceTest {
         assertEquals(StatusTarefa.EM_ANDAMENTO, resultado.getStatus());
         verify(tarefaRepository, times(1)).findById(TAREFA_ID);
         verify(usuarioClient, times(1)).usuarioExiste(USUARIO_ID);
-        verify(tarefaRepository, times(1)).save(any(Tarefa.class));
+        verify(tarefaRepository, times(1)).saveAndFlush(any(Tarefa.class));
+        // O contador anterior eh o do status lido do banco, antes das alteracoes
+        verify(contadorTarefaService, times(1))
+                .tarefaAlterada(new ChaveContadorTarefa(USUARIO_ID, StatusTarefa.PENDENTE), tarefa);
+        verify(eventPublisher).publishEvent(any(TarefasGravadasEvent.class));
     }
 
     @Test
     void deveExcluirTarefa() {
-        
-        when(tarefaRepository.existsById(TAREFA_ID)).thenReturn(true);
-        doNothing().when(tarefaRepository).deleteById(TAREFA_ID);
+        when(tarefaRepository.excluir(TAREFA_ID, null, 0L, 1))
+                .thenReturn(List.of(new TarefaExcluida(TAREFA_ID, USUARIO_ID, StatusTarefa.PENDENTE)));
+
+        tarefaService.excluir(TAREFA_ID, 0L);
+
+        // Um unico DELETE, sem ler a tarefa antes
+        verify(tarefaRepository, never()).findById(any());
+        verify(contadorTarefaService, times(1)).aplicar(Map.of(new ChaveContadorTarefa(USUARIO_ID, StatusTarefa.PENDENTE), -1L));
+        verify(eventPublisher).publishEvent(argThat((TarefaExcluidaEvent evento) -> TAREFA_ID.equals(evento.getTarefaId())));
+    }
+
+    @Test
+    void naoDeveExcluirTarefaInexistente() {
+        when(tarefaRepository.excluir(TAREFA_ID, null, null, 1)).thenReturn(List.of());
+
+        assertThrows(TarefaNaoEncontradaException.class, () -> tarefaService.excluir(TAREFA_ID, null));
+        verify(tarefaRepository, never()).findById(any());
+        verifyNoInteractions(contadorTarefaService);
+    }
+
+    @Test
+    void naoDeveAtualizarTarefaEmOutraVersao() {
+        when(tarefaRepository.findById(TAREFA_ID)).thenReturn(Optional.of(tarefa));
+
+        VersaoDivergenteException erro = assertThrows(VersaoDivergenteException.class,
+                () -> tarefaService.atualizar(TAREFA_ID, tarefaDTO, 1L));
+
+        assertEquals("A tarefa 1 está na versão 0, diferente da informada em If-Match", erro.getMessage());
+        verify(tarefaRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(usuarioClient, contadorTarefaService, eventPublisher);
+    }
+
+    @Test
+    void deveAtualizarParcialmenteApenasOsCamposAlteradosSemConsultarUsuario() {
+        when(tarefaRepository.findById(TAREFA_ID)).thenReturn(Optional.of(tarefa));
+        when(tarefaRepository.atualizarCampos(eq(TAREFA_ID), eq(0L), any())).thenReturn(true);
+
+        // O titulo e o usuario enviados sao os atuais: so o status vai para o UPDATE
+        TarefaDTO resultado = tarefaService.atualizarParcialmente(TAREFA_ID,
+                Map.of("status", "EM_ANDAMENTO", "titulo", "Tarefa de Teste", "usuarioId", USUARIO_ID.intValue()), null);
+
+        assertEquals(StatusTarefa.EM_ANDAMENTO, resultado.getStatus());
+        assertEquals("Descrição da tarefa de teste", resultado.getDescricao());
+        assertEquals(1L, resultado.getVersao());
+        verify(tarefaRepository).atualizarCampos(TAREFA_ID, 0L, Map.of(CampoTarefa.STATUS, StatusTarefa.EM_ANDAMENTO));
+        verify(tarefaRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(usuarioClient);
+        verify(contadorTarefaService).aplicar(Map.of(
+                new ChaveContadorTarefa(USUARIO_ID, StatusTarefa.PENDENTE), -1L,
+                new ChaveContadorTarefa(USUARIO_ID, StatusTarefa.EM_ANDAMENTO), 1L));
+        verify(eventPublisher).publishEvent(any(TarefasGravadasEvent.class));
+    }
+
+    @Test
+    void deveVerificarUsuarioQuandoOResponsavelMudarNaAtualizacaoParcial() {
+        when(tarefaRepository.findById(TAREFA_ID)).thenReturn(Optional.of(tarefa));
+        when(usuarioClient.usuarioExiste(20L)).thenReturn(false);
+
+        assertThrows(UsuarioNaoExisteException.class,
+                () -> tarefaService.atualizarParcialmente(TAREFA_ID, Map.of("usuarioId", 20), null));
+        verify(tarefaRepository, never()).atualizarCampos(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void deveApagarValorEnviadoComoNullNaAtualizacaoParcial() {
+        when(tarefaRepository.findById(TAREFA_ID)).thenReturn(Optional.of(tarefa));
+        when(tarefaRepository.atualizarCampos(eq(TAREFA_ID), eq(0L), any())).thenReturn(true);
+        Map<String, Object> alteracoes = new HashMap<>();
+        alteracoes.put("dataLimite", null);
+
+        TarefaDTO resultado = tarefaService.atualizarParcialmente(TAREFA_ID, alteracoes, 0L);
+
+        assertNull(resultado.getDataLimite());
+        Map<CampoTarefa, Object> esperado = new HashMap<>();
+        esperado.put(CampoTarefa.DATA_LIMITE, null);
+        verify(tarefaRepository).atualizarCampos(TAREFA_ID, 0L, esperado);
+    }
+
+    @Test
+    void naoDeveGravarAtualizacaoParcialSemMudancas() {
+        when(tarefaRepository.findById(TAREFA_ID)).thenReturn(Optional.of(tarefa));
+
+        TarefaDTO resultado = tarefaService.atualizarParcialmente(TAREFA_ID, Map.of("status", "PENDENTE"), null);
+
+        assertEquals(0L, resultado.getVersao());
+        verify(tarefaRepository, never()).atualizarCampos(anyLong(), anyLong(), any());
+        verifyNoInteractions(usuarioClient, contadorTarefaService, eventPublisher);
+    }
+
+    @Test
+    void deveRejeitarAlteracaoParcialInvalida() {
+        Map<String, Object> semTitulo = new HashMap<>();
+        semTitulo.put("titulo", null);
+
+        assertEquals("O título é obrigatório", assertThrows(CampoInvalidoException.class,
+                () -> tarefaService.atualizarParcialmente(TAREFA_ID, semTitulo, null)).getMessage());
+        assertEquals("O campo id não pode ser alterado", assertThrows(CampoInvalidoException.class,
+                () -> tarefaService.atualizarParcialmente(TAREFA_ID, Map.of("id", 2), null)).getMessage());
+        assertEquals("Status inválido: FEITO", assertThrows(CampoInvalidoException.class,
+                () -> tarefaService.atualizarParcialmente(TAREFA_ID, Map.of("status", "FEITO"), null)).getMessage());
+        assertThrows(CampoInvalidoException.class,
+                () -> tarefaService.atualizarParcialmente(TAREFA_ID, Map.of("dataLimite", "31/12/2030"), null));
+        assertThrows(CampoInvalidoException.class,
+                () -> tarefaService.atualizarParcialmente(TAREFA_ID, Map.of("prioridade", "alta"), null));
+        verifyNoInteractions(tarefaRepository);
+    }
 
-        tarefaService.excluir(TAREFA_ID);
+    @Test
+    void naoDeveAtualizarParcialmenteTarefaConcluida() {
+        tarefa.setStatus(StatusTarefa.CONCLUIDO);
+        when(tarefaRepository.findById(TAREFA_ID)).thenReturn(Optional.of(tarefa));
+
+        assertThrows(StatusInvalidoException.class,
+                () -> tarefaService.atualizarParcialmente(TAREFA_ID, Map.of("status", "PENDENTE"), null));
+        verify(tarefaRepository, never()).atualizarCampos(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void deveFalharAtualizacaoParcialQuandoOutraRequisicaoAlterouATarefa() {
+        when(tarefaRepository.findById(TAREFA_ID)).thenReturn(Optional.of(tarefa));
+        when(tarefaRepository.atualizarCampos(eq(TAREFA_ID), eq(0L), any())).thenReturn(false);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> tarefaService.atualizarParcialmente(TAREFA_ID, Map.of("titulo", "Outro"), null));
+        verifyNoInteractions(contadorTarefaService, eventPublisher);
+    }
+
+    @Test
+    void deveAlterarStatusComUmUnicoUpdateSemLerATarefa() {
+        TarefaDTO alterada = new TarefaDTO(TAREFA_ID, "Tarefa de Teste", null, StatusTarefa.CONCLUIDO,
+                LocalDateTime.now(), null, USUARIO_ID, 1L);
+        when(tarefaRepository.alterarStatus(List.of(TAREFA_ID), null, null, 0L, StatusTarefa.CONCLUIDO, 1))
+                .thenReturn(List.of(new StatusAlterado(alterada, StatusTarefa.PENDENTE)));
+
+        TarefaDTO resultado = tarefaService.alterarStatus(TAREFA_ID, StatusTarefa.CONCLUIDO, 0L);
+
+        assertSame(alterada, resultado);
+        verify(tarefaRepository, never()).findById(any());
+        verify(contadorTarefaService).aplicar(Map.of(
+                new ChaveContadorTarefa(USUARIO_ID, StatusTarefa.PENDENTE), -1L,
+                new ChaveContadorTarefa(USUARIO_ID, StatusTarefa.CONCLUIDO), 1L));
+        verify(eventPublisher).publishEvent(argThat((TarefasGravadasEvent evento) ->
+                evento.getTarefas().equals(List.of(alterada))));
+    }
+
+    @Test
+    void deveExplicarPorQueOStatusNaoFoiAlterado() {
+        when(tarefaRepository.alterarStatus(any(), any(), any(), any(), any(), anyInt())).thenReturn(List.of());
+        when(tarefaRepository.findById(TAREFA_ID)).thenReturn(Optional.of(tarefa));
+
+        // Ja esta no status pedido: nada a fazer
+        assertEquals(StatusTarefa.PENDENTE, tarefaService.alterarStatus(TAREFA_ID, StatusTarefa.PENDENTE, null).getStatus());
+        assertThrows(VersaoDivergenteException.class,
+                () -> tarefaService.alterarStatus(TAREFA_ID, StatusTarefa.EM_ANDAMENTO, 3L));
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> tarefaService.alterarStatus(TAREFA_ID, StatusTarefa.EM_ANDAMENTO, null));
+        tarefa.setStatus(StatusTarefa.CONCLUIDO);
+        assertThrows(StatusInvalidoException.class,
+                () -> tarefaService.alterarStatus(TAREFA_ID, StatusTarefa.EM_ANDAMENTO, null));
+        when(tarefaRepository.findById(2L)).thenReturn(Optional.empty());
+        assertThrows(TarefaNaoEncontradaException.class,
+                () -> tarefaService.alterarStatus(2L, StatusTarefa.EM_ANDAMENTO, null));
+        verifyNoInteractions(contadorTarefaService, eventPublisher);
+    }
+
+    @Test
+    void naoDeveExcluirTarefaEmOutraVersao() {
+        when(tarefaRepository.excluir(TAREFA_ID, null, 1L, 1)).thenReturn(List.of());
+        when(tarefaRepository.findById(TAREFA_ID)).thenReturn(Optional.of(tarefa));
 
-        verify(tarefaRepository, times(1)).existsById(TAREFA_ID);
-        verify(tarefaRepository, times(1)).deleteById(TAREFA_ID);
+        assertThrows(VersaoDivergenteException.class, () -> tarefaService.excluir(TAREFA_ID, 1L));
+        verifyNoInteractions(contadorTarefaService, eventPublisher);
     }
 
     @Test
     void deveVerificarSeTarefaExisteParaUsuario() {
         
-        when(tarefaRepository.countByUsuarioId(USUARIO_ID)).thenReturn(1L);
+        when(tarefaRepository.existsByUsuarioId(USUARIO_ID)).thenReturn(true);
 
         boolean resultado = tarefaService.temTarefasDoUsuario(USUARIO_ID);
 
         assertTrue(resultado);
-        verify(tarefaRepository, times(1)).countByUsuarioId(USUARIO_ID);
+        verify(tarefaRepository, times(1)).existsByUsuarioId(USUARIO_ID);
     }
 
     @Test
     void deveRetornarFalseQuandoUsuarioNaoTemTarefas() {
         
-        when(tarefaRepository.countByUsuarioId(USUARIO_ID)).thenReturn(0L);
+        when(tarefaRepository.existsByUsuarioId(USUARIO_ID)).thenReturn(false);
 
         boolean resultado = tarefaService.temTarefasDoUsuario(USUARIO_ID);
 
         assertFalse(resultado);
-        verify(tarefaRepository, times(1)).countByUsuarioId(USUARIO_ID);
+        verify(tarefaRepository, times(1)).existsByUsuarioId(USUARIO_ID);
     }
 }
\ No newline at end of file
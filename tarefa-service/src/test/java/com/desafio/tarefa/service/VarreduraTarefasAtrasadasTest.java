@@ -0,0 +1,54 @@
+package com.desafio.tarefa.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class VarreduraTarefasAtrasadasTest {
+
+    @Mock
+    private LembreteTarefaService lembreteTarefaService;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Test
+    void deveProcessarBlocosAteUmBlocoIncompleto() {
+        when(lembreteTarefaService.processarBloco(any(LocalDate.class), eq(2))).thenReturn(2, 2, 1);
+        try (VarreduraTarefasAtrasadas varredura = new VarreduraTarefasAtrasadas(lembreteTarefaService, true,
+                Duration.ofMinutes(1), 2, meterRegistry)) {
+            assertTrue(Double.isNaN(varredura.defasagemSegundos()));
+
+            assertEquals(5, varredura.varrer());
+
+            verify(lembreteTarefaService, times(3)).processarBloco(LocalDate.now(), 2);
+            assertTrue(varredura.defasagemSegundos() >= 0);
+        }
+    }
+
+    @Test
+    void naoDeveMarcarVarreduraCompletaQuandoBlocoFalha() {
+        when(lembreteTarefaService.processarBloco(any(LocalDate.class), eq(2)))
+                .thenReturn(2)
+                .thenThrow(new IllegalStateException("Destino fora do ar"));
+        try (VarreduraTarefasAtrasadas varredura = new VarreduraTarefasAtrasadas(lembreteTarefaService, true,
+                Duration.ofMinutes(1), 2, meterRegistry)) {
+
+            assertThrows(IllegalStateException.class, varredura::varrer);
+
+            assertTrue(Double.isNaN(varredura.defasagemSegundos()));
+        }
+    }
+}
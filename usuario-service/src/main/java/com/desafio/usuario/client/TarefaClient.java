@@ -0,0 +1,24 @@
+package com.desafio.usuario.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+@Component
+public class TarefaClient {
+
+    private final RestClient restClient;
+
+    @Autowired
+    public TarefaClient(RestClient.Builder restClientBuilder, @Value("${tarefa.service.url}") String tarefaServiceUrl) {
+        this.restClient = restClientBuilder.baseUrl(tarefaServiceUrl).build();
+    }
+
+    public void notificarUsuarioExcluido(Long usuarioId) {
+        restClient.post()
+                .uri("/api/tarefas/eventos/usuario-excluido/{usuarioId}", usuarioId)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,403 @@
+package com.desafio.usuario.compressao;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Comprime as respostas com brotli ou gzip, conforme o {@code Accept-Encoding} da requisição (brotli tem
+ * preferência quando os dois são aceitos).
+ * <p>
+ * Só são comprimidas as respostas dos tipos configurados que passam do tamanho mínimo: os primeiros bytes ficam em
+ * um buffer até esse tamanho, e uma resposta menor sai sem compressão e com {@code Content-Length}. Respostas com
+ * ETag forte (um usuário, usado no {@code If-Match}) também saem sem compressão. A compressão do Tomcat
+ * ({@code server.compression}) não serve aqui por esses dois motivos: ela enfraquece o ETag forte de uma resposta
+ * comprimida, e o {@code If-Match} deixaria de aceitar o ETag recebido; e, sem {@code Content-Length} (o Jackson não
+ * informa o tamanho), ela comprime qualquer resposta, por menor que seja.
+ * <p>
+ * Um flush antes do tamanho mínimo só é atendido nos tipos contínuos (exportações em NDJSON ou CSV), em que a
+ * aplicação envia as primeiras linhas antes das demais: nesses tipos a decisão de comprimir é tomada no flush e os
+ * bytes seguem na hora. Nos demais tipos o flush espera o mínimo, porque os conversores do Spring fazem flush ao fim
+ * de toda resposta, inclusive das pequenas.
+ * <p>
+ * As respostas assíncronas são concluídas no último despacho da requisição; a escrita não bloqueante usa o
+ * {@code WriteListener} da resposta original.
+ * <p>
+ * Brotli usa a biblioteca nativa do brotli4j; sem ela para a plataforma, só gzip é oferecido.
+ */
+public class CompressaoRespostaFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(CompressaoRespostaFilter.class);
+
+    static final String GZIP = "gzip";
+    static final String BROTLI = "br";
+
+    private final int tamanhoMinimo;
+    private final List<MediaType> tipos;
+    private final List<MediaType> tiposContinuos;
+    private final boolean brotli;
+    private final Encoder.Parameters parametrosBrotli;
+
+    public CompressaoRespostaFilter(int tamanhoMinimo, List<MediaType> tipos, List<MediaType> tiposContinuos,
+                                    boolean brotli, int qualidadeBrotli) {
+        this.tamanhoMinimo = tamanhoMinimo;
+        this.tipos = List.copyOf(tipos);
+        this.tiposContinuos = List.copyOf(tiposContinuos);
+        this.brotli = brotli && brotliDisponivel();
+        this.parametrosBrotli = new Encoder.Parameters().setQuality(qualidadeBrotli);
+    }
+
+    private static boolean brotliDisponivel() {
+        if (Brotli4jLoader.isAvailable()) {
+            return true;
+        }
+        log.warn("Brotli indisponível nesta plataforma, as respostas serão comprimidas apenas com gzip: {}",
+                Brotli4jLoader.getUnavailabilityCause().getMessage());
+        return false;
+    }
+
+    // O despacho assincrono tambem passa pelo filtro, para concluir a resposta iniciada no primeiro despacho
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RespostaComprimida resposta = WebUtils.getNativeResponse(response, RespostaComprimida.class);
+        HttpServletResponse saida = response;
+        if (resposta == null) {
+            String codificacao = codificacaoAceita(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+            if (codificacao == null) {
+                chain.doFilter(request, response);
+                return;
+            }
+            resposta = new RespostaComprimida(response, codificacao);
+            saida = resposta;
+        }
+        chain.doFilter(request, saida);
+        // Requisicao assincrona: a aplicacao continua escrevendo depois deste despacho
+        if (!request.isAsyncStarted()) {
+            resposta.concluir();
+        }
+    }
+
+    // Codificacao a usar, ou null quando o cliente nao aceita nenhuma das duas; q=0 recusa a codificacao
+    @Nullable
+    String codificacaoAceita(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        boolean aceitaGzip = false;
+        boolean aceitaBrotli = false;
+        for (String item : acceptEncoding.split(",")) {
+            String[] partes = item.split(";");
+            String nome = partes[0].trim().toLowerCase(Locale.ROOT);
+            if (recusada(partes)) {
+                continue;
+            }
+            aceitaGzip |= nome.equals(GZIP) || nome.equals("*");
+            aceitaBrotli |= nome.equals(BROTLI) || nome.equals("*");
+        }
+        if (aceitaBrotli && brotli) {
+            return BROTLI;
+        }
+        return aceitaGzip ? GZIP : null;
+    }
+
+    private static boolean recusada(String[] partes) {
+        for (int i = 1; i < partes.length; i++) {
+            String parametro = partes[i].trim();
+            if (parametro.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parametro.substring(2)) == 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean comprimivel(HttpServletResponse response) {
+        if (response.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            return false;
+        }
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        if (etag != null && !etag.startsWith("W/")) {
+            return false;
+        }
+        return tipoNaLista(response, tipos);
+    }
+
+    private static boolean tipoNaLista(HttpServletResponse response, List<MediaType> lista) {
+        String tipoConteudo = response.getContentType();
+        if (tipoConteudo == null) {
+            return false;
+        }
+        try {
+            MediaType tipo = MediaType.parseMediaType(tipoConteudo);
+            return lista.stream().anyMatch(aceito -> aceito.includes(tipo));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private final class RespostaComprimida extends HttpServletResponseWrapper {
+
+        private final String codificacao;
+        private SaidaComprimida saida;
+        private PrintWriter escritor;
+        // Content-Length informado pela aplicacao; so vai para a resposta se ela nao for comprimida
+        private long tamanhoDeclarado = -1;
+
+        RespostaComprimida(HttpServletResponse response, String codificacao) {
+            super(response);
+            this.codificacao = codificacao;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (saida == null) {
+                saida = new SaidaComprimida(this);
+            }
+            return saida;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (escritor == null) {
+                escritor = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return escritor;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            tamanhoDeclarado = len;
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            tamanhoDeclarado = len;
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                tamanhoDeclarado = Long.parseLong(value);
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                tamanhoDeclarado = Long.parseLong(value);
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                tamanhoDeclarado = value;
+            } else {
+                super.setIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                tamanhoDeclarado = value;
+            } else {
+                super.addIntHeader(name, value);
+            }
+        }
+
+        // Enquanto a decisao nao foi tomada, o flush nao pode confirmar os cabecalhos da resposta
+        @Override
+        public void flushBuffer() throws IOException {
+            if (escritor != null) {
+                escritor.flush();
+            }
+            if (saida != null) {
+                saida.flush();
+            }
+            if (saida == null || saida.decidida()) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (saida != null) {
+                saida.descartar();
+            }
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            if (saida != null) {
+                saida.descartar();
+            }
+            tamanhoDeclarado = -1;
+            super.reset();
+        }
+
+        // Chamado ao fim da requisicao: envia o que ficou no buffer e encerra o fluxo comprimido
+        void concluir() throws IOException {
+            if (escritor != null) {
+                escritor.flush();
+            }
+            if (saida != null) {
+                saida.concluir();
+            } else if (tamanhoDeclarado >= 0) {
+                super.setContentLengthLong(tamanhoDeclarado);
+            }
+        }
+    }
+
+    private final class SaidaComprimida extends ServletOutputStream {
+
+        private final RespostaComprimida resposta;
+        private final ServletOutputStream saidaOriginal;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        // null ate a decisao entre comprimir ou nao
+        private OutputStream destino;
+        private boolean comprimida;
+        private boolean concluida;
+
+        SaidaComprimida(RespostaComprimida resposta) throws IOException {
+            this.resposta = resposta;
+            this.saidaOriginal = resposta.getResponse().getOutputStream();
+        }
+
+        boolean decidida() {
+            return destino != null;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (destino != null) {
+                destino.write(b);
+                return;
+            }
+            buffer.write(b);
+            if (buffer.size() >= tamanhoMinimo) {
+                decidir(comprimivel(resposta), resposta.tamanhoDeclarado);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (destino != null) {
+                destino.write(b, off, len);
+                return;
+            }
+            buffer.write(b, off, len);
+            if (buffer.size() >= tamanhoMinimo) {
+                decidir(comprimivel(resposta), resposta.tamanhoDeclarado);
+            }
+        }
+
+        // tamanho: Content-Length da resposta sem compressao, ou negativo quando desconhecido
+        private void decidir(boolean comprimir, long tamanho) throws IOException {
+            HttpServletResponse original = (HttpServletResponse) resposta.getResponse();
+            comprimida = comprimir;
+            if (comprimida) {
+                original.setHeader(HttpHeaders.CONTENT_ENCODING, resposta.codificacao);
+                original.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                destino = resposta.codificacao.equals(BROTLI)
+                        ? new BrotliOutputStream(saidaOriginal, parametrosBrotli)
+                        : new GZIPOutputStream(saidaOriginal, 8192, true);
+            } else {
+                if (tamanho >= 0) {
+                    original.setContentLengthLong(tamanho);
+                }
+                destino = saidaOriginal;
+            }
+            buffer.writeTo(destino);
+            buffer = null;
+        }
+
+        void descartar() {
+            if (buffer != null) {
+                buffer.reset();
+            }
+        }
+
+        // Nos tipos continuos o flush antecipa a decisao; nos demais espera o tamanho minimo ou o fim da resposta
+        @Override
+        public void flush() throws IOException {
+            if (destino == null && !concluida && tipoNaLista(resposta, tiposContinuos)) {
+                decidir(comprimivel(resposta), resposta.tamanhoDeclarado);
+            }
+            if (destino != null) {
+                destino.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            concluir();
+        }
+
+        void concluir() throws IOException {
+            if (concluida) {
+                return;
+            }
+            concluida = true;
+            if (destino == null) {
+                // Resposta inteira no buffer: o tamanho eh conhecido mesmo que a aplicacao nao tenha informado
+                decidir(false, buffer.size());
+            }
+            if (comprimida) {
+                // Encerra o fluxo comprimido (rodape do gzip, ultimo bloco do brotli) e a resposta
+                destino.close();
+            } else {
+                destino.flush();
+            }
+        }
+
+        // Enquanto o buffer nao passa do minimo a escrita so vai para a memoria
+        @Override
+        public boolean isReady() {
+            return destino == null || saidaOriginal.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            saidaOriginal.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.desafio.usuario.config;
+
+import com.desafio.usuario.grpc.ServidorGrpc;
+import com.desafio.usuario.grpc.UsuariosInternoGrpcService;
+import com.desafio.usuario.service.UsuarioService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * API interna em gRPC para o serviço de tarefas ({@code usuarios_interno.proto}), em {@code grpc.servidor.porta}.
+ * Os endpoints HTTP equivalentes continuam disponíveis.
+ */
+@Configuration
+@ConditionalOnProperty(name = "grpc.servidor.habilitado", havingValue = "true", matchIfMissing = true)
+public class GrpcConfig {
+
+    @Bean
+    public UsuariosInternoGrpcService usuariosInternoGrpcService(UsuarioService usuarioService) {
+        return new UsuariosInternoGrpcService(usuarioService);
+    }
+
+    @Bean
+    public ServidorGrpc servidorGrpc(UsuariosInternoGrpcService usuariosInternoGrpcService,
+                                     @Value("${grpc.servidor.porta:9091}") int porta,
+                                     @Value("${grpc.servidor.threads:20}") int threads,
+                                     @Value("${grpc.servidor.espera-encerramento:5s}") Duration esperaEncerramento) {
+        ServidorGrpc servidor = new ServidorGrpc(porta, threads, esperaEncerramento, usuariosInternoGrpcService);
+        servidor.iniciar();
+        return servidor;
+    }
+}
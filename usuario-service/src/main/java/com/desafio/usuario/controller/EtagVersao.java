@@ -0,0 +1,48 @@
+package com.desafio.usuario.controller;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ETags dos usuários a partir da coluna de versão.
+ * <p>
+ * Um usuário tem ETag forte com a sua versão ({@code "3"}). A listagem tem ETag fraca com o resumo da tabela
+ * (quantidade, maior ID e soma das versões), calculado no banco sem ler os usuários.
+ */
+final class EtagVersao {
+
+    // Versao de If-Match que nao corresponde a nenhum usuario (as versoes comecam em 0)
+    static final long NENHUMA_VERSAO = -1;
+
+    private EtagVersao() {
+    }
+
+    static String forte(Long versao) {
+        return "\"" + versao + "\"";
+    }
+
+    static String fraca(String resumo) {
+        return "W/\"" + DigestUtils.md5DigestAsHex(resumo.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Versão exigida por um cabeçalho {@code If-Match}: {@code null} sem cabeçalho ou com {@code *} (qualquer versão).
+     * If-Match usa comparação forte, então ETags fracas, listas e valores que não sejam uma versão resultam em
+     * {@link #NENHUMA_VERSAO} e a gravação é recusada com 412.
+     */
+    static Long versaoExigida(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.length() < 3 || !valor.startsWith("\"") || !valor.endsWith("\"")) {
+            return NENHUMA_VERSAO;
+        }
+        try {
+            return Long.parseLong(valor.substring(1, valor.length() - 1));
+        } catch (NumberFormatException e) {
+            return NENHUMA_VERSAO;
+        }
+    }
+}
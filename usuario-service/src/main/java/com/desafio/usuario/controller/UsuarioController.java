@@ -1,16 +1,22 @@
 package com.desafio.usuario.controller;
 
+import com.desafio.usuario.dto.AlteracoesUsuariosDTO;
+import com.desafio.usuario.dto.SnapshotUsuariosDTO;
 import com.desafio.usuario.dto.UsuarioDTO;
 import com.desafio.usuario.service.UsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/usuarios")
@@ -18,6 +24,9 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class UsuarioController {
 
+    // Tipo de conteudo do JSON Merge Patch (RFC 7396); application/json tambem eh aceito no PATCH
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private final UsuarioService usuarioService;
 
     @Autowired
@@ -26,37 +35,53 @@ public class UsuarioController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar todos os usuários")
-    public ResponseEntity<List<UsuarioDTO>> listarTodos() {
+    @Operation(summary = "Listar todos os usuários", description = "Retorna um ETag fraco da lista; com If-None-Match igual ao ETag atual, responde 304 sem ler os usuários")
+    public ResponseEntity<List<UsuarioDTO>> listarTodos(WebRequest request) {
+        // A lista nao tem limite: o ETag sai de uma consulta de agregacao e o 304 evita carregar e serializar tudo
+        String etag = EtagVersao.fraca(usuarioService.versaoDaLista());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<UsuarioDTO> usuarios = usuarioService.listarTodos();
-        return ResponseEntity.ok(usuarios);
+        return ResponseEntity.ok().eTag(etag).body(usuarios);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Buscar usuário por ID")
+    @Operation(summary = "Buscar usuário por ID", description = "Retorna o ETag da versão do usuário; com If-None-Match igual ao ETag atual, responde 304 sem corpo")
     public ResponseEntity<UsuarioDTO> buscarPorId(@PathVariable Long id) {
         UsuarioDTO usuario = usuarioService.buscarPeloId(id);
-        return ResponseEntity.ok(usuario);
+        return ResponseEntity.ok().eTag(EtagVersao.forte(usuario.getVersao())).body(usuario);
     }
 
     @PostMapping
     @Operation(summary = "Criar novo usuário")
     public ResponseEntity<UsuarioDTO> criar(@Valid @RequestBody UsuarioDTO usuarioDTO) {
         UsuarioDTO novoUsuario = usuarioService.criar(usuarioDTO);
-        return new ResponseEntity<>(novoUsuario, HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(EtagVersao.forte(novoUsuario.getVersao())).body(novoUsuario);
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Atualizar usuário existente")
-    public ResponseEntity<UsuarioDTO> atualizar(@PathVariable Long id, @Valid @RequestBody UsuarioDTO usuarioDTO) {
-        UsuarioDTO usuarioAtualizado = usuarioService.atualizar(id, usuarioDTO);
-        return ResponseEntity.ok(usuarioAtualizado);
+    @Operation(summary = "Atualizar usuário existente", description = "Com If-Match, só grava se o ETag informado for o da versão atual (senão, 412)")
+    public ResponseEntity<UsuarioDTO> atualizar(@PathVariable Long id, @Valid @RequestBody UsuarioDTO usuarioDTO,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        UsuarioDTO usuarioAtualizado = usuarioService.atualizar(id, usuarioDTO, EtagVersao.versaoExigida(ifMatch));
+        return ResponseEntity.ok().eTag(EtagVersao.forte(usuarioAtualizado.getVersao())).body(usuarioAtualizado);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Alterar nome e/ou email de um usuário", description = "JSON Merge Patch: só os campos enviados são alterados. "
+            + "Com If-Match, só grava se o ETag informado for o da versão atual (senão, 412)")
+    public ResponseEntity<UsuarioDTO> atualizarParcialmente(@PathVariable Long id, @RequestBody Map<String, Object> alteracoes,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        UsuarioDTO usuarioAtualizado = usuarioService.atualizarParcialmente(id, alteracoes, EtagVersao.versaoExigida(ifMatch));
+        return ResponseEntity.ok().eTag(EtagVersao.forte(usuarioAtualizado.getVersao())).body(usuarioAtualizado);
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "Excluir usuário")
-    public ResponseEntity<Void> excluir(@PathVariable Long id) {
-        usuarioService.excluir(id);
+    @Operation(summary = "Excluir usuário", description = "Com If-Match, só exclui se o ETag informado for o da versão atual (senão, 412)")
+    public ResponseEntity<Void> excluir(@PathVariable Long id,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        usuarioService.excluir(id, EtagVersao.versaoExigida(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -67,4 +92,23 @@ public class UsuarioController {
         boolean existe = usuarioService.usuarioExiste(id);
         return ResponseEntity.ok(existe);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/existem")
+    @Operation(summary = "Verificar existência de vários usuários", description = "Recebe uma lista de IDs e retorna apenas os que existem. Endpoint utilizado internamente pelo serviço de tarefas")
+    public ResponseEntity<List<Long>> usuariosExistentes(@RequestBody List<Long> ids) {
+        List<Long> existentes = usuarioService.usuariosExistentes(ids);
+        return ResponseEntity.ok(existentes);
+    }
+
+    @GetMapping("/ids")
+    @Operation(summary = "Listar os IDs de todos os usuários", description = "Estado inicial da cópia local de IDs mantida pelo serviço de tarefas, com a versão correspondente")
+    public ResponseEntity<SnapshotUsuariosDTO> snapshotIds() {
+        return ResponseEntity.ok(usuarioService.snapshotIds());
+    }
+
+    @GetMapping("/alteracoes")
+    @Operation(summary = "Listar usuários criados e excluídos após uma versão", description = "Mantém atualizada a cópia local de IDs do serviço de tarefas")
+    public ResponseEntity<AlteracoesUsuariosDTO> alteracoes(@RequestParam long desde) {
+        return ResponseEntity.ok(usuarioService.alteracoesDesde(desde));
+    }
+}
@@ -0,0 +1,24 @@
+package com.desafio.usuario.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Usuarios criados e excluidos depois da versao pedida, ate a versao informada aqui. IDs nao sao reutilizados,
+// entao quem aplica pode incluir os criados e depois remover os excluidos
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlteracoesUsuariosDTO {
+
+    private long versao;
+
+    private List<Long> criados;
+
+    private List<Long> excluidos;
+
+    // Havia mais alteracoes do que o limite por consulta: pedir de novo a partir de versao
+    private boolean temMais;
+}
@@ -0,0 +1,18 @@
+package com.desafio.usuario.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// IDs de todos os usuarios existentes; alteracoes com versao maior que a informada ainda nao estao refletidas
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SnapshotUsuariosDTO {
+
+    private long versao;
+
+    private List<Long> ids;
+}
@@ -1,5 +1,6 @@
 package com.desafio.usuario.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
@@ -23,4 +24,8 @@ public class UsuarioDTO {
     private String email;
 
     private LocalDateTime dataCriacao;
+
+    // Vai para o cliente no cabecalho ETag, nao no corpo
+    @JsonIgnore
+    private Long versao;
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.desafio.usuario.event;
+
+import com.desafio.usuario.client.TarefaClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClientException;
+
+// Avisa o serviço de tarefas somente depois que a exclusão foi confirmada no banco
+@Component
+public class NotificadorUsuarioExcluido {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificadorUsuarioExcluido.class);
+
+    private final TarefaClient tarefaClient;
+
+    @Autowired
+    public NotificadorUsuarioExcluido(TarefaClient tarefaClient) {
+        this.tarefaClient = tarefaClient;
+    }
+
+    // Caminho rapido: o servico de tarefas tambem le a exclusao nas alteracoes de usuarios (usuarios_alteracoes)
+    // e limpa as tarefas mesmo sem este aviso, entao uma falha nao eh repetida
+    @Async
+    @TransactionalEventListener
+    public void aoExcluirUsuario(UsuarioExcluidoEvent evento) {
+        try {
+            tarefaClient.notificarUsuarioExcluido(evento.getUsuarioId());
+        } catch (RestClientException e) {
+            // A falha no aviso nao desfaz a exclusao
+            log.warn("Não foi possível notificar o serviço de tarefas sobre a exclusão do usuário {}: {}",
+                    evento.getUsuarioId(), e.getMessage());
+        }
+    }
+}
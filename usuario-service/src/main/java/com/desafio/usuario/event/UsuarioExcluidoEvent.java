@@ -0,0 +1,12 @@
+package com.desafio.usuario.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Publicado pelo UsuarioService quando um usuário é removido
+@Getter
+@AllArgsConstructor
+public class UsuarioExcluidoEvent {
+
+    private final Long usuarioId;
+}
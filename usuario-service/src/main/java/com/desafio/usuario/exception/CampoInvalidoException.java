@@ -0,0 +1,7 @@
+package com.desafio.usuario.exception;
+
+public class CampoInvalidoException extends RuntimeException {
+    public CampoInvalidoException(String mensagem) {
+        super(mensagem);
+    }
+}
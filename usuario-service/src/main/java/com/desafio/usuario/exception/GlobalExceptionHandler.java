@@ -1,17 +1,23 @@
 package com.desafio.usuario.exception;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import lombok.Data;
 import lombok.Getter;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -36,6 +42,63 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(erro, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(LoteInvalidoException.class)
+    public ResponseEntity<ErroResponse> handleLoteInvalidoException(LoteInvalidoException ex) {
+        ErroResponse erro = new ErroResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(VersaoDivergenteException.class)
+    public ResponseEntity<ErroResponse> handleVersaoDivergenteException(VersaoDivergenteException ex) {
+        ErroResponse erro = new ErroResponse(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    // O usuario foi alterado por outra transacao entre a leitura e o UPDATE/DELETE. Com If-Match, a versao
+    // informada deixou de ser a atual (412); sem ele, basta repetir a requisicao (409)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErroResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex,
+                                                                              WebRequest request) {
+        HttpStatus status = request.getHeader(HttpHeaders.IF_MATCH) != null
+                ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        ErroResponse erro = new ErroResponse(
+                status.value(),
+                "O usuário foi alterado por outra requisição",
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, status);
+    }
+
+    @ExceptionHandler(CampoInvalidoException.class)
+    public ResponseEntity<ErroResponse> handleCampoInvalidoException(CampoInvalidoException ex) {
+        ErroResponse erro = new ErroResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.BAD_REQUEST);
+    }
+
+    // Validacao da entidade ao gravar (por exemplo, um email em formato invalido enviado por PATCH)
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErroResponse> handleConstraintViolationException(ConstraintViolationException ex) {
+        ErroResponse erro = new ErroResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getConstraintViolations().stream().map(ConstraintViolation::getMessage).sorted()
+                        .collect(Collectors.joining("; ")),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
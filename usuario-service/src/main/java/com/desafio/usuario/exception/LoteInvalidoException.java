@@ -0,0 +1,7 @@
+package com.desafio.usuario.exception;
+
+public class LoteInvalidoException extends RuntimeException{
+    public LoteInvalidoException(String mensagem){
+        super(mensagem);
+    }
+}
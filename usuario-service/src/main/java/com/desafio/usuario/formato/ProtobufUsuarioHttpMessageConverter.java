@@ -0,0 +1,109 @@
+package com.desafio.usuario.formato;
+
+import com.desafio.usuario.dto.UsuarioDTO;
+import com.desafio.usuario.formato.proto.ListaUsuarios;
+import com.desafio.usuario.formato.proto.Usuario;
+import com.google.protobuf.Message;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Escreve {@link UsuarioDTO} e listas de usuários em Protocol Buffers ({@code application/x-protobuf}), com as
+ * mensagens de {@code usuarios.proto}.
+ * <p>
+ * Só escreve: requisições continuam em JSON (ou Smile/CBOR). As demais respostas, inclusive as de erro, saem em JSON
+ * (ver {@link NegociacaoProtobuf}).
+ */
+public class ProtobufUsuarioHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public ProtobufUsuarioHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return UsuarioDTO.class == clazz;
+    }
+
+    // Consultado pelo Spring MVC so com a classe (sem o tipo generico) ao listar os formatos que o metodo produz;
+    // a verificacao do List<UsuarioDTO> fica no canWrite com o tipo
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return UsuarioDTO.class == clazz || List.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return canWrite(mediaType) && (UsuarioDTO.class == clazz || listaDeUsuarios(type));
+    }
+
+    // List<UsuarioDTO>: o tipo generico vem do retorno do metodo do controller
+    private static boolean listaDeUsuarios(@Nullable Type type) {
+        return type instanceof ParameterizedType parametrizado
+                && parametrizado.getRawType() == List.class
+                && parametrizado.getActualTypeArguments()[0] == UsuarioDTO.class;
+    }
+
+    @Override
+    protected void writeInternal(Object objeto, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        Message mensagem = objeto instanceof UsuarioDTO usuario ? paraMensagem(usuario) : paraMensagem((List<?>) objeto);
+        mensagem.writeTo(outputMessage.getBody());
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Requisições em Protocol Buffers não são aceitas", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Requisições em Protocol Buffers não são aceitas", inputMessage);
+    }
+
+    public static ListaUsuarios paraMensagem(List<?> usuarios) {
+        ListaUsuarios.Builder mensagem = ListaUsuarios.newBuilder();
+        for (Object usuario : usuarios) {
+            mensagem.addUsuarios(paraMensagem((UsuarioDTO) usuario));
+        }
+        return mensagem.build();
+    }
+
+    public static Usuario paraMensagem(UsuarioDTO usuario) {
+        Usuario.Builder mensagem = Usuario.newBuilder();
+        if (usuario.getId() != null) {
+            mensagem.setId(usuario.getId());
+        }
+        if (usuario.getNome() != null) {
+            mensagem.setNome(usuario.getNome());
+        }
+        if (usuario.getEmail() != null) {
+            mensagem.setEmail(usuario.getEmail());
+        }
+        if (usuario.getDataCriacao() != null) {
+            mensagem.setDataCriacao(usuario.getDataCriacao().toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+        return mensagem.build();
+    }
+}
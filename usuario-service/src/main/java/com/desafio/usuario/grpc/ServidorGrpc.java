@@ -0,0 +1,70 @@
+package com.desafio.usuario.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor gRPC da API interna, em porta própria (separada da API HTTP). As chamadas são atendidas por um pool fixo
+ * de threads, que limita quantas verificações chegam ao banco ao mesmo tempo; as demais esperam na fila. No
+ * encerramento, as chamadas em andamento têm até {@code esperaEncerramento} para terminar.
+ */
+public class ServidorGrpc implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ServidorGrpc.class);
+
+    private final ExecutorService executor;
+    private final Server servidor;
+    private final Duration esperaEncerramento;
+
+    public ServidorGrpc(int porta, int threads, Duration esperaEncerramento, BindableService... servicos) {
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "grpc-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        NettyServerBuilder builder = NettyServerBuilder.forPort(porta)
+                .executor(executor)
+                // Os clientes mantem a conexao aberta com pings de keepalive; abaixo disso, o servidor a derruba
+                .permitKeepAliveTime(10, TimeUnit.SECONDS)
+                .permitKeepAliveWithoutCalls(true);
+        for (BindableService servico : servicos) {
+            builder.addService(servico);
+        }
+        this.servidor = builder.build();
+        this.esperaEncerramento = esperaEncerramento;
+    }
+
+    public void iniciar() {
+        try {
+            servidor.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível iniciar o servidor gRPC", e);
+        }
+        log.info("Servidor gRPC ouvindo na porta {}", servidor.getPort());
+    }
+
+    public int getPorta() {
+        return servidor.getPort();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        servidor.shutdown();
+        if (!servidor.awaitTermination(esperaEncerramento.toMillis(), TimeUnit.MILLISECONDS)) {
+            servidor.shutdownNow();
+        }
+        executor.shutdownNow();
+    }
+}
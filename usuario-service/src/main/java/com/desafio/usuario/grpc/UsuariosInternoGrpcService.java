@@ -0,0 +1,102 @@
+package com.desafio.usuario.grpc;
+
+import com.desafio.usuario.exception.LoteInvalidoException;
+import com.desafio.usuario.grpc.proto.ExistenciaUsuario;
+import com.desafio.usuario.grpc.proto.IdsUsuarios;
+import com.desafio.usuario.grpc.proto.UsuarioId;
+import com.desafio.usuario.grpc.proto.UsuariosInternoGrpc;
+import com.desafio.usuario.service.UsuarioService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * API interna de verificação de usuários em gRPC ({@code usuarios_interno.proto}), com as mesmas regras dos
+ * endpoints {@code /api/usuarios/existe/{id}} e {@code /api/usuarios/existem}.
+ * <p>
+ * Lote acima do máximo vira {@code INVALID_ARGUMENT} (o 400 do HTTP); qualquer outra falha (banco fora do ar, por
+ * exemplo) vira {@code INTERNAL}, como o 500.
+ */
+public class UsuariosInternoGrpcService extends UsuariosInternoGrpc.UsuariosInternoImplBase {
+
+    private static final Logger log = LoggerFactory.getLogger(UsuariosInternoGrpcService.class);
+
+    private final UsuarioService usuarioService;
+
+    public UsuariosInternoGrpcService(UsuarioService usuarioService) {
+        this.usuarioService = usuarioService;
+    }
+
+    @Override
+    public void usuarioExiste(UsuarioId request, StreamObserver<ExistenciaUsuario> responseObserver) {
+        try {
+            responseObserver.onNext(existencia(request.getId()));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(status(e));
+        }
+    }
+
+    // As verificacoes de um fluxo sao feitas uma de cada vez, na thread que entrega cada mensagem
+    @Override
+    public StreamObserver<UsuarioId> verificarUsuarios(StreamObserver<ExistenciaUsuario> responseObserver) {
+        return new StreamObserver<>() {
+            private boolean encerrado;
+
+            @Override
+            public void onNext(UsuarioId usuarioId) {
+                if (encerrado) {
+                    return;
+                }
+                try {
+                    responseObserver.onNext(existencia(usuarioId.getId()));
+                } catch (RuntimeException e) {
+                    encerrado = true;
+                    responseObserver.onError(status(e));
+                }
+            }
+
+            @Override
+            public void onError(Throwable erro) {
+                // Cliente cancelou ou a conexao caiu: nao ha a quem responder
+                encerrado = true;
+            }
+
+            @Override
+            public void onCompleted() {
+                if (!encerrado) {
+                    responseObserver.onCompleted();
+                }
+            }
+        };
+    }
+
+    @Override
+    public void usuariosExistentes(IdsUsuarios request, StreamObserver<IdsUsuarios> responseObserver) {
+        try {
+            responseObserver.onNext(IdsUsuarios.newBuilder()
+                    .addAllIds(usuarioService.usuariosExistentes(request.getIdsList()))
+                    .build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(status(e));
+        }
+    }
+
+    private ExistenciaUsuario existencia(long id) {
+        return ExistenciaUsuario.newBuilder()
+                .setId(id)
+                .setExiste(usuarioService.usuarioExiste(id))
+                .build();
+    }
+
+    private static StatusRuntimeException status(RuntimeException erro) {
+        if (erro instanceof LoteInvalidoException) {
+            return Status.INVALID_ARGUMENT.withDescription(erro.getMessage()).asRuntimeException();
+        }
+        log.error("Erro na API interna gRPC", erro);
+        return Status.INTERNAL.withDescription("Erro ao verificar usuários").withCause(erro).asRuntimeException();
+    }
+}
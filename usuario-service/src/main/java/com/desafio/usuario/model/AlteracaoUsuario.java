@@ -0,0 +1,40 @@
+package com.desafio.usuario.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Uma linha por usuario criado ou excluido; a versao cresce a cada alteracao
+@Entity
+@Table(name = "usuarios_alteracoes")
+@Data
+@NoArgsConstructor
+public class AlteracaoUsuario {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "nr_versao", nullable = false)
+    private Long versao;
+
+    @Column(name = "cd_usuario", nullable = false)
+    private Long usuarioId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tp_alteracao", nullable = false, length = 20)
+    private TipoAlteracaoUsuario tipo;
+
+    @Column(name = "data_alteracao", nullable = false)
+    private LocalDateTime dataAlteracao;
+
+    public AlteracaoUsuario(Long usuarioId, TipoAlteracaoUsuario tipo) {
+        this.usuarioId = usuarioId;
+        this.tipo = tipo;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        dataAlteracao = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,6 @@
+package com.desafio.usuario.model;
+
+public enum TipoAlteracaoUsuario {
+    CRIADO,
+    EXCLUIDO
+}
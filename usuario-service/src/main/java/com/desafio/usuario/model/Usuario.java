@@ -6,10 +6,14 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
+// O UPDATE leva apenas as colunas alteradas (alem da versao). Usuarios nao sao atualizados em lote, entao
+// perder o agrupamento de UPDATEs em lotes JDBC nao custa nada aqui
 @Entity
+@DynamicUpdate
 @Table(name = "usuarios")
 @Data
 @NoArgsConstructor
@@ -33,6 +37,12 @@ public class Usuario {
     @Column(name = "data_criacao", nullable = false, updatable = false)
     private LocalDateTime dataCriacao;
 
+    // Incrementada pelo Hibernate a cada alteracao; o UPDATE e o DELETE so afetam a linha se ela ainda estiver
+    // na versao lida (trava otimista). Eh tambem o ETag do usuario
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     @PrePersist
     public void prePersist() {
         dataCriacao = LocalDateTime.now();
@@ -0,0 +1,18 @@
+package com.desafio.usuario.repository;
+
+import com.desafio.usuario.model.AlteracaoUsuario;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AlteracaoUsuarioRepository extends JpaRepository<AlteracaoUsuario, Long> {
+
+    @Query("select coalesce(max(a.versao), 0) from AlteracaoUsuario a")
+    long findUltimaVersao();
+
+    List<AlteracaoUsuario> findByVersaoGreaterThanOrderByVersaoAsc(Long versao, Pageable pageable);
+}
@@ -2,8 +2,12 @@ package com.desafio.usuario.repository;
 
 import com.desafio.usuario.model.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +16,18 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     boolean existsByEmail(String email);
 
     Optional<Usuario> findByEmail(String email);
+
+    // Uma unica consulta "where cd_usuario in (...)" para verificar varios usuarios de uma vez
+    @Query("select u.id from Usuario u where u.id in :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    // Resumo da tabela para o ETag da listagem: muda com qualquer criacao (novo ID maior), alteracao (versao
+    // incrementada) ou exclusao (quantidade menor), sem carregar os usuarios
+    @Query("select concat(cast(count(u) as string), '-', cast(coalesce(max(u.id), 0) as string), '-', "
+            + "cast(coalesce(sum(u.versao), 0) as string)) from Usuario u")
+    String resumoVersoes();
+
+    // Somente a coluna de ID, sem carregar as entidades (snapshot usado pelo servico de tarefas)
+    @Query("select u.id from Usuario u order by u.id")
+    List<Long> findAllIds();
 }
\ No newline at end of file
@@ -1,25 +1,53 @@
 package com.desafio.usuario.service;
 
+import com.desafio.usuario.dto.AlteracoesUsuariosDTO;
+import com.desafio.usuario.dto.SnapshotUsuariosDTO;
 import com.desafio.usuario.dto.UsuarioDTO;
+import com.desafio.usuario.event.UsuarioExcluidoEvent;
+import com.desafio.usuario.exception.CampoInvalidoException;
 import com.desafio.usuario.exception.EmailDuplicadoException;
+import com.desafio.usuario.exception.LoteInvalidoException;
 import com.desafio.usuario.exception.UsuarioNaoEncontradoException;
+import com.desafio.usuario.exception.VersaoDivergenteException;
+import com.desafio.usuario.model.AlteracaoUsuario;
+import com.desafio.usuario.model.TipoAlteracaoUsuario;
 import com.desafio.usuario.model.Usuario;
+import com.desafio.usuario.repository.AlteracaoUsuarioRepository;
 import com.desafio.usuario.repository.UsuarioRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class UsuarioService {
 
+    // Nome do timer dos metodos de negocio (os conversores nao sao medidos)
+    private static final String METRICA = "usuario.service";
+
+    public static final int MAXIMO_IDS_POR_CONSULTA = 1000;
+
+    public static final int MAXIMO_ALTERACOES_POR_CONSULTA = 1000;
+
     private final UsuarioRepository usuarioRepository;
+    private final AlteracaoUsuarioRepository alteracaoUsuarioRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public UsuarioService(UsuarioRepository usuarioRepository) {
+    public UsuarioService(UsuarioRepository usuarioRepository, AlteracaoUsuarioRepository alteracaoUsuarioRepository,
+                          ApplicationEventPublisher eventPublisher) {
         this.usuarioRepository = usuarioRepository;
+        this.alteracaoUsuarioRepository = alteracaoUsuarioRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public UsuarioDTO converterParaDTO(Usuario usuario) {
@@ -28,24 +56,36 @@ public class UsuarioService {
         dto.setNome(usuario.getNome());
         dto.setEmail(usuario.getEmail());
         dto.setDataCriacao(usuario.getDataCriacao());
+        dto.setVersao(usuario.getVersao());
         return dto;
     }
 
+    // O ID eh gerado pelo banco e a versao comeca em 0: os informados no DTO sao ignorados
     public Usuario converterParaEntidade(UsuarioDTO dto) {
         Usuario usuario = new Usuario();
-        usuario.setId(dto.getId());
         usuario.setNome(dto.getNome());
         usuario.setEmail(dto.getEmail());
         // A data de criacao eh definida automaticamente no prePersist
         return usuario;
     }
 
+    @Transactional(readOnly = true)
+    @Timed(value = METRICA, histogram = true)
     public List<UsuarioDTO> listarTodos() {
         return usuarioRepository.findAll().stream()
                 .map(this::converterParaDTO)
                 .collect(Collectors.toList());
     }
 
+    // Base do ETag de GET /api/usuarios: uma consulta de agregacao, sem ler os usuarios
+    @Transactional(readOnly = true)
+    @Timed(value = METRICA, histogram = true)
+    public String versaoDaLista() {
+        return usuarioRepository.resumoVersoes();
+    }
+
+    @Transactional(readOnly = true)
+    @Timed(value = METRICA, histogram = true)
     public UsuarioDTO buscarPeloId(Long id) {
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new UsuarioNaoEncontradoException("Usuário não encontrado com o ID: " + id));
@@ -53,6 +93,7 @@ public class UsuarioService {
     }
 
     @Transactional
+    @Timed(value = METRICA, histogram = true)
     public UsuarioDTO criar(UsuarioDTO usuarioDTO) {
         if (usuarioRepository.existsByEmail(usuarioDTO.getEmail())) {
             throw new EmailDuplicadoException("Email já cadastrado: " + usuarioDTO.getEmail());
@@ -60,13 +101,16 @@ public class UsuarioService {
 
         Usuario usuario = converterParaEntidade(usuarioDTO);
         Usuario usuarioSalvo = usuarioRepository.save(usuario);
+        alteracaoUsuarioRepository.save(new AlteracaoUsuario(usuarioSalvo.getId(), TipoAlteracaoUsuario.CRIADO));
         return converterParaDTO(usuarioSalvo);
     }
 
     @Transactional
-    public UsuarioDTO atualizar(Long id, UsuarioDTO usuarioDTO) {
+    @Timed(value = METRICA, histogram = true)
+    public UsuarioDTO atualizar(Long id, UsuarioDTO usuarioDTO, Long versaoEsperada) {
         Usuario usuarioExistente = usuarioRepository.findById(id)
                 .orElseThrow(() -> new UsuarioNaoEncontradoException("Usuário não encontrado com o ID: " + id));
+        verificarVersao(usuarioExistente, versaoEsperada);
 
         // Verifica se email novo ja existe para outro usuário
         if (!usuarioExistente.getEmail().equals(usuarioDTO.getEmail()) &&
@@ -77,24 +121,127 @@ public class UsuarioService {
         usuarioExistente.setNome(usuarioDTO.getNome());
         usuarioExistente.setEmail(usuarioDTO.getEmail());
 
-        Usuario usuarioAtualizado = usuarioRepository.save(usuarioExistente);
+        // O flush executa o UPDATE agora: a versao devolvida (ETag) ja eh a nova
+        Usuario usuarioAtualizado = usuarioRepository.saveAndFlush(usuarioExistente);
         return converterParaDTO(usuarioAtualizado);
     }
 
+    /**
+     * Aplica um JSON Merge Patch (RFC 7396) com {@code nome} e/ou {@code email}: só os campos presentes são alterados.
+     * A unicidade do email só é consultada quando ele muda, e o UPDATE leva apenas as colunas alteradas. Sem nenhuma
+     * mudança, nada é gravado e a versão continua a mesma. O formato do email é validado pela entidade ao gravar.
+     */
     @Transactional
-    public void excluir(Long id) {
-        if (!usuarioRepository.existsById(id)) {
-            throw new UsuarioNaoEncontradoException("Usuário não encontrado com o ID: " + id);
+    @Timed(value = METRICA, histogram = true)
+    public UsuarioDTO atualizarParcialmente(Long id, Map<String, Object> alteracoes, Long versaoEsperada) {
+        alteracoes.keySet().forEach(UsuarioService::verificarCampoAlteravel);
+        Usuario usuario = usuarioRepository.findById(id)
+                .orElseThrow(() -> new UsuarioNaoEncontradoException("Usuário não encontrado com o ID: " + id));
+        verificarVersao(usuario, versaoEsperada);
+
+        if (alteracoes.containsKey("nome")) {
+            usuario.setNome(textoObrigatorio(alteracoes.get("nome"), "Nome obrigatório"));
+        }
+        if (alteracoes.containsKey("email")) {
+            String email = textoObrigatorio(alteracoes.get("email"), "Email obrigatório");
+            if (!email.equals(usuario.getEmail()) && usuarioRepository.existsByEmail(email)) {
+                throw new EmailDuplicadoException("Email já cadastrado: " + email);
+            }
+            usuario.setEmail(email);
         }
 
-        usuarioRepository.deleteById(id);
+        // Sem campos alterados o dirty checking nao gera UPDATE
+        Usuario usuarioAtualizado = usuarioRepository.saveAndFlush(usuario);
+        return converterParaDTO(usuarioAtualizado);
+    }
+
+    @Transactional
+    @Timed(value = METRICA, histogram = true)
+    public void excluir(Long id, Long versaoEsperada) {
+        Usuario usuario = usuarioRepository.findById(id)
+                .orElseThrow(() -> new UsuarioNaoEncontradoException("Usuário não encontrado com o ID: " + id));
+        verificarVersao(usuario, versaoEsperada);
+
+        usuarioRepository.delete(usuario);
+        alteracaoUsuarioRepository.save(new AlteracaoUsuario(id, TipoAlteracaoUsuario.EXCLUIDO));
+        eventPublisher.publishEvent(new UsuarioExcluidoEvent(id));
     }
 
     // Usado pelo TarefaService
+    @Transactional(readOnly = true)
+    @Timed(value = METRICA, histogram = true)
     public boolean usuarioExiste(Long id) {
         return usuarioRepository.existsById(id);
     }
 
+    // Usado pelo TarefaService para verificar varios usuarios em uma unica chamada
+    @Transactional(readOnly = true)
+    @Timed(value = METRICA, histogram = true)
+    public List<Long> usuariosExistentes(List<Long> ids) {
+        Set<Long> idsDistintos = new LinkedHashSet<>(ids);
+        idsDistintos.remove(null);
+        if (idsDistintos.size() > MAXIMO_IDS_POR_CONSULTA) {
+            throw new LoteInvalidoException("Máximo de " + MAXIMO_IDS_POR_CONSULTA + " IDs por consulta");
+        }
+        if (idsDistintos.isEmpty()) {
+            return List.of();
+        }
+        return usuarioRepository.findIdsExistentes(idsDistintos);
+    }
+
+    // Usado pelo TarefaService para montar a copia local dos IDs. A versao eh lida antes dos IDs: o que for
+    // alterado entre as duas leituras volta nas alteracoes seguintes, e reaplicar uma alteracao nao muda o resultado
+    @Transactional(readOnly = true)
+    @Timed(value = METRICA, histogram = true)
+    public SnapshotUsuariosDTO snapshotIds() {
+        long versao = alteracaoUsuarioRepository.findUltimaVersao();
+        return new SnapshotUsuariosDTO(versao, usuarioRepository.findAllIds());
+    }
+
+    // Usado pelo TarefaService para manter a copia local dos IDs atualizada
+    @Transactional(readOnly = true)
+    @Timed(value = METRICA, histogram = true)
+    public AlteracoesUsuariosDTO alteracoesDesde(long versao) {
+        List<AlteracaoUsuario> alteracoes = alteracaoUsuarioRepository.findByVersaoGreaterThanOrderByVersaoAsc(
+                versao, PageRequest.of(0, MAXIMO_ALTERACOES_POR_CONSULTA + 1));
+        boolean temMais = alteracoes.size() > MAXIMO_ALTERACOES_POR_CONSULTA;
+        if (temMais) {
+            alteracoes = alteracoes.subList(0, MAXIMO_ALTERACOES_POR_CONSULTA);
+        }
+
+        List<Long> criados = new ArrayList<>();
+        List<Long> excluidos = new ArrayList<>();
+        for (AlteracaoUsuario alteracao : alteracoes) {
+            (alteracao.getTipo() == TipoAlteracaoUsuario.CRIADO ? criados : excluidos).add(alteracao.getUsuarioId());
+        }
+        long ultimaVersao = alteracoes.isEmpty() ? versao : alteracoes.get(alteracoes.size() - 1).getVersao();
+        return new AlteracoesUsuariosDTO(ultimaVersao, criados, excluidos, temMais);
+    }
+
+    private static void verificarCampoAlteravel(String campo) {
+        switch (campo) {
+            case "nome", "email" -> { }
+            case "id", "dataCriacao" -> throw new CampoInvalidoException("O campo " + campo + " não pode ser alterado");
+            default -> throw new CampoInvalidoException("Campo inválido: " + campo + ". Valores aceitos: nome, email");
+        }
+    }
+
+    private static String textoObrigatorio(Object valor, String mensagem) {
+        if (!(valor instanceof String texto) || texto.isBlank()) {
+            throw new CampoInvalidoException(mensagem);
+        }
+        return texto;
+    }
+
+    // Sem versao esperada (sem If-Match ou com "*") qualquer versao serve. Uma alteracao confirmada por outra
+    // transacao depois desta leitura eh detectada no UPDATE/DELETE, que filtram pela versao lida
+    private void verificarVersao(Usuario usuario, Long versaoEsperada) {
+        if (versaoEsperada != null && !versaoEsperada.equals(usuario.getVersao())) {
+            throw new VersaoDivergenteException("O usuário " + usuario.getId() + " está na versão " + usuario.getVersao()
+                    + ", diferente da informada em If-Match");
+        }
+    }
+
     /*
      * Criar UsuarioRepository
      * Criar a injhecao de dependencia pro UsuarioRepository
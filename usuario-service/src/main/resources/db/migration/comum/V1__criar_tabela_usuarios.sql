@@ -0,0 +1,10 @@
+-- Estrutura inicial da tabela de usuarios. Usa IF NOT EXISTS para que bancos criados
+-- anteriormente pelo ddl-auto=update sejam apenas adotados pelo Flyway
+CREATE TABLE IF NOT EXISTS usuarios (
+    cd_usuario   BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    nm_usuario   VARCHAR(255) NOT NULL,
+    nm_email     VARCHAR(255) NOT NULL,
+    data_criacao TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_usuarios PRIMARY KEY (cd_usuario),
+    CONSTRAINT uk_usuarios_email UNIQUE (nm_email)
+);
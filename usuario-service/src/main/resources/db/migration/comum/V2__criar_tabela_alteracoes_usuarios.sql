@@ -0,0 +1,9 @@
+-- Registro das criacoes e exclusoes de usuarios, em ordem de versao. O servico de tarefas mantem uma copia
+-- local dos IDs validos: carrega o estado completo uma vez e depois busca apenas as alteracoes apos a sua versao
+CREATE TABLE IF NOT EXISTS usuarios_alteracoes (
+    nr_versao      BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    cd_usuario     BIGINT NOT NULL,
+    tp_alteracao   VARCHAR(20) NOT NULL,
+    data_alteracao TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_usuarios_alteracoes PRIMARY KEY (nr_versao)
+);
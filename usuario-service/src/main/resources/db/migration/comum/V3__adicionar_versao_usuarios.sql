@@ -0,0 +1,3 @@
+-- Versao de cada usuario, incrementada a cada alteracao: trava otimista das gravacoes e base do ETag.
+-- Usuarios ja existentes comecam na versao 0
+ALTER TABLE usuarios ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
@@ -3,7 +3,7 @@ package com.desafio.usuario;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "grpc.servidor.porta=0")
 class UsaurioServiceApplicationTests {
 
 	@Test
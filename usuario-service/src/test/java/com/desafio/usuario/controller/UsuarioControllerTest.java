@@ -1,8 +1,13 @@
 package com.desafio.usuario.controller;
 
+import com.desafio.usuario.dto.AlteracoesUsuariosDTO;
+import com.desafio.usuario.dto.SnapshotUsuariosDTO;
 import com.desafio.usuario.dto.UsuarioDTO;
+import com.desafio.usuario.exception.CampoInvalidoException;
 import com.desafio.usuario.exception.EmailDuplicadoException;
+import com.desafio.usuario.exception.LoteInvalidoException;
 import com.desafio.usuario.exception.UsuarioNaoEncontradoException;
+import com.desafio.usuario.exception.VersaoDivergenteException;
 import com.desafio.usuario.service.UsuarioService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,15 +15,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -46,17 +56,20 @@ public class UsuarioControllerTest {
         usuarioDTO.setNome("Teste Usuario");
         usuarioDTO.setEmail("teste@email.com");
         usuarioDTO.setDataCriacao(LocalDateTime.now());
+        usuarioDTO.setVersao(3L);
     }
 
     @Test
     void deveListarTodosUsuarios() throws Exception {
         
         List<UsuarioDTO> usuarios = Arrays.asList(usuarioDTO);
+        when(usuarioService.versaoDaLista()).thenReturn("1-1-3");
         when(usuarioService.listarTodos()).thenReturn(usuarios);
 
         mockMvc.perform(get("/api/usuarios")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id", is(1)))
                 .andExpect(jsonPath("$[0].nome", is("Teste Usuario")))
@@ -65,6 +78,27 @@ public class UsuarioControllerTest {
         verify(usuarioService, times(1)).listarTodos();
     }
 
+    @Test
+    void deveResponderNaoModificadoSemCarregarAListaQuandoOEtagNaoMudou() throws Exception {
+
+        when(usuarioService.versaoDaLista()).thenReturn("1-1-3");
+        when(usuarioService.listarTodos()).thenReturn(List.of(usuarioDTO));
+        String etag = mockMvc.perform(get("/api/usuarios"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/usuarios").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // Um usuario alterado muda o resumo e a lista volta a ser enviada
+        when(usuarioService.versaoDaLista()).thenReturn("1-1-4");
+        mockMvc.perform(get("/api/usuarios").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(usuarioService, times(2)).listarTodos();
+    }
+
     @Test
     void deveBuscarUsuarioPorId() throws Exception {
         
@@ -75,11 +109,30 @@ public class UsuarioControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.nome", is("Teste Usuario")))
-                .andExpect(jsonPath("$.email", is("teste@email.com")));
+                .andExpect(jsonPath("$.email", is("teste@email.com")))
+                .andExpect(jsonPath("$.versao").doesNotExist())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
 
         verify(usuarioService, times(1)).buscarPeloId(1L);
     }
 
+    @Test
+    void deveResponderNaoModificadoQuandoIfNoneMatchForAVersaoAtual() throws Exception {
+
+        when(usuarioService.buscarPeloId(1L)).thenReturn(usuarioDTO);
+
+        // O ETag eh o mesmo em todos os formatos: o Vary separa as respostas de cada Accept nos caches
+        mockMvc.perform(get("/api/usuarios/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/usuarios/1").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)));
+    }
+
     @Test
     void deveCriarUsuario() throws Exception {
         
@@ -93,6 +146,7 @@ public class UsuarioControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(novoUsuario)))
                 .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.nome", is("Teste Usuario")))
                 .andExpect(jsonPath("$.email", is("teste@email.com")));
@@ -107,7 +161,7 @@ public class UsuarioControllerTest {
         usuarioAtualizado.setNome("Usuario Atualizado");
         usuarioAtualizado.setEmail("atualizado@email.com");
 
-        when(usuarioService.atualizar(anyLong(), any(UsuarioDTO.class))).thenReturn(usuarioDTO);
+        when(usuarioService.atualizar(anyLong(), any(UsuarioDTO.class), any())).thenReturn(usuarioDTO);
 
         mockMvc.perform(put("/api/usuarios/1")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -115,21 +169,113 @@ public class UsuarioControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.nome", is("Teste Usuario")))
-                .andExpect(jsonPath("$.email", is("teste@email.com")));
+                .andExpect(jsonPath("$.email", is("teste@email.com")))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+
+        verify(usuarioService, times(1)).atualizar(eq(1L), any(UsuarioDTO.class), isNull());
+    }
+
+    @Test
+    void deveRepassarAVersaoDoIfMatchAoAtualizar() throws Exception {
+
+        when(usuarioService.atualizar(anyLong(), any(UsuarioDTO.class), any())).thenReturn(usuarioDTO);
+
+        mockMvc.perform(put("/api/usuarios/1")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(usuarioDTO)))
+                .andExpect(status().isOk());
+
+        verify(usuarioService).atualizar(eq(1L), any(UsuarioDTO.class), eq(2L));
+    }
+
+    @Test
+    void deveRecusarIfMatchFracoOuInvalido() throws Exception {
+
+        when(usuarioService.atualizar(anyLong(), any(UsuarioDTO.class), any())).thenReturn(usuarioDTO);
+
+        mockMvc.perform(put("/api/usuarios/1")
+                .header(HttpHeaders.IF_MATCH, "W/\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(usuarioDTO)))
+                .andExpect(status().isOk());
+
+        verify(usuarioService).atualizar(eq(1L), any(UsuarioDTO.class), eq(EtagVersao.NENHUMA_VERSAO));
+    }
+
+    @Test
+    void deveRetornarPreconditionFailedQuandoAVersaoDivergir() throws Exception {
+
+        when(usuarioService.atualizar(anyLong(), any(UsuarioDTO.class), any()))
+                .thenThrow(new VersaoDivergenteException("O usuário 1 está na versão 3, diferente da informada em If-Match"));
+
+        mockMvc.perform(put("/api/usuarios/1")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(usuarioDTO)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.mensagem", is("O usuário 1 está na versão 3, diferente da informada em If-Match")));
+    }
+
+    @Test
+    void deveRetornarConflitoQuandoOutraRequisicaoAlterouOUsuarioSemIfMatch() throws Exception {
 
-        verify(usuarioService, times(1)).atualizar(eq(1L), any(UsuarioDTO.class));
+        when(usuarioService.atualizar(anyLong(), any(UsuarioDTO.class), any()))
+                .thenThrow(new OptimisticLockingFailureException("versao"));
+
+        mockMvc.perform(put("/api/usuarios/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(usuarioDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.mensagem", is("O usuário foi alterado por outra requisição")));
+
+        mockMvc.perform(put("/api/usuarios/1")
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(usuarioDTO)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void deveAtualizarUsuarioParcialmenteComMergePatch() throws Exception {
+
+        when(usuarioService.atualizarParcialmente(anyLong(), anyMap(), any())).thenReturn(usuarioDTO);
+
+        mockMvc.perform(patch("/api/usuarios/1")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType("application/merge-patch+json")
+                .content("{\"nome\": \"Teste Usuario\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.nome", is("Teste Usuario")));
+
+        verify(usuarioService).atualizarParcialmente(1L, Map.of("nome", "Teste Usuario"), 2L);
+    }
+
+    @Test
+    void deveRejeitarCampoInvalidoNaAtualizacaoParcial() throws Exception {
+
+        when(usuarioService.atualizarParcialmente(anyLong(), anyMap(), any()))
+                .thenThrow(new CampoInvalidoException("O campo id não pode ser alterado"));
+
+        mockMvc.perform(patch("/api/usuarios/1")
+                .contentType("application/merge-patch+json")
+                .content("{\"id\": 2}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem", is("O campo id não pode ser alterado")));
     }
 
     @Test
     void deveExcluirUsuario() throws Exception {
         
-        doNothing().when(usuarioService).excluir(anyLong());
+        doNothing().when(usuarioService).excluir(anyLong(), any());
 
         mockMvc.perform(delete("/api/usuarios/1")
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNoContent());
 
-        verify(usuarioService, times(1)).excluir(1L);
+        verify(usuarioService, times(1)).excluir(1L, 3L);
     }
 
 
@@ -158,4 +304,51 @@ public class UsuarioControllerTest {
 
         verify(usuarioService, times(1)).usuarioExiste(999L);
     }
+
+    @Test
+    void deveRetornarUsuariosExistentes() throws Exception {
+        
+        when(usuarioService.usuariosExistentes(anyList())).thenReturn(Arrays.asList(1L, 3L));
+
+        mockMvc.perform(post("/api/usuarios/existem")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, 2, 3]"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[1, 3]"));
+
+        verify(usuarioService, times(1)).usuariosExistentes(Arrays.asList(1L, 2L, 3L));
+    }
+
+    @Test
+    void deveRejeitarListaDeIdsAcimaDoLimite() throws Exception {
+        
+        when(usuarioService.usuariosExistentes(anyList())).thenThrow(new LoteInvalidoException("Máximo de 1000 IDs por consulta"));
+
+        mockMvc.perform(post("/api/usuarios/existem")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem", is("Máximo de 1000 IDs por consulta")));
+    }
+
+    @Test
+    void deveRetornarSnapshotDosIds() throws Exception {
+
+        when(usuarioService.snapshotIds()).thenReturn(new SnapshotUsuariosDTO(7L, List.of(1L, 2L)));
+
+        mockMvc.perform(get("/api/usuarios/ids"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.versao", is(7)))
+                .andExpect(jsonPath("$.ids", hasSize(2)));
+    }
+
+    @Test
+    void deveRetornarAlteracoesAposVersao() throws Exception {
+
+        when(usuarioService.alteracoesDesde(7L)).thenReturn(new AlteracoesUsuariosDTO(9L, List.of(3L), List.of(1L), false));
+
+        mockMvc.perform(get("/api/usuarios/alteracoes").param("desde", "7"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"versao\": 9, \"criados\": [3], \"excluidos\": [1], \"temMais\": false}"));
+    }
 }
\ No newline at end of file
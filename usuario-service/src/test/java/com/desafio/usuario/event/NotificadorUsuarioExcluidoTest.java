@@ -0,0 +1,41 @@
+package com.desafio.usuario.event;
+
+import com.desafio.usuario.client.TarefaClient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificadorUsuarioExcluidoTest {
+
+    @Mock
+    private TarefaClient tarefaClient;
+
+    @InjectMocks
+    private NotificadorUsuarioExcluido notificador;
+
+    @Test
+    void deveNotificarServicoDeTarefas() {
+        // When
+        notificador.aoExcluirUsuario(new UsuarioExcluidoEvent(1L));
+
+        // Then
+        verify(tarefaClient, times(1)).notificarUsuarioExcluido(1L);
+    }
+
+    @Test
+    void naoDevePropagarFalhaNaNotificacao() {
+        // Given
+        doThrow(new ResourceAccessException("Connection refused")).when(tarefaClient).notificarUsuarioExcluido(1L);
+
+        // When/Then
+        assertDoesNotThrow(() -> notificador.aoExcluirUsuario(new UsuarioExcluidoEvent(1L)));
+        verify(tarefaClient, times(1)).notificarUsuarioExcluido(1L);
+    }
+}
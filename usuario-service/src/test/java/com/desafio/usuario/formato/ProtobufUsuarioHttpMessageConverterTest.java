@@ -0,0 +1,49 @@
+package com.desafio.usuario.formato;
+
+import com.desafio.usuario.dto.SnapshotUsuariosDTO;
+import com.desafio.usuario.dto.UsuarioDTO;
+import com.desafio.usuario.formato.proto.ListaUsuarios;
+import com.desafio.usuario.formato.proto.Usuario;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProtobufUsuarioHttpMessageConverterTest {
+
+    private final ProtobufUsuarioHttpMessageConverter converter = new ProtobufUsuarioHttpMessageConverter();
+
+    @Test
+    void deveEscreverListaDeUsuarios() throws Exception {
+        UsuarioDTO ana = new UsuarioDTO(1L, "Ana", "ana@email.com", LocalDateTime.of(2024, 3, 1, 9, 30), 0L);
+        UsuarioDTO semData = new UsuarioDTO(2L, "Bruno", "bruno@email.com", null, 0L);
+        MockHttpOutputMessage saida = new MockHttpOutputMessage();
+
+        converter.write(List.of(ana, semData), new ParameterizedTypeReference<List<UsuarioDTO>>() {
+        }.getType(), ProtobufUsuarioHttpMessageConverter.PROTOBUF, saida);
+
+        ListaUsuarios mensagem = ListaUsuarios.parseFrom(saida.getBodyAsBytes());
+        assertThat(mensagem.getUsuariosList()).extracting(Usuario::getNome).containsExactly("Ana", "Bruno");
+        assertThat(mensagem.getUsuarios(0).getEmail()).isEqualTo("ana@email.com");
+        assertThat(mensagem.getUsuarios(0).getDataCriacao()).isEqualTo(1709285400000L);
+        assertThat(mensagem.getUsuarios(1).hasDataCriacao()).isFalse();
+    }
+
+    @Test
+    void deveEscreverApenasUsuariosEListasDeUsuarios() {
+        MediaType protobuf = ProtobufUsuarioHttpMessageConverter.PROTOBUF;
+
+        assertThat(converter.canWrite(UsuarioDTO.class, UsuarioDTO.class, protobuf)).isTrue();
+        assertThat(converter.canWrite(new ParameterizedTypeReference<List<UsuarioDTO>>() {
+        }.getType(), List.class, protobuf)).isTrue();
+        assertThat(converter.canWrite(new ParameterizedTypeReference<List<Long>>() {
+        }.getType(), List.class, protobuf)).isFalse();
+        assertThat(converter.canWrite(SnapshotUsuariosDTO.class, SnapshotUsuariosDTO.class, protobuf)).isFalse();
+        assertThat(converter.canRead(UsuarioDTO.class, UsuarioDTO.class, protobuf)).isFalse();
+    }
+}
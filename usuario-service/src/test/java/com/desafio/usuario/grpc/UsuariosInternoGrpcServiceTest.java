@@ -0,0 +1,113 @@
+package com.desafio.usuario.grpc;
+
+import com.desafio.usuario.exception.LoteInvalidoException;
+import com.desafio.usuario.grpc.proto.ExistenciaUsuario;
+import com.desafio.usuario.grpc.proto.IdsUsuarios;
+import com.desafio.usuario.grpc.proto.UsuarioId;
+import com.desafio.usuario.grpc.proto.UsuariosInternoGrpc;
+import com.desafio.usuario.service.UsuarioService;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UsuariosInternoGrpcServiceTest {
+
+    private final UsuarioService usuarioService = mock(UsuarioService.class);
+    private ServidorGrpc servidor;
+    private ManagedChannel canal;
+
+    @BeforeEach
+    void setUp() {
+        servidor = new ServidorGrpc(0, 2, Duration.ofSeconds(1), new UsuariosInternoGrpcService(usuarioService));
+        servidor.iniciar();
+        canal = ManagedChannelBuilder.forAddress("localhost", servidor.getPorta()).usePlaintext().build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        canal.shutdownNow().awaitTermination(1, TimeUnit.SECONDS);
+        servidor.close();
+    }
+
+    @Test
+    void deveVerificarUsuarioEUsuariosExistentes() {
+        when(usuarioService.usuarioExiste(1L)).thenReturn(true);
+        when(usuarioService.usuariosExistentes(List.of(1L, 2L, 3L))).thenReturn(List.of(1L, 3L));
+        UsuariosInternoGrpc.UsuariosInternoBlockingStub stub = UsuariosInternoGrpc.newBlockingStub(canal);
+
+        ExistenciaUsuario existe = stub.usuarioExiste(UsuarioId.newBuilder().setId(1L).build());
+        ExistenciaUsuario naoExiste = stub.usuarioExiste(UsuarioId.newBuilder().setId(2L).build());
+        IdsUsuarios existentes = stub.usuariosExistentes(IdsUsuarios.newBuilder().addAllIds(List.of(1L, 2L, 3L)).build());
+
+        assertThat(existe.getExiste()).isTrue();
+        assertThat(naoExiste.getId()).isEqualTo(2L);
+        assertThat(naoExiste.getExiste()).isFalse();
+        assertThat(existentes.getIdsList()).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void deveResponderCadaIdDoFluxoNaOrdem() throws Exception {
+        when(usuarioService.usuarioExiste(1L)).thenReturn(true);
+        when(usuarioService.usuarioExiste(3L)).thenReturn(true);
+        List<ExistenciaUsuario> respostas = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> fim = new CompletableFuture<>();
+
+        StreamObserver<UsuarioId> envio = UsuariosInternoGrpc.newStub(canal).verificarUsuarios(new StreamObserver<>() {
+            @Override
+            public void onNext(ExistenciaUsuario resposta) {
+                respostas.add(resposta);
+            }
+
+            @Override
+            public void onError(Throwable erro) {
+                fim.completeExceptionally(erro);
+            }
+
+            @Override
+            public void onCompleted() {
+                fim.complete(null);
+            }
+        });
+        for (long id = 1; id <= 3; id++) {
+            envio.onNext(UsuarioId.newBuilder().setId(id).build());
+        }
+        envio.onCompleted();
+        fim.get(5, TimeUnit.SECONDS);
+
+        assertThat(respostas).extracting(ExistenciaUsuario::getId).containsExactly(1L, 2L, 3L);
+        assertThat(respostas).extracting(ExistenciaUsuario::getExiste).containsExactly(true, false, true);
+    }
+
+    @Test
+    void deveConverterFalhasEmStatus() {
+        when(usuarioService.usuariosExistentes(anyList())).thenThrow(new LoteInvalidoException("Máximo de 1000 IDs por consulta"));
+        when(usuarioService.usuarioExiste(1L)).thenThrow(new IllegalStateException("banco fora do ar"));
+        UsuariosInternoGrpc.UsuariosInternoBlockingStub stub = UsuariosInternoGrpc.newBlockingStub(canal);
+
+        assertThatThrownBy(() -> stub.usuariosExistentes(IdsUsuarios.newBuilder().addIds(1L).build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                    assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+                    assertThat(e.getStatus().getDescription()).contains("1000");
+                });
+        assertThatThrownBy(() -> stub.usuarioExiste(UsuarioId.newBuilder().setId(1L).build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INTERNAL));
+    }
+}
@@ -0,0 +1,74 @@
+package com.desafio.usuario.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Executa EXPLAIN no H2 para as consultas do repositório e falha se alguma fizer varredura completa da tabela
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.desafio.usuario.repository.ColetorSql")
+@ActiveProfiles("test")
+public class PlanoConsultaUsuarioTest {
+
+    // "tableScan" ou um índice percorrido inteiro, sem condição de busca (ex.: /* PUBLIC.PRIMARY_KEY_5 */)
+    private static final Pattern VARREDURA_COMPLETA = Pattern.compile("tableScan|/\\*\\s*PUBLIC\\.[\\w.]+\\s*\\*/");
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        ColetorSql.limpar();
+    }
+
+    @Test
+    public void deveUsarIndiceAoBuscarPorEmail() {
+        // Act
+        usuarioRepository.findByEmail("teste@exemplo.com");
+
+        // Assert
+        assertSemVarreduraCompleta();
+    }
+
+    @Test
+    public void deveUsarIndiceAoVerificarExistencia() {
+        // Act
+        usuarioRepository.existsById(1L);
+        usuarioRepository.findIdsExistentes(List.of(1L, 2L, 3L));
+
+        // Assert
+        assertSemVarreduraCompleta();
+    }
+
+    private void assertSemVarreduraCompleta() {
+        List<String> consultas = ColetorSql.consultas();
+        assertFalse(consultas.isEmpty());
+        for (String sql : consultas) {
+            String plano = explicar(sql);
+            assertFalse(VARREDURA_COMPLETA.matcher(plano).find(), "Varredura completa em: " + sql + "\n" + plano);
+        }
+    }
+
+    private String explicar(String sql) {
+        return entityManager.unwrap(Session.class).doReturningWork(conexao -> {
+            try (PreparedStatement comando = conexao.prepareStatement("EXPLAIN " + sql);
+                 ResultSet resultado = comando.executeQuery()) {
+                resultado.next();
+                return resultado.getString(1);
+            }
+        });
+    }
+}
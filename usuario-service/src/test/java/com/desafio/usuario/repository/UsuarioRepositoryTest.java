@@ -1,12 +1,19 @@
 package com.desafio.usuario.repository;
 
+import com.desafio.usuario.model.AlteracaoUsuario;
+import com.desafio.usuario.model.TipoAlteracaoUsuario;
 import com.desafio.usuario.model.Usuario;
 import org.junit.jupiter.api.Test;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,6 +25,12 @@ public class UsuarioRepositoryTest {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private AlteracaoUsuarioRepository alteracaoUsuarioRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     public void deveEncontrarUsuarioPorEmail() {
         // Arrange
@@ -57,4 +70,142 @@ public class UsuarioRepositoryTest {
         assertTrue(usuarioRepository.existsByEmail("teste2@exemplo.com"));
         assertFalse(usuarioRepository.existsByEmail("naoexiste@exemplo.com"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void deveRetornarApenasIdsExistentes() {
+        // Arrange
+        Usuario usuario1 = new Usuario();
+        usuario1.setNome("Teste 1");
+        usuario1.setEmail("lote1@exemplo.com");
+        Long id1 = usuarioRepository.save(usuario1).getId();
+
+        Usuario usuario2 = new Usuario();
+        usuario2.setNome("Teste 2");
+        usuario2.setEmail("lote2@exemplo.com");
+        Long id2 = usuarioRepository.save(usuario2).getId();
+
+        // Act
+        List<Long> existentes = usuarioRepository.findIdsExistentes(List.of(id1, id2, 999_999L));
+
+        // Assert
+        assertEquals(2, existentes.size());
+        assertTrue(existentes.containsAll(List.of(id1, id2)));
+    }
+
+    @Test
+    public void deveListarTodosOsIdsEmOrdem() {
+        // Arrange
+        Usuario usuario1 = new Usuario();
+        usuario1.setNome("Teste 1");
+        usuario1.setEmail("ids1@exemplo.com");
+        Long id1 = usuarioRepository.save(usuario1).getId();
+
+        Usuario usuario2 = new Usuario();
+        usuario2.setNome("Teste 2");
+        usuario2.setEmail("ids2@exemplo.com");
+        Long id2 = usuarioRepository.save(usuario2).getId();
+
+        // Act & Assert
+        assertEquals(List.of(id1, id2), usuarioRepository.findAllIds());
+    }
+
+    @Test
+    public void deveBuscarAlteracoesAposVersaoEmOrdem() {
+        // Arrange
+        long inicial = alteracaoUsuarioRepository.findUltimaVersao();
+        Long primeira = alteracaoUsuarioRepository.save(new AlteracaoUsuario(1L, TipoAlteracaoUsuario.CRIADO)).getVersao();
+        Long segunda = alteracaoUsuarioRepository.save(new AlteracaoUsuario(1L, TipoAlteracaoUsuario.EXCLUIDO)).getVersao();
+        Long terceira = alteracaoUsuarioRepository.save(new AlteracaoUsuario(2L, TipoAlteracaoUsuario.CRIADO)).getVersao();
+
+        // Act
+        List<AlteracaoUsuario> aposPrimeira =
+                alteracaoUsuarioRepository.findByVersaoGreaterThanOrderByVersaoAsc(primeira, PageRequest.of(0, 10));
+
+        // Assert
+        assertTrue(primeira > inicial);
+        assertEquals(terceira, alteracaoUsuarioRepository.findUltimaVersao());
+        assertEquals(List.of(segunda, terceira), aposPrimeira.stream().map(AlteracaoUsuario::getVersao).toList());
+    }
+
+    @Test
+    public void deveIncrementarVersaoERecusarGravacaoSobreVersaoAntiga() {
+        // Arrange
+        Usuario usuario = new Usuario();
+        usuario.setNome("Versionado");
+        usuario.setEmail("versao@exemplo.com");
+        usuario = usuarioRepository.saveAndFlush(usuario);
+        assertEquals(0L, usuario.getVersao());
+
+        usuario.setNome("Versionado 2");
+        usuario = usuarioRepository.saveAndFlush(usuario);
+        assertEquals(1L, usuario.getVersao());
+
+        // Act & Assert: outra transacao altera a linha depois da leitura; o UPDATE filtrado pela versao lida
+        // nao encontra a linha
+        entityManager.createQuery("update Usuario u set u.versao = u.versao + 1 where u.id = :id")
+                .setParameter("id", usuario.getId())
+                .executeUpdate();
+        usuario.setNome("Atrasada");
+        assertThrows(OptimisticLockException.class, () -> entityManager.flush());
+    }
+
+    @Test
+    public void deveMudarOResumoDeVersoesACadaAlteracao() {
+        // Arrange
+        Usuario usuario = new Usuario();
+        usuario.setNome("Resumo");
+        usuario.setEmail("resumo@exemplo.com");
+        usuario = usuarioRepository.saveAndFlush(usuario);
+        String aposCriar = usuarioRepository.resumoVersoes();
+
+        // Act
+        usuario.setNome("Resumo 2");
+        usuarioRepository.saveAndFlush(usuario);
+        String aposAlterar = usuarioRepository.resumoVersoes();
+        usuarioRepository.delete(usuario);
+        usuarioRepository.flush();
+        String aposExcluir = usuarioRepository.resumoVersoes();
+
+        // Assert
+        assertNotEquals(aposCriar, aposAlterar);
+        assertNotEquals(aposAlterar, aposExcluir);
+        assertNotEquals(aposCriar, aposExcluir);
+    }
+
+    @Test
+    public void deveGravarApenasAsColunasAlteradas() {
+        // Arrange
+        Usuario usuario = new Usuario();
+        usuario.setNome("Parcial");
+        usuario.setEmail("parcial@exemplo.com");
+        usuario = usuarioRepository.saveAndFlush(usuario);
+        // Alteracao do email que nao passa pela entidade carregada: o UPDATE do nome nao pode sobrescreve-la
+        entityManager.createNativeQuery("update usuarios set nm_email = 'externo@exemplo.com' where cd_usuario = :id")
+                .setParameter("id", usuario.getId())
+                .executeUpdate();
+
+        // Act
+        usuario.setNome("Parcial 2");
+        usuarioRepository.saveAndFlush(usuario);
+        entityManager.clear();
+
+        // Assert
+        Usuario gravado = usuarioRepository.findById(usuario.getId()).orElseThrow();
+        assertEquals("Parcial 2", gravado.getNome());
+        assertEquals("externo@exemplo.com", gravado.getEmail());
+        assertEquals(1L, gravado.getVersao());
+    }
+
+    @Test
+    public void deveValidarEmailAoGravar() {
+        // Arrange
+        Usuario usuario = new Usuario();
+        usuario.setNome("Validado");
+        usuario.setEmail("validado@exemplo.com");
+        Usuario salvo = usuarioRepository.saveAndFlush(usuario);
+
+        // Act & Assert
+        salvo.setEmail("sem-arroba");
+        assertThrows(ConstraintViolationException.class, () -> usuarioRepository.saveAndFlush(salvo));
+    }
+}
@@ -1,9 +1,18 @@
 package com.desafio.usuario.service;
 
+import com.desafio.usuario.dto.AlteracoesUsuariosDTO;
+import com.desafio.usuario.dto.SnapshotUsuariosDTO;
 import com.desafio.usuario.dto.UsuarioDTO;
+import com.desafio.usuario.event.UsuarioExcluidoEvent;
+import com.desafio.usuario.exception.CampoInvalidoException;
 import com.desafio.usuario.exception.EmailDuplicadoException;
+import com.desafio.usuario.exception.LoteInvalidoException;
 import com.desafio.usuario.exception.UsuarioNaoEncontradoException;
+import com.desafio.usuario.exception.VersaoDivergenteException;
+import com.desafio.usuario.model.AlteracaoUsuario;
+import com.desafio.usuario.model.TipoAlteracaoUsuario;
 import com.desafio.usuario.model.Usuario;
+import com.desafio.usuario.repository.AlteracaoUsuarioRepository;
 import com.desafio.usuario.repository.UsuarioRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,15 +20,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +44,12 @@ public class UsuarioServiceTest {
     @Mock
     private UsuarioRepository usuarioRepository;
 
+    @Mock
+    private AlteracaoUsuarioRepository alteracaoUsuarioRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UsuarioService usuarioService;
 
@@ -42,6 +64,7 @@ public class UsuarioServiceTest {
         usuario.setNome("Teste Usuario");
         usuario.setEmail("teste@email.com");
         usuario.setDataCriacao(LocalDateTime.now());
+        usuario.setVersao(0L);
 
         usuarioDTO = new UsuarioDTO();
         usuarioDTO.setId(1L);
@@ -112,6 +135,8 @@ public class UsuarioServiceTest {
         assertEquals(usuario.getEmail(), resultado.getEmail());
         verify(usuarioRepository, times(1)).existsByEmail(usuarioDTO.getEmail());
         verify(usuarioRepository, times(1)).save(any(Usuario.class));
+        verify(alteracaoUsuarioRepository, times(1)).save(argThat(alteracao ->
+                alteracao.getUsuarioId().equals(1L) && alteracao.getTipo() == TipoAlteracaoUsuario.CRIADO));
     }
 
     @Test
@@ -135,6 +160,7 @@ public class UsuarioServiceTest {
         usuarioExistente.setNome("Nome Antigo");
         usuarioExistente.setEmail("antigo@email.com");
         usuarioExistente.setDataCriacao(LocalDateTime.now().minusDays(1));
+        usuarioExistente.setVersao(2L);
 
         UsuarioDTO usuarioAtualizado = new UsuarioDTO();
         usuarioAtualizado.setNome("Nome Novo");
@@ -148,20 +174,35 @@ public class UsuarioServiceTest {
         usuarioSalvo.setNome(usuarioAtualizado.getNome());
         usuarioSalvo.setEmail(usuarioAtualizado.getEmail());
         usuarioSalvo.setDataCriacao(usuarioExistente.getDataCriacao());
+        usuarioSalvo.setVersao(3L);
         
-        when(usuarioRepository.save(any(Usuario.class))).thenReturn(usuarioSalvo);
+        when(usuarioRepository.saveAndFlush(any(Usuario.class))).thenReturn(usuarioSalvo);
 
         // When
-        UsuarioDTO resultado = usuarioService.atualizar(1L, usuarioAtualizado);
+        UsuarioDTO resultado = usuarioService.atualizar(1L, usuarioAtualizado, 2L);
 
         // Then
         assertNotNull(resultado);
         assertEquals(1L, resultado.getId());
         assertEquals(usuarioAtualizado.getNome(), resultado.getNome());
         assertEquals(usuarioAtualizado.getEmail(), resultado.getEmail());
+        assertEquals(3L, resultado.getVersao());
         verify(usuarioRepository, times(1)).findById(1L);
         verify(usuarioRepository, times(1)).existsByEmail(usuarioAtualizado.getEmail());
-        verify(usuarioRepository, times(1)).save(any(Usuario.class));
+        verify(usuarioRepository, times(1)).saveAndFlush(any(Usuario.class));
+    }
+
+    @Test
+    void naoDeveAtualizarUsuarioEmOutraVersao() {
+        // Given
+        usuario.setVersao(5L);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+
+        // When/Then
+        VersaoDivergenteException erro = assertThrows(VersaoDivergenteException.class,
+                () -> usuarioService.atualizar(1L, usuarioDTO, 4L));
+        assertEquals("O usuário 1 está na versão 5, diferente da informada em If-Match", erro.getMessage());
+        verify(usuarioRepository, never()).saveAndFlush(any(Usuario.class));
     }
 
     @Test
@@ -181,38 +222,109 @@ public class UsuarioServiceTest {
 
         // When/Then
         assertThrows(EmailDuplicadoException.class, () -> {
-            usuarioService.atualizar(1L, usuarioAtualizado);
+            usuarioService.atualizar(1L, usuarioAtualizado, null);
         });
         verify(usuarioRepository, times(1)).findById(1L);
         verify(usuarioRepository, times(1)).existsByEmail(usuarioAtualizado.getEmail());
-        verify(usuarioRepository, never()).save(any(Usuario.class));
+        verify(usuarioRepository, never()).saveAndFlush(any(Usuario.class));
+    }
+
+    @Test
+    void deveAtualizarParcialmenteSemConsultarEmailQuandoEleNaoMudar() {
+        // Given
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(usuarioRepository.saveAndFlush(usuario)).thenReturn(usuario);
+
+        // When
+        UsuarioDTO resultado = usuarioService.atualizarParcialmente(1L,
+                Map.of("nome", "Nome Novo", "email", "teste@email.com"), 0L);
+
+        // Then
+        assertEquals("Nome Novo", resultado.getNome());
+        assertEquals("teste@email.com", resultado.getEmail());
+        verify(usuarioRepository, never()).existsByEmail(any());
+    }
+
+    @Test
+    void deveVerificarEmailDuplicadoQuandoOEmailMudarNaAtualizacaoParcial() {
+        // Given
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(usuarioRepository.existsByEmail("outro@email.com")).thenReturn(true);
+
+        // When/Then
+        assertThrows(EmailDuplicadoException.class,
+                () -> usuarioService.atualizarParcialmente(1L, Map.of("email", "outro@email.com"), null));
+        verify(usuarioRepository, never()).saveAndFlush(any(Usuario.class));
+    }
+
+    @Test
+    void deveRejeitarAlteracaoParcialInvalida() {
+        // Given
+        Map<String, Object> semNome = new HashMap<>();
+        semNome.put("nome", null);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+
+        // When/Then
+        assertEquals("Nome obrigatório", assertThrows(CampoInvalidoException.class,
+                () -> usuarioService.atualizarParcialmente(1L, semNome, null)).getMessage());
+        assertEquals("O campo id não pode ser alterado", assertThrows(CampoInvalidoException.class,
+                () -> usuarioService.atualizarParcialmente(1L, Map.of("id", 2), null)).getMessage());
+        assertThrows(CampoInvalidoException.class,
+                () -> usuarioService.atualizarParcialmente(1L, Map.of("telefone", "123"), null));
+        verify(usuarioRepository, never()).saveAndFlush(any(Usuario.class));
+    }
+
+    @Test
+    void naoDeveAtualizarParcialmenteUsuarioEmOutraVersao() {
+        // Given
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+
+        // When/Then
+        assertThrows(VersaoDivergenteException.class,
+                () -> usuarioService.atualizarParcialmente(1L, Map.of("nome", "Outro"), 3L));
+        verify(usuarioRepository, never()).saveAndFlush(any(Usuario.class));
     }
 
     @Test
     void deveExcluirUsuario() {
         // Given
-        when(usuarioRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(usuarioRepository).deleteById(1L);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
 
         // When
-        usuarioService.excluir(1L);
+        usuarioService.excluir(1L, 0L);
 
         // Then
-        verify(usuarioRepository, times(1)).existsById(1L);
-        verify(usuarioRepository, times(1)).deleteById(1L);
+        verify(usuarioRepository, times(1)).findById(1L);
+        verify(usuarioRepository, times(1)).delete(usuario);
+        verify(alteracaoUsuarioRepository, times(1)).save(argThat(alteracao ->
+                alteracao.getUsuarioId().equals(1L) && alteracao.getTipo() == TipoAlteracaoUsuario.EXCLUIDO));
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object evento) ->
+                evento instanceof UsuarioExcluidoEvent && ((UsuarioExcluidoEvent) evento).getUsuarioId().equals(1L)));
     }
 
     @Test
     void deveLancarExcecaoQuandoExcluirUsuarioInexistente() {
         // Given
-        when(usuarioRepository.existsById(1L)).thenReturn(false);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.empty());
 
         // When/Then
         assertThrows(UsuarioNaoEncontradoException.class, () -> {
-            usuarioService.excluir(1L);
+            usuarioService.excluir(1L, null);
         });
-        verify(usuarioRepository, times(1)).existsById(1L);
-        verify(usuarioRepository, never()).deleteById(anyLong());
+        verify(usuarioRepository, times(1)).findById(1L);
+        verify(usuarioRepository, never()).delete(any(Usuario.class));
+        verifyNoInteractions(alteracaoUsuarioRepository, eventPublisher);
+    }
+
+    @Test
+    void naoDeveExcluirUsuarioEmOutraVersao() {
+        // Given
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+
+        // When/Then
+        assertThrows(VersaoDivergenteException.class, () -> usuarioService.excluir(1L, 7L));
+        verify(usuarioRepository, never()).delete(any(Usuario.class));
+        verifyNoInteractions(alteracaoUsuarioRepository, eventPublisher);
     }
 
     @Test
@@ -240,4 +352,108 @@ public class UsuarioServiceTest {
         assertFalse(resultado);
         verify(usuarioRepository, times(1)).existsById(1L);
     }
+
+    @Test
+    void deveRetornarUsuariosExistentesSemRepetirIds() {
+        // Given
+        when(usuarioRepository.findIdsExistentes(anyCollection())).thenReturn(Arrays.asList(1L, 3L));
+
+        // When
+        List<Long> resultado = usuarioService.usuariosExistentes(Arrays.asList(1L, 2L, 3L, 1L, null));
+
+        // Then
+        assertEquals(Arrays.asList(1L, 3L), resultado);
+        verify(usuarioRepository, times(1)).findIdsExistentes(argThat(ids -> ids.size() == 3 && ids.containsAll(Arrays.asList(1L, 2L, 3L))));
+    }
+
+    @Test
+    void naoDeveConsultarBancoQuandoListaDeIdsVazia() {
+        // When
+        List<Long> resultado = usuarioService.usuariosExistentes(List.of());
+
+        // Then
+        assertTrue(resultado.isEmpty());
+        verify(usuarioRepository, never()).findIdsExistentes(anyCollection());
+    }
+
+    @Test
+    void deveLancarExcecaoQuandoListaDeIdsExcedeLimite() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, UsuarioService.MAXIMO_IDS_POR_CONSULTA + 1).boxed().toList();
+
+        // When/Then
+        assertThrows(LoteInvalidoException.class, () -> usuarioService.usuariosExistentes(ids));
+        verify(usuarioRepository, never()).findIdsExistentes(anyCollection());
+    }
+
+    @Test
+    void deveRetornarSnapshotDosIdsComAVersaoAtual() {
+        // Given
+        when(alteracaoUsuarioRepository.findUltimaVersao()).thenReturn(7L);
+        when(usuarioRepository.findAllIds()).thenReturn(List.of(1L, 2L, 5L));
+
+        // When
+        SnapshotUsuariosDTO snapshot = usuarioService.snapshotIds();
+
+        // Then
+        assertEquals(7L, snapshot.getVersao());
+        assertEquals(List.of(1L, 2L, 5L), snapshot.getIds());
+    }
+
+    @Test
+    void deveSepararUsuariosCriadosEExcluidosAposAVersao() {
+        // Given
+        when(alteracaoUsuarioRepository.findByVersaoGreaterThanOrderByVersaoAsc(eq(3L), any(Pageable.class)))
+                .thenReturn(List.of(alteracao(4L, 10L, TipoAlteracaoUsuario.CRIADO),
+                        alteracao(5L, 2L, TipoAlteracaoUsuario.EXCLUIDO),
+                        alteracao(6L, 11L, TipoAlteracaoUsuario.CRIADO)));
+
+        // When
+        AlteracoesUsuariosDTO alteracoes = usuarioService.alteracoesDesde(3L);
+
+        // Then
+        assertEquals(6L, alteracoes.getVersao());
+        assertEquals(List.of(10L, 11L), alteracoes.getCriados());
+        assertEquals(List.of(2L), alteracoes.getExcluidos());
+        assertFalse(alteracoes.isTemMais());
+    }
+
+    @Test
+    void deveManterVersaoQuandoNaoHaAlteracoes() {
+        // Given
+        when(alteracaoUsuarioRepository.findByVersaoGreaterThanOrderByVersaoAsc(eq(9L), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // When
+        AlteracoesUsuariosDTO alteracoes = usuarioService.alteracoesDesde(9L);
+
+        // Then
+        assertEquals(9L, alteracoes.getVersao());
+        assertTrue(alteracoes.getCriados().isEmpty());
+        assertTrue(alteracoes.getExcluidos().isEmpty());
+    }
+
+    @Test
+    void deveLimitarAlteracoesPorConsulta() {
+        // Given
+        List<AlteracaoUsuario> registradas = LongStream.rangeClosed(1, UsuarioService.MAXIMO_ALTERACOES_POR_CONSULTA + 1)
+                .mapToObj(versao -> alteracao(versao, versao, TipoAlteracaoUsuario.CRIADO))
+                .toList();
+        when(alteracaoUsuarioRepository.findByVersaoGreaterThanOrderByVersaoAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(registradas);
+
+        // When
+        AlteracoesUsuariosDTO alteracoes = usuarioService.alteracoesDesde(0L);
+
+        // Then
+        assertTrue(alteracoes.isTemMais());
+        assertEquals(UsuarioService.MAXIMO_ALTERACOES_POR_CONSULTA, alteracoes.getCriados().size());
+        assertEquals(UsuarioService.MAXIMO_ALTERACOES_POR_CONSULTA, alteracoes.getVersao());
+    }
+
+    private AlteracaoUsuario alteracao(Long versao, Long usuarioId, TipoAlteracaoUsuario tipo) {
+        AlteracaoUsuario alteracao = new AlteracaoUsuario(usuarioId, tipo);
+        alteracao.setVersao(versao);
+        return alteracao;
+    }
 }
\ No newline at end of file